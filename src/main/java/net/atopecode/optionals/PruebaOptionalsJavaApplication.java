@@ -3,11 +3,16 @@ package net.atopecode.optionals;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import net.atopecode.optionals.config.PersonBeansInitializer;
+
 @SpringBootApplication
 public class PruebaOptionalsJavaApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(PruebaOptionalsJavaApplication.class, args);
+		//Los beans propios se registran de forma funcional ('PersonBeansInitializer').
+		SpringApplication application = new SpringApplication(PruebaOptionalsJavaApplication.class);
+		application.addInitializers(new PersonBeansInitializer());
+		application.run(args);
 	}
 
 }
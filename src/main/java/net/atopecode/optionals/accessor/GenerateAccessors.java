@@ -0,0 +1,16 @@
+package net.atopecode.optionals.accessor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//Marca una clase del modelo para que 'AccessorProcessor' genere al compilar '<Clase>Accessor' en el mismo paquete:
+//un 'ModelAccessor' sin reflexión (un 'switch' con llamadas directas a los 'getters'/'setters') y métodos estáticos
+//de navegación 'null-safe' por sus propiedades y por las de otras clases marcadas (p.ej. 'PersonAccessor.addressStateCode()').
+//Las propiedades son las parejas 'getX()'/'setX()' públicas.
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateAccessors {
+	
+}
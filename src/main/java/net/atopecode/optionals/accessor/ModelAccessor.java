@@ -0,0 +1,52 @@
+package net.atopecode.optionals.accessor;
+
+//Acceso genérico por índice a las propiedades de una clase del modelo (para mapear, comparar, serializar...).
+//Las implementaciones las genera 'AccessorProcessor' ('@GenerateAccessors'): cada 'get()'/'set()' es un 'switch'
+//con llamadas directas, así que el código genérico no pasa por reflexión ni por una 'lambda' distinta por propiedad.
+//Es una clase abstracta y no una interfaz porque el código genérico suele recorrer varios tipos desde el mismo punto
+//(llamada megamórfica): la llamada virtual de una clase es más barata que la de una interfaz, y los datos de las
+//propiedades ('size()', 'name()'...) son campos 'final' que no necesitan ninguna llamada virtual.
+public abstract class ModelAccessor<T> {
+	
+	private final Class<T> type;
+	
+	private final String[] names;
+	
+	private final Class<?>[] types;
+	
+	protected ModelAccessor(Class<T> type, String[] names, Class<?>[] types) {
+		this.type = type;
+		this.names = names;
+		this.types = types;
+	}
+	
+	public final Class<T> type() {
+		return type;
+	}
+	
+	public final int size() {
+		return names.length;
+	}
+	
+	public final String name(int property) {
+		return names[property];
+	}
+	
+	public final Class<?> propertyType(int property) {
+		return types[property];
+	}
+	
+	//Índice de la propiedad 'name' o -1 si no existe.
+	public final int indexOf(String name) {
+		for (int property = 0; property < names.length; property++) {
+			if (names[property].equals(name)) {
+				return property;
+			}
+		}
+		return -1;
+	}
+	
+	public abstract Object get(T source, int property);
+	
+	public abstract void set(T target, int property, Object value);
+}
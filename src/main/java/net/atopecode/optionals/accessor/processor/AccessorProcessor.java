@@ -0,0 +1,239 @@
+package net.atopecode.optionals.accessor.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+import net.atopecode.optionals.accessor.GenerateAccessors;
+
+//Procesador de anotaciones de '@GenerateAccessors': genera '<Clase>Accessor' con
+//- constantes con el índice de cada propiedad ('PersonAccessor.NAME'...) y 'INSTANCE' ('ModelAccessor' sin reflexión);
+//- 'getX(source)' / 'getOptionalX(source)' estáticos y 'null-safe' para cada propiedad y, a través de las propiedades
+//  cuyo tipo también tiene '@GenerateAccessors', para las rutas anidadas ('getAddressStateCode(person)').
+//Se compila antes que el resto del proyecto (ver las ejecuciones de 'maven-compiler-plugin' en el 'pom.xml').
+@SupportedAnnotationTypes("net.atopecode.optionals.accessor.GenerateAccessors")
+public class AccessorProcessor extends AbstractProcessor {
+	
+	//Profundidad máxima de las rutas anidadas (también evita ciclos entre clases).
+	private static final int MAX_PATH_DEPTH = 4;
+	
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+	
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getElementsAnnotatedWith(GenerateAccessors.class)) {
+			if (element.getKind() != ElementKind.CLASS) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@GenerateAccessors sólo se puede usar en clases", element);
+				continue;
+			}
+			TypeElement type = (TypeElement) element;
+			try {
+				write(type);
+			}
+			catch (IOException ex) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "No se puede generar el accessor: " + ex.getMessage(), element);
+			}
+		}
+		return true;
+	}
+	
+	private static class Property {
+		
+		private final String name;
+		
+		private final String getter;
+		
+		private final String setter;
+		
+		private final TypeMirror type;
+		
+		private Property(String name, String getter, String setter, TypeMirror type) {
+			this.name = name;
+			this.getter = getter;
+			this.setter = setter;
+			this.type = type;
+		}
+	}
+	
+	//Parejas 'getX()'/'setX(x)' (o 'isX()' para 'boolean') públicas y no estáticas, en el orden en que se declaran.
+	private List<Property> properties(TypeElement type) {
+		Types types = processingEnv.getTypeUtils();
+		List<ExecutableElement> methods = ElementFilter.methodsIn(type.getEnclosedElements());
+		List<Property> properties = new ArrayList<>();
+		for (ExecutableElement getter : methods) {
+			String getterName = getter.getSimpleName().toString();
+			TypeMirror returnType = getter.getReturnType();
+			if (!isPublicInstance(getter) || !getter.getParameters().isEmpty() || returnType.getKind() == TypeKind.VOID) {
+				continue;
+			}
+			String suffix;
+			if (getterName.startsWith("get") && getterName.length() > 3) {
+				suffix = getterName.substring(3);
+			}
+			else if (getterName.startsWith("is") && getterName.length() > 2 && returnType.getKind() == TypeKind.BOOLEAN) {
+				suffix = getterName.substring(2);
+			}
+			else {
+				continue;
+			}
+			for (ExecutableElement setter : methods) {
+				if (isPublicInstance(setter) && setter.getSimpleName().contentEquals("set" + suffix)
+						&& setter.getParameters().size() == 1
+						&& types.isSameType(setter.getParameters().get(0).asType(), returnType)) {
+					String name = Character.toLowerCase(suffix.charAt(0)) + suffix.substring(1);
+					properties.add(new Property(name, getterName, setter.getSimpleName().toString(), returnType));
+					break;
+				}
+			}
+		}
+		return properties;
+	}
+	
+	private static boolean isPublicInstance(ExecutableElement method) {
+		return method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC);
+	}
+	
+	private String boxedName(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+		}
+		return type.toString();
+	}
+	
+	private String classLiteral(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return type.toString() + ".class";
+		}
+		return processingEnv.getTypeUtils().erasure(type).toString() + ".class";
+	}
+	
+	private TypeElement annotatedType(TypeMirror type) {
+		if (type.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		Element element = ((DeclaredType) type).asElement();
+		return (element.getAnnotation(GenerateAccessors.class) != null) ? (TypeElement) element : null;
+	}
+	
+	private static String constantName(String property) {
+		StringBuilder constant = new StringBuilder();
+		for (char c : property.toCharArray()) {
+			if (Character.isUpperCase(c) && constant.length() > 0) {
+				constant.append('_');
+			}
+			constant.append(Character.toUpperCase(c));
+		}
+		return constant.toString();
+	}
+	
+	private static String capitalize(String name) {
+		return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+	}
+	
+	private void write(TypeElement type) throws IOException {
+		PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+		String packageName = packageElement.getQualifiedName().toString();
+		String typeName = type.getQualifiedName().toString();
+		String accessorName = type.getSimpleName() + "Accessor";
+		List<Property> properties = properties(type);
+		
+		StringBuilder out = new StringBuilder();
+		if (!packageElement.isUnnamed()) {
+			out.append("package ").append(packageName).append(";\n\n");
+		}
+		out.append("//Generado por 'AccessorProcessor' a partir de '").append(type.getSimpleName()).append("' ('@GenerateAccessors'): no modificar.\n");
+		out.append("@javax.annotation.processing.Generated(\"").append(AccessorProcessor.class.getName()).append("\")\n");
+		out.append("public final class ").append(accessorName)
+				.append(" extends net.atopecode.optionals.accessor.ModelAccessor<").append(typeName).append("> {\n\n");
+		out.append("\tpublic static final ").append(accessorName).append(" INSTANCE = new ").append(accessorName).append("();\n\n");
+		for (int i = 0; i < properties.size(); i++) {
+			out.append("\tpublic static final int ").append(constantName(properties.get(i).name)).append(" = ").append(i).append(";\n\n");
+		}
+		out.append("\tprivate ").append(accessorName).append("() {\n\t\tsuper(").append(typeName).append(".class, new String[] {");
+		for (int i = 0; i < properties.size(); i++) {
+			out.append((i > 0) ? ", " : "").append('"').append(properties.get(i).name).append('"');
+		}
+		out.append("}, new Class<?>[] {");
+		for (int i = 0; i < properties.size(); i++) {
+			out.append((i > 0) ? ", " : "").append(classLiteral(properties.get(i).type));
+		}
+		out.append("});\n\t}\n\n");
+		
+		out.append("\t@Override\n\tpublic Object get(").append(typeName).append(" source, int property) {\n\t\tswitch (property) {\n");
+		for (Property property : properties) {
+			out.append("\t\t\tcase ").append(constantName(property.name)).append(":\n\t\t\t\treturn source.").append(property.getter).append("();\n");
+		}
+		out.append("\t\t\tdefault:\n\t\t\t\tthrow new IndexOutOfBoundsException(\"").append(type.getSimpleName())
+				.append(" no tiene la propiedad \" + property);\n\t\t}\n\t}\n\n");
+		
+		out.append("\t@Override\n\t@SuppressWarnings(\"unchecked\")\n\tpublic void set(").append(typeName).append(" target, int property, Object value) {\n\t\tswitch (property) {\n");
+		for (Property property : properties) {
+			out.append("\t\t\tcase ").append(constantName(property.name)).append(":\n\t\t\t\ttarget.").append(property.setter)
+					.append("((").append(boxedName(property.type)).append(") value);\n\t\t\t\treturn;\n");
+		}
+		out.append("\t\t\tdefault:\n\t\t\t\tthrow new IndexOutOfBoundsException(\"").append(type.getSimpleName())
+				.append(" no tiene la propiedad \" + property);\n\t\t}\n\t}\n");
+		
+		Set<String> visited = new HashSet<>();
+		visited.add(typeName);
+		writePaths(out, typeName, "", new ArrayList<>(), type, visited);
+		out.append("}\n");
+		
+		try (Writer writer = processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? accessorName : packageName + "." + accessorName, type).openWriter()) {
+			writer.write(out.toString());
+		}
+	}
+	
+	//Métodos estáticos 'null-safe' para cada ruta 'source -> propiedad -> propiedad...' (hasta 'MAX_PATH_DEPTH' pasos).
+	private void writePaths(StringBuilder out, String rootType, String prefix, List<Property> chain, TypeElement current, Set<String> visited) {
+		for (Property property : properties(current)) {
+			List<Property> path = new ArrayList<>(chain);
+			path.add(property);
+			String methodName = prefix + capitalize(property.name);
+			String resultType = boxedName(property.type);
+			out.append("\n\tpublic static ").append(resultType).append(" get").append(methodName).append("(").append(rootType).append(" source) {\n");
+			out.append("\t\tif (source == null) {\n\t\t\treturn null;\n\t\t}\n");
+			String previous = "source";
+			for (int i = 0; i < path.size() - 1; i++) {
+				Property step = path.get(i);
+				String variable = "step" + i;
+				out.append("\t\t").append(step.type.toString()).append(" ").append(variable).append(" = ").append(previous).append(".").append(step.getter).append("();\n");
+				out.append("\t\tif (").append(variable).append(" == null) {\n\t\t\treturn null;\n\t\t}\n");
+				previous = variable;
+			}
+			out.append("\t\treturn ").append(previous).append(".").append(property.getter).append("();\n\t}\n");
+			out.append("\n\tpublic static java.util.Optional<").append(resultType).append("> getOptional").append(methodName).append("(").append(rootType)
+					.append(" source) {\n\t\treturn java.util.Optional.ofNullable(get").append(methodName).append("(source));\n\t}\n");
+			
+			TypeElement nested = annotatedType(property.type);
+			if (nested != null && path.size() < MAX_PATH_DEPTH && visited.add(nested.getQualifiedName().toString())) {
+				writePaths(out, rootType, methodName, path, nested, visited);
+				visited.remove(nested.getQualifiedName().toString());
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package net.atopecode.optionals.aggregation;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+
+//Agregaciones sobre 'Address.number' y 'State.code' que usan los getters primitivos ('hasX()'/'getXAsInt()'),
+//por lo que recorrer millones de 'Person' no crea ningún 'Integer' ni 'Optional'.
+//Las 'Person' sin 'Address', sin 'State' o sin el campo informado simplemente no cuentan.
+public final class AddressAggregations {
+	
+	private AddressAggregations() {
+		
+	}
+	
+	public static long sumAddressNumbers(Iterable<Person> persons) {
+		long sum = 0;
+		for (Person person : persons) {
+			Address address = (person != null) ? person.getAddress() : null;
+			if (address != null && address.hasNumber()) {
+				sum += address.getNumberAsInt();
+			}
+		}
+		return sum;
+	}
+	
+	public static long sumStateCodes(Iterable<Person> persons) {
+		long sum = 0;
+		for (Person person : persons) {
+			State state = stateOf(person);
+			if (state != null && state.hasCode()) {
+				sum += state.getCodeAsInt();
+			}
+		}
+		return sum;
+	}
+	
+	public static IntHistogram stateCodeHistogram(Iterable<Person> persons) {
+		IntHistogram histogram = new IntHistogram();
+		for (Person person : persons) {
+			State state = stateOf(person);
+			if (state != null && state.hasCode()) {
+				histogram.increment(state.getCodeAsInt());
+			}
+		}
+		return histogram;
+	}
+	
+	private static State stateOf(Person person) {
+		Address address = (person != null) ? person.getAddress() : null;
+		return (address != null) ? address.getState() : null;
+	}
+}
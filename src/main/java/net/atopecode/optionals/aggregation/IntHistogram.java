@@ -0,0 +1,124 @@
+package net.atopecode.optionals.aggregation;
+
+import java.util.Arrays;
+
+//Histograma 'int -> long' sin 'boxing': tabla hash de direccionamiento abierto (sondeo lineal) sobre arrays primitivos.
+//No es thread-safe: para agregaciones en paralelo se crea un histograma por hilo y se combinan con 'merge()'.
+public final class IntHistogram {
+	
+	private static final int DEFAULT_CAPACITY = 64;
+	
+	private int[] keys;
+	
+	//Un contador a 0 indica que la posición está libre.
+	private long[] counts;
+	
+	private int size;
+	
+	public IntHistogram() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	public IntHistogram(int expectedKeys) {
+		int capacity = Integer.highestOneBit(Math.max(expectedKeys, 2) * 2 - 1) << 1;
+		keys = new int[capacity];
+		counts = new long[capacity];
+	}
+	
+	public void increment(int key) {
+		add(key, 1);
+	}
+	
+	public void add(int key, long count) {
+		if (count <= 0) {
+			return;
+		}
+		int slot = slot(keys, counts, key);
+		if (counts[slot] == 0) {
+			keys[slot] = key;
+			size++;
+		}
+		counts[slot] += count;
+		if (size * 2 > keys.length) {
+			resize();
+		}
+	}
+	
+	public long count(int key) {
+		return counts[slot(keys, counts, key)];
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public long total() {
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+		return total;
+	}
+	
+	//Claves con algún valor, ordenadas de menor a mayor.
+	public int[] keys() {
+		int[] result = new int[size];
+		int index = 0;
+		for (int i = 0; i < keys.length; i++) {
+			if (counts[i] != 0) {
+				result[index++] = keys[i];
+			}
+		}
+		Arrays.sort(result);
+		return result;
+	}
+	
+	public void merge(IntHistogram other) {
+		for (int i = 0; i < other.keys.length; i++) {
+			if (other.counts[i] != 0) {
+				add(other.keys[i], other.counts[i]);
+			}
+		}
+	}
+	
+	private void resize() {
+		int[] oldKeys = keys;
+		long[] oldCounts = counts;
+		keys = new int[oldKeys.length * 2];
+		counts = new long[oldCounts.length * 2];
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldCounts[i] != 0) {
+				int slot = slot(keys, counts, oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				counts[slot] = oldCounts[i];
+			}
+		}
+	}
+	
+	private static int slot(int[] keys, long[] counts, int key) {
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+		while (counts[slot] != 0 && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+	
+	private static int mix(int key) {
+		int hash = key * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("IntHistogram [");
+		int[] sortedKeys = keys();
+		for (int i = 0; i < sortedKeys.length; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append(sortedKeys[i]).append('=').append(count(sortedKeys[i]));
+		}
+		return builder.append(']').toString();
+	}
+}
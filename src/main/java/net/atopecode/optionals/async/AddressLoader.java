@@ -0,0 +1,74 @@
+package net.atopecode.optionals.async;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.State;
+
+//Resuelve 'Person -> Address -> State' para muchas 'Person' con dos 'BatchLoader' sobre un 'BulkPersonBackend':
+//las 'Address' se piden por lotes de identificadores de 'Person' y después sus 'State' por lotes de 'code'
+//(sin repetir: la mayoría de 'Address' comparten unos pocos 'State').
+//Las 'Address' del 'backend' no se modifican (con claves repetidas la misma instancia llega a varias consultas): cada
+//consulta recibe una 'Address' nueva con el 'State' resuelto.
+public class AddressLoader {
+	
+	private final BatchLoader<Integer, Address> addresses;
+	
+	private final BatchLoader<Integer, State> states;
+	
+	public AddressLoader(BulkPersonBackend backend, int maxBatchSize, Executor executor) {
+		this.addresses = new BatchLoader<>(backend::findAddresses, maxBatchSize, executor);
+		this.states = new BatchLoader<>(backend::findStates, maxBatchSize, executor);
+	}
+	
+	//Encola la consulta: no se resuelve hasta 'dispatch()' (o hasta completar un lote de 'maxBatchSize').
+	public CompletableFuture<Optional<Address>> load(int personId) {
+		return addresses.load(personId).thenCompose(address -> {
+			Integer code = address.map(Address::getState).map(State::getCode).orElse(null);
+			if (code == null) {
+				return CompletableFuture.completedFuture(address.map(a -> withState(a, null)));
+			}
+			return states.load(code).thenApply(state -> Optional.of(withState(address.get(), state.orElse(null))));
+		});
+	}
+	
+	private static Address withState(Address address, State state) {
+		return new Address(address.getStreet(), address.getNumber(), state);
+	}
+	
+	//Envía las 'Address' pendientes y, cuando llegan, los 'State' que han pedido.
+	public CompletableFuture<Void> dispatch() {
+		return addresses.dispatch().thenCompose(done -> states.dispatch());
+	}
+	
+	public CompletableFuture<List<Optional<Address>>> loadAll(Collection<Integer> personIds) {
+		List<CompletableFuture<Optional<Address>>> futures = new ArrayList<>(personIds.size());
+		for (Integer personId : personIds) {
+			futures.add(load(personId));
+		}
+		return dispatch()
+				.thenCompose(done -> CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])))
+				.thenApply(done -> {
+					List<Optional<Address>> result = new ArrayList<>(futures.size());
+					futures.forEach(future -> result.add(future.join()));
+					return result;
+				});
+	}
+	
+	public long roundTrips() {
+		return addresses.batchCount() + states.batchCount();
+	}
+	
+	public BatchLoader<Integer, Address> addresses() {
+		return addresses;
+	}
+	
+	public BatchLoader<Integer, State> states() {
+		return states;
+	}
+}
@@ -0,0 +1,45 @@
+package net.atopecode.optionals.async;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//'Executor' para 'AsyncPersonRepository'. El proyecto compila para Java 11, así que los hilos virtuales
+//(Java 21+) se obtienen por reflexión cuando la JVM que ejecuta los tiene; si no, se usa un 'pool' acotado.
+public final class AsyncExecutors {
+	
+	private AsyncExecutors() {
+	}
+	
+	//Un hilo virtual por tarea ('Executors.newVirtualThreadPerTaskExecutor()'), si la JVM lo soporta.
+	public static Optional<ExecutorService> virtualThreads() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return Optional.of((ExecutorService) factory.invoke(null));
+		}
+		catch (ReflectiveOperationException ex) {
+			return Optional.empty();
+		}
+	}
+	
+	//'threads' hilos de plataforma ('daemon') como máximo: limita las consultas simultáneas al 'backend'.
+	public static ExecutorService bounded(int threads) {
+		if (threads <= 0) {
+			throw new IllegalArgumentException("threads tiene que ser mayor que 0");
+		}
+		AtomicInteger counter = new AtomicInteger();
+		ThreadFactory factory = runnable -> {
+			Thread thread = new Thread(runnable, "person-async-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		return Executors.newFixedThreadPool(threads, factory);
+	}
+	
+	public static ExecutorService virtualThreadsOrBounded(int threads) {
+		return virtualThreads().orElseGet(() -> bounded(threads));
+	}
+}
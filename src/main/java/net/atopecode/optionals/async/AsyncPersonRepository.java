@@ -0,0 +1,72 @@
+package net.atopecode.optionals.async;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+
+//Consulta asíncrona de 'Person' sobre un 'PersonBackend': las tres partes ('Person', 'Address' y 'State') se piden
+//a la vez en 'executor' y se montan al terminar, así que la latencia es la de la parte más lenta y no la suma.
+//- Si no existe la 'Person' el resultado es 'Optional.empty()' (las otras dos consultas ya lanzadas se descartan).
+//- Si falla o no existe la 'Address' o el 'State', esa parte queda a 'null' (igual que en 'getPersonWithAddressNull()'
+//  y 'getPersonWithStateNull()' de 'PersonRepository') en vez de fallar toda la consulta.
+//- Si falla la consulta de la propia 'Person', el 'CompletableFuture' termina con esa excepción.
+public class AsyncPersonRepository {
+	
+	private final PersonBackend backend;
+	
+	private final Executor executor;
+	
+	public AsyncPersonRepository(PersonBackend backend, Executor executor) {
+		if (backend == null || executor == null) {
+			throw new IllegalArgumentException("backend y executor no pueden ser null");
+		}
+		this.backend = backend;
+		this.executor = executor;
+	}
+	
+	public CompletableFuture<Optional<Person>> findById(int id) {
+		CompletableFuture<Optional<Person>> person = CompletableFuture.supplyAsync(() -> backend.findPerson(id), executor);
+		CompletableFuture<Optional<Address>> address = part(() -> backend.findAddress(id));
+		CompletableFuture<Optional<State>> state = part(() -> backend.findState(id));
+		return person
+				.thenCombine(address, AsyncPersonRepository::withAddress)
+				.thenCombine(state, AsyncPersonRepository::withState);
+	}
+	
+	//Versión bloqueante (una parte detrás de otra en el hilo que llama) con el mismo resultado que 'findById()'.
+	public Optional<Person> findByIdBlocking(int id) {
+		Optional<Person> person = backend.findPerson(id);
+		if (person.isEmpty()) {
+			return person;
+		}
+		return withState(withAddress(person, safely(() -> backend.findAddress(id))), safely(() -> backend.findState(id)));
+	}
+	
+	private <T> CompletableFuture<Optional<T>> part(Supplier<Optional<T>> query) {
+		return CompletableFuture.supplyAsync(query, executor).exceptionally(ex -> Optional.empty());
+	}
+	
+	private static <T> Optional<T> safely(Supplier<Optional<T>> query) {
+		try {
+			return query.get();
+		}
+		catch (RuntimeException ex) {
+			return Optional.empty();
+		}
+	}
+	
+	private static Optional<Person> withAddress(Optional<Person> person, Optional<Address> address) {
+		person.ifPresent(p -> p.setAddress(address.orElse(null)));
+		return person;
+	}
+	
+	private static Optional<Person> withState(Optional<Person> person, Optional<State> state) {
+		person.map(Person::getAddress).ifPresent(a -> a.setState(state.orElse(null)));
+		return person;
+	}
+}
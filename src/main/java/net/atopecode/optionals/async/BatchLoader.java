@@ -0,0 +1,166 @@
+package net.atopecode.optionals.async;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+//Agrupa consultas individuales por clave en llamadas masivas ('DataLoader'), para evitar el patrón N+1:
+//- 'load()' no consulta nada: añade la clave al lote pendiente y devuelve su 'CompletableFuture'.
+//  Las claves repetidas dentro del mismo lote comparten el mismo 'CompletableFuture' (se piden una sola vez).
+//- El lote se envía con una sola llamada a 'bulkLoader' cuando llega a 'maxBatchSize' claves, cuando se llama a
+//  'dispatch()' o, si se indica un 'scheduler', 'delay' después de añadir la primera clave del lote.
+//- Cada clave termina con 'Optional.empty()' si 'bulkLoader' no la devuelve; si 'bulkLoader' falla, falla todo el lote.
+public class BatchLoader<K, V> {
+	
+	private final Function<Set<K>, Map<K, V>> bulkLoader;
+	
+	private final int maxBatchSize;
+	
+	private final Executor executor;
+	
+	private final ScheduledExecutorService scheduler;
+	
+	private final long delayNanos;
+	
+	private Map<K, CompletableFuture<Optional<V>>> pending = new LinkedHashMap<>();
+	
+	//Termina cuando se han resuelto todos los lotes enviados.
+	private CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+	
+	private final LongAdder batches = new LongAdder();
+	
+	private final LongAdder requestedKeys = new LongAdder();
+	
+	private final LongAdder dispatchedKeys = new LongAdder();
+	
+	public BatchLoader(Function<Set<K>, Map<K, V>> bulkLoader, int maxBatchSize, Executor executor) {
+		this(bulkLoader, maxBatchSize, executor, null, Duration.ZERO);
+	}
+	
+	public BatchLoader(Function<Set<K>, Map<K, V>> bulkLoader, int maxBatchSize, Executor executor, ScheduledExecutorService scheduler, Duration delay) {
+		if (bulkLoader == null || executor == null) {
+			throw new IllegalArgumentException("bulkLoader y executor no pueden ser null");
+		}
+		if (maxBatchSize <= 0) {
+			throw new IllegalArgumentException("maxBatchSize tiene que ser mayor que 0");
+		}
+		this.bulkLoader = bulkLoader;
+		this.maxBatchSize = maxBatchSize;
+		this.executor = executor;
+		this.scheduler = scheduler;
+		this.delayNanos = delay.toNanos();
+	}
+	
+	public CompletableFuture<Optional<V>> load(K key) {
+		requestedKeys.increment();
+		Map<K, CompletableFuture<Optional<V>>> full = null;
+		CompletableFuture<Void> sent = null;
+		CompletableFuture<Optional<V>> future;
+		synchronized (this) {
+			future = pending.get(key);
+			if (future != null) {
+				return future;
+			}
+			future = new CompletableFuture<>();
+			pending.put(key, future);
+			if (pending.size() >= maxBatchSize) {
+				full = takePending();
+				sent = track();
+			}
+			else if (pending.size() == 1 && scheduler != null) {
+				scheduler.schedule(this::dispatch, delayNanos, TimeUnit.NANOSECONDS);
+			}
+		}
+		if (full != null) {
+			send(full, sent);
+		}
+		return future;
+	}
+	
+	//Envía el lote pendiente (si hay) y devuelve un 'CompletableFuture' que termina cuando se han resuelto
+	//todos los lotes enviados hasta ahora (también los enviados antes por llegar a 'maxBatchSize').
+	public CompletableFuture<Void> dispatch() {
+		Map<K, CompletableFuture<Optional<V>>> batch;
+		CompletableFuture<Void> sent = null;
+		CompletableFuture<Void> all;
+		synchronized (this) {
+			batch = takePending();
+			if (!batch.isEmpty()) {
+				sent = track();
+			}
+			all = inFlight;
+		}
+		if (sent != null) {
+			send(batch, sent);
+		}
+		return all;
+	}
+	
+	private Map<K, CompletableFuture<Optional<V>>> takePending() {
+		Map<K, CompletableFuture<Optional<V>>> batch = pending;
+		pending = new LinkedHashMap<>();
+		return batch;
+	}
+	
+	//Se llama con el 'lock': el nuevo lote pasa a formar parte de 'inFlight'.
+	private CompletableFuture<Void> track() {
+		CompletableFuture<Void> sent = new CompletableFuture<>();
+		inFlight = inFlight.isDone() ? sent : CompletableFuture.allOf(inFlight, sent);
+		return sent;
+	}
+	
+	//Se llama sin el 'lock', para que los 'CompletableFuture' dependientes de cada clave puedan volver a usar este 'BatchLoader'.
+	private void send(Map<K, CompletableFuture<Optional<V>>> batch, CompletableFuture<Void> sent) {
+		batches.increment();
+		dispatchedKeys.add(batch.size());
+		try {
+			executor.execute(() -> {
+				try {
+					complete(batch);
+				}
+				finally {
+					sent.complete(null);
+				}
+			});
+		}
+		catch (RuntimeException ex) {
+			batch.values().forEach(future -> future.completeExceptionally(ex));
+			sent.complete(null);
+		}
+	}
+	
+	private void complete(Map<K, CompletableFuture<Optional<V>>> batch) {
+		Map<K, V> values;
+		try {
+			values = bulkLoader.apply(batch.keySet());
+		}
+		catch (RuntimeException ex) {
+			batch.values().forEach(future -> future.completeExceptionally(ex));
+			return;
+		}
+		batch.forEach((key, future) -> future.complete(Optional.ofNullable(values.get(key))));
+	}
+	
+	//Llamadas a 'bulkLoader' (viajes de ida y vuelta al 'backend').
+	public long batchCount() {
+		return batches.sum();
+	}
+	
+	//Claves pedidas con 'load()' (con repeticiones).
+	public long requestedKeys() {
+		return requestedKeys.sum();
+	}
+	
+	//Claves enviadas a 'bulkLoader' (sin repeticiones dentro de cada lote).
+	public long dispatchedKeys() {
+		return dispatchedKeys.sum();
+	}
+}
@@ -0,0 +1,19 @@
+package net.atopecode.optionals.async;
+
+import java.util.Map;
+import java.util.Set;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.State;
+
+//Versión masiva de 'PersonBackend': una sola llamada para muchas claves.
+//- 'findAddresses()': 'Address' por identificador de 'Person'. Su 'State' viene sólo con 'code' (como una clave ajena,
+//  sin 'name') o a 'null' si no tiene; el 'State' completo se pide con 'findStates()'.
+//- 'findStates()': 'State' por 'code'.
+//Las claves que no existen no aparecen en el 'Map' devuelto.
+public interface BulkPersonBackend {
+	
+	Map<Integer, Address> findAddresses(Set<Integer> personIds);
+	
+	Map<Integer, State> findStates(Set<Integer> stateCodes);
+}
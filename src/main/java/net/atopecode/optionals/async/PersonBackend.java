@@ -0,0 +1,21 @@
+package net.atopecode.optionals.async;
+
+import java.util.Optional;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+
+//Origen remoto (con E/S bloqueante) de las partes de una 'Person', todas por el identificador de la 'Person':
+//- 'findPerson()': 'name' y 'email' (la 'Address' se devuelve a 'null').
+//- 'findAddress()': 'street' y 'number' (el 'State' se devuelve a 'null').
+//- 'findState()': el 'State' de su 'Address'.
+//Cada método devuelve 'Optional.empty()' cuando esa parte no existe. Las implementaciones deben ser seguras entre hilos.
+public interface PersonBackend {
+	
+	Optional<Person> findPerson(int id);
+	
+	Optional<Address> findAddress(int personId);
+	
+	Optional<State> findState(int personId);
+}
@@ -0,0 +1,190 @@
+package net.atopecode.optionals.bulk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import net.atopecode.optionals.path.IntPath;
+import net.atopecode.optionals.path.Path;
+
+//Resuelve una ruta ('Path'/'IntPath') para todos los elementos de una colección en paralelo con Fork/Join.
+//Los resultados se escriben en arrays reservados de antemano (una posición por elemento) y los elementos sin valor se
+//marcan en un bitmap. Las tareas se dividen en bloques de 'BLOCK_SIZE' elementos (múltiplo de 64), por lo que cada
+//palabra del bitmap la escribe una sola tarea y dos tareas sólo comparten, como mucho, la línea de caché del borde del array
+//de valores (no hay 'false sharing' en el bitmap ni escrituras compartidas en el resto de cada bloque).
+public class BulkResolver {
+	
+	static final int BLOCK_SIZE = 4096;
+	
+	private final ForkJoinPool pool;
+	
+	public BulkResolver() {
+		this(ForkJoinPool.commonPool());
+	}
+	
+	public BulkResolver(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+	
+	public <S, T> BulkResult<T> resolve(Collection<? extends S> sources, Path<S, T> path) {
+		return resolve(toList(sources), path);
+	}
+	
+	public <S, T> BulkResult<T> resolve(Spliterator<? extends S> sources, Path<S, T> path) {
+		return resolve(toList(sources), path);
+	}
+	
+	public <S> IntBulkResult resolveInt(Collection<? extends S> sources, IntPath<S> path) {
+		return resolveInt(toList(sources), path);
+	}
+	
+	public <S> IntBulkResult resolveInt(Spliterator<? extends S> sources, IntPath<S> path) {
+		return resolveInt(toList(sources), path);
+	}
+	
+	private <S, T> BulkResult<T> resolve(List<? extends S> sources, Path<S, T> path) {
+		Object[] values = new Object[sources.size()];
+		long[] missing = new long[words(values.length)];
+		int missingCount = pool.invoke(new ResolveTask<>(sources, path, values, missing, 0, values.length));
+		return new BulkResult<>(values, missing, missingCount);
+	}
+	
+	private <S> IntBulkResult resolveInt(List<? extends S> sources, IntPath<S> path) {
+		int[] values = new int[sources.size()];
+		long[] missing = new long[words(values.length)];
+		int missingCount = pool.invoke(new ResolveIntTask<>(sources, path, values, missing, 0, values.length));
+		return new IntBulkResult(values, missing, missingCount);
+	}
+	
+	//Las tareas acceden por índice, así que las colecciones sin acceso aleatorio se copian antes a una lista.
+	private static <S> List<? extends S> toList(Collection<? extends S> sources) {
+		if (sources instanceof List && sources instanceof RandomAccess) {
+			return (List<? extends S>) sources;
+		}
+		return new ArrayList<>(sources);
+	}
+	
+	private static <S> List<? extends S> toList(Spliterator<? extends S> sources) {
+		long size = sources.getExactSizeIfKnown();
+		List<S> list = new ArrayList<>((size >= 0 && size <= Integer.MAX_VALUE) ? (int) size : 16);
+		sources.forEachRemaining(list::add);
+		return list;
+	}
+	
+	private static int words(int size) {
+		return (size + 63) >>> 6;
+	}
+	
+	//Punto de división alineado a 'BLOCK_SIZE' o -1 si el rango ya no se divide.
+	private static int split(int from, int to) {
+		if (to - from <= BLOCK_SIZE) {
+			return -1;
+		}
+		int middle = (from + ((to - from) >>> 1)) & ~(BLOCK_SIZE - 1);
+		return (middle > from) ? middle : from + BLOCK_SIZE;
+	}
+	
+	private static final class ResolveTask<S, T> extends RecursiveTask<Integer> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final transient List<? extends S> sources;
+		
+		private final transient Path<S, T> path;
+		
+		private final Object[] values;
+		
+		private final long[] missing;
+		
+		private final int from;
+		
+		private final int to;
+		
+		ResolveTask(List<? extends S> sources, Path<S, T> path, Object[] values, long[] missing, int from, int to) {
+			this.sources = sources;
+			this.path = path;
+			this.values = values;
+			this.missing = missing;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected Integer compute() {
+			int middle = split(from, to);
+			if (middle >= 0) {
+				ResolveTask<S, T> right = new ResolveTask<>(sources, path, values, missing, middle, to);
+				right.fork();
+				int left = new ResolveTask<>(sources, path, values, missing, from, middle).compute();
+				return left + right.join();
+			}
+			int missingCount = 0;
+			for (int i = from; i < to; i++) {
+				T value = path.get(sources.get(i));
+				if (value == null) {
+					missing[i >>> 6] |= (1L << i);
+					missingCount++;
+				}
+				else {
+					values[i] = value;
+				}
+			}
+			return missingCount;
+		}
+	}
+	
+	private static final class ResolveIntTask<S> extends RecursiveTask<Integer> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final transient List<? extends S> sources;
+		
+		private final transient IntPath<S> path;
+		
+		private final int[] values;
+		
+		private final long[] missing;
+		
+		private final int from;
+		
+		private final int to;
+		
+		ResolveIntTask(List<? extends S> sources, IntPath<S> path, int[] values, long[] missing, int from, int to) {
+			this.sources = sources;
+			this.path = path;
+			this.values = values;
+			this.missing = missing;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected Integer compute() {
+			int middle = split(from, to);
+			if (middle >= 0) {
+				ResolveIntTask<S> right = new ResolveIntTask<>(sources, path, values, missing, middle, to);
+				right.fork();
+				int left = new ResolveIntTask<>(sources, path, values, missing, from, middle).compute();
+				return left + right.join();
+			}
+			int missingCount = 0;
+			for (int i = from; i < to; i++) {
+				S source = sources.get(i);
+				//Sólo se recorre la ruta una segunda vez cuando el resultado coincide con el valor centinela.
+				int value = path.getAsInt(source, Integer.MIN_VALUE);
+				if (value == Integer.MIN_VALUE && !path.isPresent(source)) {
+					missing[i >>> 6] |= (1L << i);
+					missingCount++;
+				}
+				else {
+					values[i] = value;
+				}
+			}
+			return missingCount;
+		}
+	}
+}
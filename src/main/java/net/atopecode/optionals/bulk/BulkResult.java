@@ -0,0 +1,41 @@
+package net.atopecode.optionals.bulk;
+
+//Resultado de 'BulkResolver.resolve()': el valor de la ruta para cada elemento de entrada (misma posición) y un bitmap
+//con un bit a 1 por cada elemento cuya ruta no tiene valor ('Person', 'Address' o 'State' a 'null').
+public final class BulkResult<T> {
+	
+	private final Object[] values;
+	
+	private final long[] missing;
+	
+	private final int missingCount;
+	
+	BulkResult(Object[] values, long[] missing, int missingCount) {
+		this.values = values;
+		this.missing = missing;
+		this.missingCount = missingCount;
+	}
+	
+	public int size() {
+		return values.length;
+	}
+	
+	//Valor de la posición 'index' o 'null' si no tiene valor.
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		return (T) values[index];
+	}
+	
+	public boolean isMissing(int index) {
+		return (missing[index >>> 6] & (1L << index)) != 0;
+	}
+	
+	public int missingCount() {
+		return missingCount;
+	}
+	
+	//Bitmap de valores sin resultado (bit 'i' de la palabra 'i / 64'). Se devuelve el array interno, no una copia.
+	public long[] missingBitmap() {
+		return missing;
+	}
+}
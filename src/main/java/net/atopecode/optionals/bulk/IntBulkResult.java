@@ -0,0 +1,43 @@
+package net.atopecode.optionals.bulk;
+
+//Resultado de 'BulkResolver.resolveInt()': igual que 'BulkResult' pero con los valores en un 'int[]' (sin 'boxing').
+//Las posiciones sin valor contienen 0 y tienen su bit a 1 en el bitmap de 'missing'.
+public final class IntBulkResult {
+	
+	private final int[] values;
+	
+	private final long[] missing;
+	
+	private final int missingCount;
+	
+	IntBulkResult(int[] values, long[] missing, int missingCount) {
+		this.values = values;
+		this.missing = missing;
+		this.missingCount = missingCount;
+	}
+	
+	public int size() {
+		return values.length;
+	}
+	
+	public int get(int index) {
+		return values[index];
+	}
+	
+	public boolean isMissing(int index) {
+		return (missing[index >>> 6] & (1L << index)) != 0;
+	}
+	
+	public int missingCount() {
+		return missingCount;
+	}
+	
+	//Arrays internos, no copias.
+	public int[] values() {
+		return values;
+	}
+	
+	public long[] missingBitmap() {
+		return missing;
+	}
+}
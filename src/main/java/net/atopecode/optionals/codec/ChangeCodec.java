@@ -0,0 +1,136 @@
+package net.atopecode.optionals.codec;
+
+import java.nio.ByteBuffer;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.ModelField;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+
+//Codec binario de un cambio ('delta') de un campo del grafo 'Person -> Address -> State', para propagar sólo lo que
+//cambia en vez de volver a publicar la 'Person' entera con 'PersonCodec'. Formato de cada registro:
+//  [cabecera:byte] valor?
+//La cabecera es el 'ordinal()' del 'ModelField' con el bit 'NULL' si el nuevo valor es 'null' (y entonces no hay valor).
+//El valor se escribe como en 'PersonCodec': 'String' como longitud (varint) + UTF-8, enteros como varint 'zigzag', y
+//'Address'/'State' completos (cuando se sustituyen) como una máscara de campos seguida de los campos presentes.
+//El valor anterior no se transmite: quien aplica el cambio ya lo tiene.
+public final class ChangeCodec {
+	
+	private static final int NULL = 0x80;
+	
+	private ChangeCodec() {
+		
+	}
+	
+	public static void encode(ModelField field, Object newValue, ByteBuffer buffer) {
+		if (newValue == null) {
+			buffer.put((byte) (field.ordinal() | NULL));
+			return;
+		}
+		buffer.put((byte) field.ordinal());
+		switch (field) {
+			case PERSON_NAME:
+			case PERSON_EMAIL:
+			case ADDRESS_STREET:
+			case STATE_NAME:
+				PersonCodec.putString(buffer, (String) newValue);
+				break;
+			case ADDRESS_NUMBER:
+			case STATE_CODE:
+				PersonCodec.putVarInt(buffer, PersonCodec.zigzag((Integer) newValue));
+				break;
+			case PERSON_ADDRESS:
+				buffer.put((byte) PersonCodec.addressMask((Address) newValue));
+				PersonCodec.putAddress(buffer, (Address) newValue);
+				break;
+			case ADDRESS_STATE:
+				buffer.put((byte) PersonCodec.stateMask((State) newValue));
+				PersonCodec.putState(buffer, (State) newValue);
+				break;
+			default:
+				throw new IllegalArgumentException("Campo no soportado: " + field);
+		}
+	}
+	
+	public static int encodedSize(ModelField field, Object newValue) {
+		if (newValue == null) {
+			return 1;
+		}
+		switch (field) {
+			case PERSON_NAME:
+			case PERSON_EMAIL:
+			case ADDRESS_STREET:
+			case STATE_NAME:
+				return 1 + PersonCodec.stringSize((String) newValue);
+			case ADDRESS_NUMBER:
+			case STATE_CODE:
+				return 1 + PersonCodec.varIntSize(PersonCodec.zigzag((Integer) newValue));
+			case PERSON_ADDRESS:
+				return 2 + PersonCodec.addressSize((Address) newValue);
+			case ADDRESS_STATE:
+				return 2 + PersonCodec.stateSize((State) newValue);
+			default:
+				throw new IllegalArgumentException("Campo no soportado: " + field);
+		}
+	}
+	
+	//Lee un cambio (avanzando el 'position' del buffer) y lo aplica con los setters de 'target'.
+	//Lanza 'IllegalStateException' si el campo pertenece a un 'Address'/'State' que 'target' no tiene.
+	public static ModelField apply(ByteBuffer buffer, Person target) {
+		int header = buffer.get() & 0xFF;
+		ModelField field = ModelField.of(header & ~NULL);
+		boolean isNull = (header & NULL) != 0;
+		switch (field) {
+			case PERSON_NAME:
+				target.setName(isNull ? null : PersonCodec.getString(buffer));
+				break;
+			case PERSON_EMAIL:
+				target.setEmail(isNull ? null : PersonCodec.getString(buffer));
+				break;
+			case PERSON_ADDRESS:
+				target.setAddress(isNull ? null : PersonCodec.getAddress(buffer, buffer.get() & 0xFF, null));
+				break;
+			case ADDRESS_STREET:
+				addressOf(target, field).setStreet(isNull ? null : PersonCodec.getString(buffer));
+				break;
+			case ADDRESS_NUMBER:
+				addressOf(target, field).setNumber(isNull ? null : PersonCodec.unzigzag(PersonCodec.getVarInt(buffer)));
+				break;
+			case ADDRESS_STATE:
+				addressOf(target, field).setState(isNull ? null : PersonCodec.getState(buffer, buffer.get() & 0xFF, null));
+				break;
+			case STATE_NAME:
+				ownStateOf(target, field).setName(isNull ? null : PersonCodec.getString(buffer));
+				break;
+			case STATE_CODE:
+				ownStateOf(target, field).setCode(isNull ? null : PersonCodec.unzigzag(PersonCodec.getVarInt(buffer)));
+				break;
+			default:
+				throw new IllegalArgumentException("Campo no soportado: " + field);
+		}
+		return field;
+	}
+	
+	private static Address addressOf(Person target, ModelField field) {
+		Address address = target.getAddress();
+		if (address == null) {
+			throw new IllegalStateException("No se puede aplicar '" + field.path() + "': la 'Person' no tiene 'Address'");
+		}
+		return address;
+	}
+	
+	//Un 'State' compartido de un 'StateRegistry' ('isShared()') no se modifica (lo verían todas las 'Address' que lo
+	//usan): antes se sustituye por una copia propia de 'target'.
+	private static State ownStateOf(Person target, ModelField field) {
+		Address address = addressOf(target, field);
+		State state = address.getState();
+		if (state == null) {
+			throw new IllegalStateException("No se puede aplicar '" + field.path() + "': la 'Address' no tiene 'State'");
+		}
+		if (state.isShared()) {
+			state = new State(state.getName(), state.getCode());
+			address.setState(state);
+		}
+		return state;
+	}
+}
@@ -0,0 +1,337 @@
+package net.atopecode.optionals.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.model.StateRegistry;
+
+//Codec binario compacto para el grafo 'Person -> Address -> State'. Formato de cada registro:
+//  [máscara:byte] name? email? street? number? stateName? stateCode?
+//La máscara indica qué campos están presentes (bits 'NAME'...'STATE_CODE', incluidos 'ADDRESS' y 'STATE'), y sólo se
+//escriben los campos presentes, en ese orden. Los 'String' van como longitud (varint) + bytes UTF-8 y los enteros como
+//varint 'zigzag' (los números pequeños ocupan 1 byte).
+//
+//-'encode()' escribe directamente en el 'ByteBuffer' del llamador sin crear objetos intermedios (los 'String' se codifican
+// carácter a carácter). Si no hay sitio lanza 'BufferOverflowException': 'encodedSize()' da el tamaño exacto.
+//-'decode()' lee un registro completo; 'decodeName()', 'decodeEmail()' y 'decodeAddress()' leen un solo campo a partir
+// de una posición absoluta sin mover el 'position' del buffer, y 'recordLength()' permite saltar registros.
+//-Cada 'State' decodificado es nuevo, salvo que se pase un 'StateRegistry': entonces se comparte por código con el
+// resto de registros decodificados con ese registro.
+public final class PersonCodec {
+	
+	static final int NAME = 1;
+	
+	static final int EMAIL = 1 << 1;
+	
+	static final int ADDRESS = 1 << 2;
+	
+	static final int STREET = 1 << 3;
+	
+	static final int NUMBER = 1 << 4;
+	
+	static final int STATE = 1 << 5;
+	
+	static final int STATE_NAME = 1 << 6;
+	
+	static final int STATE_CODE = 1 << 7;
+	
+	private PersonCodec() {
+		
+	}
+	
+	//Codificación:
+	public static void encode(Person person, ByteBuffer buffer) {
+		Address address = person.getAddress();
+		buffer.put((byte) mask(person, address));
+		if (person.getName() != null) {
+			putString(buffer, person.getName());
+		}
+		if (person.getEmail() != null) {
+			putString(buffer, person.getEmail());
+		}
+		if (address != null) {
+			putAddress(buffer, address);
+		}
+	}
+	
+	public static int encodedSize(Person person) {
+		Address address = person.getAddress();
+		int size = 1 + stringSize(person.getName()) + stringSize(person.getEmail());
+		return (address != null) ? size + addressSize(address) : size;
+	}
+	
+	private static int mask(Person person, Address address) {
+		int mask = 0;
+		mask |= (person.getName() != null) ? NAME : 0;
+		mask |= (person.getEmail() != null) ? EMAIL : 0;
+		return (address != null) ? mask | ADDRESS | addressMask(address) : mask;
+	}
+	
+	//Campos de 'Address' y 'State' (sin la máscara), compartidos con 'ChangeCodec':
+	static int addressMask(Address address) {
+		int mask = 0;
+		mask |= (address.getStreet() != null) ? STREET : 0;
+		mask |= address.hasNumber() ? NUMBER : 0;
+		State state = address.getState();
+		return (state != null) ? mask | STATE | stateMask(state) : mask;
+	}
+	
+	static int stateMask(State state) {
+		int mask = 0;
+		mask |= (state.getName() != null) ? STATE_NAME : 0;
+		mask |= state.hasCode() ? STATE_CODE : 0;
+		return mask;
+	}
+	
+	static void putAddress(ByteBuffer buffer, Address address) {
+		if (address.getStreet() != null) {
+			putString(buffer, address.getStreet());
+		}
+		if (address.hasNumber()) {
+			putVarInt(buffer, zigzag(address.getNumberAsInt()));
+		}
+		State state = address.getState();
+		if (state != null) {
+			putState(buffer, state);
+		}
+	}
+	
+	static void putState(ByteBuffer buffer, State state) {
+		if (state.getName() != null) {
+			putString(buffer, state.getName());
+		}
+		if (state.hasCode()) {
+			putVarInt(buffer, zigzag(state.getCodeAsInt()));
+		}
+	}
+	
+	static int addressSize(Address address) {
+		int size = stringSize(address.getStreet());
+		size += address.hasNumber() ? varIntSize(zigzag(address.getNumberAsInt())) : 0;
+		State state = address.getState();
+		return (state != null) ? size + stateSize(state) : size;
+	}
+	
+	static int stateSize(State state) {
+		int size = stringSize(state.getName());
+		return state.hasCode() ? size + varIntSize(zigzag(state.getCodeAsInt())) : size;
+	}
+	
+	//Decodificación completa (avanza el 'position' del buffer hasta el final del registro):
+	public static Person decode(ByteBuffer buffer) {
+		return decode(buffer, null);
+	}
+	
+	public static Person decode(ByteBuffer buffer, StateRegistry stateRegistry) {
+		int mask = buffer.get() & 0xFF;
+		String name = ((mask & NAME) != 0) ? getString(buffer) : null;
+		String email = ((mask & EMAIL) != 0) ? getString(buffer) : null;
+		return new Person(name, email, ((mask & ADDRESS) != 0) ? getAddress(buffer, mask, stateRegistry) : null);
+	}
+	
+	static Address getAddress(ByteBuffer buffer, int mask, StateRegistry stateRegistry) {
+		String street = ((mask & STREET) != 0) ? getString(buffer) : null;
+		Integer number = ((mask & NUMBER) != 0) ? unzigzag(getVarInt(buffer)) : null;
+		State state = ((mask & STATE) != 0) ? getState(buffer, mask, stateRegistry) : null;
+		return new Address(street, number, state);
+	}
+	
+	static State getState(ByteBuffer buffer, int mask, StateRegistry stateRegistry) {
+		String stateName = ((mask & STATE_NAME) != 0) ? getString(buffer) : null;
+		Integer stateCode = ((mask & STATE_CODE) != 0) ? unzigzag(getVarInt(buffer)) : null;
+		return (stateRegistry != null) ? stateRegistry.intern(stateName, stateCode) : new State(stateName, stateCode);
+	}
+	
+	//Lecturas parciales a partir de la posición absoluta 'offset' de un registro (no modifican el buffer):
+	public static String decodeName(ByteBuffer buffer, int offset) {
+		int mask = buffer.get(offset) & 0xFF;
+		return ((mask & NAME) != 0) ? getString(at(buffer, offset + 1)) : null;
+	}
+	
+	public static String decodeEmail(ByteBuffer buffer, int offset) {
+		int mask = buffer.get(offset) & 0xFF;
+		if ((mask & EMAIL) == 0) {
+			return null;
+		}
+		ByteBuffer view = at(buffer, offset + 1);
+		skipString(view, mask, NAME);
+		return getString(view);
+	}
+	
+	public static Address decodeAddress(ByteBuffer buffer, int offset) {
+		return decodeAddress(buffer, offset, null);
+	}
+	
+	public static Address decodeAddress(ByteBuffer buffer, int offset, StateRegistry stateRegistry) {
+		int mask = buffer.get(offset) & 0xFF;
+		if ((mask & ADDRESS) == 0) {
+			return null;
+		}
+		ByteBuffer view = at(buffer, offset + 1);
+		skipString(view, mask, NAME);
+		skipString(view, mask, EMAIL);
+		return getAddress(view, mask, stateRegistry);
+	}
+	
+	//Longitud en bytes del registro que empieza en 'offset'.
+	public static int recordLength(ByteBuffer buffer, int offset) {
+		int mask = buffer.get(offset) & 0xFF;
+		ByteBuffer view = at(buffer, offset + 1);
+		skipString(view, mask, NAME);
+		skipString(view, mask, EMAIL);
+		skipString(view, mask, STREET);
+		if ((mask & NUMBER) != 0) {
+			getVarInt(view);
+		}
+		skipString(view, mask, STATE_NAME);
+		if ((mask & STATE_CODE) != 0) {
+			getVarInt(view);
+		}
+		return view.position() - offset;
+	}
+	
+	private static ByteBuffer at(ByteBuffer buffer, int offset) {
+		ByteBuffer view = buffer.duplicate();
+		view.position(offset);
+		return view;
+	}
+	
+	private static void skipString(ByteBuffer buffer, int mask, int field) {
+		if ((mask & field) != 0) {
+			int length = getVarInt(buffer);
+			buffer.position(buffer.position() + length);
+		}
+	}
+	
+	//'String' como longitud UTF-8 (varint) + bytes UTF-8:
+	static void putString(ByteBuffer buffer, String value) {
+		int utf8Length = utf8Length(value);
+		putVarInt(buffer, utf8Length);
+		if (buffer.remaining() < utf8Length) {
+			throw new BufferOverflowException();
+		}
+		int length = value.length();
+		int i = 0;
+		if (buffer.hasArray()) {
+			//Camino rápido para los caracteres ASCII sobre un buffer de heap: se escriben directamente en su array.
+			byte[] array = buffer.array();
+			int position = buffer.arrayOffset() + buffer.position();
+			for (char c; i < length && (c = value.charAt(i)) < 0x80; i++) {
+				array[position + i] = (byte) c;
+			}
+			buffer.position(buffer.position() + i);
+		}
+		for (; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				buffer.put((byte) c);
+			}
+			else if (c < 0x800) {
+				buffer.put((byte) (0xC0 | (c >> 6)));
+				buffer.put((byte) (0x80 | (c & 0x3F)));
+			}
+			else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				buffer.put((byte) (0xF0 | (codePoint >> 18)));
+				buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+				buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+				buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+			}
+			else if (Character.isSurrogate(c)) {
+				//Surrogate sin pareja: se sustituye por '?' igual que 'String.getBytes(UTF_8)'.
+				buffer.put((byte) '?');
+			}
+			else {
+				buffer.put((byte) (0xE0 | (c >> 12)));
+				buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+				buffer.put((byte) (0x80 | (c & 0x3F)));
+			}
+		}
+	}
+	
+	static int utf8Length(String value) {
+		int length = value.length();
+		int bytes = length;
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c >= 0x80) {
+				if (c < 0x800) {
+					bytes += 1;
+				}
+				else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+					//2 'char' -> 4 bytes.
+					bytes += 2;
+					i++;
+				}
+				else if (!Character.isSurrogate(c)) {
+					bytes += 2;
+				}
+			}
+		}
+		return bytes;
+	}
+	
+	static String getString(ByteBuffer buffer) {
+		int length = getVarInt(buffer);
+		if (length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		String value;
+		if (buffer.hasArray()) {
+			value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+			buffer.position(buffer.position() + length);
+		}
+		else {
+			byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			value = new String(bytes, StandardCharsets.UTF_8);
+		}
+		return value;
+	}
+	
+	static int stringSize(String value) {
+		if (value == null) {
+			return 0;
+		}
+		int length = utf8Length(value);
+		return varIntSize(length) + length;
+	}
+	
+	//Enteros 'varint' (7 bits por byte, el bit alto indica que siguen más bytes) y codificación 'zigzag' para los negativos:
+	static void putVarInt(ByteBuffer buffer, int value) {
+		while ((value & ~0x7F) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+	
+	static int getVarInt(ByteBuffer buffer) {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			byte current = buffer.get();
+			value |= (current & 0x7F) << shift;
+			if (current >= 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Varint mal formado");
+	}
+	
+	static int varIntSize(int value) {
+		return (value & ~0x7F) == 0 ? 1 : (value & ~0x3FFF) == 0 ? 2 : (value & ~0x1FFFFF) == 0 ? 3 : (value & ~0xFFFFFFF) == 0 ? 4 : 5;
+	}
+	
+	static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+	
+	static int unzigzag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+}
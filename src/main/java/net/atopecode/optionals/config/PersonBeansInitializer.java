@@ -0,0 +1,74 @@
+package net.atopecode.optionals.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.Environment;
+
+import net.atopecode.optionals.ingest.IngestFormat;
+import net.atopecode.optionals.ingest.PersonIngester;
+import net.atopecode.optionals.metrics.PathMetricsBinder;
+import net.atopecode.optionals.metrics.PathMetricsRegistry;
+import net.atopecode.optionals.repository.PersonRepository;
+
+//Registro funcional de los beans principales ('registerBean()' con 'Supplier'): Spring no tiene que buscarlos en el
+//'classpath' ni crearlos por reflexión, lo que acelera el arranque (y es lo que necesitaría una compilación AOT).
+//- 'personRepository' es 'lazy': se crea (y se carga el fichero 'optionals.persons.file', si se indica) en la primera
+//  petición que lo usa y no durante el arranque.
+//- Con 'optionals.startup-probe=true' se ejecuta una primera consulta nada más arrancar y se escribe en el log
+//  'STARTUP_PROBE_MARKER' (lo usa 'StartupBenchmark' para medir el tiempo hasta la primera petición servida).
+public class PersonBeansInitializer implements ApplicationContextInitializer<GenericApplicationContext> {
+	
+	private static final Logger logger = LoggerFactory.getLogger(PersonBeansInitializer.class);
+	
+	public static final String PERSONS_FILE = "optionals.persons.file";
+	
+	public static final String PERSONS_FORMAT = "optionals.persons.format";
+	
+	public static final String STARTUP_PROBE = "optionals.startup-probe";
+	
+	public static final String STARTUP_PROBE_MARKER = "FIRST_REQUEST_SERVED";
+	
+	@Override
+	public void initialize(GenericApplicationContext context) {
+		Environment environment = context.getEnvironment();
+		context.registerBean("pathMetricsRegistry", PathMetricsRegistry.class, PathMetricsRegistry::getDefault);
+		context.registerBean("pathMetricsBinder", PathMetricsBinder.class,
+				() -> new PathMetricsBinder(context.getBean(PathMetricsRegistry.class)));
+		context.registerBean("personRepository", PersonRepository.class,
+				() -> createPersonRepository(environment), definition -> definition.setLazyInit(true));
+		if (environment.getProperty(STARTUP_PROBE, Boolean.class, false)) {
+			context.registerBean("startupProbe", ApplicationRunner.class,
+					() -> startupProbe(context.getBeanProvider(PersonRepository.class)));
+		}
+	}
+	
+	static PersonRepository createPersonRepository(Environment environment) {
+		PersonRepository personRepository = new PersonRepository();
+		String file = environment.getProperty(PERSONS_FILE);
+		if (file != null && !file.isBlank()) {
+			IngestFormat format = environment.getProperty(PERSONS_FORMAT, IngestFormat.class, IngestFormat.NDJSON);
+			try {
+				new PersonIngester(format).ingest(Path.of(file), personRepository::save);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("No se puede cargar el fichero de Person: " + file, ex);
+			}
+		}
+		return personRepository;
+	}
+	
+	private static ApplicationRunner startupProbe(ObjectProvider<PersonRepository> personRepository) {
+		return args -> {
+			boolean found = personRepository.getObject().findById(0).isPresent();
+			logger.info("{} found={}", STARTUP_PROBE_MARKER, found);
+		};
+	}
+}
@@ -0,0 +1,359 @@
+package net.atopecode.optionals.generator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import net.atopecode.optionals.ingest.IngestFormat;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.model.StateRegistry;
+import net.atopecode.optionals.render.ModelRenderer;
+
+//Generador determinista de 'Person' sintéticas para pruebas de carga y 'benchmarks' (datasets de millones de registros).
+//Se configura con los métodos encadenables antes de generar:
+//-'addressNullRatio()'/'stateNullRatio()': proporción de 'Person' sin 'Address' y de 'Address' sin 'State'.
+//-'stateCodes()': número de 'State.code' distintos (10000, 10001...), y 'sharedStates()' si se comparte un 'State' por
+// código (de un 'StateRegistry' propio, como al cargar datos reales con un registro) o se crea uno por 'Address'.
+//-'distinctNames()'/'distinctStreets()': tamaño de los conjuntos de nombres y calles.
+//-'zipfExponent()': sesgo de la elección de nombre, calle y código ('ZipfDistribution'; 0 = uniforme).
+//-'lengthProfile()': longitud de los 'String' generados.
+//Los registros se generan por bloques de 'CHUNK_SIZE', cada uno con su propio 'SplittableRandom' derivado de la semilla
+//y del número de bloque: el resultado para una semilla es siempre el mismo, se genere en paralelo o no.
+//'generate()' y 'write()' reparten los bloques entre los núcleos ('ForkJoinPool' común); 'stream()'/'forEach()' generan
+//bloque a bloque sin materializar el dataset.
+public class PersonGenerator {
+	
+	public enum LengthProfile {
+		SHORT(3, 8),
+		MEDIUM(8, 20),
+		LONG(32, 96);
+		
+		private final int min;
+		
+		private final int max;
+		
+		private LengthProfile(int min, int max) {
+			this.min = min;
+			this.max = max;
+		}
+		
+		public int min() {
+			return min;
+		}
+		
+		public int max() {
+			return max;
+		}
+	}
+	
+	static final int CHUNK_SIZE = 1 << 16;
+	
+	private static final int FIRST_STATE_CODE = 10_000;
+	
+	private static final int MAX_NUMBER = 9_999;
+	
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	
+	private final long seed;
+	
+	private double addressNullRatio = 0.1;
+	
+	private double stateNullRatio = 0.1;
+	
+	private int stateCodes = 300;
+	
+	private boolean sharedStates = true;
+	
+	private int distinctNames = 10_000;
+	
+	private int distinctStreets = 10_000;
+	
+	private double zipfExponent = 1.0;
+	
+	private LengthProfile lengthProfile = LengthProfile.MEDIUM;
+	
+	public PersonGenerator(long seed) {
+		this.seed = seed;
+	}
+	
+	public PersonGenerator addressNullRatio(double ratio) {
+		this.addressNullRatio = checkRatio(ratio);
+		return this;
+	}
+	
+	public PersonGenerator stateNullRatio(double ratio) {
+		this.stateNullRatio = checkRatio(ratio);
+		return this;
+	}
+	
+	public PersonGenerator stateCodes(int cardinality) {
+		this.stateCodes = checkPositive(cardinality);
+		return this;
+	}
+	
+	public PersonGenerator sharedStates(boolean sharedStates) {
+		this.sharedStates = sharedStates;
+		return this;
+	}
+	
+	public PersonGenerator distinctNames(int cardinality) {
+		this.distinctNames = checkPositive(cardinality);
+		return this;
+	}
+	
+	public PersonGenerator distinctStreets(int cardinality) {
+		this.distinctStreets = checkPositive(cardinality);
+		return this;
+	}
+	
+	public PersonGenerator zipfExponent(double exponent) {
+		if (exponent < 0 || Double.isNaN(exponent)) {
+			throw new IllegalArgumentException("El exponente no puede ser negativo: " + exponent);
+		}
+		this.zipfExponent = exponent;
+		return this;
+	}
+	
+	public PersonGenerator lengthProfile(LengthProfile lengthProfile) {
+		this.lengthProfile = lengthProfile;
+		return this;
+	}
+	
+	//Primer código de 'State' generado: los códigos van de 'firstStateCode()' a 'firstStateCode() + stateCodes - 1'.
+	public static int firstStateCode() {
+		return FIRST_STATE_CODE;
+	}
+	
+	//Dataset completo en memoria, generado en paralelo.
+	public Person[] generate(int count) {
+		Plan plan = new Plan();
+		Person[] persons = new Person[checkCount(count)];
+		IntStream.range(0, chunks(count)).parallel().forEach(chunk -> {
+			int from = chunk * CHUNK_SIZE;
+			int to = (int) Math.min((long) from + CHUNK_SIZE, count);
+			SplittableRandom random = plan.random(chunk);
+			for (int i = from; i < to; i++) {
+				persons[i] = plan.person(random, i);
+			}
+		});
+		return persons;
+	}
+	
+	//Los mismos registros que 'generate(count)', en orden, generando un bloque cada vez.
+	public Stream<Person> stream(long count) {
+		Plan plan = new Plan();
+		return LongStream.range(0, chunks(checkCount(count))).mapToObj(chunk -> plan.chunk((int) chunk, count)).flatMap(List::stream);
+	}
+	
+	public void forEach(long count, Consumer<? super Person> consumer) {
+		stream(count).forEach(consumer);
+	}
+	
+	//Escribe 'count' registros en 'file' en un formato que lee 'PersonIngester' (CSV sin cabecera o NDJSON).
+	//Los bloques se generan y se pasan a texto en paralelo, en tandas de dos bloques por núcleo, y se escriben en orden.
+	public void write(Path file, long count, IngestFormat format) throws IOException {
+		Plan plan = new Plan();
+		int chunks = chunks(checkCount(count));
+		int batch = 2 * ForkJoinPool.getCommonPoolParallelism();
+		try (OutputStream out = Files.newOutputStream(file)) {
+			for (int first = 0; first < chunks; first += batch) {
+				byte[][] texts = IntStream.range(first, Math.min(first + batch, chunks)).parallel()
+						.mapToObj(chunk -> render(plan.chunk(chunk, count), format))
+						.toArray(byte[][]::new);
+				for (byte[] text : texts) {
+					out.write(text);
+				}
+			}
+		}
+	}
+	
+	private static byte[] render(List<Person> persons, IngestFormat format) {
+		StringBuilder builder = new StringBuilder(persons.size() * 96);
+		for (Person person : persons) {
+			if (format == IngestFormat.NDJSON) {
+				ModelRenderer.append(builder, person, ModelRenderer.Format.JSON);
+			}
+			else {
+				appendCsv(builder, person);
+			}
+			builder.append('\n');
+		}
+		return builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+	
+	//Columnas de 'CsvLineParser': 'name,email,street,number,stateName,stateCode'.
+	private static void appendCsv(StringBuilder builder, Person person) {
+		Address address = person.getAddress();
+		State state = (address != null) ? address.getState() : null;
+		appendCsvString(builder, person.getName()).append(',');
+		appendCsvString(builder, person.getEmail()).append(',');
+		if (address != null) {
+			appendCsvString(builder, address.getStreet()).append(',');
+			if (address.hasNumber()) {
+				builder.append(address.getNumberAsInt());
+			}
+		}
+		else {
+			builder.append(',');
+		}
+		builder.append(',');
+		if (state != null) {
+			appendCsvString(builder, state.getName()).append(',');
+			if (state.hasCode()) {
+				builder.append(state.getCodeAsInt());
+			}
+		}
+		else {
+			builder.append(',');
+		}
+	}
+	
+	private static StringBuilder appendCsvString(StringBuilder builder, String value) {
+		if (value == null) {
+			return builder;
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+			return builder.append(value);
+		}
+		return builder.append('"').append(value.replace("\"", "\"\"")).append('"');
+	}
+	
+	//Función de mezcla 'Stafford variant 13' (la de 'SplittableRandom' y 'splitmix64').
+	static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+	
+	private static int chunks(long count) {
+		return (int) ((count + CHUNK_SIZE - 1) / CHUNK_SIZE);
+	}
+	
+	private static double checkRatio(double ratio) {
+		if (!(ratio >= 0 && ratio <= 1)) {
+			throw new IllegalArgumentException("La proporción debe estar entre 0 y 1: " + ratio);
+		}
+		return ratio;
+	}
+	
+	private static int checkPositive(int value) {
+		if (value < 1) {
+			throw new IllegalArgumentException("Debe ser mayor que 0: " + value);
+		}
+		return value;
+	}
+	
+	private static <N extends Number> N checkCount(N count) {
+		if (count.longValue() < 0) {
+			throw new IllegalArgumentException("count no puede ser negativo: " + count);
+		}
+		return count;
+	}
+	
+	//Configuración "congelada" al empezar a generar: conjuntos de 'String' y distribuciones, creados a partir de la semilla.
+	private final class Plan {
+		
+		private final double addressNullRatio = PersonGenerator.this.addressNullRatio;
+		
+		private final double stateNullRatio = PersonGenerator.this.stateNullRatio;
+		
+		private final boolean sharedStates = PersonGenerator.this.sharedStates;
+		
+		private final String[] names;
+		
+		private final String[] emailPrefixes;
+		
+		private final String[] streets;
+		
+		private final String[] stateNames;
+		
+		//'State' compartidos por código, si 'sharedStates'. Se usa un 'StateRegistry' propio para no mezclar datasets.
+		private final State[] states;
+		
+		private final ZipfDistribution nameDistribution;
+		
+		private final ZipfDistribution streetDistribution;
+		
+		private final ZipfDistribution stateDistribution;
+		
+		private Plan() {
+			SplittableRandom random = new SplittableRandom(seed);
+			names = strings(random, distinctNames, "");
+			emailPrefixes = new String[names.length];
+			for (int i = 0; i < names.length; i++) {
+				emailPrefixes[i] = names[i].toLowerCase() + ".";
+			}
+			streets = strings(random, distinctStreets, "Calle ");
+			stateNames = strings(random, stateCodes, "");
+			states = new State[stateCodes];
+			if (sharedStates) {
+				StateRegistry registry = new StateRegistry(stateCodes);
+				for (int code = 0; code < stateCodes; code++) {
+					states[code] = registry.intern(stateNames[code], FIRST_STATE_CODE + code);
+				}
+			}
+			nameDistribution = new ZipfDistribution(distinctNames, zipfExponent);
+			streetDistribution = new ZipfDistribution(distinctStreets, zipfExponent);
+			stateDistribution = new ZipfDistribution(stateCodes, zipfExponent);
+		}
+		
+		private String[] strings(SplittableRandom random, int count, String prefix) {
+			String[] strings = new String[count];
+			char[] chars = new char[lengthProfile.max()];
+			for (int i = 0; i < count; i++) {
+				int length = Math.max(lengthProfile.min(), random.nextInt(lengthProfile.min(), lengthProfile.max() + 1) - prefix.length());
+				chars[0] = (char) ('A' + random.nextInt(26));
+				for (int c = 1; c < length; c++) {
+					chars[c] = (char) ('a' + random.nextInt(26));
+				}
+				strings[i] = prefix + new String(chars, 0, length);
+			}
+			return strings;
+		}
+		
+		//La semilla de cada bloque pasa por 'mix64()': con 'seed + chunk * GOLDEN_GAMMA' directamente (el mismo 'gamma' que
+		//usa 'SplittableRandom'), la secuencia de un bloque sería la del anterior desplazada una posición.
+		private SplittableRandom random(int chunk) {
+			return new SplittableRandom(mix64(seed + (chunk + 1) * GOLDEN_GAMMA));
+		}
+		
+		private List<Person> chunk(int chunk, long count) {
+			long from = (long) chunk * CHUNK_SIZE;
+			int size = (int) Math.min(CHUNK_SIZE, count - from);
+			SplittableRandom random = random(chunk);
+			List<Person> persons = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				persons.add(person(random, from + i));
+			}
+			return persons;
+		}
+		
+		private Person person(SplittableRandom random, long index) {
+			int name = nameDistribution.sample(random);
+			Address address = null;
+			if (random.nextDouble() >= addressNullRatio) {
+				String street = streets[streetDistribution.sample(random)];
+				int number = 1 + random.nextInt(MAX_NUMBER);
+				State state = null;
+				if (random.nextDouble() >= stateNullRatio) {
+					int code = stateDistribution.sample(random);
+					state = sharedStates ? states[code] : new State(stateNames[code], FIRST_STATE_CODE + code);
+				}
+				address = new Address(street, number, state);
+			}
+			return new Person(names[name], emailPrefixes[name] + index + "@email.es", address);
+		}
+	}
+}
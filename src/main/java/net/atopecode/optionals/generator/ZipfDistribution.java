@@ -0,0 +1,68 @@
+package net.atopecode.optionals.generator;
+
+import java.util.SplittableRandom;
+
+//Distribución Zipf sobre '[0, size)': el valor 'k' sale con probabilidad proporcional a '1 / (k + 1)^exponent'
+//('exponent = 0' es uniforme). Se muestrea con búsqueda binaria sobre la función de distribución acumulada.
+//Es inmutable: se puede compartir entre hilos (cada uno con su 'SplittableRandom').
+public final class ZipfDistribution {
+	
+	private final int size;
+	
+	private final double exponent;
+	
+	//'null' cuando es uniforme.
+	private final double[] cumulative;
+	
+	public ZipfDistribution(int size, double exponent) {
+		if (size < 1) {
+			throw new IllegalArgumentException("size debe ser mayor que 0: " + size);
+		}
+		if (exponent < 0 || Double.isNaN(exponent)) {
+			throw new IllegalArgumentException("exponent no puede ser negativo: " + exponent);
+		}
+		this.size = size;
+		this.exponent = exponent;
+		if (exponent == 0) {
+			cumulative = null;
+		}
+		else {
+			cumulative = new double[size];
+			double sum = 0;
+			for (int k = 0; k < size; k++) {
+				sum += 1 / Math.pow(k + 1, exponent);
+				cumulative[k] = sum;
+			}
+			for (int k = 0; k < size; k++) {
+				cumulative[k] /= sum;
+			}
+		}
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public double exponent() {
+		return exponent;
+	}
+	
+	public int sample(SplittableRandom random) {
+		if (cumulative == null) {
+			return random.nextInt(size);
+		}
+		double u = random.nextDouble();
+		int low = 0;
+		int high = size - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (cumulative[mid] < u) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+}
@@ -0,0 +1,144 @@
+package net.atopecode.optionals.ingest;
+
+import java.util.Arrays;
+
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.StateRegistry;
+
+//Parser CSV con las columnas 'name,email,street,number,stateName,stateCode' (la línea de cabecera con esos nombres se ignora).
+//Un campo vacío vale 'null'; si 'street', 'number', 'stateName' y 'stateCode' están vacíos la 'Person' no tiene 'Address',
+//y si sólo lo están 'stateName' y 'stateCode' el 'Address' no tiene 'State'.
+//Los campos pueden ir entre comillas dobles (con '""' para una comilla), pero no pueden contener saltos de línea.
+final class CsvLineParser extends LineParser {
+	
+	static final String HEADER = "name,email,street,number,stateName,stateCode";
+	
+	private static final int COLUMNS = 6;
+	
+	private static final int NUMBER = 3;
+	
+	private static final int STATE_CODE = 5;
+	
+	private final String[] strings = new String[COLUMNS];
+	
+	private final Integer[] numbers = new Integer[COLUMNS];
+	
+	private byte[] scratch = new byte[256];
+	
+	private int quotedLength;
+	
+	CsvLineParser(StateRegistry stateRegistry) {
+		super(stateRegistry);
+	}
+	
+	@Override
+	Person parse(byte[] line, int from, int to) {
+		if (to > from && line[to - 1] == '\r') {
+			to--;
+		}
+		if (isHeader(line, from, to)) {
+			return null;
+		}
+		int column = 0;
+		int position = from;
+		while (true) {
+			if (column == COLUMNS) {
+				throw error("Demasiadas columnas", line, from, to);
+			}
+			if (position < to && line[position] == '"') {
+				int length = unquote(line, position, to);
+				position += length;
+				value(column, scratch, 0, quotedLength, line, from, to);
+			}
+			else {
+				int start = position;
+				while (position < to && line[position] != ',') {
+					position++;
+				}
+				value(column, line, start, position, line, from, to);
+			}
+			column++;
+			if (position == to) {
+				break;
+			}
+			if (line[position] != ',') {
+				throw error("Se esperaba ','", line, from, to);
+			}
+			position++;
+		}
+		if (column != COLUMNS) {
+			throw error("Se esperaban " + COLUMNS + " columnas", line, from, to);
+		}
+		boolean hasState = strings[4] != null || numbers[STATE_CODE] != null;
+		boolean hasAddress = hasState || strings[2] != null || numbers[NUMBER] != null;
+		return person(strings[0], strings[1], hasAddress, strings[2], numbers[NUMBER], hasState, strings[4], numbers[STATE_CODE]);
+	}
+	
+	//Copia el campo entre comillas en 'scratch' (sin las comillas ni los '""') y devuelve los bytes consumidos de la línea.
+	private int unquote(byte[] line, int start, int to) {
+		int length = 0;
+		int position = start + 1;
+		while (true) {
+			if (position >= to) {
+				throw error("Comillas sin cerrar", line, start, to);
+			}
+			byte current = line[position++];
+			if (current == '"') {
+				if (position < to && line[position] == '"') {
+					position++;
+				}
+				else {
+					break;
+				}
+			}
+			if (length == scratch.length) {
+				scratch = Arrays.copyOf(scratch, length * 2);
+			}
+			scratch[length++] = current;
+		}
+		quotedLength = length;
+		return position - start;
+	}
+	
+	private void value(int column, byte[] bytes, int start, int end, byte[] line, int from, int to) {
+		if (column == NUMBER || column == STATE_CODE) {
+			numbers[column] = (end > start) ? parseInt(bytes, start, end, line, from, to) : null;
+		}
+		else {
+			strings[column] = (end > start) ? string(bytes, start, end) : null;
+		}
+	}
+	
+	private static int parseInt(byte[] bytes, int start, int end, byte[] line, int from, int to) {
+		boolean negative = bytes[start] == '-';
+		int position = negative ? start + 1 : start;
+		if (position == end || end - position > 10) {
+			throw error("Número no válido", line, from, to);
+		}
+		long value = 0;
+		for (; position < end; position++) {
+			int digit = bytes[position] - '0';
+			if (digit < 0 || digit > 9) {
+				throw error("Número no válido", line, from, to);
+			}
+			value = value * 10 + digit;
+		}
+		value = negative ? -value : value;
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw error("Número fuera de rango", line, from, to);
+		}
+		return (int) value;
+	}
+	
+	private static boolean isHeader(byte[] line, int from, int to) {
+		if (to - from != HEADER.length()) {
+			return false;
+		}
+		for (int i = 0; i < HEADER.length(); i++) {
+			if (line[from + i] != HEADER.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
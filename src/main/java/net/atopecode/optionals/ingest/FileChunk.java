@@ -0,0 +1,31 @@
+package net.atopecode.optionals.ingest;
+
+//Rango de bytes '[start, end)' de un fichero que empieza al principio de una línea y termina al final de otra.
+public final class FileChunk {
+	
+	private final long start;
+	
+	private final long end;
+	
+	public FileChunk(long start, long end) {
+		this.start = start;
+		this.end = end;
+	}
+	
+	public long getStart() {
+		return start;
+	}
+	
+	public long getEnd() {
+		return end;
+	}
+	
+	public long length() {
+		return end - start;
+	}
+	
+	@Override
+	public String toString() {
+		return "FileChunk [start=" + start + ", end=" + end + "]";
+	}
+}
@@ -0,0 +1,23 @@
+package net.atopecode.optionals.ingest;
+
+import net.atopecode.optionals.model.StateRegistry;
+
+//Formatos de fichero que acepta 'PersonIngester' (una 'Person' por línea).
+public enum IngestFormat {
+	
+	NDJSON {
+		@Override
+		LineParser newParser(StateRegistry stateRegistry) {
+			return new NdjsonLineParser(stateRegistry);
+		}
+	},
+	
+	CSV {
+		@Override
+		LineParser newParser(StateRegistry stateRegistry) {
+			return new CsvLineParser(stateRegistry);
+		}
+	};
+	
+	abstract LineParser newParser(StateRegistry stateRegistry);
+}
@@ -0,0 +1,45 @@
+package net.atopecode.optionals.ingest;
+
+import java.nio.charset.StandardCharsets;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.model.StateRegistry;
+
+//Convierte una línea (bytes UTF-8 sin el salto de línea) en una 'Person'. Las implementaciones guardan estado durante el
+//parseo, así que cada hilo usa su propia instancia.
+abstract class LineParser {
+	
+	//'null': cada 'Address' tiene su propio 'State'.
+	private final StateRegistry stateRegistry;
+	
+	LineParser(StateRegistry stateRegistry) {
+		this.stateRegistry = stateRegistry;
+	}
+	
+	//Devuelve 'null' si la línea no contiene ninguna 'Person' (p.ej. la cabecera de un CSV).
+	abstract Person parse(byte[] line, int from, int to);
+	
+	//'Address'/'State' a 'null' cuando no viene ninguno de sus campos, igual que en 'PersonRepository.getPersonWithAddressNull()'
+	//y 'getPersonWithStateNull()'. Los 'State' se comparten por código si el parser tiene un 'StateRegistry'.
+	Person person(String name, String email, boolean hasAddress, String street, Integer number,
+			boolean hasState, String stateName, Integer stateCode) {
+		Address address = null;
+		if (hasAddress) {
+			State state = !hasState ? null
+					: (stateRegistry != null) ? stateRegistry.intern(stateName, stateCode) : new State(stateName, stateCode);
+			address = new Address(street, number, state);
+		}
+		return new Person(name, email, address);
+	}
+	
+	static String string(byte[] bytes, int from, int to) {
+		return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+	}
+	
+	static IllegalArgumentException error(String message, byte[] line, int from, int to) {
+		int end = Math.min(to, from + 200);
+		return new IllegalArgumentException(message + ": " + string(line, from, end));
+	}
+}
@@ -0,0 +1,337 @@
+package net.atopecode.optionals.ingest;
+
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.StateRegistry;
+
+//Parser NDJSON: cada línea es un objeto JSON con la forma
+//  {"name":"Fulano","email":"fulano@email.es","address":{"street":"Street1","number":55,"state":{"name":"State1","code":12345}}}
+//'address'/'state' a 'null' o ausentes equivalen a una 'Person' sin 'Address' o a un 'Address' sin 'State'.
+//Los campos desconocidos se ignoran. Es un parser específico de este esquema que trabaja directamente sobre los bytes
+//de la línea (sólo crea los 'String' de los valores).
+final class NdjsonLineParser extends LineParser {
+	
+	private final FieldHandler personFields = this::personField;
+	
+	private final FieldHandler addressFields = this::addressField;
+	
+	private final FieldHandler stateFields = this::stateField;
+	
+	private byte[] line;
+	
+	private int position;
+	
+	private int from;
+	
+	private int to;
+	
+	//Valores de la línea actual.
+	private String name;
+	
+	private String email;
+	
+	private boolean hasAddress;
+	
+	private String street;
+	
+	private Integer number;
+	
+	private boolean hasState;
+	
+	private String stateName;
+	
+	private Integer stateCode;
+	
+	NdjsonLineParser(StateRegistry stateRegistry) {
+		super(stateRegistry);
+	}
+	
+	@Override
+	Person parse(byte[] line, int from, int to) {
+		this.line = line;
+		this.from = from;
+		this.to = to;
+		this.position = from;
+		name = email = street = stateName = null;
+		number = stateCode = null;
+		hasAddress = hasState = false;
+		
+		skipWhitespace();
+		if (position == to) {
+			return null;
+		}
+		object(personFields);
+		skipWhitespace();
+		if (position != to) {
+			throw error("Contenido inesperado al final de la línea");
+		}
+		return person(name, email, hasAddress, street, number, hasState, stateName, stateCode);
+	}
+	
+	private interface FieldHandler {
+		
+		void field(int keyStart, int keyEnd);
+	}
+	
+	private void personField(int keyStart, int keyEnd) {
+		if (key(keyStart, keyEnd, "name")) {
+			name = stringOrNull();
+		}
+		else if (key(keyStart, keyEnd, "email")) {
+			email = stringOrNull();
+		}
+		else if (key(keyStart, keyEnd, "address")) {
+			hasAddress = !nullLiteral();
+			if (hasAddress) {
+				object(addressFields);
+			}
+		}
+		else {
+			skipValue();
+		}
+	}
+	
+	private void addressField(int keyStart, int keyEnd) {
+		if (key(keyStart, keyEnd, "street")) {
+			street = stringOrNull();
+		}
+		else if (key(keyStart, keyEnd, "number")) {
+			number = integerOrNull();
+		}
+		else if (key(keyStart, keyEnd, "state")) {
+			hasState = !nullLiteral();
+			if (hasState) {
+				object(stateFields);
+			}
+		}
+		else {
+			skipValue();
+		}
+	}
+	
+	private void stateField(int keyStart, int keyEnd) {
+		if (key(keyStart, keyEnd, "name")) {
+			stateName = stringOrNull();
+		}
+		else if (key(keyStart, keyEnd, "code")) {
+			stateCode = integerOrNull();
+		}
+		else {
+			skipValue();
+		}
+	}
+	
+	private void object(FieldHandler handler) {
+		expect('{');
+		skipWhitespace();
+		if (peek() == '}') {
+			position++;
+			return;
+		}
+		while (true) {
+			skipWhitespace();
+			expect('"');
+			int keyStart = position;
+			while (peek() != '"') {
+				position += (line[position] == '\\') ? 2 : 1;
+			}
+			int keyEnd = position++;
+			skipWhitespace();
+			expect(':');
+			skipWhitespace();
+			handler.field(keyStart, keyEnd);
+			skipWhitespace();
+			if (peek() == ',') {
+				position++;
+			}
+			else {
+				expect('}');
+				return;
+			}
+		}
+	}
+	
+	private boolean key(int keyStart, int keyEnd, String key) {
+		if (keyEnd - keyStart != key.length()) {
+			return false;
+		}
+		for (int i = 0; i < key.length(); i++) {
+			if (line[keyStart + i] != key.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private boolean nullLiteral() {
+		if (to - position >= 4 && line[position] == 'n' && line[position + 1] == 'u' && line[position + 2] == 'l'
+				&& line[position + 3] == 'l') {
+			position += 4;
+			return true;
+		}
+		return false;
+	}
+	
+	private String stringOrNull() {
+		if (nullLiteral()) {
+			return null;
+		}
+		expect('"');
+		int start = position;
+		while (true) {
+			byte current = peek();
+			if (current == '"') {
+				String value = string(line, start, position);
+				position++;
+				return value;
+			}
+			if (current == '\\') {
+				return escapedString(start);
+			}
+			position++;
+		}
+	}
+	
+	//Camino lento para los 'String' con secuencias de escape.
+	private String escapedString(int start) {
+		StringBuilder builder = new StringBuilder(string(line, start, position));
+		while (true) {
+			byte current = peek();
+			if (current == '"') {
+				position++;
+				return builder.toString();
+			}
+			if (current != '\\') {
+				int runStart = position;
+				while (peek() != '"' && line[position] != '\\') {
+					position++;
+				}
+				builder.append(string(line, runStart, position));
+				continue;
+			}
+			position++;
+			byte escaped = peek();
+			position++;
+			switch (escaped) {
+			case '"':
+			case '\\':
+			case '/':
+				builder.append((char) escaped);
+				break;
+			case 'b':
+				builder.append('\b');
+				break;
+			case 'f':
+				builder.append('\f');
+				break;
+			case 'n':
+				builder.append('\n');
+				break;
+			case 'r':
+				builder.append('\r');
+				break;
+			case 't':
+				builder.append('\t');
+				break;
+			case 'u':
+				if (to - position < 4) {
+					throw error("Secuencia \\u incompleta");
+				}
+				try {
+					builder.append((char) Integer.parseInt(string(line, position, position + 4), 16));
+				}
+				catch (NumberFormatException ex) {
+					throw error("Secuencia \\u no válida");
+				}
+				position += 4;
+				break;
+			default:
+				throw error("Secuencia de escape no válida");
+			}
+		}
+	}
+	
+	private Integer integerOrNull() {
+		if (nullLiteral()) {
+			return null;
+		}
+		boolean negative = peek() == '-';
+		if (negative) {
+			position++;
+		}
+		int start = position;
+		long value = 0;
+		while (position < to && line[position] >= '0' && line[position] <= '9') {
+			value = value * 10 + (line[position++] - '0');
+			if (value > 1L + Integer.MAX_VALUE) {
+				throw error("Número fuera de rango");
+			}
+		}
+		if (position == start) {
+			throw error("Se esperaba un número");
+		}
+		value = negative ? -value : value;
+		if (value > Integer.MAX_VALUE) {
+			throw error("Número fuera de rango");
+		}
+		return (int) value;
+	}
+	
+	private void skipValue() {
+		byte current = peek();
+		if (current == '"') {
+			position++;
+			while (peek() != '"') {
+				position += (line[position] == '\\') ? 2 : 1;
+			}
+			position++;
+		}
+		else if (current == '{' || current == '[') {
+			int depth = 0;
+			do {
+				current = peek();
+				if (current == '"') {
+					skipValue();
+					continue;
+				}
+				if (current == '{' || current == '[') {
+					depth++;
+				}
+				else if (current == '}' || current == ']') {
+					depth--;
+				}
+				position++;
+			}
+			while (depth > 0);
+		}
+		else {
+			while (position < to && line[position] != ',' && line[position] != '}' && line[position] != ']'
+					&& line[position] != ' ' && line[position] != '\t') {
+				position++;
+			}
+		}
+	}
+	
+	private void skipWhitespace() {
+		while (position < to && (line[position] == ' ' || line[position] == '\t' || line[position] == '\r')) {
+			position++;
+		}
+	}
+	
+	private byte peek() {
+		if (position >= to) {
+			throw error("Fin de línea inesperado");
+		}
+		return line[position];
+	}
+	
+	private void expect(char expected) {
+		if (peek() != expected) {
+			throw error("Se esperaba '" + expected + "'");
+		}
+		position++;
+	}
+	
+	private IllegalArgumentException error(String message) {
+		return error(message + " (columna " + (position - from) + ")", line, from, to);
+	}
+}
@@ -0,0 +1,214 @@
+package net.atopecode.optionals.ingest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.StateRegistry;
+
+//Carga de ficheros NDJSON/CSV (una 'Person' por línea) en streaming: los bytes se leen por canales NIO en un único buffer
+//reutilizable, cada línea se parsea directamente desde ese buffer y cada 'Person' se entrega a un 'Consumer'
+//(p.ej. 'personRepository::save'), así que la memoria usada no depende del tamaño del fichero.
+//Un fichero se puede dividir en trozos que empiezan y terminan en un salto de línea ('split()') para parsearlos en paralelo.
+//Con un 'StateRegistry' las 'Address' con el mismo código de 'State' comparten la misma instancia (y un código con dos
+//nombres distintos lanza 'IllegalArgumentException', ver 'StateRegistry.intern()'); sin él cada 'Address' tiene su propio 'State'.
+public class PersonIngester {
+	
+	public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+	
+	//Una línea más larga que esto se considera un fichero corrupto (evita que el buffer crezca sin límite).
+	public static final int MAX_LINE_LENGTH = 16 * 1024 * 1024;
+	
+	private final IngestFormat format;
+	
+	private final int bufferSize;
+	
+	private final StateRegistry stateRegistry;
+	
+	public PersonIngester(IngestFormat format) {
+		this(format, DEFAULT_BUFFER_SIZE);
+	}
+	
+	public PersonIngester(IngestFormat format, int bufferSize) {
+		this(format, bufferSize, null);
+	}
+	
+	public PersonIngester(IngestFormat format, StateRegistry stateRegistry) {
+		this(format, DEFAULT_BUFFER_SIZE, stateRegistry);
+	}
+	
+	public PersonIngester(IngestFormat format, int bufferSize, StateRegistry stateRegistry) {
+		this.format = format;
+		this.bufferSize = bufferSize;
+		this.stateRegistry = stateRegistry;
+	}
+	
+	//Lee el canal hasta el final y devuelve el número de 'Person' entregadas a 'sink'.
+	public long ingest(ReadableByteChannel channel, Consumer<? super Person> sink) throws IOException {
+		return ingest(channel::read, sink);
+	}
+	
+	public long ingest(Path file, Consumer<? super Person> sink) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return ingest(channel, sink);
+		}
+	}
+	
+	//Parsea sólo las líneas de 'chunk' (obtenido con 'split()').
+	public long ingest(FileChannel channel, FileChunk chunk, Consumer<? super Person> sink) throws IOException {
+		long[] position = {chunk.getStart()};
+		return ingest(buffer -> {
+			long remaining = chunk.getEnd() - position[0];
+			if (remaining <= 0) {
+				return -1;
+			}
+			int limit = buffer.limit();
+			if (buffer.remaining() > remaining) {
+				buffer.limit(buffer.position() + (int) remaining);
+			}
+			int read = channel.read(buffer, position[0]);
+			buffer.limit(limit);
+			if (read > 0) {
+				position[0] += read;
+			}
+			return read;
+		}, sink);
+	}
+	
+	//Divide 'file' en 'chunks' trozos de tamaño parecido. Cada trozo termina justo después de un salto de línea.
+	public List<FileChunk> split(Path file, int chunks) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			List<FileChunk> result = new ArrayList<>();
+			ByteBuffer buffer = ByteBuffer.allocate(8192);
+			long start = 0;
+			for (int i = 1; i <= chunks && start < size; i++) {
+				long end = (i == chunks) ? size : nextLineStart(channel, buffer, Math.max(start, size * i / chunks), size);
+				if (end > start) {
+					result.add(new FileChunk(start, end));
+					start = end;
+				}
+			}
+			return result;
+		}
+	}
+	
+	//Parsea 'file' en paralelo ('parallelism' hilos, un trozo por hilo). 'sink' tiene que ser thread-safe y las 'Person'
+	//no llegan en el orden del fichero.
+	public long ingestParallel(Path file, int parallelism, Consumer<? super Person> sink) throws IOException {
+		List<FileChunk> chunks = split(file, parallelism);
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, chunks.size()));
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			List<Future<Long>> results = new ArrayList<>();
+			for (FileChunk chunk : chunks) {
+				results.add(executor.submit(() -> ingest(channel, chunk, sink)));
+			}
+			long count = 0;
+			for (Future<Long> result : results) {
+				count += result.get();
+			}
+			return count;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Carga interrumpida", ex);
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(cause);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	private interface ByteSource {
+		
+		int read(ByteBuffer buffer) throws IOException;
+	}
+	
+	private long ingest(ByteSource source, Consumer<? super Person> sink) throws IOException {
+		LineParser parser = format.newParser(stateRegistry);
+		ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+		long count = 0;
+		boolean eof = false;
+		while (!eof) {
+			eof = source.read(buffer) < 0;
+			byte[] bytes = buffer.array();
+			int lineStart = 0;
+			int end = buffer.position();
+			for (int i = 0; i < end; i++) {
+				if (bytes[i] == '\n') {
+					count += parseLine(parser, bytes, lineStart, i, sink);
+					lineStart = i + 1;
+				}
+			}
+			if (eof) {
+				//Última línea sin salto de línea final.
+				count += parseLine(parser, bytes, lineStart, end, sink);
+			}
+			else if (lineStart == 0 && end == buffer.capacity()) {
+				//La línea no cabe en el buffer.
+				if (buffer.capacity() >= MAX_LINE_LENGTH) {
+					throw new IOException("Línea de más de " + MAX_LINE_LENGTH + " bytes");
+				}
+				ByteBuffer bigger = ByteBuffer.allocate(Math.min(buffer.capacity() * 2, MAX_LINE_LENGTH));
+				buffer.flip();
+				bigger.put(buffer);
+				buffer = bigger;
+			}
+			else {
+				buffer.limit(end).position(lineStart);
+				buffer.compact();
+			}
+		}
+		return count;
+	}
+	
+	private static int parseLine(LineParser parser, byte[] bytes, int from, int to, Consumer<? super Person> sink) {
+		if (to == from) {
+			return 0;
+		}
+		Person person = parser.parse(bytes, from, to);
+		if (person == null) {
+			return 0;
+		}
+		sink.accept(person);
+		return 1;
+	}
+	
+	//Posición siguiente al primer '\n' a partir de 'position' (o 'size' si no hay más saltos de línea).
+	private static long nextLineStart(FileChannel channel, ByteBuffer buffer, long position, long size) throws IOException {
+		while (position < size) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				if (buffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+}
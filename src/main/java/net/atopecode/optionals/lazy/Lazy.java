@@ -0,0 +1,59 @@
+package net.atopecode.optionals.lazy;
+
+import java.util.function.Supplier;
+
+//Valor calculado como mucho una vez y sólo cuando se pide ('memoized supplier').
+//Es seguro entre hilos con 'double-checked locking' sobre un campo 'volatile': una vez calculado, 'get()' es una
+//simple lectura sin bloqueo. El resultado puede ser 'null' (se distingue de "no calculado" con un centinela) y
+//el 'Supplier' se libera después de usarlo para no retener lo que capture.
+public final class Lazy<T> implements Supplier<T> {
+	
+	private static final Object UNSET = new Object();
+	
+	private volatile Object value = UNSET;
+	
+	private Supplier<? extends T> supplier;
+	
+	private Lazy(Supplier<? extends T> supplier) {
+		this.supplier = supplier;
+	}
+	
+	public static <T> Lazy<T> of(Supplier<? extends T> supplier) {
+		if (supplier == null) {
+			throw new IllegalArgumentException("supplier no puede ser null");
+		}
+		return (supplier instanceof Lazy) ? narrow((Lazy<? extends T>) supplier) : new Lazy<>(supplier);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T> Lazy<T> narrow(Lazy<? extends T> lazy) {
+		return (Lazy<T>) lazy;
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get() {
+		Object current = value;
+		if (current == UNSET) {
+			synchronized (this) {
+				current = value;
+				if (current == UNSET) {
+					current = supplier.get();
+					value = current;
+					supplier = null;
+				}
+			}
+		}
+		return (T) current;
+	}
+	
+	public boolean isEvaluated() {
+		return value != UNSET;
+	}
+	
+	@Override
+	public String toString() {
+		Object current = value;
+		return (current == UNSET) ? "Lazy[?]" : "Lazy[" + current + "]";
+	}
+}
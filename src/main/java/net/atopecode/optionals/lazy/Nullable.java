@@ -0,0 +1,83 @@
+package net.atopecode.optionals.lazy;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+//Cadena fluida sobre un valor que puede ser 'null', equivalente a 'Optional.ofNullable(value).map(...)' pero
+//sin 'orElse(T)': el valor por defecto sólo se puede dar con un 'Supplier', así que nunca se calcula cuando
+//hay valor (el error de 'safeGetFromOptional_with_orElse_alwaysExecuteFunction' en 'OptionalUnitTest')
+//y se calcula una sola vez cuando no lo hay. Todas las cadenas vacías comparten la misma instancia.
+public final class Nullable<T> {
+	
+	private static final Nullable<?> EMPTY = new Nullable<>(null);
+	
+	private final T value;
+	
+	private Nullable(T value) {
+		this.value = value;
+	}
+	
+	public static <T> Nullable<T> of(T value) {
+		return (value != null) ? new Nullable<>(value) : empty();
+	}
+	
+	@SuppressWarnings("unchecked")
+	public static <T> Nullable<T> empty() {
+		return (Nullable<T>) EMPTY;
+	}
+	
+	public <U> Nullable<U> map(Function<? super T, ? extends U> mapper) {
+		return (value != null) ? of(mapper.apply(value)) : empty();
+	}
+	
+	public <U> Nullable<U> flatMap(Function<? super T, Nullable<U>> mapper) {
+		return (value != null) ? mapper.apply(value) : empty();
+	}
+	
+	public Nullable<T> filter(Predicate<? super T> predicate) {
+		return (value != null && predicate.test(value)) ? this : empty();
+	}
+	
+	//Cadena alternativa: 'other' sólo se ejecuta si esta cadena está vacía.
+	public Nullable<T> or(Supplier<Nullable<T>> other) {
+		return (value != null) ? this : other.get();
+	}
+	
+	public boolean isPresent() {
+		return value != null;
+	}
+	
+	public void ifPresent(Consumer<? super T> action) {
+		if (value != null) {
+			action.accept(value);
+		}
+	}
+	
+	public T orElseGet(Supplier<? extends T> defaultSupplier) {
+		return (value != null) ? value : defaultSupplier.get();
+	}
+	
+	//'null' como valor por defecto no necesita 'Supplier' (no hay nada que calcular).
+	public T orElseNull() {
+		return value;
+	}
+	
+	public <X extends Throwable> T orElseThrow(Supplier<? extends X> exceptionSupplier) throws X {
+		if (value != null) {
+			return value;
+		}
+		throw exceptionSupplier.get();
+	}
+	
+	public Optional<T> toOptional() {
+		return Optional.ofNullable(value);
+	}
+	
+	@Override
+	public String toString() {
+		return (value != null) ? "Nullable[" + value + "]" : "Nullable.empty";
+	}
+}
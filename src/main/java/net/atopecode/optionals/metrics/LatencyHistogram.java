@@ -0,0 +1,68 @@
+package net.atopecode.optionals.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+//Histograma de latencias en nanosegundos con cubetas de potencias de 2 (la cubeta 0 cuenta el 0 y la 'i' [2^(i-1), 2^i)).
+//Cada cubeta es un 'LongAdder', así que 'record()' no se bloquea ni compite por la misma línea de caché entre hilos.
+public class LatencyHistogram {
+	
+	private static final int BUCKETS = 64;
+	
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	
+	private final LongAdder totalNanos = new LongAdder();
+	
+	public LatencyHistogram() {
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+	
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		buckets[BUCKETS - Long.numberOfLeadingZeros(value)].increment();
+		totalNanos.add(value);
+	}
+	
+	public long count() {
+		long count = 0;
+		for (LongAdder bucket : buckets) {
+			count += bucket.sum();
+		}
+		return count;
+	}
+	
+	public long totalNanos() {
+		return totalNanos.sum();
+	}
+	
+	public long bucketCount(int bucket) {
+		return buckets[bucket].sum();
+	}
+	
+	//Límite superior (en nanosegundos) de la cubeta en la que cae el percentil 'quantile' (entre 0 y 1), o 0 si está vacío.
+	public long percentile(double quantile) {
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets[i].sum();
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(quantile * total);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= Math.max(rank, 1)) {
+				return upperBound(i);
+			}
+		}
+		return upperBound(BUCKETS - 1);
+	}
+	
+	private static long upperBound(int bucket) {
+		return (bucket == BUCKETS - 1) ? Long.MAX_VALUE : (1L << bucket) - 1;
+	}
+}
@@ -0,0 +1,107 @@
+package net.atopecode.optionals.metrics;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+//Contadores de una ruta de navegación con nombre (p.ej. "person.address.state.code"):
+//- evaluaciones con valor ('presentCount()') y sin valor, separadas por el punto de la ruta que devolvió 'null'
+//  ('emptyCount(0)' = el origen era 'null', 'emptyCount(i)' = el paso 'i' devolvió 'null');
+//- histograma de latencias (sólo de una muestra de las evaluaciones).
+//'stepNames' da nombre a cada punto (p.ej. "person", "address", "state", "code") para las etiquetas de Micrometer.
+//Cada contador es un 'LongAdder': sin contención es un único CAS y, si dos hilos chocan en la misma celda, uno cambia de
+//celda y el número de celdas crece (hasta el número de núcleos), así que la memoria no depende del número de hilos
+//(p.ej. un hilo virtual por tarea) y los hilos que chocan no se quedan compartiendo celda.
+public class PathMetrics {
+	
+	//Una de cada 'LATENCY_SAMPLE' evaluaciones (en media) mide la latencia (leer 'System.nanoTime()' cuesta más que la ruta).
+	private static final int LATENCY_SAMPLE = 64;
+	
+	private final String name;
+	
+	private final List<String> stepNames;
+	
+	private final Recorder recorder;
+	
+	private final LatencyHistogram latency = new LatencyHistogram();
+	
+	public PathMetrics(String name, List<String> stepNames) {
+		if (name == null || stepNames == null || stepNames.isEmpty()) {
+			throw new IllegalArgumentException("name y stepNames no pueden ser null ni vacíos");
+		}
+		this.name = name;
+		this.stepNames = List.copyOf(stepNames);
+		this.recorder = new Recorder(stepNames.size() + 1, latency);
+	}
+	
+	//Se obtiene una vez por evaluación.
+	public Recorder recorder() {
+		return recorder;
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public List<String> getStepNames() {
+		return stepNames;
+	}
+	
+	public long presentCount() {
+		return recorder.counts[0].sum();
+	}
+	
+	public long emptyCount(int step) {
+		return recorder.counts[step + 1].sum();
+	}
+	
+	public long emptyCount() {
+		long count = 0;
+		for (int step = 0; step < stepNames.size(); step++) {
+			count += emptyCount(step);
+		}
+		return count;
+	}
+	
+	public long evaluations() {
+		return presentCount() + emptyCount();
+	}
+	
+	public LatencyHistogram latency() {
+		return latency;
+	}
+	
+	//Contadores de la ruta, compartidos por todos los hilos.
+	//Índice 0: evaluaciones con valor; índice 'i + 1': evaluaciones vacías en el punto 'i'.
+	public static final class Recorder {
+		
+		private final LongAdder[] counts;
+		
+		private final LatencyHistogram latency;
+		
+		private Recorder(int width, LatencyHistogram latency) {
+			this.counts = new LongAdder[width];
+			for (int i = 0; i < width; i++) {
+				counts[i] = new LongAdder();
+			}
+			this.latency = latency;
+		}
+		
+		//'true' cuando esta evaluación tiene que medir su latencia.
+		public boolean sample() {
+			return ThreadLocalRandom.current().nextInt(LATENCY_SAMPLE) == 0;
+		}
+		
+		public void recordLatency(long nanos) {
+			latency.record(nanos);
+		}
+		
+		public void recordPresent() {
+			counts[0].increment();
+		}
+		
+		public void recordEmpty(int step) {
+			counts[step + 1].increment();
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package net.atopecode.optionals.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+//Publica en Micrometer los 'PathMetrics' de un 'PathMetricsRegistry' (también los de las rutas registradas después):
+//- 'optional.path.evaluations{path, result=present}' y 'optional.path.evaluations{path, result=empty, step}'.
+//- 'optional.path.latency{path}' (muestra de evaluaciones) y sus percentiles 'optional.path.latency.percentile{path, quantile}'.
+//Los medidores leen los contadores al publicarse: no añaden coste a la evaluación de las rutas.
+//'close()' deja de escuchar el 'PathMetricsRegistry' (normalmente el global, que vive más que el 'MeterRegistry') y
+//quita los medidores que ha registrado.
+public class PathMetricsBinder implements MeterBinder, AutoCloseable {
+	
+	private static final double[] QUANTILES = {0.5, 0.99};
+	
+	private final PathMetricsRegistry pathMetricsRegistry;
+	
+	private final List<Consumer<PathMetrics>> listeners = new ArrayList<>();
+	
+	private final List<Binding> bindings = new ArrayList<>();
+	
+	public PathMetricsBinder(PathMetricsRegistry pathMetricsRegistry) {
+		this.pathMetricsRegistry = pathMetricsRegistry;
+	}
+	
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Consumer<PathMetrics> listener = metrics -> bind(metrics, registry);
+		synchronized (this) {
+			listeners.add(listener);
+		}
+		pathMetricsRegistry.addListener(listener);
+	}
+	
+	@Override
+	public void close() {
+		List<Consumer<PathMetrics>> removedListeners;
+		List<Binding> removedBindings;
+		synchronized (this) {
+			removedListeners = new ArrayList<>(listeners);
+			listeners.clear();
+		}
+		removedListeners.forEach(pathMetricsRegistry::removeListener);
+		//Ya no se añaden medidores: se pueden quitar los registrados.
+		synchronized (this) {
+			removedBindings = new ArrayList<>(bindings);
+			bindings.clear();
+		}
+		removedBindings.forEach(binding -> binding.registry.remove(binding.meter));
+	}
+	
+	private void bind(PathMetrics metrics, MeterRegistry registry) {
+		String path = metrics.getName();
+		add(registry, FunctionCounter.builder("optional.path.evaluations", metrics, PathMetrics::presentCount)
+				.tags("path", path, "result", "present", "step", "")
+				.description("Evaluaciones de la ruta")
+				.register(registry));
+		List<String> stepNames = metrics.getStepNames();
+		for (int i = 0; i < stepNames.size(); i++) {
+			int step = i;
+			add(registry, FunctionCounter.builder("optional.path.evaluations", metrics, m -> m.emptyCount(step))
+					.tags("path", path, "result", "empty", "step", stepNames.get(step))
+					.description("Evaluaciones de la ruta")
+					.register(registry));
+		}
+		add(registry, FunctionTimer.builder("optional.path.latency", metrics.latency(), LatencyHistogram::count, LatencyHistogram::totalNanos, TimeUnit.NANOSECONDS)
+				.tags("path", path)
+				.description("Latencia de una muestra de las evaluaciones de la ruta")
+				.register(registry));
+		for (double quantile : QUANTILES) {
+			add(registry, Gauge.builder("optional.path.latency.percentile", metrics.latency(), latency -> latency.percentile(quantile))
+					.tags("path", path, "quantile", String.valueOf(quantile))
+					.baseUnit("nanoseconds")
+					.register(registry));
+		}
+	}
+	
+	private synchronized void add(MeterRegistry registry, Meter meter) {
+		bindings.add(new Binding(registry, meter));
+	}
+	
+	private static final class Binding {
+		
+		private final MeterRegistry registry;
+		
+		private final Meter meter;
+		
+		private Binding(MeterRegistry registry, Meter meter) {
+			this.registry = registry;
+			this.meter = meter;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package net.atopecode.optionals.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+//'PathMetrics' por nombre de ruta. Las rutas se registran una vez (normalmente en campos 'static final') y
+//los 'listeners' (p.ej. 'PathMetricsBinder') reciben también las que se registran más tarde.
+//Registrar y añadir o quitar 'listeners' es exclusivo (es poco frecuente); consultar no se bloquea.
+public class PathMetricsRegistry {
+	
+	private static final PathMetricsRegistry DEFAULT = new PathMetricsRegistry();
+	
+	private final ConcurrentMap<String, PathMetrics> metrics = new ConcurrentHashMap<>();
+	
+	private final List<Consumer<PathMetrics>> listeners = new CopyOnWriteArrayList<>();
+	
+	public static PathMetricsRegistry getDefault() {
+		return DEFAULT;
+	}
+	
+	//Devuelve los 'PathMetrics' de 'name', creándolos la primera vez; si ya existen tienen que tener los mismos pasos.
+	public synchronized PathMetrics register(String name, List<String> stepNames) {
+		PathMetrics created = new PathMetrics(name, stepNames);
+		PathMetrics current = metrics.putIfAbsent(name, created);
+		if (current == null) {
+			listeners.forEach(listener -> listener.accept(created));
+			return created;
+		}
+		if (!current.getStepNames().equals(created.getStepNames())) {
+			throw new IllegalArgumentException("La ruta '" + name + "' ya existe con otros pasos: " + current.getStepNames());
+		}
+		return current;
+	}
+	
+	public PathMetrics get(String name) {
+		return metrics.get(name);
+	}
+	
+	public Collection<PathMetrics> getAll() {
+		return Collections.unmodifiableList(new ArrayList<>(metrics.values()));
+	}
+	
+	//'listener' recibe las rutas ya registradas y las que se registren a partir de ahora.
+	public synchronized void addListener(Consumer<PathMetrics> listener) {
+		listeners.add(listener);
+		metrics.values().forEach(listener);
+	}
+	
+	public synchronized void removeListener(Consumer<PathMetrics> listener) {
+		listeners.remove(listener);
+	}
+	
+	int listenerCount() {
+		return listeners.size();
+	}
+}
@@ -1,18 +1,36 @@
 package net.atopecode.optionals.model;
 
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 
-public class Address {
+import net.atopecode.optionals.accessor.GenerateAccessors;
+import net.atopecode.optionals.render.ModelRenderer;
+
+@GenerateAccessors
+public class Address implements Serializable, Trackable {
+	
+	private static final long serialVersionUID = 1L;
 	
 	private String street;
 	
-	private Integer number;
+	//'number' se guarda como 'int' + bit de presencia para no crear un 'Integer' por cada 'Address'.
+	private int number;
+	
+	private boolean hasNumber;
 	
 	private State state;
 	
+	private transient ChangeListener changeListener;
+	
+	private transient int changedFields;
+	
 	public Address(String street, Integer number, State state) {
 		this.street = street;
-		this.number = number;
+		this.hasNumber = (number != null);
+		this.number = hasNumber ? number : 0;
 		this.state = state;
 	}
 
@@ -21,15 +39,36 @@ public class Address {
 	}
 
 	public void setStreet(String street) {
+		String oldStreet = this.street;
 		this.street = street;
+		if (changeListener != null) {
+			changed(ModelField.ADDRESS_STREET, oldStreet, street);
+		}
 	}
 
 	public Integer getNumber() {
-		return number;
+		return hasNumber ? Integer.valueOf(number) : null;
 	}
 
 	public void setNumber(Integer number) {
-		this.number = number;
+		Integer oldNumber = (changeListener != null) ? getNumber() : null;
+		this.hasNumber = (number != null);
+		this.number = hasNumber ? number : 0;
+		if (changeListener != null) {
+			changed(ModelField.ADDRESS_NUMBER, oldNumber, number);
+		}
+	}
+	
+	//Getters primitivos: no hacen 'boxing' del campo 'number'.
+	public boolean hasNumber() {
+		return hasNumber;
+	}
+	
+	public int getNumberAsInt() {
+		if (!hasNumber) {
+			throw new NoSuchElementException("Address.number no tiene valor");
+		}
+		return number;
 	}
 
 	public State getState() {
@@ -37,7 +76,45 @@ public class Address {
 	}
 
 	public void setState(State state) {
+		State oldState = this.state;
 		this.state = state;
+		if (changeListener != null) {
+			changed(ModelField.ADDRESS_STATE, oldState, state);
+		}
+	}
+	
+	//Seguimiento de cambios (opcional): con un 'ChangeListener' los setters marcan el campo en 'getChangedFields()'
+	//y notifican el cambio (ver 'tracking.ChangeTracker').
+	@Override
+	public void setChangeListener(ChangeListener changeListener) {
+		this.changeListener = changeListener;
+	}
+	
+	@Override
+	public ChangeListener changeListener() {
+		return changeListener;
+	}
+	
+	//Máscara con el 'ModelField.bit()' de los campos de 'Address' modificados desde el último 'clearChanges()'.
+	@Override
+	public int getChangedFields() {
+		return changedFields;
+	}
+	
+	public boolean isChanged(ModelField field) {
+		return (changedFields & field.bit()) != 0;
+	}
+	
+	@Override
+	public void clearChanges() {
+		changedFields = 0;
+	}
+	
+	private void changed(ModelField field, Object oldValue, Object newValue) {
+		if (!Objects.equals(oldValue, newValue)) {
+			changedFields |= field.bit();
+			changeListener.changed(this, field, oldValue, newValue);
+		}
 	}
 	
 	//Añadimos métodos 'getter' que devuelvan un 'Optional' de cada campo:
@@ -46,7 +123,11 @@ public class Address {
 	}
 	
 	public Optional<Integer> getOptionalNumber() {
-		return Optional.ofNullable(number);
+		return Optional.ofNullable(getNumber());
+	}
+	
+	public OptionalInt getOptionalIntNumber() {
+		return hasNumber ? OptionalInt.of(number) : OptionalInt.empty();
 	}
 	
 	public Optional<State> getOptionalState() {
@@ -54,9 +135,10 @@ public class Address {
 	}
 
 	
+	//El texto se genera con 'ModelRenderer' a partir de los getters, así que también vale para las subclases.
 	@Override
 	public String toString() {
-		return "Address [street=" + street + ", number=" + number + ", state=" + state + "]";
+		return ModelRenderer.toString(this, ModelRenderer.Format.BRACKETED);
 	}
 	
 	
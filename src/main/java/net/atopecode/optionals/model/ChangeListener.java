@@ -0,0 +1,10 @@
+package net.atopecode.optionals.model;
+
+//Receptor de los cambios de un 'Person'/'Address'/'State' con seguimiento activado ('setChangeListener()').
+//Los setters lo llaman después de asignar el nuevo valor y sólo si el valor cambia.
+//Sin 'listener' (el caso por defecto) el coste de un setter es una comprobación de 'null'.
+@FunctionalInterface
+public interface ChangeListener {
+	
+	void changed(Object source, ModelField field, Object oldValue, Object newValue);
+}
@@ -0,0 +1,111 @@
+package net.atopecode.optionals.model;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+//Versión inmutable de 'Address' (ver 'ImmutableState').
+public final class ImmutableAddress {
+	
+	private final String street;
+	
+	private final int number;
+	
+	private final boolean hasNumber;
+	
+	private final ImmutableState state;
+	
+	private final int hash;
+	
+	private ImmutableAddress(String street, boolean hasNumber, int number, ImmutableState state) {
+		this.street = street;
+		this.hasNumber = hasNumber;
+		this.number = number;
+		this.state = state;
+		this.hash = 31 * (31 * Objects.hashCode(street) + (hasNumber ? Integer.hashCode(number) : -1)) + Objects.hashCode(state);
+	}
+	
+	public static ImmutableAddress of(String street, int number, ImmutableState state) {
+		return new ImmutableAddress(street, true, number, state);
+	}
+	
+	public static ImmutableAddress of(String street, Integer number, ImmutableState state) {
+		return new ImmutableAddress(street, number != null, (number != null) ? number : 0, state);
+	}
+	
+	public static ImmutableAddress from(Address address) {
+		if (address == null) {
+			return null;
+		}
+		return new ImmutableAddress(address.getStreet(), address.hasNumber(), address.hasNumber() ? address.getNumberAsInt() : 0,
+				ImmutableState.from(address.getState()));
+	}
+	
+	public Address toAddress() {
+		return new Address(street, getNumber(), (state != null) ? state.toState() : null);
+	}
+	
+	//Copia con otro 'State' (esta instancia no se modifica).
+	public ImmutableAddress withState(ImmutableState state) {
+		return new ImmutableAddress(street, hasNumber, number, state);
+	}
+	
+	public String getStreet() {
+		return street;
+	}
+	
+	public Integer getNumber() {
+		return hasNumber ? Integer.valueOf(number) : null;
+	}
+	
+	public boolean hasNumber() {
+		return hasNumber;
+	}
+	
+	public int getNumberAsInt() {
+		if (!hasNumber) {
+			throw new NoSuchElementException("Address.number no tiene valor");
+		}
+		return number;
+	}
+	
+	public ImmutableState getState() {
+		return state;
+	}
+	
+	public Optional<String> getOptionalStreet() {
+		return Optional.ofNullable(street);
+	}
+	
+	public OptionalInt getOptionalIntNumber() {
+		return hasNumber ? OptionalInt.of(number) : OptionalInt.empty();
+	}
+	
+	public Optional<ImmutableState> getOptionalState() {
+		return Optional.ofNullable(state);
+	}
+	
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ImmutableAddress)) {
+			return false;
+		}
+		ImmutableAddress other = (ImmutableAddress) obj;
+		return hash == other.hash && hasNumber == other.hasNumber && number == other.number
+				&& Objects.equals(street, other.street) && Objects.equals(state, other.state);
+	}
+	
+	@Override
+	public String toString() {
+		return "Address [street=" + street + ", number=" + getNumber() + ", state=" + state + "]";
+	}
+}
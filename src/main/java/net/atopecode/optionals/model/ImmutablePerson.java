@@ -0,0 +1,98 @@
+package net.atopecode.optionals.model;
+
+import java.util.Objects;
+import java.util.Optional;
+
+//Versión inmutable de 'Person' (ver 'ImmutableState'). Se convierte desde/hacia 'Person' con 'from()'/'toPerson()'.
+public final class ImmutablePerson {
+	
+	private final String name;
+	
+	private final String email;
+	
+	private final ImmutableAddress address;
+	
+	private final int hash;
+	
+	private ImmutablePerson(String name, String email, ImmutableAddress address) {
+		this.name = name;
+		this.email = email;
+		this.address = address;
+		this.hash = 31 * (31 * Objects.hashCode(name) + Objects.hashCode(email)) + Objects.hashCode(address);
+	}
+	
+	public static ImmutablePerson of(String name, String email, ImmutableAddress address) {
+		return new ImmutablePerson(name, email, address);
+	}
+	
+	public static ImmutablePerson from(Person person) {
+		if (person == null) {
+			return null;
+		}
+		return new ImmutablePerson(person.getName(), person.getEmail(), ImmutableAddress.from(person.getAddress()));
+	}
+	
+	public Person toPerson() {
+		return new Person(name, email, (address != null) ? address.toAddress() : null);
+	}
+	
+	//Copias con un campo distinto (esta instancia no se modifica).
+	public ImmutablePerson withName(String name) {
+		return new ImmutablePerson(name, email, address);
+	}
+	
+	public ImmutablePerson withEmail(String email) {
+		return new ImmutablePerson(name, email, address);
+	}
+	
+	public ImmutablePerson withAddress(ImmutableAddress address) {
+		return new ImmutablePerson(name, email, address);
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public String getEmail() {
+		return email;
+	}
+	
+	public ImmutableAddress getAddress() {
+		return address;
+	}
+	
+	public Optional<String> getOptionalName() {
+		return Optional.ofNullable(name);
+	}
+	
+	public Optional<String> getOptionalEmail() {
+		return Optional.ofNullable(email);
+	}
+	
+	public Optional<ImmutableAddress> getOptionalAddress() {
+		return Optional.ofNullable(address);
+	}
+	
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ImmutablePerson)) {
+			return false;
+		}
+		ImmutablePerson other = (ImmutablePerson) obj;
+		return hash == other.hash && Objects.equals(name, other.name) && Objects.equals(email, other.email)
+				&& Objects.equals(address, other.address);
+	}
+	
+	@Override
+	public String toString() {
+		return "Person [name=" + name + ", email=" + email + ", address=" + address + "]";
+	}
+}
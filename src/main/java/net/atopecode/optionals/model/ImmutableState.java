@@ -0,0 +1,94 @@
+package net.atopecode.optionals.model;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+//Versión inmutable de 'State': campos 'final' (se puede compartir entre hilos sin sincronización) y 'hashCode' calculado
+//una sola vez en la creación, para usarla como clave de 'HashMap'/'HashSet'.
+public final class ImmutableState {
+	
+	private final String name;
+	
+	private final int code;
+	
+	private final boolean hasCode;
+	
+	private final int hash;
+	
+	private ImmutableState(String name, boolean hasCode, int code) {
+		this.name = name;
+		this.hasCode = hasCode;
+		this.code = code;
+		this.hash = 31 * Objects.hashCode(name) + (hasCode ? Integer.hashCode(code) : -1);
+	}
+	
+	public static ImmutableState of(String name, int code) {
+		return new ImmutableState(name, true, code);
+	}
+	
+	public static ImmutableState of(String name, Integer code) {
+		return new ImmutableState(name, code != null, (code != null) ? code : 0);
+	}
+	
+	public static ImmutableState from(State state) {
+		if (state == null) {
+			return null;
+		}
+		return new ImmutableState(state.getName(), state.hasCode(), state.hasCode() ? state.getCodeAsInt() : 0);
+	}
+	
+	public State toState() {
+		return new State(name, getCode());
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public Integer getCode() {
+		return hasCode ? Integer.valueOf(code) : null;
+	}
+	
+	public boolean hasCode() {
+		return hasCode;
+	}
+	
+	public int getCodeAsInt() {
+		if (!hasCode) {
+			throw new NoSuchElementException("State.code no tiene valor");
+		}
+		return code;
+	}
+	
+	public Optional<String> getOptionalName() {
+		return Optional.ofNullable(name);
+	}
+	
+	public OptionalInt getOptionalIntCode() {
+		return hasCode ? OptionalInt.of(code) : OptionalInt.empty();
+	}
+	
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ImmutableState)) {
+			return false;
+		}
+		ImmutableState other = (ImmutableState) obj;
+		return hash == other.hash && hasCode == other.hasCode && code == other.code && Objects.equals(name, other.name);
+	}
+	
+	@Override
+	public String toString() {
+		return "State [name=" + name + ", code=" + getCode() + "]";
+	}
+}
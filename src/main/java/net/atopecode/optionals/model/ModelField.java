@@ -0,0 +1,36 @@
+package net.atopecode.optionals.model;
+
+//Campos modificables del grafo 'Person -> Address -> State' que notifican los setters cuando el seguimiento de cambios
+//está activado (ver 'ChangeListener'). 'path()' es la ruta del campo desde la 'Person' raíz y 'bit()' su bit en
+//la máscara de cambios de cada objeto ('Person.getChangedFields()', etc.).
+public enum ModelField {
+	
+	PERSON_NAME("name"),
+	PERSON_EMAIL("email"),
+	PERSON_ADDRESS("address"),
+	ADDRESS_STREET("address.street"),
+	ADDRESS_NUMBER("address.number"),
+	ADDRESS_STATE("address.state"),
+	STATE_NAME("address.state.name"),
+	STATE_CODE("address.state.code");
+	
+	private static final ModelField[] VALUES = values();
+	
+	private final String path;
+	
+	private ModelField(String path) {
+		this.path = path;
+	}
+	
+	public String path() {
+		return path;
+	}
+	
+	public int bit() {
+		return 1 << ordinal();
+	}
+	
+	public static ModelField of(int ordinal) {
+		return VALUES[ordinal];
+	}
+}
@@ -1,8 +1,16 @@
 package net.atopecode.optionals.model;
 
+import java.io.Serializable;
+import java.util.Objects;
 import java.util.Optional;
 
-public class Person {
+import net.atopecode.optionals.accessor.GenerateAccessors;
+import net.atopecode.optionals.render.ModelRenderer;
+
+@GenerateAccessors
+public class Person implements Serializable, Trackable {
+	
+	private static final long serialVersionUID = 1L;
 	
 	private String name;
 	
@@ -10,6 +18,10 @@ public class Person {
 	
 	private Address address;
 	
+	private transient ChangeListener changeListener;
+	
+	private transient int changedFields;
+	
 	public Person() {
 		
 	}
@@ -25,7 +37,11 @@ public class Person {
 	}
 
 	public void setName(String name) {
+		String oldName = this.name;
 		this.name = name;
+		if (changeListener != null) {
+			changed(ModelField.PERSON_NAME, oldName, name);
+		}
 	}
 
 	public String getEmail() {
@@ -33,7 +49,11 @@ public class Person {
 	}
 
 	public void setEmail(String email) {
+		String oldEmail = this.email;
 		this.email = email;
+		if (changeListener != null) {
+			changed(ModelField.PERSON_EMAIL, oldEmail, email);
+		}
 	}
 	
 	public Address getAddress() {
@@ -41,9 +61,47 @@ public class Person {
 	}
 
 	public void setAddress(Address address) {
+		Address oldAddress = this.address;
 		this.address = address;
+		if (changeListener != null) {
+			changed(ModelField.PERSON_ADDRESS, oldAddress, address);
+		}
 	}
 
+	//Seguimiento de cambios (opcional): con un 'ChangeListener' los setters marcan el campo en 'getChangedFields()'
+	//y notifican el cambio (ver 'tracking.ChangeTracker').
+	@Override
+	public void setChangeListener(ChangeListener changeListener) {
+		this.changeListener = changeListener;
+	}
+	
+	@Override
+	public ChangeListener changeListener() {
+		return changeListener;
+	}
+	
+	//Máscara con el 'ModelField.bit()' de los campos de 'Person' modificados desde el último 'clearChanges()'.
+	@Override
+	public int getChangedFields() {
+		return changedFields;
+	}
+	
+	public boolean isChanged(ModelField field) {
+		return (changedFields & field.bit()) != 0;
+	}
+	
+	@Override
+	public void clearChanges() {
+		changedFields = 0;
+	}
+	
+	private void changed(ModelField field, Object oldValue, Object newValue) {
+		if (!Objects.equals(oldValue, newValue)) {
+			changedFields |= field.bit();
+			changeListener.changed(this, field, oldValue, newValue);
+		}
+	}
+	
 	//Añadimos métodos 'getter' que devuelvan un 'Optional' de cada campo:
 	public Optional<String> getOptionalName() {
 		return Optional.ofNullable(name);
@@ -58,9 +116,10 @@ public class Person {
 	}
 	
 	
+	//El texto se genera con 'ModelRenderer' a partir de los getters, así que también vale para las subclases.
 	@Override
 	public String toString() {
-		return "Person [name=" + name + ", email=" + email + ", address=" + address + "]";
+		return ModelRenderer.toString(this, ModelRenderer.Format.BRACKETED);
 	}	
 	
 }
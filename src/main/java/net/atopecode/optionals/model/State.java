@@ -1,16 +1,37 @@
 package net.atopecode.optionals.model;
 
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 
-public class State {
+import net.atopecode.optionals.accessor.GenerateAccessors;
+import net.atopecode.optionals.render.ModelRenderer;
+
+@GenerateAccessors
+public class State implements Serializable, Trackable {
+	
+	private static final long serialVersionUID = 1L;
 	
 	private String name;
 	
-	private Integer code;
+	//'code' se guarda como 'int' + bit de presencia para no crear un 'Integer' por cada 'State'.
+	private int code;
+	
+	private boolean hasCode;
+	
+	private transient ChangeListener changeListener;
+	
+	private transient int changedFields;
+	
+	//Lo marca 'StateRegistry' al registrarlo; una copia deserializada ya no es la compartida.
+	private transient boolean shared;
 	
 	public State(String name, Integer code) {
 		this.name = name;
-		this.code = code;
+		this.hasCode = (code != null);
+		this.code = hasCode ? code : 0;
 	}
 
 	public String getName() {
@@ -18,30 +39,99 @@ public class State {
 	}
 
 	public void setName(String name) {
+		String oldName = this.name;
 		this.name = name;
+		if (changeListener != null) {
+			changed(ModelField.STATE_NAME, oldName, name);
+		}
 	}
 
 	public Integer getCode() {
-		return code;
+		return hasCode ? Integer.valueOf(code) : null;
 	}
 
 	public void setCode(Integer code) {
-		this.code = code;
+		Integer oldCode = (changeListener != null) ? getCode() : null;
+		this.hasCode = (code != null);
+		this.code = hasCode ? code : 0;
+		if (changeListener != null) {
+			changed(ModelField.STATE_CODE, oldCode, code);
+		}
+	}
+	
+	//Getters primitivos: no hacen 'boxing' del campo 'code'.
+	public boolean hasCode() {
+		return hasCode;
+	}
+	
+	public int getCodeAsInt() {
+		if (!hasCode) {
+			throw new NoSuchElementException("State.code no tiene valor");
+		}
+		return code;
+	}
+	
+	//'true' si es la instancia compartida de un 'StateRegistry' (la usan varias 'Address').
+	public boolean isShared() {
+		return shared;
+	}
+	
+	void markShared() {
+		shared = true;
 	}
 
+	//Seguimiento de cambios (opcional): con un 'ChangeListener' los setters marcan el campo en 'getChangedFields()'
+	//y notifican el cambio (ver 'tracking.ChangeTracker').
+	@Override
+	public void setChangeListener(ChangeListener changeListener) {
+		this.changeListener = changeListener;
+	}
+	
+	@Override
+	public ChangeListener changeListener() {
+		return changeListener;
+	}
+	
+	//Máscara con el 'ModelField.bit()' de los campos de 'State' modificados desde el último 'clearChanges()'.
+	@Override
+	public int getChangedFields() {
+		return changedFields;
+	}
+	
+	public boolean isChanged(ModelField field) {
+		return (changedFields & field.bit()) != 0;
+	}
+	
+	@Override
+	public void clearChanges() {
+		changedFields = 0;
+	}
+	
+	private void changed(ModelField field, Object oldValue, Object newValue) {
+		if (!Objects.equals(oldValue, newValue)) {
+			changedFields |= field.bit();
+			changeListener.changed(this, field, oldValue, newValue);
+		}
+	}
+	
 	//Añadimos métodos 'getter' que devuelvan un 'Optional' de cada campo:
 	public Optional<String> getOptionalName() {
 		return Optional.ofNullable(name);
 	}
 	
 	public Optional<Integer> getOptionalCode() {
-		return Optional.ofNullable(code);
+		return Optional.ofNullable(getCode());
+	}
+	
+	public OptionalInt getOptionalIntCode() {
+		return hasCode ? OptionalInt.of(code) : OptionalInt.empty();
 	}
 	
 	
+	//El texto se genera con 'ModelRenderer' a partir de los getters, así que también vale para las subclases.
 	@Override
 	public String toString() {
-		return "State [name=" + name + ", code=" + code + "]";
+		return ModelRenderer.toString(this, ModelRenderer.Format.BRACKETED);
 	}
 	
 	
@@ -0,0 +1,123 @@
+package net.atopecode.optionals.model;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+//Registro canónico ('interning') de 'State' por código: como en los datos reales sólo hay unos cientos de 'State' distintos,
+//todas las 'Address' con el mismo código comparten la misma instancia de 'State' en vez de crear una por 'Address'.
+//
+//-Lecturas sin bloqueos: tabla hash de direccionamiento abierto con claves 'int' (sin 'boxing') publicada en un campo 'volatile'.
+// El valor de cada posición se escribe (escritura 'volatile') después de su clave, así que un lector que ve el 'State' ve su clave.
+//-Escrituras serializadas con 'synchronized' (sólo ocurren la primera vez que aparece cada código). Al crecer se construye una
+// tabla nueva y se publica entera, por lo que los lectores nunca ven una tabla a medio copiar.
+//
+//Compartir es opcional: sólo usan un registro quienes lo reciben de forma explícita (p.ej. 'PersonIngester',
+//'PersonCodec.decode()' o 'PersonGenerator.sharedStates()'), y cada dataset usa el suyo, así que no hay una tabla global
+//que crezca con cada carga. Los 'State' registrados son 'State' normales marcados con 'State.isShared()': un setter los
+//cambia en todas las 'Address' que los comparten, así que lo habitual es sustituirlos con 'Address.setState()'.
+public final class StateRegistry {
+	
+	private static final int DEFAULT_CAPACITY = 1024;
+	
+	private static final class Table {
+		
+		private final int[] codes;
+		
+		private final AtomicReferenceArray<State> states;
+		
+		private Table(int capacity) {
+			codes = new int[capacity];
+			states = new AtomicReferenceArray<>(capacity);
+		}
+	}
+	
+	private volatile Table table;
+	
+	//Se escribe dentro de 'register()' y se lee sin bloqueo desde 'size()'.
+	private volatile int size;
+	
+	public StateRegistry() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	public StateRegistry(int expectedStates) {
+		table = new Table(Integer.highestOneBit(Math.max(expectedStates, 2) * 2 - 1) << 1);
+	}
+	
+	//Devuelve el 'State' registrado para 'code' o 'null' si no hay ninguno.
+	public State get(int code) {
+		Table current = table;
+		int mask = current.codes.length - 1;
+		for (int slot = mix(code) & mask; ; slot = (slot + 1) & mask) {
+			State state = current.states.get(slot);
+			if (state == null || current.codes[slot] == code) {
+				return state;
+			}
+		}
+	}
+	
+	//Devuelve la instancia canónica de 'State(name, code)', creándola y registrándola si es la primera vez que aparece 'code'.
+	//Un 'State' sin código no se puede registrar (se devuelve uno nuevo). Si 'code' ya está registrado con otro nombre
+	//lanza 'IllegalArgumentException': en un registro el código identifica al 'State', y dos nombres para el mismo código
+	//son datos inconsistentes (p.ej. la carga de un fichero con un registro se detiene en esa línea).
+	public State intern(String name, Integer code) {
+		return (code != null) ? intern(name, code.intValue()) : new State(name, null);
+	}
+	
+	public State intern(String name, int code) {
+		State state = get(code);
+		if (state == null) {
+			state = register(name, code);
+		}
+		if (!Objects.equals(state.getName(), name)) {
+			throw new IllegalArgumentException("El código " + code + " ya está registrado con otro nombre: " + state.getName()
+					+ " (no " + name + ")");
+		}
+		return state;
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	private synchronized State register(String name, int code) {
+		State state = get(code);
+		if (state != null) {
+			return state;
+		}
+		if ((size + 1) * 2 > table.codes.length) {
+			table = copy(table, table.codes.length * 2);
+		}
+		state = new State(name, code);
+		state.markShared();
+		put(table, code, state);
+		size++;
+		return state;
+	}
+	
+	private static Table copy(Table table, int capacity) {
+		Table result = new Table(capacity);
+		for (int slot = 0; slot < table.codes.length; slot++) {
+			State state = table.states.get(slot);
+			if (state != null) {
+				put(result, table.codes[slot], state);
+			}
+		}
+		return result;
+	}
+	
+	private static void put(Table table, int code, State state) {
+		int mask = table.codes.length - 1;
+		int slot = mix(code) & mask;
+		while (table.states.get(slot) != null) {
+			slot = (slot + 1) & mask;
+		}
+		table.codes[slot] = code;
+		table.states.set(slot, state);
+	}
+	
+	private static int mix(int code) {
+		int hash = code * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,13 @@
+package net.atopecode.optionals.model;
+
+//Objetos del modelo con seguimiento de cambios opcional ('Person', 'Address' y 'State'): ver 'ChangeListener'.
+public interface Trackable {
+	
+	void setChangeListener(ChangeListener changeListener);
+	
+	ChangeListener changeListener();
+	
+	int getChangedFields();
+	
+	void clearChanges();
+}
@@ -0,0 +1,57 @@
+package net.atopecode.optionals.path;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+//Variante de 'Path' cuyo último paso es un campo entero (p.ej. 'State.code'): devuelve directamente un 'int'
+//para que el llamador no tenga que trabajar con el 'Integer' ni crear un 'Optional<Integer>'.
+//El último paso se divide en una comprobación de presencia y un getter primitivo ('State::hasCode', 'State::getCodeAsInt').
+public final class IntPath<S> {
+	
+	private final Function<Object, Object>[] steps;
+	
+	private final Predicate<Object> present;
+	
+	private final ToIntFunction<Object> last;
+	
+	private final int depth;
+	
+	IntPath(Function<Object, Object>[] steps, Predicate<Object> present, ToIntFunction<Object> last) {
+		this(steps, present, last, steps.length + 1);
+	}
+	
+	//'depth' es el número de pasos de la ruta: las variantes con getter 'Integer' lo recorren dentro de 'steps'.
+	IntPath(Function<Object, Object>[] steps, Predicate<Object> present, ToIntFunction<Object> last, int depth) {
+		this.steps = steps;
+		this.present = present;
+		this.last = last;
+		this.depth = depth;
+	}
+	
+	//Devuelve el valor final de la ruta o 'defaultValue' si algún paso (o el propio campo) no tiene valor.
+	public int getAsInt(S source, int defaultValue) {
+		Object current = walk(source);
+		return (current != null && present.test(current)) ? last.applyAsInt(current) : defaultValue;
+	}
+	
+	public boolean isPresent(S source) {
+		Object current = walk(source);
+		return (current != null) && present.test(current);
+	}
+	
+	public int depth() {
+		return depth;
+	}
+	
+	private Object walk(S source) {
+		Object current = source;
+		for (Function<Object, Object> step : steps) {
+			if (current == null) {
+				return null;
+			}
+			current = step.apply(current);
+		}
+		return current;
+	}
+}
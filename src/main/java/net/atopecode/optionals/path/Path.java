@@ -0,0 +1,74 @@
+package net.atopecode.optionals.path;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import net.atopecode.optionals.metrics.PathMetricsRegistry;
+
+//Ruta de navegación precompilada 'S -> ... -> T' (p.ej. 'Person -> Address -> State -> code').
+//Es equivalente a 'Optional.ofNullable(source).map(step1).map(step2)...orElse(defaultValue)' pero recorre los 'getters'
+//directamente sin crear ningún 'Optional' intermedio: en cuanto un paso devuelve 'null' se devuelve el valor por defecto.
+//Las instancias son inmutables y se pueden compartir entre hilos (se crean una vez con 'Paths.of()' y se reutilizan).
+public final class Path<S, T> {
+	
+	private final Function<Object, Object>[] steps;
+	
+	Path(Function<Object, Object>[] steps) {
+		this.steps = steps;
+	}
+	
+	//Devuelve el valor final de la ruta o 'null' si algún paso intermedio (o el propio 'source') vale 'null'.
+	@SuppressWarnings("unchecked")
+	public T get(S source) {
+		Object current = source;
+		for (Function<Object, Object> step : steps) {
+			if (current == null) {
+				return null;
+			}
+			current = step.apply(current);
+		}
+		return (T) current;
+	}
+	
+	public T orElse(S source, T defaultValue) {
+		T value = get(source);
+		return (value != null) ? value : defaultValue;
+	}
+	
+	//Igual que 'Optional.orElseGet()': el 'Supplier' sólo se ejecuta cuando la ruta no tiene valor.
+	public T orElseGet(S source, Supplier<? extends T> defaultSupplier) {
+		T value = get(source);
+		return (value != null) ? value : defaultSupplier.get();
+	}
+	
+	public boolean isPresent(S source) {
+		return get(source) != null;
+	}
+	
+	public int depth() {
+		return steps.length;
+	}
+	
+	Function<Object, Object>[] steps() {
+		return steps;
+	}
+	
+	//Versión de esta ruta que cuenta sus evaluaciones en 'PathMetricsRegistry.getDefault()' con el nombre 'name'.
+	//'stepNames' tiene un nombre para el origen y otro para cada paso (p.ej. "person", "address", "state", "code").
+	public InstrumentedPath<S, T> instrumented(String name, String... stepNames) {
+		return instrumented(PathMetricsRegistry.getDefault(), name, stepNames);
+	}
+	
+	public InstrumentedPath<S, T> instrumented(PathMetricsRegistry registry, String name, String... stepNames) {
+		if (stepNames.length != steps.length + 1) {
+			throw new IllegalArgumentException("Se esperaban " + (steps.length + 1) + " nombres de paso y hay " + stepNames.length);
+		}
+		return new InstrumentedPath<>(this, registry.register(name, Arrays.asList(stepNames)));
+	}
+	
+	//Nueva ruta con un paso más al final (esta instancia no se modifica).
+	public <U> Path<S, U> then(Function<? super T, ? extends U> step) {
+		return new Path<>(Paths.append(steps, step));
+	}
+}
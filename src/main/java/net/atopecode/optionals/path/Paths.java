@@ -0,0 +1,103 @@
+package net.atopecode.optionals.path;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+//Factoría de rutas de navegación:
+//  Path<Person, String> stateName = Paths.of(Person::getAddress, Address::getState, State::getName);
+//  IntPath<Person> stateCode = Paths.ofInt(Person::getAddress, Address::getState, State::hasCode, State::getCodeAsInt);
+//Las variantes 'ofInt()' que reciben un getter 'Integer' (p.ej. 'State::getCode') se mantienen por compatibilidad,
+//pero como 'State.code' ya se guarda como 'int' ese getter hace 'boxing': es preferible usar el getter primitivo.
+public final class Paths {
+	
+	private Paths() {
+		
+	}
+	
+	public static <A, B> Path<A, B> of(Function<? super A, ? extends B> step1) {
+		return new Path<>(steps(step1));
+	}
+	
+	public static <A, B, C> Path<A, C> of(Function<? super A, ? extends B> step1, Function<? super B, ? extends C> step2) {
+		return new Path<>(steps(step1, step2));
+	}
+	
+	public static <A, B, C, D> Path<A, D> of(Function<? super A, ? extends B> step1, Function<? super B, ? extends C> step2,
+			Function<? super C, ? extends D> step3) {
+		return new Path<>(steps(step1, step2, step3));
+	}
+	
+	public static <A, B, C, D, E> Path<A, E> of(Function<? super A, ? extends B> step1, Function<? super B, ? extends C> step2,
+			Function<? super C, ? extends D> step3, Function<? super D, ? extends E> step4) {
+		return new Path<>(steps(step1, step2, step3, step4));
+	}
+	
+	public static <A> IntPath<A> ofInt(Predicate<? super A> present, ToIntFunction<? super A> last) {
+		return new IntPath<>(steps(), castPredicate(present), castInt(last));
+	}
+	
+	public static <A, B> IntPath<A> ofInt(Function<? super A, ? extends B> step1, Predicate<? super B> present,
+			ToIntFunction<? super B> last) {
+		return new IntPath<>(steps(step1), castPredicate(present), castInt(last));
+	}
+	
+	public static <A, B, C> IntPath<A> ofInt(Function<? super A, ? extends B> step1, Function<? super B, ? extends C> step2,
+			Predicate<? super C> present, ToIntFunction<? super C> last) {
+		return new IntPath<>(steps(step1, step2), castPredicate(present), castInt(last));
+	}
+	
+	public static <A> IntPath<A> ofInt(Function<? super A, Integer> last) {
+		return boxed(last);
+	}
+	
+	public static <A, B> IntPath<A> ofInt(Function<? super A, ? extends B> step1, Function<? super B, Integer> last) {
+		return boxed(step1, last);
+	}
+	
+	public static <A, B, C> IntPath<A> ofInt(Function<? super A, ? extends B> step1, Function<? super B, ? extends C> step2,
+			Function<? super C, Integer> last) {
+		return boxed(step1, step2, last);
+	}
+	
+	//El getter 'Integer' se recorre como un paso más y 'unbox()' sólo convierte su resultado: no es un paso de la ruta.
+	private static <A> IntPath<A> boxed(Function<?, ?>... steps) {
+		return new IntPath<>(steps(steps), Objects::nonNull, Paths::unbox, steps.length);
+	}
+	
+	private static int unbox(Object value) {
+		return (Integer) value;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static Function<Object, Object>[] steps(Function<?, ?>... steps) {
+		Function<Object, Object>[] result = new Function[steps.length];
+		for (int i = 0; i < steps.length; i++) {
+			result[i] = cast(steps[i]);
+		}
+		return result;
+	}
+	
+	static Function<Object, Object>[] append(Function<Object, Object>[] steps, Function<?, ?> step) {
+		Function<Object, Object>[] result = Arrays.copyOf(steps, steps.length + 1);
+		result[steps.length] = cast(step);
+		return result;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static Predicate<Object> castPredicate(Predicate<?> predicate) {
+		return (Predicate<Object>) predicate;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static ToIntFunction<Object> castInt(ToIntFunction<?> function) {
+		return (ToIntFunction<Object>) function;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <R> Function<Object, R> cast(Function<?, ?> step) {
+		return (Function<Object, R>) step;
+	}
+}
@@ -0,0 +1,11 @@
+package net.atopecode.optionals.reactive;
+
+import java.util.List;
+
+//Lectura por páginas del almacenamiento que hay detrás de un 'PagedPublisher' (p.ej. 'PersonRepository.findPage()').
+//'read()' devuelve como mucho 'limit' elementos a partir de la posición 'offset'; menos de 'limit' indica el final.
+@FunctionalInterface
+public interface PageReader<T> {
+	
+	List<T> read(int offset, int limit);
+}
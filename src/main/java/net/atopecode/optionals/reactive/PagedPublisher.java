@@ -0,0 +1,229 @@
+package net.atopecode.optionals.reactive;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+//'Flow.Publisher' que lee los elementos de un 'PageReader' página a página según la demanda de cada suscriptor:
+//-Sólo se lee una página cuando el suscriptor ha pedido elementos ('request()') y ya se han entregado los de la anterior,
+// así que en memoria hay como mucho una página por suscripción, sea cual sea la velocidad del suscriptor.
+//-'map()', 'flatMap()' y 'filter()' (con la semántica de los de 'Optional') se aplican a cada elemento justo antes de
+// entregarlo; los que se quedan vacíos se descartan y no consumen demanda.
+//-'cancel()' hace que no se lea ninguna página más ni se entregue ningún elemento más (una lectura en curso termina).
+//-Si 'PageReader', 'map()', 'flatMap()' o 'filter()' lanzan excepción, la suscripción termina con 'onError()'.
+//Cada suscripción es independiente (empieza desde el principio) y entrega sus señales desde 'executor', de una en una.
+//'onSubscribe()' se llama en el hilo de 'subscribe()' y nada se entrega hasta que termina, aunque pida elementos dentro.
+public final class PagedPublisher<T> implements Flow.Publisher<T> {
+	
+	private final PageReader<?> reader;
+	
+	private final int pageSize;
+	
+	private final Executor executor;
+	
+	//Proyección de cada elemento leído: vacía si el elemento se descarta.
+	private final Function<Object, Optional<T>> projection;
+	
+	private PagedPublisher(PageReader<?> reader, int pageSize, Executor executor, Function<Object, Optional<T>> projection) {
+		this.reader = reader;
+		this.pageSize = pageSize;
+		this.executor = executor;
+		this.projection = projection;
+	}
+	
+	@SuppressWarnings("unchecked")
+	public static <T> PagedPublisher<T> of(PageReader<T> reader, int pageSize, Executor executor) {
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("pageSize debe ser mayor que 0: " + pageSize);
+		}
+		return new PagedPublisher<>(Objects.requireNonNull(reader), pageSize, Objects.requireNonNull(executor),
+				item -> Optional.of((T) item));
+	}
+	
+	//Como 'Optional.map()': si 'mapper' devuelve 'null' el elemento se descarta.
+	public <R> PagedPublisher<R> map(Function<? super T, ? extends R> mapper) {
+		return new PagedPublisher<>(reader, pageSize, executor, projection.andThen(value -> value.map(mapper)));
+	}
+	
+	public <R> PagedPublisher<R> flatMap(Function<? super T, ? extends Optional<? extends R>> mapper) {
+		return new PagedPublisher<>(reader, pageSize, executor, projection.andThen(value -> value.flatMap(mapper)));
+	}
+	
+	public PagedPublisher<T> filter(Predicate<? super T> predicate) {
+		return new PagedPublisher<>(reader, pageSize, executor, projection.andThen(value -> value.filter(predicate)));
+	}
+	
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		PagedSubscription subscription = new PagedSubscription(Objects.requireNonNull(subscriber));
+		try {
+			subscriber.onSubscribe(subscription);
+		}
+		catch (RuntimeException e) {
+			subscription.cancel();
+			throw e;
+		}
+		subscription.start();
+	}
+	
+	private final class PagedSubscription implements Flow.Subscription, Runnable {
+		
+		private final Flow.Subscriber<? super T> subscriber;
+		
+		private final AtomicLong demand = new AtomicLong();
+		
+		//Número de peticiones de 'drain' pendientes: sólo la que lo pasa de 0 a 1 lanza 'run()' en el 'executor'.
+		//Empieza en 1 mientras dura 'onSubscribe()' para que sus 'request()' no lancen 'run()' hasta 'start()'.
+		private final AtomicInteger pending = new AtomicInteger(1);
+		
+		private volatile boolean cancelled;
+		
+		private volatile Throwable invalidRequest;
+		
+		//Estado del 'drain': sólo se usa desde 'run()', que nunca se ejecuta en paralelo consigo mismo.
+		private List<?> page = List.of();
+		
+		private int index;
+		
+		private int offset;
+		
+		private boolean exhausted;
+		
+		private boolean done;
+		
+		private PagedSubscription(Flow.Subscriber<? super T> subscriber) {
+			this.subscriber = subscriber;
+		}
+		
+		@Override
+		public void request(long n) {
+			if (cancelled) {
+				return;
+			}
+			if (n <= 0) {
+				invalidRequest = new IllegalArgumentException("request() debe recibir un número positivo: " + n);
+			}
+			else {
+				demand.getAndAccumulate(n, (current, added) -> (current + added < 0) ? Long.MAX_VALUE : current + added);
+			}
+			schedule();
+		}
+		
+		@Override
+		public void cancel() {
+			if (!cancelled) {
+				cancelled = true;
+				schedule();
+			}
+		}
+		
+		private void schedule() {
+			if (pending.getAndIncrement() == 0) {
+				executor.execute(this);
+			}
+		}
+		
+		//Tras 'onSubscribe()': atiende las peticiones que haya hecho.
+		private void start() {
+			if (pending.decrementAndGet() != 0) {
+				executor.execute(this);
+			}
+		}
+		
+		@Override
+		public void run() {
+			int missed = 1;
+			do {
+				try {
+					drain();
+				}
+				finally {
+					missed = pending.addAndGet(-missed);
+				}
+			}
+			while (missed != 0);
+		}
+		
+		private void drain() {
+			while (!done) {
+				if (cancelled) {
+					finish();
+					return;
+				}
+				if (invalidRequest != null) {
+					finish();
+					subscriber.onError(invalidRequest);
+					return;
+				}
+				if (index == page.size() && exhausted) {
+					finish();
+					subscriber.onComplete();
+					return;
+				}
+				if (demand.get() == 0) {
+					return;
+				}
+				if (index == page.size()) {
+					if (!readPage()) {
+						return;
+					}
+					continue;
+				}
+				Optional<T> item;
+				try {
+					item = projection.apply(page.get(index++));
+				}
+				catch (RuntimeException e) {
+					finish();
+					subscriber.onError(e);
+					return;
+				}
+				if (item.isPresent()) {
+					if (demand.get() != Long.MAX_VALUE) {
+						demand.decrementAndGet();
+					}
+					try {
+						subscriber.onNext(item.get());
+					}
+					catch (RuntimeException e) {
+						//Un suscriptor que lanza excepción en 'onNext()' incumple el contrato de 'Flow': la suscripción se
+						//da por cancelada y la excepción llega al 'executor'.
+						finish();
+						throw e;
+					}
+				}
+			}
+		}
+		
+		private boolean readPage() {
+			List<?> next;
+			try {
+				next = reader.read(offset, pageSize);
+			}
+			catch (RuntimeException e) {
+				finish();
+				subscriber.onError(e);
+				return false;
+			}
+			page = next;
+			index = 0;
+			offset += next.size();
+			exhausted = next.size() < pageSize;
+			return true;
+		}
+		
+		//Libera la página actual: una suscripción terminada o cancelada no retiene elementos ni atiende más peticiones.
+		private void finish() {
+			done = true;
+			cancelled = true;
+			page = List.of();
+			index = 0;
+		}
+	}
+}
@@ -0,0 +1,241 @@
+package net.atopecode.optionals.render;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+
+//Renderizado de texto de 'Person', 'Address' y 'State' que escribe directamente en un 'StringBuilder' del llamador (o en un
+//'Appendable'/'ByteBuffer'), sin los 'String' intermedios de concatenar los 'toString()' anidados:
+//-'Format.BRACKETED': el formato de 'toString()' ("Person [name=..., email=..., address=Address [...]]").
+//-'Format.JSON': JSON compacto ({"name":"...","email":"...","address":{...}}), con 'null' para los campos vacíos.
+//Los enteros se escriben con 'StringBuilder.append(int)' (sin 'boxing') y los 'null' como el literal "null".
+//Se leen los campos con los getters, así que sirve también para las vistas de 'store' ('PersonView', etc.).
+//'toString()' y los métodos para 'Appendable'/'ByteBuffer' usan un 'StringBuilder' reutilizable por hilo.
+public final class ModelRenderer {
+	
+	public enum Format {
+		BRACKETED,
+		JSON
+	}
+	
+	private static final String NULL = "null";
+	
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+	
+	//Por encima de este tamaño el 'StringBuilder' por hilo no se conserva para no retener memoria tras un texto enorme.
+	private static final int MAX_RETAINED_CAPACITY = 8 * 1024;
+	
+	private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+	
+	private ModelRenderer() {
+		
+	}
+	
+	//Renderizado sobre un 'StringBuilder':
+	public static StringBuilder append(StringBuilder out, Person person, Format format) {
+		if (person == null) {
+			return out.append(NULL);
+		}
+		if (format == Format.JSON) {
+			out.append("{\"name\":");
+			appendJsonString(out, person.getName());
+			out.append(",\"email\":");
+			appendJsonString(out, person.getEmail());
+			out.append(",\"address\":");
+			return append(out, person.getAddress(), format).append('}');
+		}
+		out.append("Person [name=").append(person.getName()).append(", email=").append(person.getEmail()).append(", address=");
+		return append(out, person.getAddress(), format).append(']');
+	}
+	
+	public static StringBuilder append(StringBuilder out, Address address, Format format) {
+		if (address == null) {
+			return out.append(NULL);
+		}
+		if (format == Format.JSON) {
+			out.append("{\"street\":");
+			appendJsonString(out, address.getStreet());
+			out.append(",\"number\":");
+			appendNumber(out, address.hasNumber(), address.hasNumber() ? address.getNumberAsInt() : 0);
+			out.append(",\"state\":");
+			return append(out, address.getState(), format).append('}');
+		}
+		out.append("Address [street=").append(address.getStreet()).append(", number=");
+		appendNumber(out, address.hasNumber(), address.hasNumber() ? address.getNumberAsInt() : 0);
+		out.append(", state=");
+		return append(out, address.getState(), format).append(']');
+	}
+	
+	public static StringBuilder append(StringBuilder out, State state, Format format) {
+		if (state == null) {
+			return out.append(NULL);
+		}
+		if (format == Format.JSON) {
+			out.append("{\"name\":");
+			appendJsonString(out, state.getName());
+			out.append(",\"code\":");
+			appendNumber(out, state.hasCode(), state.hasCode() ? state.getCodeAsInt() : 0);
+			return out.append('}');
+		}
+		out.append("State [name=").append(state.getName()).append(", code=");
+		appendNumber(out, state.hasCode(), state.hasCode() ? state.getCodeAsInt() : 0);
+		return out.append(']');
+	}
+	
+	//Renderizado sobre otros destinos (p.ej. el 'Writer' de un 'appender' de logs o un buffer de red):
+	public static <A extends Appendable> A append(A out, Person person, Format format) throws IOException {
+		if (out instanceof StringBuilder) {
+			append((StringBuilder) out, person, format);
+			return out;
+		}
+		StringBuilder builder = builder();
+		try {
+			out.append(append(builder, person, format));
+			return out;
+		}
+		finally {
+			release(builder);
+		}
+	}
+	
+	//Escribe el texto en UTF-8 a partir del 'position' de 'out'. Si no cabe lanza 'BufferOverflowException' y 'out' puede
+	//quedar con parte del texto escrito.
+	public static ByteBuffer append(ByteBuffer out, Person person, Format format) {
+		StringBuilder builder = builder();
+		try {
+			putUtf8(out, append(builder, person, format));
+			return out;
+		}
+		finally {
+			release(builder);
+		}
+	}
+	
+	public static String toString(Person person, Format format) {
+		StringBuilder builder = builder();
+		try {
+			return append(builder, person, format).toString();
+		}
+		finally {
+			release(builder);
+		}
+	}
+	
+	public static String toString(Address address, Format format) {
+		StringBuilder builder = builder();
+		try {
+			return append(builder, address, format).toString();
+		}
+		finally {
+			release(builder);
+		}
+	}
+	
+	public static String toString(State state, Format format) {
+		StringBuilder builder = builder();
+		try {
+			return append(builder, state, format).toString();
+		}
+		finally {
+			release(builder);
+		}
+	}
+	
+	private static void appendNumber(StringBuilder out, boolean present, int value) {
+		if (present) {
+			out.append(value);
+		}
+		else {
+			out.append(NULL);
+		}
+	}
+	
+	private static void appendJsonString(StringBuilder out, String value) {
+		if (value == null) {
+			out.append(NULL);
+			return;
+		}
+		out.append('"');
+		int length = value.length();
+		int start = 0;
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c >= 0x20 && c != '"' && c != '\\') {
+				continue;
+			}
+			//Se copia de una vez el tramo que no necesita escape.
+			out.append(value, start, i);
+			start = i + 1;
+			switch (c) {
+				case '"':
+					out.append("\\\"");
+					break;
+				case '\\':
+					out.append("\\\\");
+					break;
+				case '\n':
+					out.append("\\n");
+					break;
+				case '\r':
+					out.append("\\r");
+					break;
+				case '\t':
+					out.append("\\t");
+					break;
+				default:
+					out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+			}
+		}
+		out.append(value, start, length).append('"');
+	}
+	
+	private static void putUtf8(ByteBuffer out, CharSequence text) {
+		int length = text.length();
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c < 0x80) {
+				out.put((byte) c);
+			}
+			else if (c < 0x800) {
+				out.put((byte) (0xC0 | (c >> 6)));
+				out.put((byte) (0x80 | (c & 0x3F)));
+			}
+			else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, text.charAt(++i));
+				out.put((byte) (0xF0 | (codePoint >> 18)));
+				out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+				out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+				out.put((byte) (0x80 | (codePoint & 0x3F)));
+			}
+			else if (Character.isSurrogate(c)) {
+				//Surrogate sin pareja: se sustituye por '?' igual que 'String.getBytes(UTF_8)'.
+				out.put((byte) '?');
+			}
+			else {
+				out.put((byte) (0xE0 | (c >> 12)));
+				out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+				out.put((byte) (0x80 | (c & 0x3F)));
+			}
+		}
+	}
+	
+	//'StringBuilder' por hilo: si ya está en uso (p.ej. un 'toString()' llamado mientras se renderiza) se crea otro.
+	private static StringBuilder builder() {
+		StringBuilder builder = BUILDER.get();
+		if (builder == null) {
+			return new StringBuilder(256);
+		}
+		BUILDER.set(null);
+		builder.setLength(0);
+		return builder;
+	}
+	
+	private static void release(StringBuilder builder) {
+		if (builder.capacity() <= MAX_RETAINED_CAPACITY) {
+			BUILDER.set(builder);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package net.atopecode.optionals.repository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import net.atopecode.optionals.model.ImmutablePerson;
+import net.atopecode.optionals.model.Person;
+
+//Decorador de un 'PersonSource' lento con una caché de lectura ('read-through') de Caffeine:
+//- Expulsión por tamaño con W-TinyLFU, que conserva las 'Person' más consultadas aunque haya ráfagas de claves nuevas.
+//- Caducidad desde la carga, distinta para aciertos y para fallos: 'Optional.empty()' también se guarda
+//  ('negative caching'), así que los identificadores inexistentes no vuelven a llegar al origen hasta que caducan.
+//- Las cargas simultáneas de la misma clave se unen en una sola llamada a 'delegate.findById()'.
+//- 'stats()' devuelve aciertos, fallos, expulsiones y tiempo de carga.
+//- Se guardan copias inmutables ('ImmutablePerson'): 'findById()' devuelve a cada llamada una 'Person' nueva, así que
+//  modificarla no cambia lo que reciben las demás ni lo que hay en caché. 'findSnapshotById()' evita esa copia.
+public class CachingPersonSource implements PersonSource {
+	
+	private final PersonSource delegate;
+	
+	private final LoadingCache<Integer, Optional<ImmutablePerson>> cache;
+	
+	public CachingPersonSource(PersonSource delegate, long maximumSize, Duration ttl, Duration negativeTtl) {
+		this(delegate, maximumSize, ttl, negativeTtl, Ticker.systemTicker(), ForkJoinPool.commonPool());
+	}
+	
+	//'ticker' y 'executor' (mantenimiento de la caché) se pueden sustituir en los tests.
+	CachingPersonSource(PersonSource delegate, long maximumSize, Duration ttl, Duration negativeTtl, Ticker ticker, Executor executor) {
+		if (delegate == null) {
+			throw new IllegalArgumentException("delegate no puede ser null");
+		}
+		this.delegate = delegate;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfter(new LoadExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+				.ticker(ticker)
+				.executor(executor)
+				.recordStats()
+				.build(id -> delegate.findById(id).map(ImmutablePerson::from));
+	}
+	
+	@Override
+	public Optional<Person> findById(int id) {
+		return cache.get(id).map(ImmutablePerson::toPerson);
+	}
+	
+	public Optional<ImmutablePerson> findSnapshotById(int id) {
+		return cache.get(id);
+	}
+	
+	//El número de 'Person' no se guarda en caché: siempre se consulta al origen.
+	@Override
+	public int count() {
+		return delegate.count();
+	}
+	
+	//Descarta la entrada de 'id' (p.ej. después de modificar esa 'Person' en el origen).
+	public void invalidate(int id) {
+		cache.invalidate(id);
+	}
+	
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+	
+	public long estimatedSize() {
+		return cache.estimatedSize();
+	}
+	
+	public CacheStats stats() {
+		return cache.stats();
+	}
+	
+	//Caducidad contada desde la carga: leer una entrada no la renueva.
+	private static class LoadExpiry implements Expiry<Integer, Optional<ImmutablePerson>> {
+		
+		private final long ttlNanos;
+		
+		private final long negativeTtlNanos;
+		
+		private LoadExpiry(long ttlNanos, long negativeTtlNanos) {
+			this.ttlNanos = ttlNanos;
+			this.negativeTtlNanos = negativeTtlNanos;
+		}
+		
+		@Override
+		public long expireAfterCreate(Integer id, Optional<ImmutablePerson> person, long currentTime) {
+			return person.isPresent() ? ttlNanos : negativeTtlNanos;
+		}
+		
+		@Override
+		public long expireAfterUpdate(Integer id, Optional<ImmutablePerson> person, long currentTime, long currentDuration) {
+			return expireAfterCreate(id, person, currentTime);
+		}
+		
+		@Override
+		public long expireAfterRead(Integer id, Optional<ImmutablePerson> person, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package net.atopecode.optionals.repository;
+
+import java.util.Arrays;
+
+import org.roaringbitmap.RoaringBitmap;
+
+//Índice 'int -> RoaringBitmap' con las claves ordenadas en un 'int[]' (búsqueda binaria, sin 'boxing'). Pensado para
+//claves con poca cardinalidad como 'State.code', donde las inserciones de claves nuevas son raras.
+//No es thread-safe: 'PersonRepository' lo protege con su 'ReadWriteLock'.
+final class IntPostingIndex {
+	
+	private int[] keys = new int[16];
+	
+	private RoaringBitmap[] postings = new RoaringBitmap[16];
+	
+	private int size;
+	
+	void add(int key, int id) {
+		int index = Arrays.binarySearch(keys, 0, size, key);
+		if (index < 0) {
+			index = -index - 1;
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, size * 2);
+				postings = Arrays.copyOf(postings, size * 2);
+			}
+			System.arraycopy(keys, index, keys, index + 1, size - index);
+			System.arraycopy(postings, index, postings, index + 1, size - index);
+			keys[index] = key;
+			postings[index] = new RoaringBitmap();
+			size++;
+		}
+		postings[index].add(id);
+	}
+	
+	void remove(int key, int id) {
+		int index = Arrays.binarySearch(keys, 0, size, key);
+		if (index >= 0) {
+			postings[index].remove(id);
+		}
+	}
+	
+	//Bitmap de 'key' (no es una copia) o 'null'.
+	RoaringBitmap get(int key) {
+		int index = Arrays.binarySearch(keys, 0, size, key);
+		return (index >= 0) ? postings[index] : null;
+	}
+}
@@ -1,10 +1,45 @@
 package net.atopecode.optionals.repository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.IntConsumer;
+import org.roaringbitmap.RoaringBitmap;
+
 import net.atopecode.optionals.model.Address;
 import net.atopecode.optionals.model.Person;
 import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.reactive.PagedPublisher;
 
-public class PersonRepository {
+public class PersonRepository implements PersonSource {
+	
+	//'Person' guardadas con 'save()' (p.ej. desde 'PersonIngester'): el identificador de cada una es su posición.
+	//Se mantienen índices por email (hash), por 'State.code' (bitmaps comprimidos, con las 'Person' sin código aparte)
+	//y por 'street' (ordenado, para buscar por prefijo). Un 'ReadWriteLock' mantiene datos e índices consistentes:
+	//las escrituras son exclusivas y las consultas se pueden ejecutar en paralelo.
+	private final List<Person> persons = new ArrayList<>();
+	
+	private final List<IndexKeys> indexKeys = new ArrayList<>();
+	
+	private final PostingIndex<String> byEmail = new PostingIndex<>(new HashMap<>());
+	
+	private final TreeMap<String, Object> streets = new TreeMap<>();
+	
+	private final PostingIndex<String> byStreet = new PostingIndex<>(streets);
+	
+	private final IntPostingIndex byStateCode = new IntPostingIndex();
+	
+	private final RoaringBitmap withoutStateCode = new RoaringBitmap();
+	
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
 	private State getState() {
 		return new State("State1", 12345);
@@ -36,4 +71,218 @@ public class PersonRepository {
 		person.setAddress(address);
 		return person;
 	}
+	
+	//Guarda 'person', actualiza los índices y devuelve su identificador.
+	public int save(Person person) {
+		lock.writeLock().lock();
+		try {
+			int id = persons.size();
+			IndexKeys keys = new IndexKeys(person);
+			persons.add(person);
+			indexKeys.add(keys);
+			index(id, keys);
+			return id;
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	//Sustituye la 'Person' 'id' y actualiza los índices. Los cambios hechos directamente sobre una 'Person' guardada
+	//(con sus 'setters') no actualizan los índices: hay que volver a guardarla con 'update()'.
+	public void update(int id, Person person) {
+		lock.writeLock().lock();
+		try {
+			if (id < 0 || id >= persons.size()) {
+				throw new IllegalArgumentException("No existe ninguna Person con id " + id);
+			}
+			IndexKeys oldKeys = indexKeys.get(id);
+			IndexKeys newKeys = new IndexKeys(person);
+			unindex(id, oldKeys);
+			persons.set(id, person);
+			indexKeys.set(id, newKeys);
+			index(id, newKeys);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public Optional<Person> findById(int id) {
+		lock.readLock().lock();
+		try {
+			return (id >= 0 && id < persons.size()) ? Optional.ofNullable(persons.get(id)) : Optional.empty();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public int count() {
+		lock.readLock().lock();
+		try {
+			return persons.size();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	//Hasta 'limit' 'Person' a partir del identificador 'offset' (lista vacía si 'offset' está fuera de rango).
+	public List<Person> findPage(int offset, int limit) {
+		lock.readLock().lock();
+		try {
+			int from = Math.max(0, Math.min(offset, persons.size()));
+			int to = (int) Math.min((long) from + Math.max(limit, 0), persons.size());
+			return new ArrayList<>(persons.subList(from, to));
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	//Todas las 'Person' como 'Flow.Publisher', leídas con 'findPage()' de 'pageSize' en 'pageSize' según la demanda del
+	//suscriptor (ver 'PagedPublisher'). Cada página se copia dentro del bloqueo, pero la suscripción no es una 'foto'
+	//del repositorio: ve las 'Person' guardadas mientras avanza.
+	public PagedPublisher<Person> publishAll(int pageSize, Executor executor) {
+		return PagedPublisher.of(this::findPage, pageSize, executor);
+	}
+	
+	//Consultas por índice. Si varias 'Person' comparten email se devuelve la de menor identificador.
+	public Optional<Person> findByEmail(String email) {
+		lock.readLock().lock();
+		try {
+			int id = byEmail.first(email);
+			return (id >= 0) ? Optional.of(persons.get(id)) : Optional.empty();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	public Stream<Person> findAllByEmail(String email) {
+		lock.readLock().lock();
+		try {
+			List<Person> result = new ArrayList<>();
+			byEmail.forEach(email, id -> result.add(persons.get(id)));
+			return result.stream();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	public Stream<Person> findByStateCode(int stateCode) {
+		lock.readLock().lock();
+		try {
+			return persons(byStateCode.get(stateCode));
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	//'Person' sin 'Address', sin 'State' o sin 'State.code' (no aparecen en 'findByStateCode()').
+	public Stream<Person> findWithoutStateCode() {
+		lock.readLock().lock();
+		try {
+			return persons(withoutStateCode);
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	//'Person' cuyo 'Address.street' empieza por 'prefix', ordenadas por 'street'.
+	public Stream<Person> findByStreetPrefix(String prefix) {
+		if (prefix == null) {
+			throw new IllegalArgumentException("prefix no puede ser null");
+		}
+		String end = successor(prefix);
+		lock.readLock().lock();
+		try {
+			List<Person> result = new ArrayList<>();
+			SortedMap<String, Object> range = (end != null) ? streets.subMap(prefix, true, end, false) : streets.tailMap(prefix, true);
+			for (Object posting : range.values()) {
+				PostingIndex.forEachOf(posting, id -> result.add(persons.get(id)));
+			}
+			return result.stream();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	//Primer 'String' mayor que todos los que empiezan por 'prefix' (se quitan los '\uFFFF' finales y se incrementa el
+	//último carácter), o 'null' si no existe ('prefix' vacío o sólo con '\uFFFF').
+	static String successor(String prefix) {
+		int last = prefix.length() - 1;
+		while (last >= 0 && prefix.charAt(last) == Character.MAX_VALUE) {
+			last--;
+		}
+		return (last < 0) ? null : prefix.substring(0, last) + (char) (prefix.charAt(last) + 1);
+	}
+	
+	//Los resultados se copian dentro del bloqueo para que el 'Stream' no vea escrituras posteriores.
+	private Stream<Person> persons(RoaringBitmap ids) {
+		if (ids == null || ids.isEmpty()) {
+			return Stream.empty();
+		}
+		List<Person> result = new ArrayList<>(ids.getCardinality());
+		ids.forEach((IntConsumer) id -> result.add(persons.get(id)));
+		return result.stream();
+	}
+	
+	private void index(int id, IndexKeys keys) {
+		if (keys.email != null) {
+			byEmail.add(keys.email, id);
+		}
+		if (keys.street != null) {
+			byStreet.add(keys.street, id);
+		}
+		if (keys.hasStateCode) {
+			byStateCode.add(keys.stateCode, id);
+		}
+		else {
+			withoutStateCode.add(id);
+		}
+	}
+	
+	private void unindex(int id, IndexKeys keys) {
+		if (keys.email != null) {
+			byEmail.remove(keys.email, id);
+		}
+		if (keys.street != null) {
+			byStreet.remove(keys.street, id);
+		}
+		if (keys.hasStateCode) {
+			byStateCode.remove(keys.stateCode, id);
+		}
+		else {
+			withoutStateCode.remove(id);
+		}
+	}
+	
+	//Valores indexados de una 'Person' en el momento de guardarla (para poder quitarlos de los índices en 'update()').
+	private static final class IndexKeys {
+		
+		private final String email;
+		
+		private final String street;
+		
+		private final boolean hasStateCode;
+		
+		private final int stateCode;
+		
+		private IndexKeys(Person person) {
+			Address address = (person != null) ? person.getAddress() : null;
+			State state = (address != null) ? address.getState() : null;
+			email = (person != null) ? person.getEmail() : null;
+			street = (address != null) ? address.getStreet() : null;
+			hasStateCode = (state != null) && state.hasCode();
+			stateCode = hasStateCode ? state.getCodeAsInt() : 0;
+		}
+	}
 }
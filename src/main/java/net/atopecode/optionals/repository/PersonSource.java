@@ -0,0 +1,14 @@
+package net.atopecode.optionals.repository;
+
+import java.util.Optional;
+
+import net.atopecode.optionals.model.Person;
+
+//Origen de 'Person' accesibles por identificador (las distintas implementaciones de almacenamiento del proyecto).
+//'findById()' devuelve 'Optional.empty()' cuando no existe ninguna 'Person' con ese identificador.
+public interface PersonSource {
+	
+	Optional<Person> findById(int id);
+	
+	int count();
+}
@@ -0,0 +1,37 @@
+package net.atopecode.optionals.repository;
+
+import net.atopecode.optionals.model.ImmutablePerson;
+
+//Versión publicada de una 'Person' en 'VersionedPersonRepository': el contenido no cambia nunca,
+//cada modificación publica una 'PersonVersion' nueva con 'version' + 1.
+public final class PersonVersion {
+	
+	private final int id;
+	
+	private final long version;
+	
+	private final ImmutablePerson person;
+	
+	PersonVersion(int id, long version, ImmutablePerson person) {
+		this.id = id;
+		this.version = version;
+		this.person = person;
+	}
+	
+	public int getId() {
+		return id;
+	}
+	
+	public long getVersion() {
+		return version;
+	}
+	
+	public ImmutablePerson getPerson() {
+		return person;
+	}
+	
+	@Override
+	public String toString() {
+		return "PersonVersion [id=" + id + ", version=" + version + ", person=" + person + "]";
+	}
+}
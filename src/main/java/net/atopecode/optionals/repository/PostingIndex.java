@@ -0,0 +1,73 @@
+package net.atopecode.optionals.repository;
+
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import org.roaringbitmap.RoaringBitmap;
+
+//Índice 'clave -> identificadores' sobre un 'Map' (hash o ordenado). Como la mayoría de claves (p.ej. emails) tienen un
+//solo identificador, se guarda directamente el 'Integer' y sólo se pasa a un 'RoaringBitmap' cuando hay más de uno.
+//No es thread-safe: 'PersonRepository' lo protege con su 'ReadWriteLock'.
+final class PostingIndex<K> {
+	
+	private final Map<K, Object> postings;
+	
+	PostingIndex(Map<K, Object> postings) {
+		this.postings = postings;
+	}
+	
+	void add(K key, int id) {
+		Object current = postings.get(key);
+		if (current == null) {
+			postings.put(key, id);
+		}
+		else if (current instanceof Integer) {
+			RoaringBitmap ids = RoaringBitmap.bitmapOf((Integer) current, id);
+			postings.put(key, ids);
+		}
+		else {
+			((RoaringBitmap) current).add(id);
+		}
+	}
+	
+	void remove(K key, int id) {
+		Object current = postings.get(key);
+		if (current instanceof Integer) {
+			if ((Integer) current == id) {
+				postings.remove(key);
+			}
+		}
+		else if (current != null) {
+			RoaringBitmap ids = (RoaringBitmap) current;
+			ids.remove(id);
+			if (ids.getCardinality() == 1) {
+				postings.put(key, ids.first());
+			}
+		}
+	}
+	
+	//Menor identificador de 'key' o -1.
+	int first(K key) {
+		return firstOf(postings.get(key));
+	}
+	
+	void forEach(K key, IntConsumer action) {
+		forEachOf(postings.get(key), action);
+	}
+	
+	static int firstOf(Object posting) {
+		if (posting == null) {
+			return -1;
+		}
+		return (posting instanceof Integer) ? (Integer) posting : ((RoaringBitmap) posting).first();
+	}
+	
+	static void forEachOf(Object posting, IntConsumer action) {
+		if (posting instanceof Integer) {
+			action.accept((Integer) posting);
+		}
+		else if (posting != null) {
+			((RoaringBitmap) posting).forEach((org.roaringbitmap.IntConsumer) action::accept);
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package net.atopecode.optionals.repository;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import net.atopecode.optionals.model.ImmutablePerson;
+import net.atopecode.optionals.model.Person;
+
+//Repositorio concurrente para muchos lectores y pocos escritores, sin el problema de 'PersonRepository' con 'Person'
+//mutables (un lector puede ver una 'Person' a medio modificar mientras otro hilo llama a sus 'setters'):
+//- Se guardan 'ImmutablePerson': modificar es crear una versión nueva ('withName()', 'withAddress()'...) y publicarla
+//  en el 'ConcurrentHashMap' con un 'replace()' atómico (se reintenta si otro hilo publicó antes otra versión).
+//- Leer es un 'get()' del 'ConcurrentHashMap', sin bloqueo: siempre devuelve una versión completa y coherente.
+//- Sólo se guarda la última versión de cada 'Person': las anteriores quedan libres para el GC en cuanto
+//  los lectores que las estaban usando las sueltan.
+public class VersionedPersonRepository implements PersonSource {
+	
+	private final ConcurrentMap<Integer, PersonVersion> versions = new ConcurrentHashMap<>();
+	
+	private final AtomicInteger nextId = new AtomicInteger();
+	
+	//Guarda 'person' (versión 1) y devuelve su identificador.
+	public int save(ImmutablePerson person) {
+		int id = nextId.getAndIncrement();
+		versions.put(id, new PersonVersion(id, 1, person));
+		return id;
+	}
+	
+	public int save(Person person) {
+		return save(ImmutablePerson.from(person));
+	}
+	
+	//Publica 'change(versión actual)' como versión nueva. 'change' no debe tener efectos secundarios:
+	//si otro hilo publica antes otra versión se vuelve a ejecutar sobre esa.
+	public PersonVersion update(int id, UnaryOperator<ImmutablePerson> change) {
+		while (true) {
+			PersonVersion current = versions.get(id);
+			if (current == null) {
+				throw new IllegalArgumentException("No existe ninguna Person con id " + id);
+			}
+			PersonVersion next = new PersonVersion(id, current.getVersion() + 1, change.apply(current.getPerson()));
+			if (versions.replace(id, current, next)) {
+				return next;
+			}
+		}
+	}
+	
+	//Publica 'person' sólo si la versión actual sigue siendo 'expectedVersion' (bloqueo optimista).
+	public Optional<PersonVersion> compareAndSet(int id, long expectedVersion, ImmutablePerson person) {
+		PersonVersion current = versions.get(id);
+		if (current == null || current.getVersion() != expectedVersion) {
+			return Optional.empty();
+		}
+		PersonVersion next = new PersonVersion(id, expectedVersion + 1, person);
+		return versions.replace(id, current, next) ? Optional.of(next) : Optional.empty();
+	}
+	
+	public boolean delete(int id) {
+		return versions.remove(id) != null;
+	}
+	
+	public Optional<PersonVersion> findVersion(int id) {
+		return Optional.ofNullable(versions.get(id));
+	}
+	
+	public Optional<ImmutablePerson> findSnapshot(int id) {
+		PersonVersion current = versions.get(id);
+		return (current != null) ? Optional.ofNullable(current.getPerson()) : Optional.empty();
+	}
+	
+	//Copia mutable de la versión actual: modificarla no cambia el repositorio (hay que usar 'update()').
+	@Override
+	public Optional<Person> findById(int id) {
+		return findSnapshot(id).map(ImmutablePerson::toPerson);
+	}
+	
+	@Override
+	public int count() {
+		return versions.size();
+	}
+}
@@ -0,0 +1,90 @@
+package net.atopecode.optionals.store;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.State;
+
+//Vista de solo lectura sobre las columnas de 'Address' de la fila actual de una 'PersonView'.
+public class AddressView extends Address {
+	
+	private final PersonView person;
+	
+	private final StateView stateView;
+	
+	AddressView(PersonView person) {
+		super(null, null, null);
+		this.person = person;
+		this.stateView = new StateView(person);
+	}
+	
+	@Override
+	public String getStreet() {
+		return person.store().street(person.getRow());
+	}
+	
+	@Override
+	public Integer getNumber() {
+		return hasNumber() ? Integer.valueOf(getNumberAsInt()) : null;
+	}
+	
+	@Override
+	public boolean hasNumber() {
+		return person.store().hasNumber(person.getRow());
+	}
+	
+	@Override
+	public int getNumberAsInt() {
+		if (!hasNumber()) {
+			throw new NoSuchElementException("Address.number no tiene valor");
+		}
+		return person.store().number(person.getRow());
+	}
+	
+	@Override
+	public State getState() {
+		return person.store().hasState(person.getRow()) ? stateView : null;
+	}
+	
+	@Override
+	public Optional<String> getOptionalStreet() {
+		return Optional.ofNullable(getStreet());
+	}
+	
+	@Override
+	public Optional<Integer> getOptionalNumber() {
+		return Optional.ofNullable(getNumber());
+	}
+	
+	@Override
+	public OptionalInt getOptionalIntNumber() {
+		return hasNumber() ? OptionalInt.of(getNumberAsInt()) : OptionalInt.empty();
+	}
+	
+	@Override
+	public Optional<State> getOptionalState() {
+		return Optional.ofNullable(getState());
+	}
+	
+	@Override
+	public void setStreet(String street) {
+		throw new UnsupportedOperationException("AddressView es de solo lectura");
+	}
+	
+	@Override
+	public void setNumber(Integer number) {
+		throw new UnsupportedOperationException("AddressView es de solo lectura");
+	}
+	
+	@Override
+	public void setState(State state) {
+		throw new UnsupportedOperationException("AddressView es de solo lectura");
+	}
+	
+	public Address toAddress() {
+		StateView state = (StateView) getState();
+		return new Address(getStreet(), getNumber(), (state != null) ? state.toState() : null);
+	}
+}
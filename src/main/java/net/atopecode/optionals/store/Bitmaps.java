@@ -0,0 +1,36 @@
+package net.atopecode.optionals.store;
+
+import java.util.Arrays;
+
+//Operaciones sobre bitmaps representados como 'long[]' (un bit por fila).
+final class Bitmaps {
+	
+	private Bitmaps() {
+		
+	}
+	
+	static long[] create(int bits) {
+		return new long[words(bits)];
+	}
+	
+	static int words(int bits) {
+		return (bits + 63) >>> 6;
+	}
+	
+	static boolean get(long[] bitmap, int index) {
+		return (bitmap[index >>> 6] & (1L << index)) != 0;
+	}
+	
+	static void set(long[] bitmap, int index, boolean value) {
+		if (value) {
+			bitmap[index >>> 6] |= (1L << index);
+		}
+		else {
+			bitmap[index >>> 6] &= ~(1L << index);
+		}
+	}
+	
+	static long[] grow(long[] bitmap, int bits) {
+		return Arrays.copyOf(bitmap, words(bits));
+	}
+}
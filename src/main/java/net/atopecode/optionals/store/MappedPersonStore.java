@@ -0,0 +1,255 @@
+package net.atopecode.optionals.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Optional;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.repository.PersonSource;
+
+//Almacén de 'Person' fuera del heap: los registros se guardan en un fichero que se mapea en memoria ('MappedByteBuffer'),
+//por lo que el heap sólo contiene las 'Person' que se están leyendo en cada momento y al reiniciar basta con volver a
+//mapear el fichero con 'open()' (no hay que reconstruir nada).
+//
+//Formato del fichero (little endian):
+//  cabecera: [magic:int][version:int][count:int][reservado:int]
+//  índice:   [offset:long] x count -> posición absoluta de cada registro
+//  registro: [flags:byte][number:int][code:int][len name:int][len email:int][len street:int][len state name:int]
+//            seguido de los bytes UTF-8 de los 4 'String' (una longitud -1 indica 'null').
+//Los 'flags' indican si existen 'Address', 'State', 'number' y 'code'. El fichero se mapea en segmentos de 1GB y ningún
+//registro cruza el límite de un segmento (se rellena con ceros), así que se pueden guardar ficheros mayores de 2GB.
+//Las lecturas son thread-safe ('get' absolutos sobre buffers de solo lectura).
+public class MappedPersonStore implements PersonSource, Closeable {
+	
+	static final int MAGIC = 0x314e5250; //"PRN1"
+	
+	static final int VERSION = 1;
+	
+	static final int HEADER_SIZE = 16;
+	
+	static final int FIXED_RECORD_SIZE = 1 + 4 + 4 + 4 * 4;
+	
+	static final byte HAS_ADDRESS = 1;
+	
+	static final byte HAS_STATE = 2;
+	
+	static final byte HAS_NUMBER = 4;
+	
+	static final byte HAS_CODE = 8;
+	
+	private static final int SEGMENT_BITS = 30;
+	
+	private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+	
+	private final FileChannel channel;
+	
+	private final MappedByteBuffer[] segments;
+	
+	private final int count;
+	
+	private MappedPersonStore(FileChannel channel, MappedByteBuffer[] segments) {
+		this.channel = channel;
+		this.segments = segments;
+		if (segments.length == 0 || segments[0].getInt(0) != MAGIC) {
+			throw new IllegalArgumentException("El fichero no es un MappedPersonStore");
+		}
+		if (segments[0].getInt(4) != VERSION) {
+			throw new IllegalArgumentException("Versión de MappedPersonStore no soportada: " + segments[0].getInt(4));
+		}
+		this.count = segments[0].getInt(8);
+	}
+	
+	//Mapea un fichero creado con 'write()'. No lee los registros: sólo valida la cabecera.
+	public static MappedPersonStore open(Path file) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			long size = channel.size();
+			MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_BITS)];
+			for (int i = 0; i < segments.length; i++) {
+				long position = (long) i << SEGMENT_BITS;
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, size - position));
+				segments[i].order(ByteOrder.LITTLE_ENDIAN);
+			}
+			return new MappedPersonStore(channel, segments);
+		}
+		catch (IOException | RuntimeException ex) {
+			channel.close();
+			throw ex;
+		}
+	}
+	
+	//Escribe 'persons' en 'file' (lo sobrescribe si existe). El identificador de cada 'Person' es su posición en la colección.
+	public static void write(Path file, Collection<? extends Person> persons) throws IOException {
+		int count = persons.size();
+		long[] offsets = new long[count];
+		ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			long position = HEADER_SIZE + 8L * count;
+			channel.position(position);
+			int index = 0;
+			for (Person person : persons) {
+				byte[][] strings = strings(person);
+				int recordSize = FIXED_RECORD_SIZE;
+				for (byte[] string : strings) {
+					recordSize += (string != null) ? string.length : 0;
+				}
+				if (recordSize > SEGMENT_SIZE) {
+					throw new IllegalArgumentException("Registro demasiado grande: " + recordSize + " bytes");
+				}
+				//Un registro nunca cruza el límite de un segmento.
+				long segmentEnd = ((position >>> SEGMENT_BITS) + 1) << SEGMENT_BITS;
+				if (position + recordSize > segmentEnd) {
+					flush(channel, buffer);
+					channel.position(segmentEnd);
+					position = segmentEnd;
+				}
+				offsets[index++] = position;
+				if (buffer.remaining() < recordSize) {
+					flush(channel, buffer);
+					if (buffer.capacity() < recordSize) {
+						buffer = ByteBuffer.allocate(recordSize).order(ByteOrder.LITTLE_ENDIAN);
+					}
+				}
+				writeRecord(buffer, person, strings);
+				position += recordSize;
+			}
+			flush(channel, buffer);
+			
+			//Cabecera + índice al principio del fichero.
+			channel.position(0);
+			buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(0);
+			for (long offset : offsets) {
+				if (buffer.remaining() < 8) {
+					flush(channel, buffer);
+				}
+				buffer.putLong(offset);
+			}
+			flush(channel, buffer);
+		}
+	}
+	
+	private static byte[][] strings(Person person) {
+		Address address = person.getAddress();
+		State state = (address != null) ? address.getState() : null;
+		return new byte[][] {
+			utf8(person.getName()),
+			utf8(person.getEmail()),
+			(address != null) ? utf8(address.getStreet()) : null,
+			(state != null) ? utf8(state.getName()) : null
+		};
+	}
+	
+	private static byte[] utf8(String value) {
+		return (value != null) ? value.getBytes(StandardCharsets.UTF_8) : null;
+	}
+	
+	private static void writeRecord(ByteBuffer buffer, Person person, byte[][] strings) {
+		Address address = person.getAddress();
+		State state = (address != null) ? address.getState() : null;
+		byte flags = 0;
+		int number = 0;
+		int code = 0;
+		if (address != null) {
+			flags |= HAS_ADDRESS;
+			if (address.hasNumber()) {
+				flags |= HAS_NUMBER;
+				number = address.getNumberAsInt();
+			}
+		}
+		if (state != null) {
+			flags |= HAS_STATE;
+			if (state.hasCode()) {
+				flags |= HAS_CODE;
+				code = state.getCodeAsInt();
+			}
+		}
+		buffer.put(flags).putInt(number).putInt(code);
+		for (byte[] string : strings) {
+			buffer.putInt((string != null) ? string.length : -1);
+		}
+		for (byte[] string : strings) {
+			if (string != null) {
+				buffer.put(string);
+			}
+		}
+	}
+	
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+	
+	@Override
+	public Optional<Person> findById(int id) {
+		return (id >= 0 && id < count) ? Optional.of(get(id)) : Optional.empty();
+	}
+	
+	//Devuelve una 'Person' que decodifica sus campos bajo demanda desde el fichero mapeado.
+	public MappedPersonView get(int id) {
+		if (id < 0 || id >= count) {
+			throw new IndexOutOfBoundsException("Id " + id + " fuera de rango (count=" + count + ")");
+		}
+		return new MappedPersonView(this, getLong(HEADER_SIZE + 8L * id));
+	}
+	
+	@Override
+	public int count() {
+		return count;
+	}
+	
+	//Los buffers mapeados se liberan cuando el GC los recoge (Java 11 no permite desmapearlos explícitamente).
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+	
+	//Lecturas absolutas usadas por 'MappedPersonView'.
+	byte getByte(long position) {
+		return segment(position).get(offsetInSegment(position));
+	}
+	
+	int getInt(long position) {
+		return segment(position).getInt(offsetInSegment(position));
+	}
+	
+	long getLong(long position) {
+		return segment(position).getLong(offsetInSegment(position));
+	}
+	
+	String getString(long position, int length) {
+		if (length < 0) {
+			return null;
+		}
+		MappedByteBuffer segment = segment(position);
+		int offset = offsetInSegment(position);
+		//Copia en bloque: 'get(int, byte[])' absoluto es de Java 13, así que se usa un 'duplicate()' para no mover la
+		//posición del segmento compartido entre hilos.
+		byte[] bytes = new byte[length];
+		ByteBuffer buffer = segment.duplicate();
+		buffer.position(offset);
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	private MappedByteBuffer segment(long position) {
+		return segments[(int) (position >>> SEGMENT_BITS)];
+	}
+	
+	private static int offsetInSegment(long position) {
+		return (int) (position & (SEGMENT_SIZE - 1));
+	}
+}
@@ -0,0 +1,157 @@
+package net.atopecode.optionals.store;
+
+import java.util.Optional;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+
+//'Person' de solo lectura sobre un registro de 'MappedPersonStore'. Cada getter decodifica sólo el campo que se pide,
+//y el 'Address' no se crea hasta la primera llamada a 'getAddress()'/'getOptionalAddress()'. El 'Address' y su 'State'
+//también son de solo lectura: para modificarlos hay que copiarlos ('toAddress()').
+public class MappedPersonView extends Person {
+	
+	private static final int NAME = 0;
+	
+	private static final int EMAIL = 1;
+	
+	private static final int STREET = 2;
+	
+	private static final int STATE_NAME = 3;
+	
+	private final MappedPersonStore store;
+	
+	private final long offset;
+	
+	private Address address;
+	
+	private boolean addressDecoded;
+	
+	MappedPersonView(MappedPersonStore store, long offset) {
+		this.store = store;
+		this.offset = offset;
+	}
+	
+	@Override
+	public String getName() {
+		return string(NAME);
+	}
+	
+	@Override
+	public String getEmail() {
+		return string(EMAIL);
+	}
+	
+	@Override
+	public Address getAddress() {
+		if (!addressDecoded) {
+			address = decodeAddress();
+			addressDecoded = true;
+		}
+		return address;
+	}
+	
+	@Override
+	public Optional<String> getOptionalName() {
+		return Optional.ofNullable(getName());
+	}
+	
+	@Override
+	public Optional<String> getOptionalEmail() {
+		return Optional.ofNullable(getEmail());
+	}
+	
+	@Override
+	public Optional<Address> getOptionalAddress() {
+		return Optional.ofNullable(getAddress());
+	}
+	
+	@Override
+	public void setName(String name) {
+		throw new UnsupportedOperationException("MappedPersonView es de solo lectura");
+	}
+	
+	@Override
+	public void setEmail(String email) {
+		throw new UnsupportedOperationException("MappedPersonView es de solo lectura");
+	}
+	
+	@Override
+	public void setAddress(Address address) {
+		throw new UnsupportedOperationException("MappedPersonView es de solo lectura");
+	}
+	
+	boolean isAddressDecoded() {
+		return addressDecoded;
+	}
+	
+	private Address decodeAddress() {
+		byte flags = store.getByte(offset);
+		if ((flags & MappedPersonStore.HAS_ADDRESS) == 0) {
+			return null;
+		}
+		State state = null;
+		if ((flags & MappedPersonStore.HAS_STATE) != 0) {
+			Integer code = ((flags & MappedPersonStore.HAS_CODE) != 0) ? store.getInt(offset + 5) : null;
+			state = new MappedState(string(STATE_NAME), code);
+		}
+		Integer number = ((flags & MappedPersonStore.HAS_NUMBER) != 0) ? store.getInt(offset + 1) : null;
+		return new MappedAddress(string(STREET), number, state);
+	}
+	
+	//Los 'String' van seguidos tras la parte fija: la posición de cada uno es la suma de las longitudes anteriores.
+	private String string(int index) {
+		long lengths = offset + 9;
+		long position = offset + MappedPersonStore.FIXED_RECORD_SIZE;
+		for (int i = 0; i < index; i++) {
+			position += Math.max(store.getInt(lengths + 4L * i), 0);
+		}
+		return store.getString(position, store.getInt(lengths + 4L * index));
+	}
+	
+	//'Address' y 'State' decodificados de un registro: los setters lanzan excepción igual que los de 'MappedPersonView'.
+	public static final class MappedAddress extends Address {
+		
+		private MappedAddress(String street, Integer number, State state) {
+			super(street, number, state);
+		}
+		
+		@Override
+		public void setStreet(String street) {
+			throw new UnsupportedOperationException("MappedPersonView es de solo lectura");
+		}
+		
+		@Override
+		public void setNumber(Integer number) {
+			throw new UnsupportedOperationException("MappedPersonView es de solo lectura");
+		}
+		
+		@Override
+		public void setState(State state) {
+			throw new UnsupportedOperationException("MappedPersonView es de solo lectura");
+		}
+		
+		//Copia modificable, con su propio 'State'.
+		public Address toAddress() {
+			State state = getState();
+			return new Address(getStreet(), getNumber(), (state != null) ? new State(state.getName(), state.getCode()) : null);
+		}
+	}
+	
+	public static final class MappedState extends State {
+		
+		private MappedState(String name, Integer code) {
+			super(name, code);
+		}
+		
+		@Override
+		public void setName(String name) {
+			throw new UnsupportedOperationException("MappedPersonView es de solo lectura");
+		}
+		
+		@Override
+		public void setCode(Integer code) {
+			throw new UnsupportedOperationException("MappedPersonView es de solo lectura");
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package net.atopecode.optionals.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Filtro sobre las columnas 'int' de un 'PersonStore' ('State.code' y 'Address.number') que devuelve una 'Selection'.
+//Los predicados añadidos se combinan con AND, p.ej.: 'store.filter().stateCodeIn(s).numberBetween(a, b).select()'.
+//Se evalúa por bloques de 64 filas: la palabra de validez (bitmaps 'hasX' de 'PersonStore') se combina con el resultado
+//de cada predicado y, si una palabra ya vale 0, no se evalúan los predicados restantes para ese bloque.
+//Dentro de un bloque los bucles no tienen saltos que dependan de los datos (el resultado de cada fila se acumula con
+//desplazamientos), así que su coste no depende de la selectividad del filtro.
+//Las filas sin 'Address'/'State'/campo informado nunca cumplen un predicado sobre ese campo.
+public class PersonFilter {
+	
+	//Por encima de este rango de códigos 'stateCodeIn()' usa búsqueda binaria en vez de una tabla de bits.
+	private static final int MAX_TABLE_RANGE = 1 << 20;
+	
+	private final PersonStore store;
+	
+	private final List<Predicate> predicates = new ArrayList<>();
+	
+	PersonFilter(PersonStore store) {
+		this.store = store;
+	}
+	
+	public PersonFilter stateCodeIn(int... codes) {
+		predicates.add(new StateCodeIn(codes));
+		return this;
+	}
+	
+	//Rango cerrado '[from, to]'.
+	public PersonFilter numberBetween(int from, int to) {
+		predicates.add(new NumberBetween(from, to));
+		return this;
+	}
+	
+	public Selection select() {
+		int size = store.size();
+		long[] result = Bitmaps.create(size);
+		Predicate[] active = predicates.toArray(new Predicate[0]);
+		for (Predicate predicate : active) {
+			predicate.bind(store);
+		}
+		for (int w = 0; w < result.length; w++) {
+			int base = w << 6;
+			int length = Math.min(64, size - base);
+			long word = (length == 64) ? -1L : (1L << length) - 1;
+			for (int i = 0; i < active.length && word != 0; i++) {
+				word &= active[i].valid(w);
+				if (word != 0) {
+					word &= active[i].matches(base, length);
+				}
+			}
+			result[w] = word;
+		}
+		return new Selection(result, size);
+	}
+	
+	//Un predicado sobre una columna: 'valid()' es la palabra de validez del bloque 'w' y 'matches()' el resultado del
+	//predicado para las filas '[base, base + length)' (sin tener en cuenta la validez).
+	private abstract static class Predicate {
+		
+		abstract void bind(PersonStore store);
+		
+		abstract long valid(int word);
+		
+		abstract long matches(int base, int length);
+	}
+	
+	private static final class StateCodeIn extends Predicate {
+		
+		private final int[] sortedCodes;
+		
+		//Tabla de bits de los códigos: el bit 'code - min' está a 1 si 'code' pertenece al conjunto.
+		private final long[] table;
+		
+		private final int min;
+		
+		private final int range;
+		
+		private int[] column;
+		
+		private long[] hasAddress;
+		
+		private long[] hasState;
+		
+		private long[] hasStateCode;
+		
+		StateCodeIn(int[] codes) {
+			sortedCodes = codes.clone();
+			Arrays.sort(sortedCodes);
+			if (sortedCodes.length > 0 && (long) sortedCodes[sortedCodes.length - 1] - sortedCodes[0] < MAX_TABLE_RANGE) {
+				min = sortedCodes[0];
+				range = sortedCodes[sortedCodes.length - 1] - min + 1;
+				table = Bitmaps.create(range);
+				for (int code : sortedCodes) {
+					Bitmaps.set(table, code - min, true);
+				}
+			}
+			else {
+				min = 0;
+				range = 0;
+				table = null;
+			}
+		}
+		
+		@Override
+		void bind(PersonStore store) {
+			column = store.stateCodeColumn();
+			hasAddress = store.hasAddressBitmap();
+			hasState = store.hasStateBitmap();
+			hasStateCode = store.hasStateCodeBitmap();
+		}
+		
+		@Override
+		long valid(int word) {
+			return hasAddress[word] & hasState[word] & hasStateCode[word];
+		}
+		
+		@Override
+		long matches(int base, int length) {
+			if (sortedCodes.length == 0) {
+				return 0;
+			}
+			long bits = 0;
+			if (table != null) {
+				for (int i = 0; i < length; i++) {
+					int offset = column[base + i] - min;
+					//Con 'offset' fuera de '[0, range)' se lee la palabra 0 y el resultado se anula con 'inRange'.
+					long inRange = (Integer.compareUnsigned(offset, range) < 0) ? 1L : 0L;
+					long bit = (table[(int) (inRange * (offset >>> 6))] >>> offset) & inRange;
+					bits |= bit << i;
+				}
+			}
+			else {
+				for (int i = 0; i < length; i++) {
+					if (Arrays.binarySearch(sortedCodes, column[base + i]) >= 0) {
+						bits |= 1L << i;
+					}
+				}
+			}
+			return bits;
+		}
+	}
+	
+	private static final class NumberBetween extends Predicate {
+		
+		private final int from;
+		
+		//'to - from' comparado sin signo: 'from <= n <= to' equivale a 'n - from <= to - from' (sin signo).
+		private final int span;
+		
+		private final boolean empty;
+		
+		private int[] column;
+		
+		private long[] hasAddress;
+		
+		private long[] hasNumber;
+		
+		NumberBetween(int from, int to) {
+			this.from = from;
+			this.span = to - from;
+			this.empty = (to < from);
+		}
+		
+		@Override
+		void bind(PersonStore store) {
+			column = store.numberColumn();
+			hasAddress = store.hasAddressBitmap();
+			hasNumber = store.hasNumberBitmap();
+		}
+		
+		@Override
+		long valid(int word) {
+			return empty ? 0 : (hasAddress[word] & hasNumber[word]);
+		}
+		
+		@Override
+		long matches(int base, int length) {
+			long bits = 0;
+			for (int i = 0; i < length; i++) {
+				long bit = (Integer.compareUnsigned(column[base + i] - from, span) <= 0) ? 1L : 0L;
+				bits |= bit << i;
+			}
+			return bits;
+		}
+	}
+}
@@ -0,0 +1,226 @@
+package net.atopecode.optionals.store;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.repository.PersonSource;
+
+//Almacén columnar ('struct of arrays') de 'Person': cada campo de 'Person', 'Address' y 'State' se guarda en su propio
+//array paralelo indexado por fila, y los 'Address'/'State' (y 'number'/'code') que valen 'null' se marcan en bitmaps.
+//Así un recorrido por un campo (p.ej. 'findByStateCode()') lee memoria contigua en vez de saltar 'Person -> Address -> State'.
+//Las filas se leen con vistas 'flyweight' ('PersonView') que implementan los getters y 'getOptionalX()' del modelo.
+//No es thread-safe para escrituras: se carga con 'add()' y después se puede leer desde varios hilos.
+//Como 'PersonSource' el identificador de cada 'Person' es su número de fila.
+public class PersonStore implements PersonSource {
+	
+	private static final int DEFAULT_CAPACITY = 1024;
+	
+	private int size;
+	
+	private String[] names;
+	
+	private String[] emails;
+	
+	private String[] streets;
+	
+	private int[] numbers;
+	
+	private String[] stateNames;
+	
+	private int[] stateCodes;
+	
+	private long[] hasAddress;
+	
+	private long[] hasNumber;
+	
+	private long[] hasState;
+	
+	private long[] hasStateCode;
+	
+	public PersonStore() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	public PersonStore(int capacity) {
+		capacity = Math.max(capacity, 1);
+		names = new String[capacity];
+		emails = new String[capacity];
+		streets = new String[capacity];
+		numbers = new int[capacity];
+		stateNames = new String[capacity];
+		stateCodes = new int[capacity];
+		hasAddress = Bitmaps.create(capacity);
+		hasNumber = Bitmaps.create(capacity);
+		hasState = Bitmaps.create(capacity);
+		hasStateCode = Bitmaps.create(capacity);
+	}
+	
+	//Copia los valores de 'person' (y de su 'Address'/'State') en una nueva fila y devuelve su índice.
+	public int add(Person person) {
+		if (size == names.length) {
+			grow(size * 2);
+		}
+		int row = size++;
+		names[row] = person.getName();
+		emails[row] = person.getEmail();
+		Address address = person.getAddress();
+		Bitmaps.set(hasAddress, row, address != null);
+		if (address != null) {
+			streets[row] = address.getStreet();
+			Bitmaps.set(hasNumber, row, address.hasNumber());
+			numbers[row] = address.hasNumber() ? address.getNumberAsInt() : 0;
+			State state = address.getState();
+			Bitmaps.set(hasState, row, state != null);
+			if (state != null) {
+				stateNames[row] = state.getName();
+				Bitmaps.set(hasStateCode, row, state.hasCode());
+				stateCodes[row] = state.hasCode() ? state.getCodeAsInt() : 0;
+			}
+		}
+		return row;
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	@Override
+	public int count() {
+		return size;
+	}
+	
+	@Override
+	public Optional<Person> findById(int id) {
+		return (id >= 0 && id < size) ? Optional.of(get(id)) : Optional.empty();
+	}
+	
+	//Nueva vista sobre la fila 'row'.
+	public PersonView get(int row) {
+		return view().moveTo(row);
+	}
+	
+	//Vista reutilizable: se posiciona con 'PersonView.moveTo()' para recorrer el almacén sin crear un objeto por fila.
+	public PersonView view() {
+		return new PersonView(this);
+	}
+	
+	//Filas cuyo 'Person.address.state.code' vale 'code' (las que no tienen 'Address'/'State'/'code' nunca coinciden).
+	public int[] findByStateCode(int code) {
+		int[] rows = new int[16];
+		int count = 0;
+		for (int row = 0; row < size; row++) {
+			if (stateCodes[row] == code && Bitmaps.get(hasStateCode, row) && Bitmaps.get(hasState, row)
+					&& Bitmaps.get(hasAddress, row)) {
+				if (count == rows.length) {
+					rows = Arrays.copyOf(rows, count * 2);
+				}
+				rows[count++] = row;
+			}
+		}
+		return Arrays.copyOf(rows, count);
+	}
+	
+	//Filtro por columnas ('State.code', 'Address.number') que devuelve un bitmap de selección; ver 'PersonFilter'.
+	public PersonFilter filter() {
+		return new PersonFilter(this);
+	}
+	
+	public int countByStateCode(int code) {
+		int count = 0;
+		for (int row = 0; row < size; row++) {
+			if (stateCodes[row] == code && Bitmaps.get(hasStateCode, row) && Bitmaps.get(hasState, row)
+					&& Bitmaps.get(hasAddress, row)) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	private void grow(int capacity) {
+		names = Arrays.copyOf(names, capacity);
+		emails = Arrays.copyOf(emails, capacity);
+		streets = Arrays.copyOf(streets, capacity);
+		numbers = Arrays.copyOf(numbers, capacity);
+		stateNames = Arrays.copyOf(stateNames, capacity);
+		stateCodes = Arrays.copyOf(stateCodes, capacity);
+		hasAddress = Bitmaps.grow(hasAddress, capacity);
+		hasNumber = Bitmaps.grow(hasNumber, capacity);
+		hasState = Bitmaps.grow(hasState, capacity);
+		hasStateCode = Bitmaps.grow(hasStateCode, capacity);
+	}
+	
+	//Columnas completas usadas por 'PersonFilter' (pueden ser más largas que 'size').
+	int[] stateCodeColumn() {
+		return stateCodes;
+	}
+	
+	int[] numberColumn() {
+		return numbers;
+	}
+	
+	long[] hasAddressBitmap() {
+		return hasAddress;
+	}
+	
+	long[] hasNumberBitmap() {
+		return hasNumber;
+	}
+	
+	long[] hasStateBitmap() {
+		return hasState;
+	}
+	
+	long[] hasStateCodeBitmap() {
+		return hasStateCode;
+	}
+	
+	//Accesos por fila usados por las vistas.
+	void checkRow(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Fila " + row + " fuera de rango (size=" + size + ")");
+		}
+	}
+	
+	String name(int row) {
+		return names[row];
+	}
+	
+	String email(int row) {
+		return emails[row];
+	}
+	
+	boolean hasAddress(int row) {
+		return Bitmaps.get(hasAddress, row);
+	}
+	
+	String street(int row) {
+		return streets[row];
+	}
+	
+	boolean hasNumber(int row) {
+		return Bitmaps.get(hasNumber, row);
+	}
+	
+	int number(int row) {
+		return numbers[row];
+	}
+	
+	boolean hasState(int row) {
+		return Bitmaps.get(hasState, row);
+	}
+	
+	String stateName(int row) {
+		return stateNames[row];
+	}
+	
+	boolean hasStateCode(int row) {
+		return Bitmaps.get(hasStateCode, row);
+	}
+	
+	int stateCode(int row) {
+		return stateCodes[row];
+	}
+}
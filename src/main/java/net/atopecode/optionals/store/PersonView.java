@@ -0,0 +1,89 @@
+package net.atopecode.optionals.store;
+
+import java.util.Optional;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+
+//Vista 'flyweight' de solo lectura sobre una fila de 'PersonStore'. Los getters leen directamente las columnas, y
+//'getAddress()' devuelve una 'AddressView' asociada a esta misma vista (o 'null' si la fila no tiene 'Address').
+//Una misma vista se puede mover a otra fila con 'moveTo()', por lo que los objetos devueltos antes cambian de valor:
+//si se necesita conservar una fila hay que usar 'PersonStore.get()' o copiarla con 'toPerson()'.
+public class PersonView extends Person {
+	
+	private final PersonStore store;
+	
+	private final AddressView addressView;
+	
+	private int row;
+	
+	PersonView(PersonStore store) {
+		this.store = store;
+		this.addressView = new AddressView(this);
+	}
+	
+	public PersonView moveTo(int row) {
+		store.checkRow(row);
+		this.row = row;
+		return this;
+	}
+	
+	public int getRow() {
+		return row;
+	}
+	
+	PersonStore store() {
+		return store;
+	}
+	
+	@Override
+	public String getName() {
+		return store.name(row);
+	}
+	
+	@Override
+	public String getEmail() {
+		return store.email(row);
+	}
+	
+	@Override
+	public Address getAddress() {
+		return store.hasAddress(row) ? addressView : null;
+	}
+	
+	@Override
+	public Optional<String> getOptionalName() {
+		return Optional.ofNullable(getName());
+	}
+	
+	@Override
+	public Optional<String> getOptionalEmail() {
+		return Optional.ofNullable(getEmail());
+	}
+	
+	@Override
+	public Optional<Address> getOptionalAddress() {
+		return Optional.ofNullable(getAddress());
+	}
+	
+	@Override
+	public void setName(String name) {
+		throw new UnsupportedOperationException("PersonView es de solo lectura");
+	}
+	
+	@Override
+	public void setEmail(String email) {
+		throw new UnsupportedOperationException("PersonView es de solo lectura");
+	}
+	
+	@Override
+	public void setAddress(Address address) {
+		throw new UnsupportedOperationException("PersonView es de solo lectura");
+	}
+	
+	//Copia independiente de la fila actual como objetos del modelo.
+	public Person toPerson() {
+		AddressView address = (AddressView) getAddress();
+		return new Person(getName(), getEmail(), (address != null) ? address.toAddress() : null);
+	}
+}
@@ -0,0 +1,94 @@
+package net.atopecode.optionals.store;
+
+import java.util.Arrays;
+
+//Resultado de un filtro de 'PersonFilter': bitmap de selección con un bit por fila del 'PersonStore'.
+//Es inmutable: 'and()'/'or()' devuelven una nueva 'Selection'.
+public final class Selection {
+	
+	private final long[] words;
+	
+	private final int size;
+	
+	Selection(long[] words, int size) {
+		this.words = words;
+		this.size = size;
+	}
+	
+	//Número de filas (seleccionadas o no) que cubre el bitmap.
+	public int size() {
+		return size;
+	}
+	
+	public boolean get(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Fila " + row + " fuera de rango (size=" + size + ")");
+		}
+		return Bitmaps.get(words, row);
+	}
+	
+	public int cardinality() {
+		int count = 0;
+		for (long word : words) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+	
+	public boolean isEmpty() {
+		for (long word : words) {
+			if (word != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	//Filas seleccionadas en orden ascendente.
+	public int[] rows() {
+		int[] rows = new int[cardinality()];
+		int count = 0;
+		for (int i = 0; i < words.length; i++) {
+			long word = words[i];
+			while (word != 0) {
+				rows[count++] = (i << 6) + Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+			}
+		}
+		return rows;
+	}
+	
+	public Selection and(Selection other) {
+		checkSameSize(other);
+		long[] result = new long[words.length];
+		for (int i = 0; i < words.length; i++) {
+			result[i] = words[i] & other.words[i];
+		}
+		return new Selection(result, size);
+	}
+	
+	public Selection or(Selection other) {
+		checkSameSize(other);
+		long[] result = new long[words.length];
+		for (int i = 0; i < words.length; i++) {
+			result[i] = words[i] | other.words[i];
+		}
+		return new Selection(result, size);
+	}
+	
+	//Copia de los 'long' del bitmap (bit 'row & 63' de la palabra 'row >>> 6').
+	public long[] toLongArray() {
+		return Arrays.copyOf(words, words.length);
+	}
+	
+	private void checkSameSize(Selection other) {
+		if (other.size != size) {
+			throw new IllegalArgumentException("Las selecciones cubren distinto número de filas: " + size + " != " + other.size);
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return "Selection [size=" + size + ", cardinality=" + cardinality() + "]";
+	}
+}
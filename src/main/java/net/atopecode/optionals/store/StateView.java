@@ -0,0 +1,70 @@
+package net.atopecode.optionals.store;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import net.atopecode.optionals.model.State;
+
+//Vista de solo lectura sobre las columnas de 'State' de la fila actual de una 'PersonView'.
+public class StateView extends State {
+	
+	private final PersonView person;
+	
+	StateView(PersonView person) {
+		super(null, null);
+		this.person = person;
+	}
+	
+	@Override
+	public String getName() {
+		return person.store().stateName(person.getRow());
+	}
+	
+	@Override
+	public Integer getCode() {
+		return hasCode() ? Integer.valueOf(getCodeAsInt()) : null;
+	}
+	
+	@Override
+	public boolean hasCode() {
+		return person.store().hasStateCode(person.getRow());
+	}
+	
+	@Override
+	public int getCodeAsInt() {
+		if (!hasCode()) {
+			throw new NoSuchElementException("State.code no tiene valor");
+		}
+		return person.store().stateCode(person.getRow());
+	}
+	
+	@Override
+	public Optional<String> getOptionalName() {
+		return Optional.ofNullable(getName());
+	}
+	
+	@Override
+	public Optional<Integer> getOptionalCode() {
+		return Optional.ofNullable(getCode());
+	}
+	
+	@Override
+	public OptionalInt getOptionalIntCode() {
+		return hasCode() ? OptionalInt.of(getCodeAsInt()) : OptionalInt.empty();
+	}
+	
+	@Override
+	public void setName(String name) {
+		throw new UnsupportedOperationException("StateView es de solo lectura");
+	}
+	
+	@Override
+	public void setCode(Integer code) {
+		throw new UnsupportedOperationException("StateView es de solo lectura");
+	}
+	
+	public State toState() {
+		return new State(getName(), getCode());
+	}
+}
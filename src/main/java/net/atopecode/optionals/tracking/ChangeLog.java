@@ -0,0 +1,40 @@
+package net.atopecode.optionals.tracking;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import net.atopecode.optionals.model.ModelField;
+import net.atopecode.optionals.model.Person;
+
+//Flujo de cambios ('FieldChange') de las 'Person' seguidas por uno o varios 'ChangeTracker'.
+//Los 'listeners' (vistas derivadas, índices, exportaciones...) se llaman de forma síncrona en el hilo que ejecuta el setter
+//y deben ser rápidos: si necesitan hacer E/S deben encolar el cambio.
+//Añadir y quitar 'listeners' es thread-safe; publicar no se bloquea.
+public class ChangeLog {
+	
+	private final List<Consumer<FieldChange>> listeners = new CopyOnWriteArrayList<>();
+	
+	private final AtomicLong sequence = new AtomicLong();
+	
+	public void addListener(Consumer<FieldChange> listener) {
+		listeners.add(listener);
+	}
+	
+	public boolean removeListener(Consumer<FieldChange> listener) {
+		return listeners.remove(listener);
+	}
+	
+	//Número de cambios publicados hasta ahora.
+	public long published() {
+		return sequence.get();
+	}
+	
+	void publish(Person root, ModelField field, Object oldValue, Object newValue) {
+		FieldChange change = new FieldChange(sequence.incrementAndGet(), root, field, oldValue, newValue);
+		for (Consumer<FieldChange> listener : listeners) {
+			listener.accept(change);
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package net.atopecode.optionals.tracking;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.ChangeListener;
+import net.atopecode.optionals.model.ModelField;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.model.Trackable;
+
+//Seguimiento de cambios opcional de 'Person' (y de su 'Address'/'State'): 'track()' instala un 'ChangeListener' en cada
+//objeto del grafo y cada setter que cambia un valor publica un 'FieldChange' en el 'ChangeLog' con la ruta del campo
+//desde la 'Person' raíz.
+//-Si se sustituye el 'Address' o el 'State' con un setter, el seguimiento pasa del objeto anterior al nuevo.
+//-Los 'State' compartidos de un 'StateRegistry' ('State.isShared()', sólo si se pasa un registro a 'PersonIngester',
+// 'PersonCodec' o 'PersonGenerator') no se siguen ni se les instala ningún 'ChangeListener' (no retienen las raíces de
+// ningún 'ChangeTracker'): sólo se publica su sustitución con 'Address.setState()'. Cualquier otro 'Address'/'State'
+// compartido por varias raíces seguidas publica un cambio por cada raíz.
+//-Los objetos sólo pueden tener un 'ChangeListener': seguir un objeto que ya tiene otro lanza 'IllegalStateException'.
+//No es thread-safe (igual que los setters del modelo): 'track()', 'untrack()' y los setters de los objetos seguidos deben
+//ejecutarse en el mismo hilo o con sincronización externa.
+public class ChangeTracker {
+	
+	private final ChangeLog changeLog;
+	
+	public ChangeTracker(ChangeLog changeLog) {
+		this.changeLog = changeLog;
+	}
+	
+	public ChangeLog getChangeLog() {
+		return changeLog;
+	}
+	
+	public void track(Person root) {
+		attach(root, root);
+	}
+	
+	public void untrack(Person root) {
+		detach(root, root);
+	}
+	
+	public boolean isTracked(Person root) {
+		Node node = nodeOf(root);
+		return node != null && node.roots.contains(root);
+	}
+	
+	//Unión de las máscaras de cambios de 'root', su 'Address' y su 'State' (los bits de 'ModelField' no se solapan).
+	public static int changedFields(Person root) {
+		Address address = root.getAddress();
+		State state = (address != null) ? address.getState() : null;
+		return root.getChangedFields() | ((address != null) ? address.getChangedFields() : 0)
+				| ((state != null) ? state.getChangedFields() : 0);
+	}
+	
+	public static void clearChanges(Person root) {
+		Address address = root.getAddress();
+		State state = (address != null) ? address.getState() : null;
+		root.clearChanges();
+		if (address != null) {
+			address.clearChanges();
+		}
+		if (state != null) {
+			state.clearChanges();
+		}
+	}
+	
+	private void attach(Trackable target, Person root) {
+		if (target == null || isShared(target)) {
+			return;
+		}
+		Node node = nodeOf(target);
+		if (node == null) {
+			if (target.changeListener() != null) {
+				throw new IllegalStateException("El objeto ya tiene otro 'ChangeListener': " + target);
+			}
+			node = new Node();
+			target.setChangeListener(node);
+		}
+		if (node.roots.add(root)) {
+			attachChildren(target, root);
+		}
+	}
+	
+	private void attachChildren(Trackable target, Person root) {
+		if (target instanceof Person) {
+			attach(((Person) target).getAddress(), root);
+		}
+		else if (target instanceof Address) {
+			attach(((Address) target).getState(), root);
+		}
+	}
+	
+	private void detach(Trackable target, Person root) {
+		if (target == null || isShared(target)) {
+			return;
+		}
+		Node node = nodeOf(target);
+		if (node == null || !node.roots.remove(root)) {
+			return;
+		}
+		if (node.roots.isEmpty()) {
+			target.setChangeListener(null);
+		}
+		if (target instanceof Person) {
+			detach(((Person) target).getAddress(), root);
+		}
+		else if (target instanceof Address) {
+			detach(((Address) target).getState(), root);
+		}
+	}
+	
+	private static boolean isShared(Trackable target) {
+		return (target instanceof State) && ((State) target).isShared();
+	}
+	
+	//'Node' de este 'ChangeTracker' instalado en 'target' o 'null' si no tiene (o es de otro 'ChangeTracker').
+	private Node nodeOf(Trackable target) {
+		ChangeListener listener = target.changeListener();
+		return (listener instanceof Node && ((Node) listener).owner() == this) ? (Node) listener : null;
+	}
+	
+	//'ChangeListener' instalado en cada objeto seguido: conoce las raíces que lo contienen.
+	private final class Node implements ChangeListener {
+		
+		private final Set<Person> roots = Collections.newSetFromMap(new IdentityHashMap<>(2));
+		
+		private ChangeTracker owner() {
+			return ChangeTracker.this;
+		}
+		
+		@Override
+		public void changed(Object source, ModelField field, Object oldValue, Object newValue) {
+			//Se copia porque 'detach()' puede vaciar este mismo 'Node' mientras se recorre.
+			Person[] current = roots.toArray(new Person[0]);
+			for (Person root : current) {
+				if (field == ModelField.PERSON_ADDRESS || field == ModelField.ADDRESS_STATE) {
+					detach((Trackable) oldValue, root);
+					attach((Trackable) newValue, root);
+				}
+				changeLog.publish(root, field, oldValue, newValue);
+			}
+		}
+	}
+}
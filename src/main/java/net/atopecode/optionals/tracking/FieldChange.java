@@ -0,0 +1,56 @@
+package net.atopecode.optionals.tracking;
+
+import net.atopecode.optionals.model.ModelField;
+import net.atopecode.optionals.model.Person;
+
+//Un cambio publicado por 'ChangeLog': la 'Person' raíz afectada, el campo (con su ruta desde la raíz) y los valores
+//anterior y nuevo. 'sequence' es el orden de publicación dentro del 'ChangeLog'.
+public final class FieldChange {
+	
+	private final long sequence;
+	
+	private final Person root;
+	
+	private final ModelField field;
+	
+	private final Object oldValue;
+	
+	private final Object newValue;
+	
+	FieldChange(long sequence, Person root, ModelField field, Object oldValue, Object newValue) {
+		this.sequence = sequence;
+		this.root = root;
+		this.field = field;
+		this.oldValue = oldValue;
+		this.newValue = newValue;
+	}
+	
+	public long getSequence() {
+		return sequence;
+	}
+	
+	public Person getRoot() {
+		return root;
+	}
+	
+	public ModelField getField() {
+		return field;
+	}
+	
+	public String getPath() {
+		return field.path();
+	}
+	
+	public Object getOldValue() {
+		return oldValue;
+	}
+	
+	public Object getNewValue() {
+		return newValue;
+	}
+	
+	@Override
+	public String toString() {
+		return "FieldChange [sequence=" + sequence + ", path=" + field.path() + ", oldValue=" + oldValue + ", newValue=" + newValue + "]";
+	}
+}
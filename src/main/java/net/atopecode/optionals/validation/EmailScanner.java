@@ -0,0 +1,105 @@
+package net.atopecode.optionals.validation;
+
+//Comprobación de emails con un único recorrido de los caracteres y una tabla de clases de carácter, sin expresiones
+//regulares. Acepta el subconjunto habitual de RFC 5321/5322 ('dot-atom'):
+//-Parte local de 1 a 64 caracteres 'atext' ('A-Z a-z 0-9 ! # $ % & ' * + - / = ? ^ _ ` { | } ~') separados por puntos
+// simples (sin punto inicial, final ni '..'). No se admiten partes locales entre comillas.
+//-Dominio de al menos dos etiquetas de 1 a 63 caracteres 'A-Z a-z 0-9 -' (sin '-' inicial ni final), y la última
+// (TLD) de al menos 2 letras. No se admiten literales IP ni dominios internacionalizados sin convertir a 'punycode'.
+//-Como mucho 254 caracteres en total.
+public final class EmailScanner {
+	
+	private static final int MAX_LENGTH = 254;
+	
+	private static final int MAX_LOCAL_LENGTH = 64;
+	
+	private static final int MAX_LABEL_LENGTH = 63;
+	
+	private static final byte LOCAL = 1;
+	
+	private static final byte LABEL = 2;
+	
+	private static final byte LETTER = 4;
+	
+	private static final byte[] CLASSES = new byte[128];
+	
+	static {
+		for (char c = '0'; c <= '9'; c++) {
+			CLASSES[c] = LOCAL | LABEL;
+		}
+		for (char c = 'a'; c <= 'z'; c++) {
+			CLASSES[c] = LOCAL | LABEL | LETTER;
+			CLASSES[c - 'a' + 'A'] = LOCAL | LABEL | LETTER;
+		}
+		for (char c : "!#$%&'*+/=?^_`{|}~".toCharArray()) {
+			CLASSES[c] = LOCAL;
+		}
+		CLASSES['-'] = LOCAL | LABEL;
+	}
+	
+	private EmailScanner() {
+		
+	}
+	
+	public static boolean isWellFormed(CharSequence email) {
+		int length = email.length();
+		if (length > MAX_LENGTH) {
+			return false;
+		}
+		//Parte local: hasta la '@'.
+		int position = 0;
+		boolean afterDot = true;
+		while (position < length) {
+			char c = email.charAt(position);
+			if (c == '@') {
+				break;
+			}
+			if (c == '.') {
+				if (afterDot) {
+					return false;
+				}
+				afterDot = true;
+			}
+			else if (c < 128 && (CLASSES[c] & LOCAL) != 0) {
+				afterDot = false;
+			}
+			else {
+				return false;
+			}
+			position++;
+		}
+		if (position == length || afterDot || position > MAX_LOCAL_LENGTH) {
+			return false;
+		}
+		//Dominio: etiquetas separadas por '.'.
+		position++;
+		int labels = 0;
+		int labelStart = position;
+		boolean letters = true;
+		while (true) {
+			char c = (position < length) ? email.charAt(position) : '.';
+			if (c == '.') {
+				int labelLength = position - labelStart;
+				if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH || email.charAt(position - 1) == '-') {
+					return false;
+				}
+				labels++;
+				if (position == length) {
+					return labels >= 2 && letters && labelLength >= 2;
+				}
+				labelStart = position + 1;
+				letters = true;
+			}
+			else if (c < 128 && (CLASSES[c] & LABEL) != 0) {
+				if (c == '-' && position == labelStart) {
+					return false;
+				}
+				letters &= (CLASSES[c] & LETTER) != 0;
+			}
+			else {
+				return false;
+			}
+			position++;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package net.atopecode.optionals.validation;
+
+import java.util.Arrays;
+
+import net.atopecode.optionals.model.ModelField;
+
+//Conjunto declarativo de reglas sobre los campos del grafo 'Person -> Address -> State' (ver 'ModelField'):
+//-'required()': el campo no puede valer 'null'. Sólo se comprueba si su objeto existe: 'required(ADDRESS_NUMBER)' no
+// exige que la 'Person' tenga 'Address' (eso es 'required(PERSON_ADDRESS)').
+//-'maxLength()': longitud máxima de un campo 'String'.
+//-'between()': rango (ambos extremos incluidos) de 'Address.number' o 'State.code'.
+//-'wellFormedEmail()': 'Person.email' tiene que ser un email válido según 'EmailScanner'.
+//Las reglas sólo se aplican a los valores presentes; 'compile()' genera el 'PersonValidator' que se reutiliza para
+//validar cualquier número de 'Person'. Cambiar las reglas después de 'compile()' no afecta a los validadores ya creados.
+public class PersonRules {
+	
+	private int required;
+	
+	private final int[] maxLengths = new int[ModelField.values().length];
+	
+	private final int[] mins = new int[ModelField.values().length];
+	
+	private final int[] maxs = new int[ModelField.values().length];
+	
+	private boolean wellFormedEmail;
+	
+	public PersonRules() {
+		Arrays.fill(maxLengths, Integer.MAX_VALUE);
+		Arrays.fill(mins, Integer.MIN_VALUE);
+		Arrays.fill(maxs, Integer.MAX_VALUE);
+	}
+	
+	public PersonRules required(ModelField... fields) {
+		for (ModelField field : fields) {
+			required |= PersonValidator.bit(field, ViolationType.REQUIRED);
+		}
+		return this;
+	}
+	
+	public PersonRules maxLength(ModelField field, int maxLength) {
+		if (field != ModelField.PERSON_NAME && field != ModelField.PERSON_EMAIL && field != ModelField.ADDRESS_STREET
+				&& field != ModelField.STATE_NAME) {
+			throw new IllegalArgumentException("'" + field.path() + "' no es un campo 'String'");
+		}
+		if (maxLength < 0) {
+			throw new IllegalArgumentException("maxLength no puede ser negativo: " + maxLength);
+		}
+		maxLengths[field.ordinal()] = maxLength;
+		return this;
+	}
+	
+	public PersonRules between(ModelField field, int min, int max) {
+		if (field != ModelField.ADDRESS_NUMBER && field != ModelField.STATE_CODE) {
+			throw new IllegalArgumentException("'" + field.path() + "' no es un campo entero");
+		}
+		if (min > max) {
+			throw new IllegalArgumentException("Rango vacío: [" + min + ", " + max + "]");
+		}
+		mins[field.ordinal()] = min;
+		maxs[field.ordinal()] = max;
+		return this;
+	}
+	
+	public PersonRules wellFormedEmail() {
+		this.wellFormedEmail = true;
+		return this;
+	}
+	
+	public PersonValidator compile() {
+		return new PersonValidator(required, maxLengths, mins, maxs, wellFormedEmail);
+	}
+}
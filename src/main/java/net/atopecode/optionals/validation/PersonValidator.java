@@ -0,0 +1,236 @@
+package net.atopecode.optionals.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.ModelField;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+
+//Validador generado por 'PersonRules.compile()'. En vez de recorrer una lista de reglas, las reglas se convierten en
+//campos primitivos (máscara de campos obligatorios, longitudes máximas y rangos) y 'check()' recorre el grafo una sola vez
+//con el mismo código para cualquier conjunto de reglas: una regla no configurada usa un límite que nunca se incumple
+//(longitud 'Integer.MAX_VALUE', rango de todos los 'int'), así que no añade ramas.
+//El resultado de 'check()' es una máscara 'int' con un bit por pareja (campo, tipo de regla) incumplida
+//(8 'ModelField' x 4 'ViolationType'); sólo cuando hay que informar de ellas se crean los 'Violation'.
+//Es inmutable y se puede compartir entre hilos. Las 'Person' a validar no pueden ser 'null'.
+public final class PersonValidator implements Predicate<Person> {
+	
+	static final int BLOCK_SIZE = 4096;
+	
+	private static final int TYPES = ViolationType.values().length;
+	
+	private static final ModelField[] FIELDS = ModelField.values();
+	
+	private static final ViolationType[] VIOLATION_TYPES = ViolationType.values();
+	
+	private static final int NAME_REQUIRED = bit(ModelField.PERSON_NAME, ViolationType.REQUIRED);
+	
+	private static final int NAME_TOO_LONG = bit(ModelField.PERSON_NAME, ViolationType.TOO_LONG);
+	
+	private static final int EMAIL_REQUIRED = bit(ModelField.PERSON_EMAIL, ViolationType.REQUIRED);
+	
+	private static final int EMAIL_TOO_LONG = bit(ModelField.PERSON_EMAIL, ViolationType.TOO_LONG);
+	
+	private static final int EMAIL_MALFORMED = bit(ModelField.PERSON_EMAIL, ViolationType.MALFORMED);
+	
+	private static final int ADDRESS_REQUIRED = bit(ModelField.PERSON_ADDRESS, ViolationType.REQUIRED);
+	
+	private static final int STREET_REQUIRED = bit(ModelField.ADDRESS_STREET, ViolationType.REQUIRED);
+	
+	private static final int STREET_TOO_LONG = bit(ModelField.ADDRESS_STREET, ViolationType.TOO_LONG);
+	
+	private static final int NUMBER_REQUIRED = bit(ModelField.ADDRESS_NUMBER, ViolationType.REQUIRED);
+	
+	private static final int NUMBER_OUT_OF_RANGE = bit(ModelField.ADDRESS_NUMBER, ViolationType.OUT_OF_RANGE);
+	
+	private static final int STATE_REQUIRED = bit(ModelField.ADDRESS_STATE, ViolationType.REQUIRED);
+	
+	private static final int STATE_NAME_REQUIRED = bit(ModelField.STATE_NAME, ViolationType.REQUIRED);
+	
+	private static final int STATE_NAME_TOO_LONG = bit(ModelField.STATE_NAME, ViolationType.TOO_LONG);
+	
+	private static final int CODE_REQUIRED = bit(ModelField.STATE_CODE, ViolationType.REQUIRED);
+	
+	private static final int CODE_OUT_OF_RANGE = bit(ModelField.STATE_CODE, ViolationType.OUT_OF_RANGE);
+	
+	private final int required;
+	
+	private final boolean wellFormedEmail;
+	
+	private final int nameMaxLength;
+	
+	private final int emailMaxLength;
+	
+	private final int streetMaxLength;
+	
+	private final int stateNameMaxLength;
+	
+	//Los rangos se guardan como 'min' y 'max - min' para comprobarlos con una sola comparación sin signo.
+	private final int numberMin;
+	
+	private final int numberSpan;
+	
+	private final int codeMin;
+	
+	private final int codeSpan;
+	
+	PersonValidator(int required, int[] maxLengths, int[] mins, int[] maxs, boolean wellFormedEmail) {
+		this.required = required;
+		this.wellFormedEmail = wellFormedEmail;
+		this.nameMaxLength = maxLengths[ModelField.PERSON_NAME.ordinal()];
+		this.emailMaxLength = maxLengths[ModelField.PERSON_EMAIL.ordinal()];
+		this.streetMaxLength = maxLengths[ModelField.ADDRESS_STREET.ordinal()];
+		this.stateNameMaxLength = maxLengths[ModelField.STATE_NAME.ordinal()];
+		this.numberMin = mins[ModelField.ADDRESS_NUMBER.ordinal()];
+		this.numberSpan = maxs[ModelField.ADDRESS_NUMBER.ordinal()] - numberMin;
+		this.codeMin = mins[ModelField.STATE_CODE.ordinal()];
+		this.codeSpan = maxs[ModelField.STATE_CODE.ordinal()] - codeMin;
+	}
+	
+	static int bit(ModelField field, ViolationType type) {
+		return 1 << (field.ordinal() * TYPES + type.ordinal());
+	}
+	
+	//Máscara de reglas incumplidas por 'person' (0 si es válida). No crea ningún objeto.
+	public int check(Person person) {
+		String name = person.getName();
+		String email = person.getEmail();
+		int violations = string(name, nameMaxLength, NAME_REQUIRED, NAME_TOO_LONG)
+				| string(email, emailMaxLength, EMAIL_REQUIRED, EMAIL_TOO_LONG);
+		if (wellFormedEmail && email != null && !EmailScanner.isWellFormed(email)) {
+			violations |= EMAIL_MALFORMED;
+		}
+		Address address = person.getAddress();
+		if (address == null) {
+			return violations | (required & ADDRESS_REQUIRED);
+		}
+		violations |= string(address.getStreet(), streetMaxLength, STREET_REQUIRED, STREET_TOO_LONG);
+		violations |= address.hasNumber() ? range(address.getNumberAsInt(), numberMin, numberSpan, NUMBER_OUT_OF_RANGE)
+				: (required & NUMBER_REQUIRED);
+		State state = address.getState();
+		if (state == null) {
+			return violations | (required & STATE_REQUIRED);
+		}
+		violations |= string(state.getName(), stateNameMaxLength, STATE_NAME_REQUIRED, STATE_NAME_TOO_LONG);
+		violations |= state.hasCode() ? range(state.getCodeAsInt(), codeMin, codeSpan, CODE_OUT_OF_RANGE)
+				: (required & CODE_REQUIRED);
+		return violations;
+	}
+	
+	private int string(String value, int maxLength, int requiredBit, int tooLongBit) {
+		if (value == null) {
+			return required & requiredBit;
+		}
+		return (value.length() > maxLength) ? tooLongBit : 0;
+	}
+	
+	private static int range(int value, int min, int span, int outOfRangeBit) {
+		return (Integer.compareUnsigned(value - min, span) > 0) ? outOfRangeBit : 0;
+	}
+	
+	@Override
+	public boolean test(Person person) {
+		return check(person) == 0;
+	}
+	
+	//Todas las reglas incumplidas por 'person', en el orden de 'ModelField' (lista vacía si es válida).
+	public List<Violation> validate(Person person) {
+		return violations(person, check(person));
+	}
+	
+	static List<Violation> violations(Person person, int mask) {
+		if (mask == 0) {
+			return Collections.emptyList();
+		}
+		List<Violation> violations = new ArrayList<>(Integer.bitCount(mask));
+		while (mask != 0) {
+			int bit = Integer.numberOfTrailingZeros(mask);
+			ModelField field = FIELDS[bit / TYPES];
+			ViolationType type = VIOLATION_TYPES[bit % TYPES];
+			violations.add(new Violation(field, type, (type == ViolationType.REQUIRED) ? null : value(person, field)));
+			mask &= mask - 1;
+		}
+		return violations;
+	}
+	
+	private static Object value(Person person, ModelField field) {
+		switch (field) {
+			case PERSON_NAME:
+				return person.getName();
+			case PERSON_EMAIL:
+				return person.getEmail();
+			case ADDRESS_STREET:
+				return person.getAddress().getStreet();
+			case ADDRESS_NUMBER:
+				return person.getAddress().getNumber();
+			case STATE_NAME:
+				return person.getAddress().getState().getName();
+			case STATE_CODE:
+				return person.getAddress().getState().getCode();
+			default:
+				return null;
+		}
+	}
+	
+	public ValidationReport validateAll(List<? extends Person> persons) {
+		return validateAll(persons, ForkJoinPool.commonPool());
+	}
+	
+	//Valida 'persons' en paralelo en 'pool', en bloques de 'BLOCK_SIZE'. La lista tiene que permitir acceso por índice
+	//eficiente (p.ej. 'ArrayList' o 'Arrays.asList()') y no puede cambiar mientras se valida.
+	public ValidationReport validateAll(List<? extends Person> persons, ForkJoinPool pool) {
+		Objects.requireNonNull(persons);
+		int[] masks = new int[persons.size()];
+		int invalidCount = pool.invoke(new ValidateTask(this, persons, masks, 0, masks.length));
+		return new ValidationReport(persons, masks, invalidCount);
+	}
+	
+	private static final class ValidateTask extends RecursiveTask<Integer> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final transient PersonValidator validator;
+		
+		private final transient List<? extends Person> persons;
+		
+		private final int[] masks;
+		
+		private final int from;
+		
+		private final int to;
+		
+		ValidateTask(PersonValidator validator, List<? extends Person> persons, int[] masks, int from, int to) {
+			this.validator = validator;
+			this.persons = persons;
+			this.masks = masks;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected Integer compute() {
+			if (to - from > BLOCK_SIZE) {
+				//Punto de división alineado a 'BLOCK_SIZE' (respecto a 'from').
+				int middle = from + Math.max(((to - from) >>> 1) & ~(BLOCK_SIZE - 1), BLOCK_SIZE);
+				ValidateTask right = new ValidateTask(validator, persons, masks, middle, to);
+				right.fork();
+				int left = new ValidateTask(validator, persons, masks, from, middle).compute();
+				return left + right.join();
+			}
+			int invalidCount = 0;
+			for (int i = from; i < to; i++) {
+				int mask = validator.check(persons.get(i));
+				masks[i] = mask;
+				invalidCount += (mask != 0) ? 1 : 0;
+			}
+			return invalidCount;
+		}
+	}
+}
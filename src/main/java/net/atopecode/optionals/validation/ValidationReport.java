@@ -0,0 +1,55 @@
+package net.atopecode.optionals.validation;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import net.atopecode.optionals.model.ModelField;
+import net.atopecode.optionals.model.Person;
+
+//Resultado de 'PersonValidator.validateAll()': la máscara de reglas incumplidas de cada 'Person' (misma posición que
+//en la lista validada). Los 'Violation' se crean al pedirlos con 'violations()', a partir de la 'Person' original.
+public final class ValidationReport {
+	
+	private final List<? extends Person> persons;
+	
+	private final int[] masks;
+	
+	private final int invalidCount;
+	
+	ValidationReport(List<? extends Person> persons, int[] masks, int invalidCount) {
+		this.persons = persons;
+		this.masks = masks;
+		this.invalidCount = invalidCount;
+	}
+	
+	public int size() {
+		return masks.length;
+	}
+	
+	public int invalidCount() {
+		return invalidCount;
+	}
+	
+	public boolean isValid(int index) {
+		return masks[index] == 0;
+	}
+	
+	//Posiciones de las 'Person' no válidas en orden ascendente.
+	public int[] invalidIndexes() {
+		return IntStream.range(0, masks.length).filter(index -> masks[index] != 0).toArray();
+	}
+	
+	public List<Violation> violations(int index) {
+		return PersonValidator.violations(persons.get(index), masks[index]);
+	}
+	
+	//Número de 'Person' que incumplen la regla 'type' en 'field'.
+	public int count(ModelField field, ViolationType type) {
+		int bit = PersonValidator.bit(field, type);
+		int count = 0;
+		for (int mask : masks) {
+			count += ((mask & bit) != 0) ? 1 : 0;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,60 @@
+package net.atopecode.optionals.validation;
+
+import java.util.Objects;
+
+import net.atopecode.optionals.model.ModelField;
+
+//Regla incumplida por una 'Person': el campo (con su ruta desde la 'Person', p.ej. "address.state.code"), el tipo de
+//regla y el valor rechazado ('null' en las de tipo 'REQUIRED').
+public final class Violation {
+	
+	private final ModelField field;
+	
+	private final ViolationType type;
+	
+	private final Object value;
+	
+	public Violation(ModelField field, ViolationType type, Object value) {
+		this.field = Objects.requireNonNull(field);
+		this.type = Objects.requireNonNull(type);
+		this.value = value;
+	}
+	
+	public ModelField field() {
+		return field;
+	}
+	
+	public String path() {
+		return field.path();
+	}
+	
+	public ViolationType type() {
+		return type;
+	}
+	
+	public Object value() {
+		return value;
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Violation)) {
+			return false;
+		}
+		Violation other = (Violation) obj;
+		return field == other.field && type == other.type && Objects.equals(value, other.value);
+	}
+	
+	@Override
+	public int hashCode() {
+		return 31 * (31 * field.hashCode() + type.hashCode()) + Objects.hashCode(value);
+	}
+	
+	@Override
+	public String toString() {
+		return field.path() + " " + type.description() + ((value != null) ? " (" + value + ")" : "");
+	}
+}
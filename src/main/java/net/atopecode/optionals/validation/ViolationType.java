@@ -0,0 +1,20 @@
+package net.atopecode.optionals.validation;
+
+//Tipos de regla de 'PersonRules' que puede incumplir un campo.
+public enum ViolationType {
+	
+	REQUIRED("es obligatorio"),
+	MALFORMED("no es un email válido"),
+	OUT_OF_RANGE("está fuera de rango"),
+	TOO_LONG("es demasiado largo");
+	
+	private final String description;
+	
+	private ViolationType(String description) {
+		this.description = description;
+	}
+	
+	public String description() {
+		return description;
+	}
+}
@@ -0,0 +1,80 @@
+package net.atopecode.optionals.accessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.AddressAccessor;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.PersonAccessor;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.model.StateAccessor;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class ModelAccessorUnitTest {
+	
+	private PersonRepository personRepository;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+	}
+	
+	//Copia superficial genérica: sirve para cualquier clase con '@GenerateAccessors'.
+	private static <T> void copy(ModelAccessor<T> accessor, T source, T target) {
+		for (int property = 0; property < accessor.size(); property++) {
+			accessor.set(target, property, accessor.get(source, property));
+		}
+	}
+	
+	@Test
+	public void generatedAccessor_describesProperties() {
+		assertEquals(Person.class, PersonAccessor.INSTANCE.type());
+		assertEquals(3, PersonAccessor.INSTANCE.size());
+		assertEquals("email", PersonAccessor.INSTANCE.name(PersonAccessor.EMAIL));
+		assertEquals(Address.class, PersonAccessor.INSTANCE.propertyType(PersonAccessor.ADDRESS));
+		assertEquals(AddressAccessor.NUMBER, AddressAccessor.INSTANCE.indexOf("number"));
+		assertEquals(Integer.class, AddressAccessor.INSTANCE.propertyType(AddressAccessor.NUMBER));
+		assertEquals(-1, StateAccessor.INSTANCE.indexOf("codeAsInt"));
+		assertEquals(List.of("name", "code"), List.of(StateAccessor.INSTANCE.name(0), StateAccessor.INSTANCE.name(1)));
+	}
+	
+	@Test
+	public void generatedAccessor_getAndSet() {
+		Person person = personRepository.getPersonTest();
+		assertEquals("Fulano", PersonAccessor.INSTANCE.get(person, PersonAccessor.NAME));
+		
+		Person copy = new Person();
+		copy(PersonAccessor.INSTANCE, person, copy);
+		assertEquals("fulano@email.es", copy.getEmail());
+		assertSame(person.getAddress(), copy.getAddress());
+		
+		State state = new State("State2", 2);
+		StateAccessor.INSTANCE.set(state, StateAccessor.CODE, 7);
+		assertEquals(7, state.getCode());
+		assertThrows(IndexOutOfBoundsException.class, () -> PersonAccessor.INSTANCE.get(person, 3));
+		assertThrows(ClassCastException.class, () -> StateAccessor.INSTANCE.set(state, StateAccessor.CODE, "7"));
+		assertNotSame(copy, person);
+	}
+	
+	@Test
+	public void generatedPaths_areNullSafe() {
+		assertEquals(12345, PersonAccessor.getAddressStateCode(personRepository.getPersonTest()));
+		assertEquals("State1", PersonAccessor.getAddressStateName(personRepository.getPersonTest()));
+		assertEquals(Optional.of(55), PersonAccessor.getOptionalAddressNumber(personRepository.getPersonWithStateNull()));
+		assertNull(PersonAccessor.getAddressStateCode(personRepository.getPersonWithStateNull()));
+		assertNull(PersonAccessor.getAddressStreet(personRepository.getPersonWithAddressNull()));
+		assertTrue(PersonAccessor.getOptionalAddressState(null).isEmpty());
+		assertEquals("State1", AddressAccessor.getStateName(personRepository.getPersonTest().getAddress()));
+	}
+}
@@ -0,0 +1,112 @@
+package net.atopecode.optionals.aggregation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class AddressAggregationsUnitTest {
+	
+	private PersonRepository personRepository;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+	}
+	
+	//Getters primitivos del modelo:
+	@Test
+	public void primitiveGetters_with_value() {
+		Address address = personRepository.getPersonTest().getAddress();
+		
+		assertTrue(address.hasNumber());
+		assertEquals(55, address.getNumberAsInt());
+		assertEquals(OptionalInt.of(55), address.getOptionalIntNumber());
+		assertEquals(Optional.of(55), address.getOptionalNumber());
+		
+		State state = address.getState();
+		assertTrue(state.hasCode());
+		assertEquals(12345, state.getCodeAsInt());
+		assertEquals(OptionalInt.of(12345), state.getOptionalIntCode());
+		assertEquals(Integer.valueOf(12345), state.getCode());
+	}
+	
+	@Test
+	public void primitiveGetters_without_value() {
+		Address address = new Address("Street1", null, new State("State1", null));
+		
+		assertFalse(address.hasNumber());
+		assertNull(address.getNumber());
+		assertEquals(OptionalInt.empty(), address.getOptionalIntNumber());
+		assertThrows(NoSuchElementException.class, () -> address.getNumberAsInt());
+		
+		State state = address.getState();
+		assertFalse(state.hasCode());
+		assertNull(state.getCode());
+		assertTrue(state.getOptionalCode().isEmpty());
+		assertThrows(NoSuchElementException.class, () -> state.getCodeAsInt());
+		assertEquals("Address [street=Street1, number=null, state=State [name=State1, code=null]]", address.toString());
+	}
+	
+	//Agregaciones:
+	@Test
+	public void sums_ignore_missingAddressAndState() {
+		List<Person> persons = Arrays.asList(
+				personRepository.getPersonTest(),
+				personRepository.getPersonWithAddressNull(),
+				personRepository.getPersonWithStateNull(),
+				null);
+		
+		assertEquals(55 + 55, AddressAggregations.sumAddressNumbers(persons));
+		assertEquals(12345, AddressAggregations.sumStateCodes(persons));
+	}
+	
+	@Test
+	public void stateCodeHistogram_countsEachCode() {
+		List<Person> persons = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			persons.add(new Person("Name" + i, null, new Address("Street", i, new State("State" + (i % 10), i % 10))));
+		}
+		persons.add(personRepository.getPersonWithStateNull());
+		
+		IntHistogram histogram = AddressAggregations.stateCodeHistogram(persons);
+		assertEquals(10, histogram.size());
+		assertEquals(1000, histogram.total());
+		assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, histogram.keys());
+		assertEquals(100, histogram.count(7));
+		assertEquals(0, histogram.count(10));
+	}
+	
+	@Test
+	public void histogram_merge() {
+		IntHistogram histogram1 = new IntHistogram();
+		IntHistogram histogram2 = new IntHistogram(2);
+		for (int i = 0; i < 500; i++) {
+			histogram1.increment(i);
+			histogram2.add(-i, 2);
+		}
+		histogram1.merge(histogram2);
+		
+		assertEquals(999, histogram1.size());
+		assertEquals(2, histogram1.count(-499));
+		assertEquals(3, histogram1.count(0));
+		assertEquals(1500, histogram1.total());
+	}
+}
@@ -0,0 +1,127 @@
+package net.atopecode.optionals.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class AsyncPersonRepositoryUnitTest {
+	
+	private PersonRepository personRepository;
+	
+	private ExecutorService executor;
+	
+	private AsyncPersonRepository asyncRepository;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+		personRepository.save(personRepository.getPersonTest());
+		personRepository.save(personRepository.getPersonWithAddressNull());
+		personRepository.save(personRepository.getPersonWithStateNull());
+		executor = AsyncExecutors.bounded(4);
+		asyncRepository = new AsyncPersonRepository(new SimulatedLatencyBackend(personRepository, 100, 0, 1), executor);
+	}
+	
+	@AfterEach
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+	
+	@Test
+	public void findById_assemblesAllParts() {
+		Person person = asyncRepository.findById(0).join().get();
+		assertEquals("Fulano", person.getName());
+		assertEquals("Street1", person.getAddress().getStreet());
+		assertEquals(12345, person.getAddress().getState().getCode());
+		assertEquals(Optional.of(12345), asyncRepository.findByIdBlocking(0).map(Person::getAddress).map(Address::getState).map(State::getCode));
+	}
+	
+	@Test
+	public void findById_missingParts_completeAsNull() {
+		assertNull(asyncRepository.findById(1).join().get().getAddress());
+		Address address = asyncRepository.findById(2).join().get().getAddress();
+		assertEquals("Street1", address.getStreet());
+		assertNull(address.getState());
+		assertTrue(asyncRepository.findById(99).join().isEmpty());
+		assertTrue(asyncRepository.findByIdBlocking(99).isEmpty());
+	}
+	
+	@Test
+	public void findById_failedParts_completeAsNull_failedPerson_fails() {
+		PersonBackend failing = new SimulatedLatencyBackend(personRepository, 0, 0, 1) {
+			@Override
+			public Optional<State> findState(int personId) {
+				throw new IllegalStateException("State backend down");
+			}
+			
+			@Override
+			public Optional<Person> findPerson(int id) {
+				if (id == 1) {
+					throw new IllegalStateException("Person backend down");
+				}
+				return super.findPerson(id);
+			}
+		};
+		AsyncPersonRepository repository = new AsyncPersonRepository(failing, executor);
+		
+		Person person = repository.findById(0).join().get();
+		assertEquals("Street1", person.getAddress().getStreet());
+		assertNull(person.getAddress().getState());
+		assertNull(repository.findByIdBlocking(0).get().getAddress().getState());
+		
+		CompletionException ex = assertThrows(CompletionException.class, () -> repository.findById(1).join());
+		assertTrue(ex.getCause() instanceof IllegalStateException);
+	}
+	
+	@Test
+	public void findById_fetchesPartsConcurrently() throws Exception {
+		//Las tres consultas esperan en la misma barrera: sólo terminan si se ejecutan a la vez.
+		CyclicBarrier barrier = new CyclicBarrier(3);
+		PersonBackend backend = new SimulatedLatencyBackend(personRepository, 0, 0, 1) {
+			private void await() {
+				try {
+					barrier.await(5, TimeUnit.SECONDS);
+				}
+				catch (Exception ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+			
+			@Override
+			public Optional<Person> findPerson(int id) {
+				await();
+				return super.findPerson(id);
+			}
+			
+			@Override
+			public Optional<Address> findAddress(int personId) {
+				await();
+				return super.findAddress(personId);
+			}
+			
+			@Override
+			public Optional<State> findState(int personId) {
+				await();
+				return super.findState(personId);
+			}
+		};
+		Person person = new AsyncPersonRepository(backend, executor).findById(0).get(10, TimeUnit.SECONDS).get();
+		assertEquals(12345, person.getAddress().getState().getCode());
+	}
+}
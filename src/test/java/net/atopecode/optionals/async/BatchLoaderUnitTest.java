@@ -0,0 +1,179 @@
+package net.atopecode.optionals.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class BatchLoaderUnitTest {
+	
+	private List<Set<Integer>> batches;
+	
+	private BatchLoader<Integer, String> loader;
+	
+	@BeforeEach
+	public void init() {
+		batches = new ArrayList<>();
+		loader = new BatchLoader<>(this::bulkLoad, 3, Runnable::run);
+	}
+	
+	//Sólo existen las claves pares.
+	private Map<Integer, String> bulkLoad(Set<Integer> keys) {
+		batches.add(Set.copyOf(keys));
+		Map<Integer, String> result = new HashMap<>();
+		keys.stream().filter(key -> key % 2 == 0).forEach(key -> result.put(key, "value" + key));
+		return result;
+	}
+	
+	@Test
+	public void load_dedupesKeys_andCompletesOnDispatch() {
+		CompletableFuture<Optional<String>> first = loader.load(2);
+		CompletableFuture<Optional<String>> second = loader.load(2);
+		CompletableFuture<Optional<String>> missing = loader.load(1);
+		assertSame(first, second);
+		assertFalse(first.isDone());
+		
+		loader.dispatch().join();
+		assertEquals(Optional.of("value2"), first.join());
+		assertTrue(missing.join().isEmpty());
+		assertEquals(List.of(Set.of(1, 2)), batches);
+		assertEquals(1, loader.batchCount());
+		assertEquals(3, loader.requestedKeys());
+		assertEquals(2, loader.dispatchedKeys());
+		
+		loader.dispatch().join();
+		assertEquals(1, loader.batchCount());
+	}
+	
+	@Test
+	public void load_sendsBatch_whenMaxBatchSizeReached() {
+		List<CompletableFuture<Optional<String>>> futures = IntStream.range(0, 7).mapToObj(loader::load).collect(Collectors.toList());
+		assertEquals(2, batches.size());
+		assertTrue(futures.get(5).isDone());
+		assertFalse(futures.get(6).isDone());
+		loader.dispatch().join();
+		assertEquals(List.of(Set.of(0, 1, 2), Set.of(3, 4, 5), Set.of(6)), batches);
+	}
+	
+	@Test
+	public void load_failedBatch_failsAllKeys() {
+		BatchLoader<Integer, String> failing = new BatchLoader<>(keys -> {
+			throw new IllegalStateException("backend down");
+		}, 10, Runnable::run);
+		CompletableFuture<Optional<String>> future = failing.load(1);
+		failing.dispatch().join();
+		CompletionException ex = assertThrows(CompletionException.class, future::join);
+		assertTrue(ex.getCause() instanceof IllegalStateException);
+	}
+	
+	@Test
+	public void load_dispatchedByScheduler() throws Exception {
+		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		try {
+			BatchLoader<Integer, String> ticking = new BatchLoader<>(this::bulkLoad, 100, Runnable::run, scheduler, Duration.ofMillis(5));
+			CompletableFuture<Optional<String>> a = ticking.load(4);
+			CompletableFuture<Optional<String>> b = ticking.load(5);
+			assertEquals(Optional.of("value4"), a.get(5, TimeUnit.SECONDS));
+			assertTrue(b.get(5, TimeUnit.SECONDS).isEmpty());
+			assertEquals(1, ticking.batchCount());
+		}
+		finally {
+			scheduler.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void addressLoader_resolvesAddressesAndStates_inFewRoundTrips() throws Exception {
+		PersonRepository personRepository = new PersonRepository();
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Person person = (i % 10 == 0) ? personRepository.getPersonWithStateNull()
+					: new Person("Name" + i, "name" + i + "@email.es", new Address("Street" + i, i, new State("State" + (i % 4), i % 4)));
+			ids.add(personRepository.save(person));
+		}
+		ids.add(1000);
+		StubPersonBackend backend = new StubPersonBackend(personRepository, 0, 0);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			AddressLoader addressLoader = new AddressLoader(backend, 16, executor);
+			List<Optional<Address>> addresses = addressLoader.loadAll(ids).get(10, TimeUnit.SECONDS);
+			
+			assertEquals(101, addresses.size());
+			assertNull(addresses.get(0).get().getState());
+			assertEquals("Street7", addresses.get(7).get().getStreet());
+			assertEquals("State3", addresses.get(7).get().getState().getName());
+			assertTrue(addresses.get(100).isEmpty());
+			//101 'Address' en lotes de 16 y los 4 'State' distintos en un solo lote (en vez de 101 + 90 llamadas).
+			assertEquals(7, addressLoader.addresses().batchCount());
+			assertTrue(addressLoader.states().dispatchedKeys() <= 4 * addressLoader.states().batchCount());
+			assertEquals(backend.roundTrips(), addressLoader.roundTrips());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void addressLoader_doesNotModifyBackendAddresses() throws Exception {
+		Address withCode = new Address("Street1", 1, new State(null, 7));
+		Address withoutCode = new Address("Street2", 2, new State(null, null));
+		State state = new State("State7", 7);
+		BulkPersonBackend backend = new BulkPersonBackend() {
+			@Override
+			public Map<Integer, Address> findAddresses(Set<Integer> personIds) {
+				return Map.of(1, withCode, 2, withoutCode);
+			}
+			
+			@Override
+			public Map<Integer, State> findStates(Set<Integer> stateCodes) {
+				return Map.of(7, state);
+			}
+		};
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			AddressLoader addressLoader = new AddressLoader(backend, 16, executor);
+			//Claves repetidas: las dos consultas reciben la misma 'Address' del 'backend'.
+			List<Optional<Address>> addresses = addressLoader.loadAll(List.of(1, 1, 2)).get(10, TimeUnit.SECONDS);
+			
+			assertSame(state, addresses.get(0).get().getState());
+			assertSame(state, addresses.get(1).get().getState());
+			assertNull(addresses.get(2).get().getState());
+			assertEquals("Street2", addresses.get(2).get().getStreet());
+			assertFalse(addresses.get(0).get() == withCode);
+			assertFalse(addresses.get(0).get() == addresses.get(1).get());
+			//Las del 'backend' siguen como llegaron.
+			assertNull(withCode.getState().getName());
+			assertEquals(7, withCode.getState().getCode());
+			assertTrue(withoutCode.getState() != null && withoutCode.getState().getCode() == null);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package net.atopecode.optionals.async;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.repository.PersonSource;
+
+//'PersonBackend' de pruebas sobre un 'PersonSource' en memoria: cada consulta espera 'latencyMicros' y,
+//con probabilidad 'slowRatio', 'slowFactor' veces más (la cola de latencias de un servicio real).
+public class SimulatedLatencyBackend implements PersonBackend {
+	
+	private final PersonSource source;
+	
+	private final long latencyMicros;
+	
+	private final double slowRatio;
+	
+	private final int slowFactor;
+	
+	public SimulatedLatencyBackend(PersonSource source, long latencyMicros, double slowRatio, int slowFactor) {
+		this.source = source;
+		this.latencyMicros = latencyMicros;
+		this.slowRatio = slowRatio;
+		this.slowFactor = slowFactor;
+	}
+	
+	private void waitLatency() {
+		if (latencyMicros <= 0) {
+			return;
+		}
+		SplittableRandom random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+		long micros = (random.nextDouble() < slowRatio) ? latencyMicros * slowFactor : latencyMicros;
+		LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+	}
+	
+	@Override
+	public Optional<Person> findPerson(int id) {
+		waitLatency();
+		return source.findById(id).map(person -> new Person(person.getName(), person.getEmail(), null));
+	}
+	
+	@Override
+	public Optional<Address> findAddress(int personId) {
+		waitLatency();
+		return source.findById(personId)
+				.map(Person::getAddress)
+				.map(address -> new Address(address.getStreet(), address.getNumber(), null));
+	}
+	
+	@Override
+	public Optional<State> findState(int personId) {
+		waitLatency();
+		return source.findById(personId).map(Person::getAddress).map(Address::getState);
+	}
+}
@@ -0,0 +1,115 @@
+package net.atopecode.optionals.async;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.repository.PersonSource;
+
+//'backend' de pruebas sobre un 'PersonSource' en memoria, con consultas individuales ('PersonBackend') y masivas
+//('BulkPersonBackend'). Cada llamada cuesta 'callMicros' más 'keyMicros' por clave y se cuenta en 'roundTrips()'.
+public class StubPersonBackend implements PersonBackend, BulkPersonBackend {
+	
+	private final PersonSource source;
+	
+	private final long callMicros;
+	
+	private final long keyMicros;
+	
+	private final AtomicLong roundTrips = new AtomicLong();
+	
+	private final AtomicLong keys = new AtomicLong();
+	
+	//Tabla de 'State' por 'code' con los 'State' de las 'Person' de 'source' al crear el 'backend'.
+	private final Map<Integer, State> statesByCode = new HashMap<>();
+	
+	public StubPersonBackend(PersonSource source, long callMicros, long keyMicros) {
+		this.source = source;
+		this.callMicros = callMicros;
+		this.keyMicros = keyMicros;
+		for (int id = 0; id < source.count(); id++) {
+			source.findById(id).map(Person::getAddress).map(Address::getState)
+					.filter(State::hasCode)
+					.ifPresent(state -> statesByCode.putIfAbsent(state.getCodeAsInt(), state));
+		}
+	}
+	
+	private void call(int keyCount) {
+		roundTrips.incrementAndGet();
+		keys.addAndGet(keyCount);
+		long micros = callMicros + keyMicros * keyCount;
+		if (micros > 0) {
+			LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+		}
+	}
+	
+	private Optional<Address> address(int personId) {
+		return source.findById(personId).map(Person::getAddress).map(address -> {
+			State state = address.getState();
+			Integer code = (state != null) ? state.getCode() : null;
+			return new Address(address.getStreet(), address.getNumber(), (code != null) ? new State(null, code) : null);
+		});
+	}
+	
+	private Optional<State> state(int code) {
+		return Optional.ofNullable(statesByCode.get(code));
+	}
+	
+	@Override
+	public Optional<Person> findPerson(int id) {
+		call(1);
+		return source.findById(id).map(person -> new Person(person.getName(), person.getEmail(), null));
+	}
+	
+	@Override
+	public Optional<Address> findAddress(int personId) {
+		call(1);
+		return address(personId).map(address -> new Address(address.getStreet(), address.getNumber(), null));
+	}
+	
+	@Override
+	public Optional<State> findState(int personId) {
+		call(1);
+		return source.findById(personId).map(Person::getAddress).map(Address::getState);
+	}
+	
+	public Optional<State> findStateByCode(int code) {
+		call(1);
+		return state(code);
+	}
+	
+	@Override
+	public Map<Integer, Address> findAddresses(Set<Integer> personIds) {
+		call(personIds.size());
+		Map<Integer, Address> result = new HashMap<>();
+		for (Integer personId : personIds) {
+			address(personId).ifPresent(address -> result.put(personId, address));
+		}
+		return result;
+	}
+	
+	@Override
+	public Map<Integer, State> findStates(Set<Integer> stateCodes) {
+		call(stateCodes.size());
+		Map<Integer, State> result = new HashMap<>();
+		for (Integer code : stateCodes) {
+			state(code).ifPresent(state -> result.put(code, state));
+		}
+		return result;
+	}
+	
+	public long roundTrips() {
+		return roundTrips.get();
+	}
+	
+	public long keys() {
+		return keys.get();
+	}
+}
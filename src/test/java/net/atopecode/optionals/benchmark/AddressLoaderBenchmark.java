@@ -0,0 +1,104 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.async.AddressLoader;
+import net.atopecode.optionals.async.StubPersonBackend;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.repository.PersonRepository;
+
+//Resolución de 'Address' y 'State' de 'persons' 'Person' contra un 'backend' con coste fijo por llamada ('callMicros')
+//y por clave ('keyMicros'): una llamada por 'Person' y parte (N+1) frente a 'AddressLoader' (lotes sin claves repetidas).
+//Las dos versiones se ejecutan en el hilo del 'benchmark'; al final de cada iteración se imprimen las llamadas por operación.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AddressLoaderBenchmark {
+	
+	@Param({"1000"})
+	private int persons;
+	
+	@Param({"20"})
+	private int stateCodes;
+	
+	@Param({"100"})
+	private int maxBatchSize;
+	
+	@Param({"50", "500"})
+	private long callMicros;
+	
+	@Param({"1"})
+	private long keyMicros;
+	
+	private StubPersonBackend backend;
+	
+	private List<Integer> ids;
+	
+	private long operations;
+	
+	private long startRoundTrips;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		PersonRepository personRepository = new PersonRepository();
+		ids = new ArrayList<>(persons);
+		for (int i = 0; i < persons; i++) {
+			int code = i % stateCodes;
+			Person person = (i % 10 == 0) ? personRepository.getPersonWithStateNull()
+					: new Person("Name" + i, "name" + i + "@email.es", new Address("Street" + i, i, new net.atopecode.optionals.model.State("State" + code, code)));
+			ids.add(personRepository.save(person));
+		}
+		backend = new StubPersonBackend(personRepository, callMicros, keyMicros);
+	}
+	
+	@Setup(Level.Iteration)
+	public void resetCounters() {
+		operations = 0;
+		startRoundTrips = backend.roundTrips();
+	}
+	
+	@TearDown(Level.Iteration)
+	public void printRoundTrips() {
+		System.out.println();
+		System.out.println("roundTripsPerOp=" + (double) (backend.roundTrips() - startRoundTrips) / Math.max(operations, 1));
+	}
+	
+	@Benchmark
+	public List<Optional<Address>> resolve_perPerson() {
+		operations++;
+		List<Optional<Address>> result = new ArrayList<>(ids.size());
+		for (Integer id : ids) {
+			Optional<Address> address = backend.findAddress(id);
+			address.ifPresent(a -> a.setState(backend.findState(id).orElse(null)));
+			result.add(address);
+		}
+		return result;
+	}
+	
+	@Benchmark
+	public List<Optional<Address>> resolve_batched() {
+		operations++;
+		return new AddressLoader(backend, maxBatchSize, Runnable::run).loadAll(ids).join();
+	}
+}
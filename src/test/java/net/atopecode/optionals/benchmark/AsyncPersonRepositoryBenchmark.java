@@ -0,0 +1,84 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.async.AsyncExecutors;
+import net.atopecode.optionals.async.AsyncPersonRepository;
+import net.atopecode.optionals.async.SimulatedLatencyBackend;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.repository.PersonRepository;
+
+//Prueba de carga de 'AsyncPersonRepository' contra un 'backend' con latencia simulada: 16 hilos de petición
+//piden 'Person' completas de forma bloqueante (tres consultas seguidas) o asíncrona (tres consultas a la vez).
+//'SampleTime' da el 'throughput' (número de muestras) y los percentiles (p0.99) de la latencia por petición.
+//'VIRTUAL' usa hilos virtuales si la JVM los tiene (Java 21+) y si no, el mismo 'pool' que 'BOUNDED'.
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class AsyncPersonRepositoryBenchmark {
+	
+	@Param({"BOUNDED", "VIRTUAL"})
+	private String executorMode;
+	
+	@Param({"64"})
+	private int poolSize;
+	
+	//Latencia de cada consulta al 'backend' y cola de latencias (1% de consultas 10 veces más lentas).
+	@Param({"1000"})
+	private long latencyMicros;
+	
+	private ExecutorService executor;
+	
+	private AsyncPersonRepository asyncRepository;
+	
+	private int size;
+	
+	@Setup
+	public void setup() {
+		PersonRepository personRepository = new PersonRepository();
+		for (PersonShape shape : PersonShape.values()) {
+			for (int i = 0; i < 100; i++) {
+				personRepository.save(shape.create(personRepository));
+			}
+		}
+		size = personRepository.count();
+		executor = "VIRTUAL".equals(executorMode) ? AsyncExecutors.virtualThreadsOrBounded(poolSize) : AsyncExecutors.bounded(poolSize);
+		asyncRepository = new AsyncPersonRepository(new SimulatedLatencyBackend(personRepository, latencyMicros, 0.01, 10), executor);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+	
+	@Benchmark
+	public Optional<Person> findById_blocking() {
+		return asyncRepository.findByIdBlocking(ThreadLocalRandom.current().nextInt(size));
+	}
+	
+	@Benchmark
+	public Optional<Person> findById_async() {
+		return asyncRepository.findById(ThreadLocalRandom.current().nextInt(size)).join();
+	}
+}
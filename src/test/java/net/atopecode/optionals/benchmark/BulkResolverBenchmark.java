@@ -0,0 +1,86 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.bulk.BulkResolver;
+import net.atopecode.optionals.bulk.BulkResult;
+import net.atopecode.optionals.generator.PersonGenerator;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.path.Path;
+import net.atopecode.optionals.path.Paths;
+
+//Escalado de 'BulkResolver' con el número de hilos (comparar 'resolve_bulk' para cada 'parallelism' con el valor para 1),
+//frente a resolver elemento a elemento con la cadena 'Optional' de 'getStateField_with_StateNull'.
+//Para medir hasta 32 núcleos: -p parallelism=1,2,4,8,16,32
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class BulkResolverBenchmark {
+	
+	private static final Path<Person, String> STATE_NAME = Paths.of(Person::getAddress, Address::getState,
+			net.atopecode.optionals.model.State::getName);
+	
+	@Param({"1000000"})
+	private int size;
+	
+	@Param({"1", "2", "4", "8"})
+	private int parallelism;
+	
+	private List<Person> persons;
+	
+	private ForkJoinPool pool;
+	
+	private BulkResolver bulkResolver;
+	
+	@Setup
+	public void setup() {
+		//Un tercio de cada forma de 'PersonShape': completa, sin 'Address' y sin 'State'.
+		persons = Arrays.asList(new PersonGenerator(42).addressNullRatio(1 / 3.0).stateNullRatio(0.5).generate(size));
+		pool = new ForkJoinPool(parallelism);
+		bulkResolver = new BulkResolver(pool);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+	
+	@Benchmark
+	public BulkResult<String> resolve_bulk() {
+		return bulkResolver.resolve(persons, STATE_NAME);
+	}
+	
+	@Benchmark
+	public String[] resolve_sequentialOptional() {
+		String[] result = new String[persons.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = Optional.ofNullable(persons.get(i))
+					.map(Person::getAddress)
+					.map(Address::getState)
+					.map(net.atopecode.optionals.model.State::getName)
+					.orElseGet(() -> null);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,122 @@
+package net.atopecode.optionals.benchmark;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.atopecode.optionals.generator.ZipfDistribution;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.repository.CachingPersonSource;
+import net.atopecode.optionals.repository.PersonRepository;
+import net.atopecode.optionals.repository.PersonSource;
+
+//Rendimiento de 'CachingPersonSource' delante de un origen lento con claves de distribución Zipf.
+//'exponent' controla lo concentradas que están las consultas (mayor = menos claves calientes);
+//al terminar se imprime la tasa de aciertos de la caché.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class CachingPersonSourceBenchmark {
+	
+	@Param({"100000"})
+	private int keys;
+	
+	@Param({"0.8", "1.2"})
+	private double exponent;
+	
+	@Param({"1000"})
+	private int cacheSize;
+	
+	//Trabajo de CPU que simula la latencia del origen en cada carga.
+	@Param({"2000"})
+	private int sourceTokens;
+	
+	private PersonSource slowSource;
+	
+	private CachingPersonSource cachingSource;
+	
+	private ZipfDistribution zipf;
+	
+	@Setup
+	public void setup() {
+		PersonRepository personRepository = new PersonRepository();
+		//Solo existe la mitad de las claves: la otra mitad ejercita el 'negative caching'.
+		for (int i = 0; i < keys / 2; i++) {
+			personRepository.save(PersonShape.values()[i % PersonShape.values().length].create(personRepository));
+		}
+		slowSource = new SlowSource(personRepository, sourceTokens);
+		cachingSource = new CachingPersonSource(slowSource, cacheSize, Duration.ofMinutes(10), Duration.ofMinutes(1));
+		zipf = new ZipfDistribution(keys, exponent);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		System.out.println();
+		System.out.println("hitRate=" + cachingSource.stats().hitRate() + " evictions=" + cachingSource.stats().evictionCount());
+	}
+	
+	@State(Scope.Thread)
+	public static class Keys {
+		
+		private final SplittableRandom random = new SplittableRandom(42);
+		
+		//Las claves calientes se reparten entre las que existen y las que no.
+		private int next(ZipfDistribution zipf) {
+			int rank = zipf.sample(random);
+			return (rank % 2 == 0) ? rank / 2 : zipf.size() / 2 + rank / 2;
+		}
+	}
+	
+	@Benchmark
+	public Optional<Person> findById_cached(Keys keys) {
+		return cachingSource.findById(keys.next(zipf));
+	}
+	
+	@Benchmark
+	public Optional<Person> findById_uncached(Keys keys) {
+		return slowSource.findById(keys.next(zipf));
+	}
+	
+	private static class SlowSource implements PersonSource {
+		
+		private final PersonSource delegate;
+		
+		private final int tokens;
+		
+		private SlowSource(PersonSource delegate, int tokens) {
+			this.delegate = delegate;
+			this.tokens = tokens;
+		}
+		
+		@Override
+		public Optional<Person> findById(int id) {
+			Blackhole.consumeCPU(tokens);
+			return delegate.findById(id);
+		}
+		
+		@Override
+		public int count() {
+			return delegate.count();
+		}
+	}
+}
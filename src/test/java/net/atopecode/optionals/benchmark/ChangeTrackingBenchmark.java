@@ -0,0 +1,125 @@
+package net.atopecode.optionals.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.codec.ChangeCodec;
+import net.atopecode.optionals.codec.PersonCodec;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.ModelField;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.tracking.ChangeLog;
+import net.atopecode.optionals.tracking.ChangeTracker;
+
+//Coste del seguimiento de cambios en los setters y tamaño de los cambios frente a volver a publicar la 'Person':
+//-'*_baseline': setter sin seguimiento (como eran antes los del modelo), en una clase local.
+//-'*_untracked': setter del modelo sin 'ChangeListener' (debe costar lo mismo que '*_baseline').
+//-'*_tracked': setter del modelo seguido por un 'ChangeTracker' cuyo 'ChangeLog' no tiene 'listeners'.
+//-'publish_full'/'publish_delta': codificar la 'Person' entera con 'PersonCodec' o sólo el cambio con 'ChangeCodec'.
+//Los bytes por actualización de cada opción se imprimen en el 'setup'.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChangeTrackingBenchmark {
+	
+	private static final class PlainPerson {
+		
+		private String name;
+		
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+	
+	private final String[] names = {"Fulano", "Mengano"};
+	
+	private final Integer[] numbers = {55, 56};
+	
+	private int counter;
+	
+	private PlainPerson plain;
+	
+	private Person untracked;
+	
+	private Person tracked;
+	
+	private ByteBuffer buffer;
+	
+	@Setup
+	public void setup() {
+		plain = new PlainPerson();
+		untracked = newPerson();
+		tracked = newPerson();
+		new ChangeTracker(new ChangeLog()).track(tracked);
+		buffer = ByteBuffer.allocate(1024);
+		
+		Person person = newPerson();
+		int full = PersonCodec.encodedSize(person);
+		System.out.println("Bytes por actualización: completo=" + full
+				+ ", name=" + ChangeCodec.encodedSize(ModelField.PERSON_NAME, "Mengano")
+				+ ", address.number=" + ChangeCodec.encodedSize(ModelField.ADDRESS_NUMBER, 56)
+				+ ", address.state.code=" + ChangeCodec.encodedSize(ModelField.STATE_CODE, 12346)
+				+ ", address=" + ChangeCodec.encodedSize(ModelField.PERSON_ADDRESS, person.getAddress()));
+	}
+	
+	private static Person newPerson() {
+		return new Person("Fulano", "fulano@email.es",
+				new Address("Street1", 55, new net.atopecode.optionals.model.State("State1", 12345)));
+	}
+	
+	@Benchmark
+	public void setName_baseline() {
+		plain.setName(names[counter++ & 1]);
+	}
+	
+	@Benchmark
+	public void setName_untracked() {
+		untracked.setName(names[counter++ & 1]);
+	}
+	
+	@Benchmark
+	public void setName_tracked() {
+		tracked.setName(names[counter++ & 1]);
+	}
+	
+	@Benchmark
+	public void setNumber_untracked() {
+		untracked.getAddress().setNumber(numbers[counter++ & 1]);
+	}
+	
+	@Benchmark
+	public void setNumber_tracked() {
+		tracked.getAddress().setNumber(numbers[counter++ & 1]);
+	}
+	
+	@Benchmark
+	public ByteBuffer publish_full() {
+		buffer.clear();
+		untracked.getAddress().setNumber(numbers[counter++ & 1]);
+		PersonCodec.encode(untracked, buffer);
+		return buffer;
+	}
+	
+	@Benchmark
+	public ByteBuffer publish_delta() {
+		buffer.clear();
+		Integer number = numbers[counter++ & 1];
+		untracked.getAddress().setNumber(number);
+		ChangeCodec.encode(ModelField.ADDRESS_NUMBER, number, buffer);
+		return buffer;
+	}
+}
@@ -0,0 +1,132 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.ImmutablePerson;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.StateRegistry;
+
+//Deduplicación y conteo con 'HashSet'/'HashMap' usando 'ImmutablePerson' como clave ('hashCode' cacheado) frente a las
+//clases mutables, que no definen 'equals()'/'hashCode()' y necesitan una clave que los recalcula en cada llamada.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImmutableModelBenchmark {
+	
+	//Clave por valor sobre una 'Person' mutable: 'hashCode()' recorre el grafo en cada llamada.
+	static final class MutablePersonKey {
+		
+		private final Person person;
+		
+		MutablePersonKey(Person person) {
+			this.person = person;
+		}
+		
+		@Override
+		public int hashCode() {
+			Address address = person.getAddress();
+			net.atopecode.optionals.model.State state = (address != null) ? address.getState() : null;
+			return Objects.hash(person.getName(), person.getEmail(),
+					(address != null) ? address.getStreet() : null, (address != null) ? address.getNumber() : null,
+					(state != null) ? state.getName() : null, (state != null) ? state.getCode() : null);
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof MutablePersonKey)) {
+				return false;
+			}
+			return person.toString().equals(((MutablePersonKey) obj).person.toString());
+		}
+	}
+	
+	@Param({"100000"})
+	private int size;
+	
+	@Param({"10000"})
+	private int distinct;
+	
+	private Person[] persons;
+	
+	private ImmutablePerson[] immutablePersons;
+	
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(42);
+		persons = new Person[size];
+		immutablePersons = new ImmutablePerson[size];
+		StateRegistry states = new StateRegistry();
+		for (int i = 0; i < size; i++) {
+			int id = random.nextInt(distinct);
+			persons[i] = new Person("Name" + id, "name" + id + "@email.es", new Address("Street" + id, id, states.intern("State" + (id % 300), id % 300)));
+			immutablePersons[i] = ImmutablePerson.from(persons[i]);
+		}
+	}
+	
+	@Benchmark
+	public int dedup_mutable() {
+		Set<MutablePersonKey> unique = new HashSet<>();
+		for (Person person : persons) {
+			unique.add(new MutablePersonKey(person));
+		}
+		return unique.size();
+	}
+	
+	@Benchmark
+	public int dedup_immutable() {
+		Set<ImmutablePerson> unique = new HashSet<>();
+		for (ImmutablePerson person : immutablePersons) {
+			unique.add(person);
+		}
+		return unique.size();
+	}
+	
+	@Benchmark
+	public int count_mutable() {
+		Map<MutablePersonKey, Integer> counts = new HashMap<>();
+		for (Person person : persons) {
+			counts.merge(new MutablePersonKey(person), 1, Integer::sum);
+		}
+		return counts.size();
+	}
+	
+	@Benchmark
+	public int count_immutable() {
+		Map<ImmutablePerson, Integer> counts = new HashMap<>();
+		for (ImmutablePerson person : immutablePersons) {
+			counts.merge(person, 1, Integer::sum);
+		}
+		return counts.size();
+	}
+	
+	@Benchmark
+	public int convert_fromMutable() {
+		int hash = 0;
+		for (Person person : persons) {
+			hash += ImmutablePerson.from(person).hashCode();
+		}
+		return hash;
+	}
+}
@@ -0,0 +1,62 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.metrics.PathMetricsRegistry;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.path.InstrumentedPath;
+import net.atopecode.optionals.path.Path;
+import net.atopecode.optionals.path.Paths;
+import net.atopecode.optionals.repository.PersonRepository;
+
+//Coste de instrumentar una ruta ('InstrumentedPath') frente a la misma 'Path' sin contadores.
+//Con varios hilos todos cuentan en la misma ruta (los 'LongAdder' de 'PathMetrics' los reparten entre celdas).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class InstrumentedPathBenchmark {
+	
+	@Param({"FULL", "STATE_NULL"})
+	private PersonShape shape;
+	
+	private Person person;
+	
+	private Path<Person, Integer> path;
+	
+	private InstrumentedPath<Person, Integer> instrumentedPath;
+	
+	@Setup
+	public void setup() {
+		person = shape.create(new PersonRepository());
+		path = Paths.of(Person::getAddress, Address::getState, net.atopecode.optionals.model.State::getCode);
+		instrumentedPath = path.instrumented(new PathMetricsRegistry(), "person.address.state.code", "person", "address", "state", "code");
+	}
+	
+	@Benchmark
+	public Integer path() {
+		return path.get(person);
+	}
+	
+	@Benchmark
+	public Integer instrumentedPath() {
+		return instrumentedPath.get(person);
+	}
+}
@@ -0,0 +1,76 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.atopecode.optionals.lazy.Lazy;
+import net.atopecode.optionals.lazy.Nullable;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.repository.PersonRepository;
+
+//Coste de un valor por defecto caro con 'Optional.orElse()' (se calcula siempre) frente a 'orElseGet()',
+//'Nullable.orElseGet()' y un 'Lazy' compartido (se calcula como mucho una vez en toda la ejecución).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LazyDefaultBenchmark {
+	
+	@Param({"FULL", "ADDRESS_NULL"})
+	private PersonShape shape;
+	
+	//Trabajo de CPU del valor por defecto.
+	@Param({"500"})
+	private int defaultTokens;
+	
+	private Person person;
+	
+	private Lazy<String> lazyDefault;
+	
+	@Setup
+	public void setup() {
+		person = shape.create(new PersonRepository());
+		lazyDefault = Lazy.of(this::expensiveDefault);
+	}
+	
+	private String expensiveDefault() {
+		Blackhole.consumeCPU(defaultTokens);
+		return "Default";
+	}
+	
+	@Benchmark
+	public String optional_orElse() {
+		return Optional.ofNullable(person).map(Person::getAddress).map(Address::getStreet).orElse(expensiveDefault());
+	}
+	
+	@Benchmark
+	public String optional_orElseGet() {
+		return Optional.ofNullable(person).map(Person::getAddress).map(Address::getStreet).orElseGet(this::expensiveDefault);
+	}
+	
+	@Benchmark
+	public String nullable_orElseGet() {
+		return Nullable.of(person).map(Person::getAddress).map(Address::getStreet).orElseGet(this::expensiveDefault);
+	}
+	
+	@Benchmark
+	public String nullable_orElseGet_lazy() {
+		return Nullable.of(person).map(Person::getAddress).map(Address::getStreet).orElseGet(lazyDefault);
+	}
+}
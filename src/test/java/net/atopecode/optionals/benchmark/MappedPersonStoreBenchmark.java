@@ -0,0 +1,95 @@
+package net.atopecode.optionals.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.generator.PersonGenerator;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.store.MappedPersonStore;
+import net.atopecode.optionals.store.PersonStore;
+
+//'MappedPersonStore' (fuera del heap):
+//-'reopen_mapped' vs 'rebuild_heap': tiempo de arranque, volver a mapear el fichero frente a reconstruir un 'PersonStore'.
+//-'readEmail_mapped': lectura de un solo campo sin decodificar 'Address'/'State' (ver 'gc.alloc.rate.norm' con '-prof gc').
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class MappedPersonStoreBenchmark {
+	
+	@Param({"1000000"})
+	private int size;
+	
+	private Path file;
+	
+	private List<Person> persons;
+	
+	private MappedPersonStore store;
+	
+	private int id;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		//Todas las 'Person' completas: 'readStateName_mapped' no comprueba los 'null'.
+		persons = Arrays.asList(new PersonGenerator(42).addressNullRatio(0).stateNullRatio(0).stateCodes(300)
+				.sharedStates(false).generate(size));
+		file = Files.createTempFile("persons", ".bin");
+		MappedPersonStore.write(file, persons);
+		store = MappedPersonStore.open(file);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		store.close();
+		Files.deleteIfExists(file);
+	}
+	
+	@Benchmark
+	public int reopen_mapped() throws IOException {
+		try (MappedPersonStore reopened = MappedPersonStore.open(file)) {
+			return reopened.count();
+		}
+	}
+	
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public int rebuild_heap() {
+		PersonStore personStore = new PersonStore(size);
+		for (Person person : persons) {
+			personStore.add(person);
+		}
+		return personStore.size();
+	}
+	
+	@Benchmark
+	public String readEmail_mapped() {
+		id = (id + 7919) % size;
+		return store.get(id).getOptionalEmail().orElse(null);
+	}
+	
+	@Benchmark
+	public String readStateName_mapped() {
+		id = (id + 7919) % size;
+		return store.get(id).getAddress().getState().getName();
+	}
+}
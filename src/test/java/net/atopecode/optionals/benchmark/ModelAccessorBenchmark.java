@@ -0,0 +1,158 @@
+package net.atopecode.optionals.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.accessor.ModelAccessor;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.AddressAccessor;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.PersonAccessor;
+import net.atopecode.optionals.model.StateAccessor;
+import net.atopecode.optionals.repository.PersonRepository;
+
+//Código genérico que lee todas las propiedades de 'Person', 'Address' y 'State' (p.ej. para comparar o serializar),
+//aquí contando las que no son 'null':
+//con los 'ModelAccessor' generados por 'AccessorProcessor' frente a reflexión ('Method.invoke()'),
+//'MethodHandle' (no constantes, guardados en un array) y una 'Function' por propiedad (llamadas megamórficas).
+//Además, la ruta 'Person -> Address -> State -> code' con el método generado frente a 'Optional.map()'.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelAccessorBenchmark {
+	
+	private Object[] objects;
+	
+	private ModelAccessor<Object>[] accessors;
+	
+	private Method[][] methods;
+	
+	private MethodHandle[][] handles;
+	
+	private Function<Object, Object>[][] functions;
+	
+	private Person person;
+	
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() throws ReflectiveOperationException {
+		person = new PersonRepository().getPersonTest();
+		objects = new Object[] {person, person.getAddress(), person.getAddress().getState()};
+		accessors = new ModelAccessor[] {PersonAccessor.INSTANCE, AddressAccessor.INSTANCE, StateAccessor.INSTANCE};
+		methods = new Method[objects.length][];
+		handles = new MethodHandle[objects.length][];
+		functions = new Function[][] {
+			{p -> ((Person) p).getName(), p -> ((Person) p).getEmail(), p -> ((Person) p).getAddress()},
+			{a -> ((Address) a).getStreet(), a -> ((Address) a).getNumber(), a -> ((Address) a).getState()},
+			{s -> ((net.atopecode.optionals.model.State) s).getName(), s -> ((net.atopecode.optionals.model.State) s).getCode()}
+		};
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		for (int i = 0; i < objects.length; i++) {
+			ModelAccessor<Object> accessor = accessors[i];
+			methods[i] = new Method[accessor.size()];
+			handles[i] = new MethodHandle[accessor.size()];
+			for (int property = 0; property < accessor.size(); property++) {
+				String name = accessor.name(property);
+				Method getter = accessor.type().getMethod("get" + Character.toUpperCase(name.charAt(0)) + name.substring(1));
+				methods[i][property] = getter;
+				handles[i][property] = lookup.unreflect(getter).asType(MethodType.methodType(Object.class, Object.class));
+			}
+		}
+	}
+	
+	@Benchmark
+	public int generatedAccessor() {
+		int present = 0;
+		for (int i = 0; i < objects.length; i++) {
+			ModelAccessor<Object> accessor = accessors[i];
+			for (int property = 0; property < accessor.size(); property++) {
+				present += (accessor.get(objects[i], property) != null) ? 1 : 0;
+			}
+		}
+		return present;
+	}
+	
+	@Benchmark
+	public int reflection() throws ReflectiveOperationException {
+		int present = 0;
+		for (int i = 0; i < objects.length; i++) {
+			for (Method method : methods[i]) {
+				present += (method.invoke(objects[i]) != null) ? 1 : 0;
+			}
+		}
+		return present;
+	}
+	
+	@Benchmark
+	public int methodHandle() throws Throwable {
+		int present = 0;
+		for (int i = 0; i < objects.length; i++) {
+			for (MethodHandle handle : handles[i]) {
+				present += ((Object) handle.invokeExact(objects[i]) != null) ? 1 : 0;
+			}
+		}
+		return present;
+	}
+	
+	@Benchmark
+	public int lambdas() {
+		int present = 0;
+		for (int i = 0; i < objects.length; i++) {
+			for (Function<Object, Object> function : functions[i]) {
+				present += (function.apply(objects[i]) != null) ? 1 : 0;
+			}
+		}
+		return present;
+	}
+	
+	//Código genérico con un solo tipo ('Person'): la llamada es monomórfica y se puede 'inline'.
+	@Benchmark
+	public int generatedAccessor_person() {
+		int present = 0;
+		for (int property = 0; property < PersonAccessor.INSTANCE.size(); property++) {
+			present += (PersonAccessor.INSTANCE.get(person, property) != null) ? 1 : 0;
+		}
+		return present;
+	}
+	
+	@Benchmark
+	public int methodHandle_person() throws Throwable {
+		int present = 0;
+		for (MethodHandle handle : handles[0]) {
+			present += ((Object) handle.invokeExact((Object) person) != null) ? 1 : 0;
+		}
+		return present;
+	}
+	
+	@Benchmark
+	public Integer path_generated() {
+		return PersonAccessor.getAddressStateCode(person);
+	}
+	
+	@Benchmark
+	public Integer path_optional() {
+		return java.util.Optional.ofNullable(person)
+				.map(Person::getAddress)
+				.map(Address::getState)
+				.map(net.atopecode.optionals.model.State::getCode)
+				.orElse(null);
+	}
+}
@@ -0,0 +1,79 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.render.ModelRenderer;
+import net.atopecode.optionals.render.ModelRenderer.Format;
+import net.atopecode.optionals.repository.PersonRepository;
+
+//Una línea de log con una 'Person' ("persona guardada: Person [...]"), con '-prof gc' para ver la memoria por línea:
+//-'concatenation': como eran los 'toString()' (concatenando los 'toString()' anidados de 'Address' y 'State').
+//-'personToString': 'Person.toString()' actual (con 'ModelRenderer' y su 'StringBuilder' por hilo).
+//-'append_*': 'ModelRenderer.append()' sobre el 'StringBuilder' reutilizado del llamador (lo que haría un 'appender').
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelRendererBenchmark {
+	
+	@Param
+	private PersonShape shape;
+	
+	private Person person;
+	
+	private final StringBuilder line = new StringBuilder(256);
+	
+	@Setup
+	public void setup() {
+		person = shape.create(new PersonRepository());
+	}
+	
+	private static String concatenated(Person person) {
+		Address address = person.getAddress();
+		net.atopecode.optionals.model.State state = (address != null) ? address.getState() : null;
+		String stateText = (state != null) ? "State [name=" + state.getName() + ", code=" + state.getCode() + "]" : null;
+		String addressText = (address != null)
+				? "Address [street=" + address.getStreet() + ", number=" + address.getNumber() + ", state=" + stateText + "]" : null;
+		return "Person [name=" + person.getName() + ", email=" + person.getEmail() + ", address=" + addressText + "]";
+	}
+	
+	@Benchmark
+	public String concatenation() {
+		return "persona guardada: " + concatenated(person);
+	}
+	
+	@Benchmark
+	public String personToString() {
+		return "persona guardada: " + person;
+	}
+	
+	@Benchmark
+	public int append_bracketed() {
+		line.setLength(0);
+		ModelRenderer.append(line.append("persona guardada: "), person, Format.BRACKETED);
+		return line.length();
+	}
+	
+	@Benchmark
+	public int append_json() {
+		line.setLength(0);
+		ModelRenderer.append(line.append("persona guardada: "), person, Format.JSON);
+		return line.length();
+	}
+}
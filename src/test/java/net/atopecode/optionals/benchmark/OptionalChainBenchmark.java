@@ -0,0 +1,95 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.repository.PersonRepository;
+
+//Línea base: coste de navegar 'Person -> Address -> State' con cadenas de 'map()', de 'flatMap()' y con null checks.
+//Ejecutar con el profiler 'gc' para obtener también el ratio de asignación de memoria:
+//  mvn -Pbenchmark verify -Djmh.args="OptionalChainBenchmark -prof gc"
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OptionalChainBenchmark {
+	
+	@Param({"FULL", "ADDRESS_NULL", "STATE_NULL"})
+	private PersonShape shape;
+	
+	private Person person;
+	
+	@Setup
+	public void setup() {
+		person = shape.create(new PersonRepository());
+	}
+	
+	@Benchmark
+	public String stateName_mapChain() {
+		return Optional.ofNullable(person)
+				.map(Person::getAddress)
+				.map(Address::getState)
+				.map(net.atopecode.optionals.model.State::getName)
+				.orElseGet(() -> null);
+	}
+	
+	@Benchmark
+	public String stateName_nullCheck() {
+		if (person == null) {
+			return null;
+		}
+		Address address = person.getAddress();
+		if (address == null) {
+			return null;
+		}
+		net.atopecode.optionals.model.State state = address.getState();
+		return (state != null) ? state.getName() : null;
+	}
+	
+	@Benchmark
+	public Integer stateCode_mapChain() {
+		return Optional.ofNullable(person)
+				.map(Person::getAddress)
+				.map(Address::getState)
+				.map(net.atopecode.optionals.model.State::getCode)
+				.orElseGet(() -> null);
+	}
+	
+	@Benchmark
+	public Integer stateCode_flatMapChain() {
+		return Optional.ofNullable(person)
+				.flatMap(Person::getOptionalAddress)
+				.flatMap(Address::getOptionalState)
+				.flatMap(net.atopecode.optionals.model.State::getOptionalCode)
+				.orElseGet(() -> null);
+	}
+	
+	@Benchmark
+	public Integer stateCode_nullCheck() {
+		if (person == null) {
+			return null;
+		}
+		Address address = person.getAddress();
+		if (address == null) {
+			return null;
+		}
+		net.atopecode.optionals.model.State state = address.getState();
+		return (state != null) ? state.getCode() : null;
+	}
+}
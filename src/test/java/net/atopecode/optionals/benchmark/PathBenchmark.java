@@ -0,0 +1,105 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.path.IntPath;
+import net.atopecode.optionals.path.Path;
+import net.atopecode.optionals.path.Paths;
+import net.atopecode.optionals.repository.PersonRepository;
+
+//'Path'/'IntPath' frente a las cadenas 'flatMap()' de 'using_FlatMap' y 'using_Map_and_FlatMap'.
+//Las variantes '_notInlined' impiden el inlining de la cadena para simular los puntos de llamada profundos en los que
+//el 'escape analysis' no elimina los 'Optional' intermedios. Con '-prof gc' el 'gc.alloc.rate.norm' de 'Path' es 0 B/op.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathBenchmark {
+	
+	private static final Path<Person, Integer> ADDRESS_NUMBER = Paths.of(Person::getAddress, Address::getNumber);
+	
+	private static final IntPath<Person> STATE_CODE = Paths.ofInt(Person::getAddress, Address::getState,
+			net.atopecode.optionals.model.State::hasCode, net.atopecode.optionals.model.State::getCodeAsInt);
+	
+	@Param({"FULL", "ADDRESS_NULL", "STATE_NULL"})
+	private PersonShape shape;
+	
+	private Person person;
+	
+	@Setup
+	public void setup() {
+		person = shape.create(new PersonRepository());
+	}
+	
+	@Benchmark
+	public Integer addressNumber_flatMapChain() {
+		return addressNumberOptional(person).orElseGet(() -> null);
+	}
+	
+	@Benchmark
+	public Integer addressNumber_flatMapChain_notInlined() {
+		return addressNumberOptionalNotInlined(person).orElseGet(() -> null);
+	}
+	
+	@Benchmark
+	public Integer addressNumber_path() {
+		return ADDRESS_NUMBER.get(person);
+	}
+	
+	@Benchmark
+	public int stateCode_mapAndFlatMapChain() {
+		return stateCodeOptional(person).orElse(-1);
+	}
+	
+	@Benchmark
+	public int stateCode_mapAndFlatMapChain_notInlined() {
+		return stateCodeOptionalNotInlined(person).orElse(-1);
+	}
+	
+	@Benchmark
+	public int stateCode_intPath() {
+		return STATE_CODE.getAsInt(person, -1);
+	}
+	
+	private static Optional<Integer> addressNumberOptional(Person person) {
+		return Optional.ofNullable(person)
+				.flatMap(Person::getOptionalAddress)
+				.flatMap(Address::getOptionalNumber);
+	}
+	
+	//El 'Optional' devuelto escapa del método, por lo que siempre se asigna en el heap.
+	@CompilerControl(CompilerControl.Mode.DONT_INLINE)
+	private static Optional<Integer> addressNumberOptionalNotInlined(Person person) {
+		return addressNumberOptional(person);
+	}
+	
+	private static Optional<Integer> stateCodeOptional(Person person) {
+		return Optional.ofNullable(person)
+				.flatMap(Person::getOptionalAddress)
+				.map(Address::getState)
+				.flatMap(net.atopecode.optionals.model.State::getOptionalCode);
+	}
+	
+	@CompilerControl(CompilerControl.Mode.DONT_INLINE)
+	private static Optional<Integer> stateCodeOptionalNotInlined(Person person) {
+		return stateCodeOptional(person);
+	}
+}
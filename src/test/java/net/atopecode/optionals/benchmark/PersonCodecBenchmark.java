@@ -0,0 +1,90 @@
+package net.atopecode.optionals.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.codec.PersonCodec;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.repository.PersonRepository;
+
+//'PersonCodec' frente a la serialización Java ('ObjectOutputStream'/'ObjectInputStream') para las tres formas de
+//'PersonRepository'. Con '-prof gc' se ve que 'encode_codec' no reserva memoria.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonCodecBenchmark {
+	
+	@Param({"FULL", "ADDRESS_NULL", "STATE_NULL"})
+	private PersonShape shape;
+	
+	private Person person;
+	
+	private ByteBuffer buffer;
+	
+	private ByteBuffer encoded;
+	
+	private byte[] serialized;
+	
+	@Setup
+	public void setup() throws IOException {
+		person = shape.create(new PersonRepository());
+		buffer = ByteBuffer.allocate(1024);
+		encoded = ByteBuffer.allocate(PersonCodec.encodedSize(person));
+		PersonCodec.encode(person, encoded);
+		encoded.flip();
+		serialized = encode_javaSerialization();
+	}
+	
+	@Benchmark
+	public ByteBuffer encode_codec() {
+		buffer.clear();
+		PersonCodec.encode(person, buffer);
+		return buffer;
+	}
+	
+	@Benchmark
+	public byte[] encode_javaSerialization() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			output.writeObject(person);
+		}
+		return bytes.toByteArray();
+	}
+	
+	@Benchmark
+	public Person decode_codec() {
+		return PersonCodec.decode(encoded.duplicate());
+	}
+	
+	@Benchmark
+	public String decodeEmail_codec() {
+		return PersonCodec.decodeEmail(encoded, 0);
+	}
+	
+	@Benchmark
+	public Object decode_javaSerialization() throws IOException, ClassNotFoundException {
+		try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+			return input.readObject();
+		}
+	}
+}
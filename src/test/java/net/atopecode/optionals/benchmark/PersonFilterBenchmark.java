@@ -0,0 +1,105 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.generator.PersonGenerator;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.store.PersonStore;
+
+//Filtro "'State.code' en un conjunto y 'Address.number' en un rango" sobre 'size' personas:
+//-'stream_optional': 'Stream' + cadenas 'map()'/'flatMap()' de 'Optional' como en 'using_Map_and_FlatMap'.
+//-'loop_objectGraph': bucle con comprobaciones de 'null' y getters primitivos sobre el grafo de objetos.
+//-'columnar_select': 'PersonStore.filter()', que devuelve un bitmap de selección.
+//Todos devuelven el número de filas seleccionadas.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PersonFilterBenchmark {
+	
+	@Param({"10000000"})
+	private int size;
+	
+	private Person[] persons;
+	
+	private PersonStore store;
+	
+	private int[] codes;
+	
+	private Set<Integer> codeSet;
+	
+	private int from;
+	
+	private int to;
+	
+	@Setup
+	public void setup() {
+		persons = new PersonGenerator(42).addressNullRatio(0.1).stateNullRatio(0.1).stateCodes(300).zipfExponent(0)
+				.sharedStates(false).generate(size);
+		store = new PersonStore(size);
+		for (Person person : persons) {
+			store.add(person);
+		}
+		//30 códigos de 300 y la mitad de los números (1..9999): selecciona ~4% de las filas.
+		int firstCode = PersonGenerator.firstStateCode();
+		codes = new SplittableRandom(42).ints(firstCode, firstCode + 300).distinct().limit(30).toArray();
+		codeSet = Set.copyOf(Arrays.asList(Arrays.stream(codes).boxed().toArray(Integer[]::new)));
+		from = 2500;
+		to = 7499;
+	}
+	
+	@Benchmark
+	public long stream_optional() {
+		return Arrays.stream(persons)
+				.filter(person -> Optional.ofNullable(person)
+						.map(Person::getAddress)
+						.map(Address::getState)
+						.map(net.atopecode.optionals.model.State::getCode)
+						.filter(codeSet::contains)
+						.isPresent())
+				.filter(person -> Optional.ofNullable(person)
+						.map(Person::getAddress)
+						.map(Address::getNumber)
+						.filter(number -> number >= from && number <= to)
+						.isPresent())
+				.count();
+	}
+	
+	@Benchmark
+	public int loop_objectGraph() {
+		int count = 0;
+		for (Person person : persons) {
+			Address address = person.getAddress();
+			net.atopecode.optionals.model.State state = (address != null) ? address.getState() : null;
+			if (state != null && state.hasCode() && codeSet.contains(state.getCodeAsInt())
+					&& address.hasNumber() && address.getNumberAsInt() >= from && address.getNumberAsInt() <= to) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	@Benchmark
+	public int columnar_select() {
+		return store.filter().stateCodeIn(codes).numberBetween(from, to).select().cardinality();
+	}
+}
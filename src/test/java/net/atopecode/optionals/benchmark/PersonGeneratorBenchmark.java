@@ -0,0 +1,78 @@
+package net.atopecode.optionals.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.generator.PersonGenerator;
+import net.atopecode.optionals.ingest.IngestFormat;
+import net.atopecode.optionals.model.Person;
+
+//Tiempo de generación de un dataset de 'size' personas con 'PersonGenerator':
+//-'generate_memory': en paralelo con el 'ForkJoinPool' común (usar '-Djava.util.concurrent.ForkJoinPool.common.parallelism=N'
+// en 'jvmArgsAppend' para comparar núcleos).
+//-'stream_sequential': los mismos registros bloque a bloque en un hilo.
+//-'write_*': directamente a fichero en cada formato de 'PersonIngester'.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PersonGeneratorBenchmark {
+	
+	@Param({"10000000"})
+	private int size;
+	
+	private PersonGenerator generator;
+	
+	private Path file;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		generator = new PersonGenerator(42);
+		file = Files.createTempFile("persons", ".txt");
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+	
+	@Benchmark
+	public Person[] generate_memory() {
+		return generator.generate(size);
+	}
+	
+	@Benchmark
+	public long stream_sequential() {
+		return generator.stream(size).count();
+	}
+	
+	@Benchmark
+	public long write_ndjson() throws IOException {
+		generator.write(file, size, IngestFormat.NDJSON);
+		return Files.size(file);
+	}
+	
+	@Benchmark
+	public long write_csv() throws IOException {
+		generator.write(file, size, IngestFormat.CSV);
+		return Files.size(file);
+	}
+}
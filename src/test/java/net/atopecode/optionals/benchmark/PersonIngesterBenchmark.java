@@ -0,0 +1,72 @@
+package net.atopecode.optionals.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.atopecode.optionals.generator.PersonGenerator;
+import net.atopecode.optionals.ingest.IngestFormat;
+import net.atopecode.optionals.ingest.PersonIngester;
+
+//Velocidad de carga de 'PersonIngester' en un solo hilo: el contador auxiliar 'megabytes' da los MB/s parseados.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonIngesterBenchmark {
+	
+	@Param({"NDJSON", "CSV"})
+	private IngestFormat format;
+	
+	@Param({"500000"})
+	private int lines;
+	
+	private Path file;
+	
+	private double fileMegabytes;
+	
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Bytes {
+		
+		public double megabytes;
+	}
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		file = Files.createTempFile("persons", "." + format.name().toLowerCase());
+		new PersonGenerator(42).addressNullRatio(0.1).stateNullRatio(0.1).stateCodes(300).write(file, lines, format);
+		fileMegabytes = Files.size(file) / (1024.0 * 1024.0);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+	
+	@Benchmark
+	public long ingest(Bytes bytes, Blackhole blackhole) throws IOException {
+		long count = new PersonIngester(format).ingest(file, blackhole::consume);
+		bytes.megabytes += fileMegabytes;
+		return count;
+	}
+}
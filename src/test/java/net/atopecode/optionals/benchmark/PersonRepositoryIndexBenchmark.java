@@ -0,0 +1,97 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.generator.PersonGenerator;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.repository.PersonRepository;
+
+//Consultas de 'PersonRepository' con índices frente a recorrer todas las 'Person' con una cadena 'Optional'.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PersonRepositoryIndexBenchmark {
+	
+	@Param({"1000000"})
+	private int size;
+	
+	private PersonRepository personRepository;
+	
+	private List<Person> persons;
+	
+	private int next;
+	
+	private int searchedCode;
+	
+	private String streetPrefix;
+	
+	@Setup
+	public void setup() {
+		personRepository = new PersonRepository();
+		persons = Arrays.asList(new PersonGenerator(42).addressNullRatio(0).stateNullRatio(0).stateCodes(300)
+				.zipfExponent(0).distinctStreets(size).generate(size));
+		for (Person person : persons) {
+			personRepository.save(person);
+		}
+		searchedCode = PersonGenerator.firstStateCode() + 42;
+		streetPrefix = persons.get(12345).getAddress().getStreet().substring(0, "Calle ".length() + 3);
+	}
+	
+	private String nextEmail() {
+		next = (next + 7919) % size;
+		return persons.get(next).getEmail();
+	}
+	
+	@Benchmark
+	public Optional<Person> findByEmail_index() {
+		return personRepository.findByEmail(nextEmail());
+	}
+	
+	@Benchmark
+	public Optional<Person> findByEmail_scan() {
+		String email = nextEmail();
+		return persons.stream().filter(person -> Objects.equals(person.getEmail(), email)).findFirst();
+	}
+	
+	@Benchmark
+	public long findByStateCode_index() {
+		return personRepository.findByStateCode(searchedCode).count();
+	}
+	
+	@Benchmark
+	public long findByStateCode_scan() {
+		return persons.stream()
+				.filter(person -> Optional.ofNullable(person)
+						.map(Person::getAddress)
+						.map(Address::getState)
+						.map(net.atopecode.optionals.model.State::getCode)
+						.filter(code -> code == searchedCode)
+						.isPresent())
+				.count();
+	}
+	
+	@Benchmark
+	public long findByStreetPrefix_index() {
+		return personRepository.findByStreetPrefix(streetPrefix).count();
+	}
+}
@@ -0,0 +1,31 @@
+package net.atopecode.optionals.benchmark;
+
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.repository.PersonRepository;
+
+//Las tres formas de 'Person' que genera 'PersonRepository' y que se usan como '@Param' en los benchmarks.
+public enum PersonShape {
+	
+	FULL {
+		@Override
+		public Person create(PersonRepository personRepository) {
+			return personRepository.getPersonTest();
+		}
+	},
+	
+	ADDRESS_NULL {
+		@Override
+		public Person create(PersonRepository personRepository) {
+			return personRepository.getPersonWithAddressNull();
+		}
+	},
+	
+	STATE_NULL {
+		@Override
+		public Person create(PersonRepository personRepository) {
+			return personRepository.getPersonWithStateNull();
+		}
+	};
+	
+	public abstract Person create(PersonRepository personRepository);
+}
@@ -0,0 +1,95 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.generator.PersonGenerator;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.store.PersonStore;
+
+//'PersonStore' (columnar) frente al grafo de objetos 'Person -> Address -> State':
+//-'build_*': con '-prof gc' el 'gc.alloc.rate.norm' es la memoria que ocupa cada representación para 'size' personas
+// (los 'String' se comparten entre ambas, así que sólo se compara la estructura).
+//-'countByStateCode_*': recorrido completo buscando un código de 'State'.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PersonStoreBenchmark {
+	
+	@Param({"1000000"})
+	private int size;
+	
+	private Person[] persons;
+	
+	private PersonStore store;
+	
+	private int searchedCode;
+	
+	@Setup
+	public void setup() {
+		//Cada 'Address' tiene su propio 'State', como los que crea 'PersonRepository'.
+		persons = new PersonGenerator(42).addressNullRatio(0.1).stateNullRatio(0.1).stateCodes(300).zipfExponent(0)
+				.sharedStates(false).generate(size);
+		store = build_columnar();
+		searchedCode = PersonGenerator.firstStateCode() + 7;
+	}
+	
+	@Benchmark
+	public Person[] build_objectGraph() {
+		Person[] copy = new Person[size];
+		for (int i = 0; i < size; i++) {
+			Person person = persons[i];
+			Address address = person.getAddress();
+			Address addressCopy = null;
+			if (address != null) {
+				net.atopecode.optionals.model.State state = address.getState();
+				addressCopy = new Address(address.getStreet(), address.getNumber(),
+						(state != null) ? new net.atopecode.optionals.model.State(state.getName(), state.getCode()) : null);
+			}
+			copy[i] = new Person(person.getName(), person.getEmail(), addressCopy);
+		}
+		return copy;
+	}
+	
+	@Benchmark
+	public PersonStore build_columnar() {
+		PersonStore personStore = new PersonStore(size);
+		for (Person person : persons) {
+			personStore.add(person);
+		}
+		return personStore;
+	}
+	
+	@Benchmark
+	public int countByStateCode_objectGraph() {
+		int count = 0;
+		for (Person person : persons) {
+			Address address = person.getAddress();
+			net.atopecode.optionals.model.State state = (address != null) ? address.getState() : null;
+			if (state != null && state.hasCode() && state.getCodeAsInt() == searchedCode) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	@Benchmark
+	public int countByStateCode_columnar() {
+		return store.countByStateCode(searchedCode);
+	}
+}
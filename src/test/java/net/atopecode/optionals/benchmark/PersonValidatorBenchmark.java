@@ -0,0 +1,162 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.generator.PersonGenerator;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.ModelField;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.validation.EmailScanner;
+import net.atopecode.optionals.validation.PersonRules;
+import net.atopecode.optionals.validation.PersonValidator;
+
+//Validación de 'size' personas (con 'invalidRatio' de ellas con el email, el número o el código de 'State' incorrectos):
+//-'optionalChains_regex': las comprobaciones escritas a mano con cadenas 'Optional' y una expresión regular para el email.
+//-'validator_sequential': 'PersonValidator.check()' en un solo hilo.
+//-'validator_parallel': 'PersonValidator.validateAll()' con 'parallelism' hilos.
+//-'email_regex' vs 'email_scanner': sólo la comprobación de los emails.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PersonValidatorBenchmark {
+	
+	private static final int MIN_CODE = PersonGenerator.firstStateCode();
+	
+	private static final int MAX_CODE = PersonGenerator.firstStateCode() + 299;
+	
+	//Expresión equivalente a 'EmailScanner'.
+	private static final Pattern EMAIL = Pattern.compile(
+			"(?=.{1,254}$)(?=[^@]{1,64}@)[A-Za-z0-9!#$%&'*+/=?^_`{|}~-]+(\\.[A-Za-z0-9!#$%&'*+/=?^_`{|}~-]+)*"
+			+ "@([A-Za-z0-9]([A-Za-z0-9-]{0,61}[A-Za-z0-9])?\\.)+[A-Za-z]{2,63}");
+	
+	@Param({"2000000"})
+	private int size;
+	
+	@Param({"0.1"})
+	private double invalidRatio;
+	
+	@Param({"1"})
+	private int parallelism;
+	
+	private List<Person> persons;
+	
+	private PersonValidator validator;
+	
+	private ForkJoinPool pool;
+	
+	@Setup
+	public void setup() {
+		Person[] generated = new PersonGenerator(42).sharedStates(false).stateCodes(300).generate(size);
+		SplittableRandom random = new SplittableRandom(42);
+		for (Person person : generated) {
+			if (random.nextDouble() < invalidRatio) {
+				Address address = person.getAddress();
+				switch (random.nextInt(3)) {
+					case 0:
+						person.setEmail(person.getEmail().replace('@', '.'));
+						break;
+					case 1:
+						if (address != null) {
+							address.setNumber(-address.getNumberAsInt());
+						}
+						break;
+					default:
+						if (address != null && address.getState() != null) {
+							address.getState().setCode(MAX_CODE + 1);
+						}
+				}
+			}
+		}
+		persons = Arrays.asList(generated);
+		validator = new PersonRules()
+				.required(ModelField.PERSON_EMAIL)
+				.wellFormedEmail()
+				.between(ModelField.ADDRESS_NUMBER, 1, Integer.MAX_VALUE)
+				.between(ModelField.STATE_CODE, MIN_CODE, MAX_CODE)
+				.compile();
+		pool = new ForkJoinPool(parallelism);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+	
+	@Benchmark
+	public int optionalChains_regex() {
+		int invalid = 0;
+		for (Person person : persons) {
+			boolean valid = Optional.ofNullable(person.getEmail()).filter(email -> EMAIL.matcher(email).matches()).isPresent()
+					&& Optional.ofNullable(person.getAddress()).map(Address::getNumber).map(number -> number > 0).orElse(true)
+					&& Optional.ofNullable(person.getAddress())
+							.map(Address::getState)
+							.map(net.atopecode.optionals.model.State::getCode)
+							.map(code -> code >= MIN_CODE && code <= MAX_CODE)
+							.orElse(true);
+			if (!valid) {
+				invalid++;
+			}
+		}
+		return invalid;
+	}
+	
+	@Benchmark
+	public int validator_sequential() {
+		int invalid = 0;
+		for (Person person : persons) {
+			if (validator.check(person) != 0) {
+				invalid++;
+			}
+		}
+		return invalid;
+	}
+	
+	@Benchmark
+	public int validator_parallel() {
+		return validator.validateAll(persons, pool).invalidCount();
+	}
+	
+	@Benchmark
+	public int email_regex() {
+		int invalid = 0;
+		for (Person person : persons) {
+			if (!EMAIL.matcher(person.getEmail()).matches()) {
+				invalid++;
+			}
+		}
+		return invalid;
+	}
+	
+	@Benchmark
+	public int email_scanner() {
+		int invalid = 0;
+		for (Person person : persons) {
+			if (!EmailScanner.isWellFormed(person.getEmail())) {
+				invalid++;
+			}
+		}
+		return invalid;
+	}
+}
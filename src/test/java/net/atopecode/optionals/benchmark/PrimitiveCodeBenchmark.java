@@ -0,0 +1,108 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.aggregation.IntHistogram;
+
+//Suma e histograma de 'State.code' con la representación primitiva ('int' + bit de presencia) frente a la
+//representación anterior con 'Integer' + 'Optional<Integer>' (copiada en 'BoxedState').
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimitiveCodeBenchmark {
+	
+	//Representación previa de 'State' con el campo 'Integer'.
+	static final class BoxedState {
+		
+		private final Integer code;
+		
+		BoxedState(Integer code) {
+			this.code = code;
+		}
+		
+		java.util.Optional<Integer> getOptionalCode() {
+			return java.util.Optional.ofNullable(code);
+		}
+	}
+	
+	@Param({"1000000"})
+	private int size;
+	
+	@Param({"300"})
+	private int distinctCodes;
+	
+	private BoxedState[] boxedStates;
+	
+	private net.atopecode.optionals.model.State[] states;
+	
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(42);
+		boxedStates = new BoxedState[size];
+		states = new net.atopecode.optionals.model.State[size];
+		for (int i = 0; i < size; i++) {
+			//El 10% de los 'State' no tiene código.
+			Integer code = (random.nextInt(10) == 0) ? null : 10_000 + random.nextInt(distinctCodes);
+			boxedStates[i] = new BoxedState(code);
+			states[i] = new net.atopecode.optionals.model.State("State", code);
+		}
+	}
+	
+	@Benchmark
+	public long sum_boxed() {
+		long sum = 0;
+		for (BoxedState state : boxedStates) {
+			sum += state.getOptionalCode().orElse(0);
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public long sum_primitive() {
+		long sum = 0;
+		for (net.atopecode.optionals.model.State state : states) {
+			if (state.hasCode()) {
+				sum += state.getCodeAsInt();
+			}
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public Map<Integer, Long> histogram_boxed() {
+		Map<Integer, Long> histogram = new HashMap<>();
+		for (BoxedState state : boxedStates) {
+			state.getOptionalCode().ifPresent(code -> histogram.merge(code, 1L, Long::sum));
+		}
+		return histogram;
+	}
+	
+	@Benchmark
+	public IntHistogram histogram_primitive() {
+		IntHistogram histogram = new IntHistogram(distinctCodes);
+		for (net.atopecode.optionals.model.State state : states) {
+			if (state.hasCode()) {
+				histogram.increment(state.getCodeAsInt());
+			}
+		}
+		return histogram;
+	}
+}
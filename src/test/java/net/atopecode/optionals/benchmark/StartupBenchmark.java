@@ -0,0 +1,121 @@
+package net.atopecode.optionals.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.config.PersonBeansInitializer;
+
+//Arranque en frío de 'PruebaOptionalsJavaApplication': cada operación lanza una JVM nueva y mide hasta que Spring
+//termina de arrancar ('started') o hasta que se sirve la primera consulta a 'PersonRepository' ('firstRequest',
+//que incluye cargar 'persons' 'Person' del fichero 'optionals.persons.file' porque el repositorio es 'lazy').
+//Necesita antes 'mvn -Pappcds package' (el 'jar' y el 'classpath' del perfil 'appcds'); con 'cds=true' se usa
+//el archivo AppCDS generado por ese perfil.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+	
+	private static final String STARTED_MARKER = "Started PruebaOptionalsJavaApplication";
+	
+	@Param({"false", "true"})
+	private boolean cds;
+	
+	@Param({"100000"})
+	private int persons;
+	
+	private List<String> command;
+	
+	private Path personsFile;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		Path target = Path.of("target");
+		Path classpathFile = target.resolve("app-cds.classpath");
+		Path archive = target.resolve("app-cds.jsa");
+		Path jar;
+		try (Stream<Path> files = Files.list(target)) {
+			jar = files.filter(file -> file.getFileName().toString().endsWith("-appcds.jar")).findFirst().orElse(null);
+		}
+		if (jar == null || !Files.exists(classpathFile) || !Files.exists(archive)) {
+			throw new IllegalStateException("Falta el 'jar' o el archivo AppCDS: ejecutar antes 'mvn -Pappcds package'");
+		}
+		personsFile = Files.createTempFile("persons", ".csv");
+		try (BufferedWriter writer = Files.newBufferedWriter(personsFile, StandardCharsets.UTF_8)) {
+			writer.write("name,email,street,number,stateName,stateCode\n");
+			for (int i = 0; i < persons; i++) {
+				int code = i % 300;
+				writer.write("Name" + i + ",name" + i + "@email.es,Street" + i + "," + (i % 1000) + ",State" + code + "," + code + "\n");
+			}
+		}
+		command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.add(cds ? "-XX:SharedArchiveFile=" + archive : "-Xshare:auto");
+		command.add("-classpath");
+		command.add(jar + File.pathSeparator + Files.readString(classpathFile).trim());
+		command.add("net.atopecode.optionals.PruebaOptionalsJavaApplication");
+		command.add("--spring.main.banner-mode=off");
+		command.add("--" + PersonBeansInitializer.STARTUP_PROBE + "=true");
+		command.add("--" + PersonBeansInitializer.PERSONS_FILE + "=" + personsFile);
+		command.add("--" + PersonBeansInitializer.PERSONS_FORMAT + "=CSV");
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(personsFile);
+	}
+	
+	//Lanza la aplicación y espera hasta que imprime una línea que contiene 'marker' (los dos marcadores se escriben en el
+	//log, que por defecto va a la consola).
+	private String runUntil(String marker) throws IOException, InterruptedException {
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.contains(marker)) {
+					return line;
+				}
+			}
+			throw new IllegalStateException("La aplicación terminó sin imprimir '" + marker + "' (código " + process.waitFor() + ")");
+		}
+		finally {
+			process.destroyForcibly().waitFor();
+		}
+	}
+	
+	@Benchmark
+	public String started() throws IOException, InterruptedException {
+		return runUntil(STARTED_MARKER);
+	}
+	
+	@Benchmark
+	public String firstRequest() throws IOException, InterruptedException {
+		return runUntil(PersonBeansInitializer.STARTUP_PROBE_MARKER);
+	}
+}
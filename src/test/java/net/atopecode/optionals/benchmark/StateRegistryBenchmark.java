@@ -0,0 +1,127 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.StateRegistry;
+
+//'StateRegistry':
+//-'Footprint': con '-prof gc' el 'gc.alloc.rate.norm' de 'build_*' es la memoria de 'size' 'Address' con un 'State' por
+// 'Address' frente a 'State' compartidos (ejecutar con '-p size=10000000' para el dataset de 10M).
+//-'Lookup': latencia de 'intern()' con todos los núcleos leyendo a la vez, frente a un 'ConcurrentHashMap<Integer, State>'.
+public class StateRegistryBenchmark {
+	
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 2)
+	@Measurement(iterations = 5)
+	@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+	@State(Scope.Benchmark)
+	public static class Footprint {
+		
+		@Param({"1000000"})
+		private int size;
+		
+		@Param({"300"})
+		private int distinctStates;
+		
+		private String[] stateNames;
+		
+		@Setup
+		public void setup() {
+			stateNames = new String[distinctStates];
+			for (int i = 0; i < distinctStates; i++) {
+				stateNames[i] = "State" + i;
+			}
+		}
+		
+		@Benchmark
+		public Address[] build_statePerAddress() {
+			Address[] addresses = new Address[size];
+			for (int i = 0; i < size; i++) {
+				int code = i % distinctStates;
+				addresses[i] = new Address("Street1", 55, new net.atopecode.optionals.model.State(stateNames[code], code));
+			}
+			return addresses;
+		}
+		
+		@Benchmark
+		public Address[] build_internedStates() {
+			StateRegistry registry = new StateRegistry();
+			Address[] addresses = new Address[size];
+			for (int i = 0; i < size; i++) {
+				int code = i % distinctStates;
+				addresses[i] = new Address("Street1", 55, registry.intern(stateNames[code], code));
+			}
+			return addresses;
+		}
+	}
+	
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	@Warmup(iterations = 3, time = 1)
+	@Measurement(iterations = 5, time = 1)
+	@Fork(1)
+	@Threads(Threads.MAX)
+	@State(Scope.Benchmark)
+	public static class Lookup {
+		
+		@Param({"300"})
+		private int distinctStates;
+		
+		private StateRegistry registry;
+		
+		private ConcurrentHashMap<Integer, net.atopecode.optionals.model.State> map;
+		
+		private String[] stateNames;
+		
+		@Setup
+		public void setup() {
+			registry = new StateRegistry();
+			map = new ConcurrentHashMap<>();
+			stateNames = new String[distinctStates];
+			for (int code = 0; code < distinctStates; code++) {
+				stateNames[code] = "State" + code;
+				registry.intern(stateNames[code], code);
+				map.put(code, new net.atopecode.optionals.model.State(stateNames[code], code));
+			}
+		}
+		
+		@State(Scope.Thread)
+		public static class Codes {
+			
+			private final SplittableRandom random = new SplittableRandom();
+			
+			private int next(int bound) {
+				return random.nextInt(bound);
+			}
+		}
+		
+		@Benchmark
+		public net.atopecode.optionals.model.State intern_registry(Codes codes) {
+			int code = codes.next(distinctStates);
+			return registry.intern(stateNames[code], code);
+		}
+		
+		@Benchmark
+		public net.atopecode.optionals.model.State computeIfAbsent_concurrentHashMap(Codes codes) {
+			int code = codes.next(distinctStates);
+			return map.computeIfAbsent(code, key -> new net.atopecode.optionals.model.State(stateNames[key], key));
+		}
+	}
+}
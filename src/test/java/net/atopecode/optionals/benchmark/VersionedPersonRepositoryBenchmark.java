@@ -0,0 +1,171 @@
+package net.atopecode.optionals.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.atopecode.optionals.model.ImmutableAddress;
+import net.atopecode.optionals.model.ImmutablePerson;
+import net.atopecode.optionals.model.ImmutableState;
+import net.atopecode.optionals.repository.VersionedPersonRepository;
+
+//Lectores y escritores concurrentes (grupo de 3 lectores y 1 escritor) sobre 'VersionedPersonRepository' frente al
+//mismo repositorio de 'ImmutablePerson' protegido con 'synchronized' o con un 'ReentrantReadWriteLock'.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class VersionedPersonRepositoryBenchmark {
+	
+	@Param({"VERSIONED", "SYNCHRONIZED", "RW_LOCK"})
+	private String implementation;
+	
+	@Param({"10000"})
+	private int size;
+	
+	private Repository repository;
+	
+	interface Repository {
+		
+		void save(int id, ImmutablePerson person);
+		
+		ImmutablePerson find(int id);
+		
+		void update(int id, UnaryOperator<ImmutablePerson> change);
+	}
+	
+	static class VersionedRepository implements Repository {
+		
+		private final VersionedPersonRepository repository = new VersionedPersonRepository();
+		
+		@Override
+		public void save(int id, ImmutablePerson person) {
+			repository.save(person);
+		}
+		
+		@Override
+		public ImmutablePerson find(int id) {
+			return repository.findSnapshot(id).orElse(null);
+		}
+		
+		@Override
+		public void update(int id, UnaryOperator<ImmutablePerson> change) {
+			repository.update(id, change);
+		}
+	}
+	
+	static class SynchronizedRepository implements Repository {
+		
+		private final Map<Integer, ImmutablePerson> persons = new HashMap<>();
+		
+		@Override
+		public synchronized void save(int id, ImmutablePerson person) {
+			persons.put(id, person);
+		}
+		
+		@Override
+		public synchronized ImmutablePerson find(int id) {
+			return persons.get(id);
+		}
+		
+		@Override
+		public synchronized void update(int id, UnaryOperator<ImmutablePerson> change) {
+			persons.put(id, change.apply(persons.get(id)));
+		}
+	}
+	
+	static class ReadWriteLockRepository implements Repository {
+		
+		private final Map<Integer, ImmutablePerson> persons = new HashMap<>();
+		
+		private final ReadWriteLock lock = new ReentrantReadWriteLock();
+		
+		@Override
+		public void save(int id, ImmutablePerson person) {
+			lock.writeLock().lock();
+			try {
+				persons.put(id, person);
+			}
+			finally {
+				lock.writeLock().unlock();
+			}
+		}
+		
+		@Override
+		public ImmutablePerson find(int id) {
+			lock.readLock().lock();
+			try {
+				return persons.get(id);
+			}
+			finally {
+				lock.readLock().unlock();
+			}
+		}
+		
+		@Override
+		public void update(int id, UnaryOperator<ImmutablePerson> change) {
+			lock.writeLock().lock();
+			try {
+				persons.put(id, change.apply(persons.get(id)));
+			}
+			finally {
+				lock.writeLock().unlock();
+			}
+		}
+	}
+	
+	@Setup
+	public void setup() {
+		switch (implementation) {
+			case "VERSIONED":
+				repository = new VersionedRepository();
+				break;
+			case "SYNCHRONIZED":
+				repository = new SynchronizedRepository();
+				break;
+			default:
+				repository = new ReadWriteLockRepository();
+		}
+		for (int id = 0; id < size; id++) {
+			repository.save(id, ImmutablePerson.of("Name" + id, "name" + id + "@email.es",
+					ImmutableAddress.of("Street" + id, id, ImmutableState.of("State" + (id % 300), id % 300))));
+		}
+	}
+	
+	@Benchmark
+	@Group("readWrite")
+	@GroupThreads(3)
+	public String read() {
+		ImmutablePerson person = repository.find(ThreadLocalRandom.current().nextInt(size));
+		return person.getAddress().getState().getName();
+	}
+	
+	@Benchmark
+	@Group("readWrite")
+	@GroupThreads(1)
+	public void write() {
+		int number = ThreadLocalRandom.current().nextInt(1000);
+		repository.update(ThreadLocalRandom.current().nextInt(size),
+				person -> person.withAddress(ImmutableAddress.of(person.getAddress().getStreet(), number, person.getAddress().getState())));
+	}
+}
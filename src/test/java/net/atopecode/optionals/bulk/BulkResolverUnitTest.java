@@ -0,0 +1,110 @@
+package net.atopecode.optionals.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.path.IntPath;
+import net.atopecode.optionals.path.Path;
+import net.atopecode.optionals.path.Paths;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class BulkResolverUnitTest {
+	
+	private static final Path<Person, String> STATE_NAME = Paths.of(Person::getAddress, Address::getState, State::getName);
+	
+	private static final IntPath<Person> STATE_CODE = Paths.ofInt(Person::getAddress, Address::getState, State::hasCode, State::getCodeAsInt);
+	
+	private ForkJoinPool pool;
+	
+	private BulkResolver bulkResolver;
+	
+	private List<Person> persons;
+	
+	@BeforeEach
+	public void init() {
+		pool = new ForkJoinPool(4);
+		bulkResolver = new BulkResolver(pool);
+		PersonRepository personRepository = new PersonRepository();
+		persons = new ArrayList<>();
+		//Más de un bloque para que el cálculo se divida en varias tareas.
+		for (int i = 0; i < 3 * BulkResolver.BLOCK_SIZE + 17; i++) {
+			switch (i % 3) {
+			case 0:
+				persons.add(personRepository.getPersonTest());
+				break;
+			case 1:
+				persons.add(personRepository.getPersonWithAddressNull());
+				break;
+			default:
+				persons.add(personRepository.getPersonWithStateNull());
+			}
+		}
+		persons.set(persons.size() - 1, null);
+		//Un código igual al valor centinela interno también tiene que devolverse como valor.
+		persons.set(3, new Person("Name", null, new Address("Street", 1, new State("Min", Integer.MIN_VALUE))));
+	}
+	
+	@AfterEach
+	public void shutdown() {
+		pool.shutdown();
+	}
+	
+	@Test
+	public void resolve_sameResultAsOptionalChain() {
+		BulkResult<String> result = bulkResolver.resolve(persons, STATE_NAME);
+		
+		assertEquals(persons.size(), result.size());
+		int missing = 0;
+		for (int i = 0; i < persons.size(); i++) {
+			String expected = Optional.ofNullable(persons.get(i))
+					.map(Person::getAddress)
+					.map(Address::getState)
+					.map(State::getName)
+					.orElseGet(() -> null);
+			assertEquals(expected, result.get(i));
+			assertEquals(expected == null, result.isMissing(i));
+			missing += (expected == null) ? 1 : 0;
+		}
+		assertEquals(missing, result.missingCount());
+	}
+	
+	@Test
+	public void resolveInt_fromSpliterator_and_nonRandomAccessCollection() {
+		IntBulkResult fromSpliterator = bulkResolver.resolveInt(persons.spliterator(), STATE_CODE);
+		IntBulkResult fromLinkedList = bulkResolver.resolveInt(new LinkedList<>(persons), STATE_CODE);
+		
+		assertEquals(12345, fromSpliterator.get(0));
+		assertTrue(fromSpliterator.isMissing(1));
+		assertTrue(fromSpliterator.isMissing(2));
+		assertFalse(fromSpliterator.isMissing(3));
+		assertEquals(Integer.MIN_VALUE, fromSpliterator.get(3));
+		assertTrue(fromSpliterator.isMissing(persons.size() - 1));
+		assertEquals(fromSpliterator.missingCount(), fromLinkedList.missingCount());
+		for (int i = 0; i < persons.size(); i++) {
+			assertEquals(fromSpliterator.get(i), fromLinkedList.get(i));
+		}
+	}
+	
+	@Test
+	public void resolve_emptyCollection() {
+		BulkResult<String> result = bulkResolver.resolve(new ArrayList<Person>(), STATE_NAME);
+		assertEquals(0, result.size());
+		assertEquals(0, result.missingCount());
+		assertNull(new BulkResolver().resolve(List.of(new Person()), Paths.of(Person::getName)).get(0));
+	}
+}
@@ -0,0 +1,109 @@
+package net.atopecode.optionals.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.model.StateRegistry;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class PersonCodecUnitTest {
+	
+	private PersonRepository personRepository;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+	}
+	
+	@Test
+	public void roundTrip_repositoryShapes() {
+		for (Person person : new Person[] {personRepository.getPersonTest(), personRepository.getPersonWithAddressNull(),
+				personRepository.getPersonWithStateNull(), new Person()}) {
+			assertRoundTrip(person, ByteBuffer.allocate(256));
+			assertRoundTrip(person, ByteBuffer.allocateDirect(256));
+		}
+	}
+	
+	@Test
+	public void roundTrip_unicodeAndNegativeNumbers() {
+		String name = "Ana Ñandú 😀 \ud800 €";
+		Person person = new Person(name, null, new Address(null, Integer.MIN_VALUE, new State("Coruña", -1)));
+		
+		assertEquals(name.getBytes(StandardCharsets.UTF_8).length, PersonCodec.utf8Length(name));
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		PersonCodec.encode(person, buffer);
+		buffer.flip();
+		Person decoded = PersonCodec.decode(buffer);
+		
+		assertEquals(new String(name.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8), decoded.getName());
+		assertEquals(Integer.MIN_VALUE, decoded.getAddress().getNumberAsInt());
+		assertEquals(-1, decoded.getAddress().getState().getCodeAsInt());
+	}
+	
+	@Test
+	public void partialReads_and_recordLength() {
+		ByteBuffer buffer = ByteBuffer.allocate(1024);
+		Person[] persons = {personRepository.getPersonWithAddressNull(), personRepository.getPersonTest(),
+				personRepository.getPersonWithStateNull()};
+		for (Person person : persons) {
+			PersonCodec.encode(person, buffer);
+		}
+		
+		int offset = 0;
+		for (Person person : persons) {
+			assertEquals(person.getName(), PersonCodec.decodeName(buffer, offset));
+			assertEquals(person.getEmail(), PersonCodec.decodeEmail(buffer, offset));
+			assertEquals(String.valueOf(person.getAddress()), String.valueOf(PersonCodec.decodeAddress(buffer, offset)));
+			assertEquals(PersonCodec.encodedSize(person), PersonCodec.recordLength(buffer, offset));
+			offset += PersonCodec.recordLength(buffer, offset);
+		}
+		assertEquals(buffer.position(), offset);
+		assertNull(PersonCodec.decodeAddress(buffer, 0));
+		//Sin 'StateRegistry' cada 'Address' decodificada tiene su propio 'State'; con él, el del registro.
+		int second = PersonCodec.recordLength(buffer, 0);
+		assertNotSame(PersonCodec.decodeAddress(buffer, second).getState(), PersonCodec.decodeAddress(buffer, second).getState());
+		StateRegistry registry = new StateRegistry();
+		assertSame(registry.intern("State1", 12345), PersonCodec.decodeAddress(buffer, second, registry).getState());
+	}
+	
+	@Test
+	public void encode_withoutRoom_then_BufferOverflowException() {
+		Person person = personRepository.getPersonTest();
+		ByteBuffer buffer = ByteBuffer.allocate(PersonCodec.encodedSize(person) - 1);
+		assertThrows(BufferOverflowException.class, () -> PersonCodec.encode(person, buffer));
+	}
+	
+	@Test
+	public void varInt_and_zigzag() {
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		int[] values = {0, 1, -1, 127, 128, 16383, 16384, Integer.MAX_VALUE, Integer.MIN_VALUE};
+		for (int value : values) {
+			buffer.clear();
+			PersonCodec.putVarInt(buffer, PersonCodec.zigzag(value));
+			assertEquals(PersonCodec.varIntSize(PersonCodec.zigzag(value)), buffer.position());
+			buffer.flip();
+			assertEquals(value, PersonCodec.unzigzag(PersonCodec.getVarInt(buffer)));
+		}
+	}
+	
+	private static void assertRoundTrip(Person person, ByteBuffer buffer) {
+		PersonCodec.encode(person, buffer);
+		assertEquals(PersonCodec.encodedSize(person), buffer.position());
+		buffer.flip();
+		assertEquals(person.toString(), PersonCodec.decode(buffer).toString());
+		assertEquals(0, buffer.remaining());
+	}
+}
@@ -0,0 +1,88 @@
+package net.atopecode.optionals.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.atopecode.optionals.metrics.PathMetricsBinder;
+import net.atopecode.optionals.metrics.PathMetricsRegistry;
+import net.atopecode.optionals.repository.PersonRepository;
+
+@ExtendWith(OutputCaptureExtension.class)
+public class PersonBeansInitializerUnitTest {
+	
+	private GenericApplicationContext createContext(Map<String, Object> properties) {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", properties));
+		new PersonBeansInitializer().initialize(context);
+		context.refresh();
+		return context;
+	}
+	
+	@Test
+	public void personRepository_isCreatedOnFirstUse() {
+		try (GenericApplicationContext context = createContext(Map.of())) {
+			assertTrue(context.getBeanDefinition("personRepository").isLazyInit());
+			assertFalse(context.getBeanFactory().containsSingleton("personRepository"));
+			assertTrue(context.getBeanFactory().containsSingleton("pathMetricsBinder"));
+			assertEquals(0, context.getBeansOfType(ApplicationRunner.class).size());
+			
+			PersonRepository personRepository = context.getBean(PersonRepository.class);
+			assertTrue(context.getBeanFactory().containsSingleton("personRepository"));
+			assertEquals(0, personRepository.count());
+			assertEquals(1, context.getBeansOfType(PathMetricsBinder.class).size());
+		}
+	}
+	
+	@Test
+	public void personRepository_loadsPersonsFile(@TempDir Path dir, CapturedOutput output) throws Exception {
+		Path file = dir.resolve("persons.csv");
+		Files.write(file, ("name,email,street,number,stateName,stateCode\nFulano,fulano@email.es,Street1,55,State1,12345\nMengano,mengano@email.es,,,,\n")
+				.getBytes(StandardCharsets.UTF_8));
+		try (GenericApplicationContext context = createContext(Map.of(
+				PersonBeansInitializer.PERSONS_FILE, file.toString(),
+				PersonBeansInitializer.PERSONS_FORMAT, "CSV",
+				PersonBeansInitializer.STARTUP_PROBE, "true"))) {
+			assertEquals(1, context.getBeansOfType(ApplicationRunner.class).size());
+			PersonRepository personRepository = context.getBean(PersonRepository.class);
+			assertEquals(2, personRepository.count());
+			assertEquals(12345, personRepository.findByEmail("fulano@email.es").get().getAddress().getState().getCode());
+			
+			//'StartupBenchmark' busca el marcador en la salida de la aplicación.
+			context.getBean(ApplicationRunner.class).run(new DefaultApplicationArguments());
+			assertTrue(output.getAll().contains(PersonBeansInitializer.STARTUP_PROBE_MARKER + " found=true"), output.getAll());
+		}
+	}
+	
+	@Test
+	public void pathMetricsBinder_isClosedWithTheContext() {
+		PathMetricsRegistry.getDefault().register("test.binder", List.of("person"));
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		GenericApplicationContext context = createContext(Map.of());
+		context.getBean(PathMetricsBinder.class).bindTo(registry);
+		assertFalse(registry.find("optional.path.evaluations").tag("path", "test.binder").meters().isEmpty());
+		
+		//Al cerrar el contexto el 'binder' deja de escuchar el 'PathMetricsRegistry' global y quita sus medidores.
+		context.close();
+		assertTrue(registry.getMeters().isEmpty());
+		PathMetricsRegistry.getDefault().register("test.binder.after", List.of("person"));
+		assertTrue(registry.getMeters().isEmpty());
+	}
+}
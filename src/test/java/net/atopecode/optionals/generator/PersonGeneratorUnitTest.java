@@ -0,0 +1,174 @@
+package net.atopecode.optionals.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.atopecode.optionals.ingest.IngestFormat;
+import net.atopecode.optionals.ingest.PersonIngester;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+
+public class PersonGeneratorUnitTest {
+	
+	//Más de dos bloques, y el último incompleto.
+	private static final int COUNT = 2 * PersonGenerator.CHUNK_SIZE + 1000;
+	
+	@TempDir
+	Path tempDir;
+	
+	@Test
+	public void generate_sameSeed_sameDataset() {
+		List<String> generated = render(new PersonGenerator(42).generate(COUNT));
+		
+		assertEquals(generated, render(new PersonGenerator(42).generate(COUNT)));
+		assertEquals(generated, new PersonGenerator(42).stream(COUNT).map(Person::toString).collect(Collectors.toList()));
+		assertNotEquals(generated, render(new PersonGenerator(43).generate(COUNT)));
+		
+		//Un dataset más corto es un prefijo del largo.
+		assertEquals(generated.subList(0, 5000), render(new PersonGenerator(42).generate(5000)));
+	}
+	
+	@Test
+	public void generate_chunksAreIndependent() {
+		Person[] persons = new PersonGenerator(42).generate(3 * PersonGenerator.CHUNK_SIZE);
+		
+		//Cada bloque tiene que ser distinto del anterior, también desplazándolo unas posiciones.
+		for (int chunk = 1; chunk < 3; chunk++) {
+			for (int shift = -4; shift <= 4; shift++) {
+				int same = 0;
+				int compared = 0;
+				for (int i = 8; i < PersonGenerator.CHUNK_SIZE - 8; i++) {
+					Person current = persons[chunk * PersonGenerator.CHUNK_SIZE + i];
+					Person previous = persons[(chunk - 1) * PersonGenerator.CHUNK_SIZE + i + shift];
+					compared++;
+					if (current.getName().equals(previous.getName())
+							&& String.valueOf(current.getAddress()).equals(String.valueOf(previous.getAddress()))) {
+						same++;
+					}
+				}
+				assertTrue(same < compared / 100, "bloque " + chunk + ", desplazamiento " + shift + ": " + same + " iguales");
+			}
+		}
+	}
+	
+	@Test
+	public void generate_nullRatiosAndCardinality() {
+		Person[] persons = new PersonGenerator(1).addressNullRatio(0.25).stateNullRatio(0.5).stateCodes(40).generate(COUNT);
+		
+		long withoutAddress = Arrays.stream(persons).filter(person -> person.getAddress() == null).count();
+		List<State> states = Arrays.stream(persons).map(Person::getAddress).filter(address -> address != null)
+				.map(Address::getState).collect(Collectors.toList());
+		long withoutState = states.stream().filter(state -> state == null).count();
+		Set<Integer> codes = states.stream().filter(state -> state != null).map(State::getCode).collect(Collectors.toSet());
+		
+		assertEquals(0.25, (double) withoutAddress / COUNT, 0.01);
+		assertEquals(0.5, (double) withoutState / states.size(), 0.01);
+		assertEquals(40, codes.size());
+		assertTrue(codes.stream().allMatch(code -> code >= PersonGenerator.firstStateCode() && code < PersonGenerator.firstStateCode() + 40));
+		
+		Person[] complete = new PersonGenerator(1).addressNullRatio(0).stateNullRatio(0).generate(1000);
+		assertTrue(Arrays.stream(complete).allMatch(person -> person.getAddress() != null && person.getAddress().getState() != null));
+	}
+	
+	@Test
+	public void generate_sharedStates() {
+		Person[] shared = new PersonGenerator(1).addressNullRatio(0).stateNullRatio(0).stateCodes(1).generate(100);
+		Person[] distinct = new PersonGenerator(1).addressNullRatio(0).stateNullRatio(0).stateCodes(1).sharedStates(false).generate(100);
+		
+		assertSame(shared[0].getAddress().getState(), shared[99].getAddress().getState());
+		assertNotSame(distinct[0].getAddress().getState(), distinct[99].getAddress().getState());
+		assertEquals(shared[0].getAddress().getState().getName(), distinct[99].getAddress().getState().getName());
+	}
+	
+	@Test
+	public void generate_zipfSkew() {
+		Person[] skewed = new PersonGenerator(3).addressNullRatio(0).stateNullRatio(0).stateCodes(100).zipfExponent(1.2).generate(COUNT);
+		Person[] uniform = new PersonGenerator(3).addressNullRatio(0).stateNullRatio(0).stateCodes(100).zipfExponent(0).generate(COUNT);
+		
+		//Con Zipf el primer código es el más frecuente (~28% con s=1.2 y 100 códigos); uniforme, ~1%.
+		assertEquals(0.28, share(skewed, PersonGenerator.firstStateCode()), 0.02);
+		assertEquals(0.01, share(uniform, PersonGenerator.firstStateCode()), 0.005);
+		assertTrue(share(skewed, PersonGenerator.firstStateCode()) > 5 * share(skewed, PersonGenerator.firstStateCode() + 9));
+	}
+	
+	@Test
+	public void generate_lengthProfileAndUniqueEmails() {
+		Person[] persons = new PersonGenerator(5).lengthProfile(PersonGenerator.LengthProfile.LONG).generate(10_000);
+		
+		Set<String> emails = new HashSet<>();
+		for (Person person : persons) {
+			int length = person.getName().length();
+			assertTrue(length >= PersonGenerator.LengthProfile.LONG.min() && length <= PersonGenerator.LengthProfile.LONG.max(),
+					person.getName());
+			assertTrue(emails.add(person.getEmail()), person.getEmail());
+		}
+	}
+	
+	@Test
+	public void write_thenIngest_sameDataset() throws IOException {
+		PersonGenerator generator = new PersonGenerator(9).addressNullRatio(0.2).stateNullRatio(0.2);
+		List<String> expected = render(generator.generate(COUNT));
+		
+		for (IngestFormat format : IngestFormat.values()) {
+			Path file = tempDir.resolve("persons." + format);
+			generator.write(file, COUNT, format);
+			List<String> ingested = new ArrayList<>();
+			new PersonIngester(format).ingest(file, person -> ingested.add(person.toString()));
+			assertEquals(expected, ingested, format.toString());
+		}
+	}
+	
+	@Test
+	public void invalidConfiguration_throws() {
+		PersonGenerator generator = new PersonGenerator(0);
+		
+		assertThrows(IllegalArgumentException.class, () -> generator.addressNullRatio(1.5));
+		assertThrows(IllegalArgumentException.class, () -> generator.stateNullRatio(Double.NaN));
+		assertThrows(IllegalArgumentException.class, () -> generator.stateCodes(0));
+		assertThrows(IllegalArgumentException.class, () -> generator.zipfExponent(-1));
+		assertThrows(IllegalArgumentException.class, () -> generator.generate(-1));
+		assertEquals(0, generator.generate(0).length);
+	}
+	
+	@Test
+	public void zipfDistribution_samplesInRange() {
+		ZipfDistribution zipf = new ZipfDistribution(3, 2);
+		SplittableRandom random = new SplittableRandom(0);
+		int[] counts = new int[3];
+		for (int i = 0; i < 30_000; i++) {
+			counts[zipf.sample(random)]++;
+		}
+		
+		//Pesos 1, 1/4 y 1/9.
+		assertEquals(36 / 49.0, counts[0] / 30_000.0, 0.02);
+		assertEquals(9 / 49.0, counts[1] / 30_000.0, 0.02);
+		assertEquals(4 / 49.0, counts[2] / 30_000.0, 0.02);
+		assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1));
+	}
+	
+	private static double share(Person[] persons, int code) {
+		return Arrays.stream(persons).filter(person -> person.getAddress().getState().getCodeAsInt() == code).count() / (double) persons.length;
+	}
+	
+	private static List<String> render(Person[] persons) {
+		return Arrays.stream(persons).map(Person::toString).collect(Collectors.toList());
+	}
+}
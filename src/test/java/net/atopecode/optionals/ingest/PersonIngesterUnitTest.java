@@ -0,0 +1,142 @@
+package net.atopecode.optionals.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.StateRegistry;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class PersonIngesterUnitTest {
+	
+	private static final String NDJSON =
+			"{\"name\":\"Fulano\",\"email\":\"fulano@email.es\",\"address\":{\"street\":\"Street1\",\"number\":55,\"state\":{\"name\":\"State1\",\"code\":12345}}}\n"
+			+ "{\"name\":\"Fulano\",\"email\":\"fulano@email.es\",\"address\":null}\n"
+			+ "\n"
+			+ "{ \"name\" : \"Fulano\", \"email\" : \"fulano@email.es\", \"extra\" : [1, {\"a\": \"}\"}], \"address\" : { \"street\" : \"Street1\", \"number\" : 55 } }\r\n"
+			+ "{\"name\":\"Ma\\\"ría \\u00d1\",\"address\":{\"state\":{\"name\":\"Coruña\",\"code\":-1}}}";
+	
+	private static final String CSV = CsvLineParser.HEADER + "\n"
+			+ "Fulano,fulano@email.es,Street1,55,State1,12345\n"
+			+ "Fulano,fulano@email.es,,,,\n"
+			+ "Fulano,fulano@email.es,Street1,55,,\r\n"
+			+ "\"Ma\"\"ría, Ñ\",,,,Coruña,-1\n";
+	
+	@TempDir
+	Path tempDir;
+	
+	private PersonRepository personRepository;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+	}
+	
+	@Test
+	public void ingestNdjson_then_sameShapesAsRepository() throws IOException {
+		List<Person> persons = ingest(IngestFormat.NDJSON, NDJSON, 64);
+		assertShapes(persons);
+	}
+	
+	@Test
+	public void ingestCsv_then_sameShapesAsRepository() throws IOException {
+		List<Person> persons = ingest(IngestFormat.CSV, CSV, 16);
+		assertShapes(persons);
+	}
+	
+	@Test
+	public void ingest_intoRepository() throws IOException {
+		long count = new PersonIngester(IngestFormat.CSV).ingest(channel(CSV), personRepository::save);
+		
+		assertEquals(4, count);
+		assertEquals(4, personRepository.count());
+		assertEquals(personRepository.getPersonTest().toString(), personRepository.findById(0).get().toString());
+		
+		//Con un 'StateRegistry' las 'Address' con el mismo código comparten el 'State' del registro.
+		StateRegistry registry = new StateRegistry();
+		List<Person> shared = new ArrayList<>();
+		new PersonIngester(IngestFormat.CSV, registry).ingest(channel(CSV + CSV), shared::add);
+		assertSame(registry.get(12345), shared.get(0).getAddress().getState());
+		assertSame(registry.get(12345), shared.get(4).getAddress().getState());
+		assertNotSame(personRepository.findById(0).get().getAddress().getState(), personRepository.getPersonTest().getAddress().getState());
+		assertThrows(IllegalArgumentException.class, () -> new PersonIngester(IngestFormat.CSV, registry)
+				.ingest(channel("Fulano,fulano@email.es,Street1,55,Other,12345\n"), shared::add));
+	}
+	
+	@Test
+	public void ingest_invalidLine_then_IllegalArgumentException() {
+		assertThrows(IllegalArgumentException.class, () -> ingest(IngestFormat.CSV, "a,b,c\n", 16));
+		assertThrows(IllegalArgumentException.class, () -> ingest(IngestFormat.CSV, "a,b,c,x,e,f\n", 16));
+		assertThrows(IllegalArgumentException.class, () -> ingest(IngestFormat.NDJSON, "{\"name\":\"a\"\n", 16));
+		assertThrows(IllegalArgumentException.class, () -> ingest(IngestFormat.NDJSON, "{\"address\":{\"number\":99999999999}}\n", 16));
+	}
+	
+	@Test
+	public void splitAndIngestParallel_then_allLines() throws IOException {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 10_000; i++) {
+			content.append("{\"name\":\"Name").append(i).append("\",\"address\":{\"street\":\"Street\",\"number\":").append(i)
+					.append(",\"state\":{\"name\":\"State").append(i % 10).append("\",\"code\":").append(i % 10).append("}}}\n");
+		}
+		Path file = tempDir.resolve("persons.ndjson");
+		Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+		
+		PersonIngester ingester = new PersonIngester(IngestFormat.NDJSON, 4096);
+		List<FileChunk> chunks = ingester.split(file, 7);
+		assertEquals(7, chunks.size());
+		assertEquals(0, chunks.get(0).getStart());
+		assertEquals(Files.size(file), chunks.get(chunks.size() - 1).getEnd());
+		
+		Set<String> names = ConcurrentHashMap.newKeySet();
+		long count = ingester.ingestParallel(file, 7, person -> names.add(person.getName()));
+		assertEquals(10_000, count);
+		assertEquals(10_000, names.size());
+		assertEquals(10_000, ingester.ingest(file, person -> { }));
+	}
+	
+	private void assertShapes(List<Person> persons) {
+		assertEquals(4, persons.size());
+		assertEquals(personRepository.getPersonTest().toString(), persons.get(0).toString());
+		assertEquals(personRepository.getPersonWithAddressNull().toString(), persons.get(1).toString());
+		assertEquals(personRepository.getPersonWithStateNull().toString(), persons.get(2).toString());
+		
+		Person person = persons.get(3);
+		assertTrue(person.getName().startsWith("Ma\"ría"));
+		assertNull(person.getEmail());
+		assertNull(person.getAddress().getStreet());
+		assertNull(person.getAddress().getNumber());
+		assertEquals("Coruña", person.getAddress().getState().getName());
+		assertEquals(-1, person.getAddress().getState().getCodeAsInt());
+	}
+	
+	private static List<Person> ingest(IngestFormat format, String content, int bufferSize) throws IOException {
+		List<Person> persons = Collections.synchronizedList(new ArrayList<>());
+		new PersonIngester(format, bufferSize).ingest(channel(content), persons::add);
+		return persons;
+	}
+	
+	private static ReadableByteChannel channel(String content) {
+		return Channels.newChannel(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+	}
+}
@@ -0,0 +1,133 @@
+package net.atopecode.optionals.lazy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class LazyUnitTest {
+	
+	private PersonRepository personRepository;
+	
+	private AtomicInteger calls;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+		calls = new AtomicInteger();
+	}
+	
+	private String expensiveDefault() {
+		calls.incrementAndGet();
+		return "Default";
+	}
+	
+	@Test
+	public void lazy_evaluatesOnce_andOnlyWhenRequested() {
+		Lazy<String> lazy = Lazy.of(this::expensiveDefault);
+		assertFalse(lazy.isEvaluated());
+		assertEquals(0, calls.get());
+		
+		assertEquals("Default", lazy.get());
+		assertEquals("Default", lazy.get());
+		assertTrue(lazy.isEvaluated());
+		assertEquals(1, calls.get());
+		assertSame(lazy, Lazy.of(lazy));
+	}
+	
+	@Test
+	public void lazy_memoizesNull() {
+		Lazy<String> lazy = Lazy.of(() -> {
+			calls.incrementAndGet();
+			return null;
+		});
+		assertNull(lazy.get());
+		assertNull(lazy.get());
+		assertEquals(1, calls.get());
+	}
+	
+	@Test
+	public void lazy_concurrentGet_evaluatesOnce() throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		Lazy<String> lazy = Lazy.of(this::expensiveDefault);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return lazy.get();
+				}));
+			}
+			start.countDown();
+			for (Future<String> result : results) {
+				assertEquals("Default", result.get());
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, calls.get());
+	}
+	
+	@Test
+	public void nullable_orElseGet_notExecuted_whenPresent() {
+		Person person = personRepository.getPersonTest();
+		String name = Nullable.of(person).map(Person::getName).orElseGet(this::expensiveDefault);
+		
+		assertEquals("Fulano", name);
+		assertEquals(0, calls.get());
+	}
+	
+	@Test
+	public void nullable_orElseGet_executedOnce_whenEmpty() {
+		Person person = personRepository.getPersonWithStateNull();
+		Integer code = Nullable.of(person)
+				.map(Person::getAddress)
+				.map(Address::getState)
+				.map(State::getCode)
+				.orElseGet(() -> {
+					calls.incrementAndGet();
+					return -1;
+				});
+		
+		assertEquals(-1, code);
+		assertEquals(1, calls.get());
+	}
+	
+	@Test
+	public void nullable_chain() {
+		Person person = personRepository.getPersonTest();
+		assertSame(Nullable.empty(), Nullable.of(null));
+		assertTrue(Nullable.of(person).filter(p -> p.getAddress() != null).isPresent());
+		assertFalse(Nullable.of(person).map(Person::getAddress).filter(a -> a.getNumber() > 100).isPresent());
+		assertEquals("Street1", Nullable.<Person>empty()
+				.map(Person::getAddress)
+				.or(() -> Nullable.of(person).map(Person::getAddress))
+				.map(Address::getStreet)
+				.orElseNull());
+		assertEquals(12345, Nullable.of(person).flatMap(p -> Nullable.of(p.getAddress().getState())).map(State::getCode).toOptional().get());
+		assertThrows(NoSuchElementException.class, () -> Nullable.of(personRepository.getPersonWithAddressNull())
+				.map(Person::getAddress)
+				.orElseThrow(NoSuchElementException::new));
+	}
+}
@@ -0,0 +1,148 @@
+package net.atopecode.optionals.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.path.InstrumentedPath;
+import net.atopecode.optionals.path.Paths;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class PathMetricsUnitTest {
+	
+	private PersonRepository personRepository;
+	
+	private PathMetricsRegistry pathMetricsRegistry;
+	
+	private InstrumentedPath<Person, Integer> stateCode;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+		pathMetricsRegistry = new PathMetricsRegistry();
+		stateCode = Paths.of(Person::getAddress, Address::getState, State::getCode)
+				.instrumented(pathMetricsRegistry, "person.address.state.code", "person", "address", "state", "code");
+	}
+	
+	@Test
+	public void instrumentedPath_countsWhereTheChainIsCut() {
+		assertEquals(12345, stateCode.get(personRepository.getPersonTest()));
+		assertNull(stateCode.get(personRepository.getPersonWithAddressNull()));
+		assertNull(stateCode.get(personRepository.getPersonWithStateNull()));
+		assertEquals(-1, stateCode.orElse(personRepository.getPersonWithStateNull(), -1));
+		assertNull(stateCode.get(null));
+		Person withoutCode = new Person("Fulano", "fulano@email.es", new Address("Street1", 55, new State("State1", null)));
+		assertNull(stateCode.get(withoutCode));
+		
+		PathMetrics metrics = stateCode.metrics();
+		assertEquals(6, metrics.evaluations());
+		assertEquals(1, metrics.presentCount());
+		assertEquals(1, metrics.emptyCount(0));
+		assertEquals(1, metrics.emptyCount(1));
+		assertEquals(2, metrics.emptyCount(2));
+		assertEquals(1, metrics.emptyCount(3));
+	}
+	
+	@Test
+	public void instrumentedPath_concurrentEvaluations_areAllCounted() throws Exception {
+		Person person = personRepository.getPersonWithStateNull();
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 10000; i++) {
+					stateCode.get(person);
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(40000, stateCode.metrics().emptyCount(2));
+		assertEquals(40000, stateCode.metrics().evaluations());
+		assertTrue(stateCode.metrics().latency().count() > 0);
+	}
+	
+	@Test
+	public void instrumentedPath_shortLivedThreads_areAllCounted() throws Exception {
+		//Un hilo por evaluación: los contadores no crecen con el número de hilos y no se pierde ninguna cuenta.
+		Person person = personRepository.getPersonTest();
+		for (int t = 0; t < 2000; t++) {
+			Thread thread = new Thread(() -> stateCode.get(person));
+			thread.start();
+			thread.join();
+		}
+		assertEquals(2000, stateCode.metrics().presentCount());
+		assertEquals(2000, stateCode.metrics().evaluations());
+	}
+	
+	@Test
+	public void registry_returnsSameMetrics_andRejectsDifferentSteps() {
+		InstrumentedPath<Person, Integer> again = Paths.of(Person::getAddress, Address::getState, State::getCode)
+				.instrumented(pathMetricsRegistry, "person.address.state.code", "person", "address", "state", "code");
+		assertSame(stateCode.metrics(), again.metrics());
+		assertThrows(IllegalArgumentException.class, () -> pathMetricsRegistry.register("person.address.state.code", List.of("a", "b")));
+		assertThrows(IllegalArgumentException.class, () -> Paths.of(Person::getAddress).instrumented(pathMetricsRegistry, "other", "person"));
+	}
+	
+	@Test
+	public void latencyHistogram_percentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.percentile(0.99));
+		for (int i = 0; i < 99; i++) {
+			histogram.record(10);
+		}
+		histogram.record(5000);
+		assertEquals(100, histogram.count());
+		assertEquals(99 * 10 + 5000, histogram.totalNanos());
+		assertEquals(15, histogram.percentile(0.5));
+		assertEquals(15, histogram.percentile(0.99));
+		assertEquals(8191, histogram.percentile(1));
+	}
+	
+	@Test
+	public void binder_publishesCounters_forExistingAndLaterPaths() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		new PathMetricsBinder(pathMetricsRegistry).bindTo(registry);
+		stateCode.get(personRepository.getPersonTest());
+		stateCode.get(personRepository.getPersonWithStateNull());
+		
+		assertEquals(1, registry.get("optional.path.evaluations").tag("result", "present").functionCounter().count());
+		assertEquals(1, registry.get("optional.path.evaluations").tag("step", "state").functionCounter().count());
+		assertEquals(0, registry.get("optional.path.evaluations").tag("step", "address").functionCounter().count());
+		
+		InstrumentedPath<Person, String> email = Paths.of(Person::getEmail).instrumented(pathMetricsRegistry, "person.email", "person", "email");
+		email.get(personRepository.getPersonTest());
+		assertEquals(1, registry.get("optional.path.evaluations").tags("path", "person.email", "result", "present").functionCounter().count());
+		assertTrue(registry.get("optional.path.latency").tag("path", "person.email").functionTimer().count() >= 0);
+	}
+	
+	@Test
+	public void binder_close_removesListenerAndMeters() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PathMetricsBinder binder = new PathMetricsBinder(pathMetricsRegistry);
+		binder.bindTo(registry);
+		assertEquals(1, pathMetricsRegistry.listenerCount());
+		assertFalse(registry.getMeters().isEmpty());
+		
+		binder.close();
+		assertEquals(0, pathMetricsRegistry.listenerCount());
+		assertTrue(registry.getMeters().isEmpty());
+		
+		//Las rutas registradas después ya no se publican.
+		Paths.of(Person::getEmail).instrumented(pathMetricsRegistry, "person.email", "person", "email");
+		assertTrue(registry.getMeters().isEmpty());
+	}
+}
@@ -0,0 +1,67 @@
+package net.atopecode.optionals.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class ImmutableModelUnitTest {
+	
+	private PersonRepository personRepository;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+	}
+	
+	@Test
+	public void fromAndToMutable_then_sameValues() {
+		for (Person person : new Person[] {personRepository.getPersonTest(), personRepository.getPersonWithAddressNull(),
+				personRepository.getPersonWithStateNull()}) {
+			ImmutablePerson immutable = ImmutablePerson.from(person);
+			assertEquals(person.toString(), immutable.toString());
+			assertEquals(person.toString(), immutable.toPerson().toString());
+		}
+		assertNull(ImmutablePerson.from(null));
+	}
+	
+	@Test
+	public void equalsAndHashCode_byValue() {
+		ImmutablePerson person1 = ImmutablePerson.from(personRepository.getPersonTest());
+		ImmutablePerson person2 = ImmutablePerson.of("Fulano", "fulano@email.es",
+				ImmutableAddress.of("Street1", 55, ImmutableState.of("State1", 12345)));
+		
+		assertEquals(person1, person2);
+		assertEquals(person1.hashCode(), person2.hashCode());
+		assertNotEquals(person1, person1.withName("Other"));
+		assertNotEquals(person1, person1.withAddress(person1.getAddress().withState(null)));
+		assertNotEquals(ImmutableState.of("State1", 0), ImmutableState.of("State1", (Integer) null));
+		
+		Set<ImmutablePerson> persons = new HashSet<>();
+		persons.add(person1);
+		persons.add(person2);
+		persons.add(ImmutablePerson.from(personRepository.getPersonWithStateNull()));
+		assertEquals(2, persons.size());
+	}
+	
+	@Test
+	public void mutableChanges_doNotAffectImmutableCopy() {
+		Person person = personRepository.getPersonTest();
+		ImmutablePerson immutable = ImmutablePerson.from(person);
+		
+		person.setName("Other");
+		person.getAddress().setNumber(1);
+		
+		assertEquals("Fulano", immutable.getName());
+		assertEquals(55, immutable.getAddress().getNumberAsInt());
+		assertTrue(immutable.getAddress().getOptionalState().isPresent());
+	}
+}
@@ -0,0 +1,177 @@
+package net.atopecode.optionals.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.codec.PersonCodec;
+import net.atopecode.optionals.ingest.IngestFormat;
+import net.atopecode.optionals.ingest.PersonIngester;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class StateRegistryUnitTest {
+	
+	@Test
+	public void intern_sameCode_then_sameInstance() {
+		StateRegistry registry = new StateRegistry();
+		State state = registry.intern("State1", 12345);
+		
+		assertSame(state, registry.intern("State1", 12345));
+		assertSame(state, registry.get(12345));
+		assertNull(registry.get(1));
+		assertEquals(1, registry.size());
+	}
+	
+	@Test
+	public void intern_withoutCode_then_notRegistered_and_differentName_then_throws() {
+		StateRegistry registry = new StateRegistry();
+		State state = registry.intern("State1", 12345);
+		
+		State withoutCode = registry.intern("State1", null);
+		assertNull(withoutCode.getCode());
+		assertNotSame(withoutCode, registry.intern("State1", null));
+		
+		assertThrows(IllegalArgumentException.class, () -> registry.intern("Other", 12345));
+		assertThrows(IllegalArgumentException.class, () -> registry.intern(null, 12345));
+		assertSame(state, registry.get(12345));
+		assertEquals(1, registry.size());
+	}
+	
+	@Test
+	public void sharedState_isMutable_andSeenByEveryAddress() {
+		StateRegistry registry = new StateRegistry();
+		State shared = registry.intern("State1", 12345);
+		Address first = new Address("Street1", 1, shared);
+		Address second = new Address("Street2", 2, registry.intern("State1", 12345));
+		
+		assertTrue(shared.isShared());
+		shared.setName("Renamed");
+		assertEquals("Renamed", second.getState().getName());
+		
+		//Para cambiar sólo el de una 'Address' se sustituye.
+		first.setState(new State("Other", 12345));
+		assertSame(shared, second.getState());
+		assertFalse(first.getState().isShared());
+	}
+	
+	@Test
+	public void repositoryStates_areNotShared() {
+		PersonRepository personRepository = new PersonRepository();
+		Person person = personRepository.getPersonTest();
+		Person other = personRepository.getPersonTest();
+		State state = person.getAddress().getState();
+		
+		assertFalse(state.isShared());
+		assertNotSame(state, other.getAddress().getState());
+		state.setName("Other");
+		state.setCode(1);
+		assertEquals("State1", other.getAddress().getState().getName());
+		assertEquals(12345, other.getAddress().getState().getCodeAsInt());
+	}
+	
+	@Test
+	public void sharedState_deserialized_then_ownCopy() throws Exception {
+		StateRegistry registry = new StateRegistry();
+		State shared = registry.intern("State1", 12345);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(new Person("Fulano", "fulano@email.es", new Address("Street1", 55, shared)));
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			State state = ((Person) in.readObject()).getAddress().getState();
+			assertNotSame(shared, state);
+			assertFalse(state.isShared());
+			assertEquals(shared.toString(), state.toString());
+		}
+		assertEquals(1, registry.size());
+	}
+	
+	@Test
+	public void intern_growsTable() {
+		StateRegistry registry = new StateRegistry(2);
+		for (int code = -500; code < 500; code++) {
+			registry.intern("State" + code, code);
+		}
+		assertEquals(1000, registry.size());
+		for (int code = -500; code < 500; code++) {
+			assertEquals("State" + code, registry.get(code).getName());
+		}
+	}
+	
+	@Test
+	public void intern_concurrentWriters_then_oneInstancePerCode() throws Exception {
+		StateRegistry registry = new StateRegistry(2);
+		int threads = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<State[]>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					State[] states = new State[2000];
+					for (int code = 0; code < states.length; code++) {
+						states[code] = registry.intern("State" + code, code);
+					}
+					return states;
+				}));
+			}
+			start.countDown();
+			
+			State[] first = results.get(0).get();
+			for (Future<State[]> result : results) {
+				State[] states = result.get();
+				for (int code = 0; code < states.length; code++) {
+					assertSame(first[code], states[code]);
+				}
+			}
+			assertEquals(2000, registry.size());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void decoders_shareStates_onlyWithExplicitRegistry() throws IOException {
+		byte[] csv = "Fulano,fulano@email.es,Street1,55,State1,12345\nMengano,mengano@email.es,Street2,1,State1,12345\n"
+				.getBytes(StandardCharsets.UTF_8);
+		List<Person> own = new ArrayList<>();
+		new PersonIngester(IngestFormat.CSV).ingest(Channels.newChannel(new ByteArrayInputStream(csv)), own::add);
+		assertNotSame(own.get(0).getAddress().getState(), own.get(1).getAddress().getState());
+		assertFalse(own.get(0).getAddress().getState().isShared());
+		
+		StateRegistry registry = new StateRegistry();
+		List<Person> shared = new ArrayList<>();
+		new PersonIngester(IngestFormat.CSV, registry).ingest(Channels.newChannel(new ByteArrayInputStream(csv)), shared::add);
+		assertSame(registry.get(12345), shared.get(0).getAddress().getState());
+		assertSame(registry.get(12345), shared.get(1).getAddress().getState());
+		
+		ByteBuffer buffer = ByteBuffer.allocate(PersonCodec.encodedSize(own.get(0)));
+		PersonCodec.encode(own.get(0), buffer);
+		assertFalse(PersonCodec.decode(buffer.flip()).getAddress().getState().isShared());
+		assertSame(registry.get(12345), PersonCodec.decode(buffer.rewind(), registry).getAddress().getState());
+		assertEquals(1, registry.size());
+	}
+}
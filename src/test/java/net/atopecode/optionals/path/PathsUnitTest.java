@@ -0,0 +1,111 @@
+package net.atopecode.optionals.path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class PathsUnitTest {
+	
+	private static final Path<Person, String> STATE_NAME = Paths.of(Person::getAddress, Address::getState, State::getName);
+	
+	private static final IntPath<Person> STATE_CODE = Paths.ofInt(Person::getAddress, Address::getState, State::hasCode, State::getCodeAsInt);
+	
+	private static final IntPath<Person> STATE_CODE_BOXED = Paths.ofInt(Person::getAddress, Address::getState, State::getCode);
+	
+	private PersonRepository personRepository;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+	}
+	
+	@Test
+	public void path_with_StateNotNull_then_sameValueAsOptionalChain() {
+		Person person = personRepository.getPersonTest();
+		
+		String stateNameOptional = Optional.ofNullable(person)
+				.map(Person::getAddress)
+				.map(Address::getState)
+				.map(State::getName)
+				.orElseGet(() -> null);
+		
+		assertEquals(stateNameOptional, STATE_NAME.get(person));
+		assertTrue(STATE_NAME.isPresent(person));
+		assertEquals(3, STATE_NAME.depth());
+	}
+	
+	@Test
+	public void path_with_StateNull_then_defaultValue() {
+		Person person = personRepository.getPersonWithStateNull();
+		
+		assertNull(STATE_NAME.get(person));
+		assertEquals("Default", STATE_NAME.orElse(person, "Default"));
+		assertFalse(STATE_NAME.isPresent(person));
+	}
+	
+	@Test
+	public void path_with_AddressNull_or_PersonNull_then_defaultValue() {
+		assertEquals("Default", STATE_NAME.orElse(personRepository.getPersonWithAddressNull(), "Default"));
+		assertEquals("Default", STATE_NAME.orElse(null, "Default"));
+	}
+	
+	@Test
+	public void path_orElseGet_executeSupplier_onlyWhen_emptyPath() {
+		int[] executions = {0};
+		STATE_NAME.orElseGet(personRepository.getPersonTest(), () -> "Default" + (++executions[0]));
+		assertEquals(0, executions[0]);
+		
+		String value = STATE_NAME.orElseGet(personRepository.getPersonWithStateNull(), () -> "Default" + (++executions[0]));
+		assertEquals(1, executions[0]);
+		assertEquals("Default1", value);
+	}
+	
+	@Test
+	public void path_then_addsStep() {
+		Path<Person, Address> address = Paths.of(Person::getAddress);
+		Path<Person, String> street = address.then(Address::getStreet);
+		
+		assertEquals("Street1", street.get(personRepository.getPersonTest()));
+		assertEquals(1, address.depth());
+		assertEquals(2, street.depth());
+	}
+	
+	@Test
+	public void intPath_returnsPrimitiveValue_or_default() {
+		Person person = personRepository.getPersonTest();
+		assertEquals(person.getAddress().getState().getCode().intValue(), STATE_CODE.getAsInt(person, -1));
+		assertTrue(STATE_CODE.isPresent(person));
+		
+		assertEquals(-1, STATE_CODE.getAsInt(personRepository.getPersonWithStateNull(), -1));
+		assertEquals(-1, STATE_CODE.getAsInt(personRepository.getPersonWithAddressNull(), -1));
+		assertFalse(STATE_CODE.isPresent(null));
+	}
+	
+	@Test
+	public void intPath_fromIntegerGetter_sameResultAsPrimitiveGetter() {
+		Person person = personRepository.getPersonTest();
+		assertEquals(STATE_CODE.getAsInt(person, -1), STATE_CODE_BOXED.getAsInt(person, -1));
+		
+		person.getAddress().getState().setCode(null);
+		assertEquals(-1, STATE_CODE.getAsInt(person, -1));
+		assertEquals(-1, STATE_CODE_BOXED.getAsInt(person, -1));
+		assertFalse(STATE_CODE_BOXED.isPresent(person));
+		
+		//El getter 'Integer' es el último paso, igual que el getter primitivo.
+		assertEquals(3, STATE_CODE.depth());
+		assertEquals(3, STATE_CODE_BOXED.depth());
+		assertEquals(2, Paths.ofInt(Person::getAddress, Address::getNumber).depth());
+		assertEquals(1, Paths.ofInt(State::getCode).depth());
+	}
+}
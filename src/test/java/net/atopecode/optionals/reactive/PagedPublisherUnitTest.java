@@ -0,0 +1,366 @@
+package net.atopecode.optionals.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class PagedPublisherUnitTest {
+	
+	private static final int PAGE_SIZE = 1024;
+	
+	private ExecutorService executor;
+	
+	@BeforeEach
+	public void init() {
+		executor = Executors.newSingleThreadExecutor();
+	}
+	
+	@AfterEach
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+	
+	//Suscriptor que guarda todas las señales; pide 'initialRequest' elementos al suscribirse.
+	private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+		
+		private final long initialRequest;
+		
+		private final List<T> items = new ArrayList<>();
+		
+		private volatile Flow.Subscription subscription;
+		
+		private volatile Throwable error;
+		
+		private volatile boolean completed;
+		
+		private RecordingSubscriber(long initialRequest) {
+			this.initialRequest = initialRequest;
+		}
+		
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			subscription.request(initialRequest);
+		}
+		
+		@Override
+		public void onNext(T item) {
+			items.add(item);
+		}
+		
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+		}
+		
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+	}
+	
+	//'PageReader' que crea las 'Person' al leer cada página (como si vinieran de disco o de red) y cuenta las leídas.
+	//Una de cada 10 no tiene 'Address'.
+	private static final class GeneratingReader implements PageReader<Person> {
+		
+		private final State state = new State("State1", 12345);
+		
+		private final String[] names = IntStream.range(0, 1024).mapToObj(i -> "Person" + i).toArray(String[]::new);
+		
+		private final long total;
+		
+		private final AtomicLong read = new AtomicLong();
+		
+		private final AtomicInteger pages = new AtomicInteger();
+		
+		private GeneratingReader(long total) {
+			this.total = total;
+		}
+		
+		@Override
+		public List<Person> read(int offset, int limit) {
+			pages.incrementAndGet();
+			int count = (int) Math.max(0, Math.min(limit, total - offset));
+			List<Person> page = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				int id = offset + i;
+				page.add(new Person(names[id & 1023], null, (id % 10 == 0) ? null : new Address(null, id, state)));
+			}
+			read.addAndGet(count);
+			return page;
+		}
+	}
+	
+	//50M registros (unos 4 GB si se materializaran) hacia un suscriptor lento que procesa en otro hilo: la demanda está
+	//limitada por su cola, y lo leído y todavía no procesado nunca supera una página más lo que cabe en la cola.
+	//Tarda unos 15 segundos: sólo se ejecuta con 'mvn -Pslow-tests test'.
+	@Test
+	@Tag("slow")
+	public void slowSubscriber_50MRecords_memoryStaysBounded() throws Exception {
+		int total = 50_000_000;
+		int queueCapacity = 256;
+		GeneratingReader reader = new GeneratingReader(total);
+		BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+		Object end = new Object();
+		AtomicLong projected = new AtomicLong();
+		AtomicLong maxInFlight = new AtomicLong();
+		Flow.Subscription[] subscription = new Flow.Subscription[1];
+		
+		PagedPublisher.of(reader, PAGE_SIZE, executor)
+				.map(person -> {
+					projected.incrementAndGet();
+					return person;
+				})
+				.flatMap(person -> person.getOptionalAddress().flatMap(Address::getOptionalState).flatMap(State::getOptionalName))
+				.subscribe(new Flow.Subscriber<String>() {
+					
+					@Override
+					public void onSubscribe(Flow.Subscription s) {
+						subscription[0] = s;
+						s.request(queueCapacity);
+					}
+					
+					@Override
+					public void onNext(String stateName) {
+						//'add()' lanza excepción si la cola está llena: el 'publisher' no puede entregar más de lo pedido.
+						queue.add(stateName);
+						//En memoria: lo que queda de la página actual más lo que espera en la cola.
+						maxInFlight.accumulateAndGet(reader.read.get() - projected.get() + queue.size(), Math::max);
+					}
+					
+					@Override
+					public void onError(Throwable throwable) {
+						queue.add(throwable);
+					}
+					
+					@Override
+					public void onComplete() {
+						queue.add(end);
+					}
+				});
+		
+		long consumed = 0;
+		long sinceRequest = 0;
+		while (true) {
+			Object item = queue.take();
+			if (item == end) {
+				break;
+			}
+			assertFalse(item instanceof Throwable, () -> item.toString());
+			consumed++;
+			//Procesamiento lento en lotes: se pide más cuando se ha vaciado media cola.
+			if (++sinceRequest == queueCapacity / 2) {
+				sinceRequest = 0;
+				subscription[0].request(queueCapacity / 2);
+			}
+		}
+		
+		assertEquals(total - total / 10, consumed);
+		assertEquals(total, reader.read.get());
+		assertEquals(total / PAGE_SIZE + 1, reader.pages.get());
+		assertTrue(maxInFlight.get() <= PAGE_SIZE + queueCapacity, () -> "En memoria: " + maxInFlight.get());
+	}
+	
+	@Test
+	public void readsPagesOnDemand_and_completes() {
+		GeneratingReader reader = new GeneratingReader(2500);
+		RecordingSubscriber<Person> subscriber = new RecordingSubscriber<>(10);
+		PagedPublisher.of(reader, 1000, Runnable::run).subscribe(subscriber);
+		
+		assertEquals(10, subscriber.items.size());
+		assertEquals(1, reader.pages.get());
+		
+		subscriber.subscription.request(1500);
+		assertEquals(1510, subscriber.items.size());
+		assertEquals(2, reader.pages.get());
+		assertFalse(subscriber.completed);
+		
+		subscriber.subscription.request(Long.MAX_VALUE);
+		subscriber.subscription.request(Long.MAX_VALUE);
+		assertEquals(2500, subscriber.items.size());
+		assertEquals(3, reader.pages.get());
+		assertTrue(subscriber.completed);
+		assertNull(subscriber.error);
+	}
+	
+	@Test
+	public void projections_areAppliedLazily_and_emptyResultsDoNotConsumeDemand() {
+		AtomicInteger projected = new AtomicInteger();
+		RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(5);
+		PagedPublisher.of(new GeneratingReader(100), 50, Runnable::run)
+				.map(person -> {
+					projected.incrementAndGet();
+					return person.getAddress();
+				})
+				.map(Address::getNumber)
+				.filter(number -> number % 2 == 0)
+				.subscribe(subscriber);
+		
+		//0 no tiene 'Address' (se descarta); 2, 4, 6, 8 y 12 son pares ('10' tampoco tiene 'Address').
+		assertEquals(List.of(2, 4, 6, 8, 12), subscriber.items);
+		assertEquals(13, projected.get());
+	}
+	
+	@Test
+	public void cancel_stopsReading() throws Exception {
+		GeneratingReader reader = new GeneratingReader(1_000_000);
+		RecordingSubscriber<Person> subscriber = new RecordingSubscriber<Person>(Long.MAX_VALUE) {
+			
+			@Override
+			public void onNext(Person item) {
+				super.onNext(item);
+				if (super.items.size() == 1500) {
+					super.subscription.cancel();
+				}
+			}
+		};
+		PagedPublisher.of(reader, PAGE_SIZE, executor).subscribe(subscriber);
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		
+		assertEquals(1500, subscriber.items.size());
+		assertEquals(2, reader.pages.get());
+		assertFalse(subscriber.completed);
+		
+		subscriber.subscription.request(10);
+		assertEquals(1500, subscriber.items.size());
+	}
+	
+	@Test
+	public void requestInsideOnSubscribe_deliversNothingUntilOnSubscribeReturns() throws Exception {
+		ExecutorService pool = Executors.newCachedThreadPool();
+		try {
+			AtomicInteger overlapping = new AtomicInteger();
+			RecordingSubscriber<Person> subscriber = new RecordingSubscriber<Person>(Long.MAX_VALUE) {
+				
+				private volatile boolean subscribing;
+				
+				@Override
+				public void onSubscribe(Flow.Subscription subscription) {
+					subscribing = true;
+					super.onSubscribe(subscription);
+					//Da tiempo a que otro hilo del 'executor' empiece a entregar si se lo permitiera.
+					LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+					subscribing = false;
+				}
+				
+				@Override
+				public void onNext(Person item) {
+					if (subscribing) {
+						overlapping.incrementAndGet();
+					}
+					super.onNext(item);
+				}
+			};
+			PagedPublisher.of(new GeneratingReader(100), 10, pool).subscribe(subscriber);
+			pool.shutdown();
+			assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+			
+			assertEquals(0, overlapping.get());
+			assertEquals(100, subscriber.items.size());
+			assertTrue(subscriber.completed);
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void invalidRequest_and_readerErrors_areSignalled() {
+		RecordingSubscriber<Person> invalid = new RecordingSubscriber<>(0);
+		PagedPublisher.of(new GeneratingReader(10), 5, Runnable::run).subscribe(invalid);
+		assertTrue(invalid.error instanceof IllegalArgumentException);
+		
+		RecordingSubscriber<Person> failing = new RecordingSubscriber<>(1);
+		PagedPublisher.<Person>of((offset, limit) -> {
+			throw new IllegalStateException("Almacén no disponible");
+		}, 5, Runnable::run).subscribe(failing);
+		assertEquals("Almacén no disponible", failing.error.getMessage());
+		assertTrue(failing.items.isEmpty());
+	}
+	
+	@Test
+	public void projectionErrors_areSignalled_and_subscriberErrors_cancel() throws Exception {
+		GeneratingReader reader = new GeneratingReader(10_000);
+		RecordingSubscriber<Integer> failing = new RecordingSubscriber<>(Long.MAX_VALUE);
+		PagedPublisher.of(reader, PAGE_SIZE, executor)
+				.map(person -> person.getAddress().getNumber())
+				.subscribe(failing);
+		
+		//La primera 'Person' no tiene 'Address': 'onError()' y no se lee ninguna página más.
+		executor.submit(() -> { }).get(10, TimeUnit.SECONDS);
+		assertTrue(failing.error instanceof NullPointerException);
+		assertTrue(failing.items.isEmpty());
+		assertEquals(1, reader.pages.get());
+		
+		//La suscripción ha terminado, pero el 'executor' sigue atendiendo a las demás.
+		failing.subscription.request(10);
+		RecordingSubscriber<Person> other = new RecordingSubscriber<>(5);
+		PagedPublisher.of(reader, PAGE_SIZE, executor).subscribe(other);
+		executor.submit(() -> { }).get(10, TimeUnit.SECONDS);
+		assertEquals(5, other.items.size());
+		
+		RecordingSubscriber<Person> throwing = new RecordingSubscriber<Person>(Long.MAX_VALUE) {
+			
+			@Override
+			public void onNext(Person item) {
+				super.onNext(item);
+				throw new IllegalStateException("Suscriptor roto");
+			}
+		};
+		List<Throwable> uncaught = new ArrayList<>();
+		PagedPublisher.of(new GeneratingReader(10_000), PAGE_SIZE, command -> {
+			try {
+				command.run();
+			}
+			catch (RuntimeException e) {
+				uncaught.add(e);
+			}
+		}).subscribe(throwing);
+		assertEquals(1, throwing.items.size());
+		assertEquals("Suscriptor roto", uncaught.get(0).getMessage());
+		throwing.subscription.request(10);
+		assertEquals(1, throwing.items.size());
+		assertEquals(1, uncaught.size());
+	}
+	
+	@Test
+	public void personRepository_publishAll() {
+		PersonRepository repository = new PersonRepository();
+		List<String> names = IntStream.range(0, 2500).mapToObj(i -> "Person" + i).collect(Collectors.toList());
+		names.forEach(name -> repository.save(new Person(name, null, null)));
+		
+		RecordingSubscriber<String> subscriber = new RecordingSubscriber<>(Long.MAX_VALUE);
+		repository.publishAll(1000, Runnable::run).map(Person::getName).subscribe(subscriber);
+		
+		assertEquals(names, subscriber.items);
+		assertTrue(subscriber.completed);
+		assertEquals(500, repository.findPage(2000, 1000).size());
+		assertTrue(repository.findPage(3000, 1000).isEmpty());
+	}
+}
@@ -0,0 +1,87 @@
+package net.atopecode.optionals.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.render.ModelRenderer.Format;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class ModelRendererUnitTest {
+	
+	private PersonRepository personRepository;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+	}
+	
+	//Formato de los 'toString()' anteriores (concatenando los 'toString()' anidados).
+	private static String concatenated(Person person) {
+		Address address = person.getAddress();
+		State state = (address != null) ? address.getState() : null;
+		String stateText = (state != null) ? "State [name=" + state.getName() + ", code=" + state.getCode() + "]" : null;
+		String addressText = (address != null)
+				? "Address [street=" + address.getStreet() + ", number=" + address.getNumber() + ", state=" + stateText + "]" : null;
+		return "Person [name=" + person.getName() + ", email=" + person.getEmail() + ", address=" + addressText + "]";
+	}
+	
+	@Test
+	public void bracketed_sameTextAsConcatenation() {
+		for (Person person : new Person[] {personRepository.getPersonTest(), personRepository.getPersonWithAddressNull(),
+				personRepository.getPersonWithStateNull(), new Person(), new Person("A", null, new Address(null, null, new State(null, null)))}) {
+			assertEquals(concatenated(person), ModelRenderer.toString(person, Format.BRACKETED));
+			assertEquals(concatenated(person), person.toString());
+		}
+		assertEquals("null", ModelRenderer.toString((Person) null, Format.BRACKETED));
+		assertEquals("State [name=State1, code=12345]", personRepository.getPersonTest().getAddress().getState().toString());
+	}
+	
+	@Test
+	public void json_repositoryShapes() {
+		assertEquals("{\"name\":\"Fulano\",\"email\":\"fulano@email.es\",\"address\":{\"street\":\"Street1\",\"number\":55,"
+				+ "\"state\":{\"name\":\"State1\",\"code\":12345}}}", ModelRenderer.toString(personRepository.getPersonTest(), Format.JSON));
+		assertEquals("{\"name\":\"Fulano\",\"email\":\"fulano@email.es\",\"address\":null}",
+				ModelRenderer.toString(personRepository.getPersonWithAddressNull(), Format.JSON));
+		assertEquals("{\"street\":\"Street1\",\"number\":55,\"state\":null}",
+				ModelRenderer.toString(personRepository.getPersonWithStateNull().getAddress(), Format.JSON));
+		assertEquals("{\"name\":null,\"code\":null}", ModelRenderer.toString(new State(null, null), Format.JSON));
+	}
+	
+	@Test
+	public void json_escapesStrings() {
+		Person person = new Person("Ana \"la\" \\ Ñ\n\u0001", null, null);
+		assertEquals("{\"name\":\"Ana \\\"la\\\" \\\\ Ñ\\n\\u0001\",\"email\":null,\"address\":null}",
+				ModelRenderer.toString(person, Format.JSON));
+	}
+	
+	@Test
+	public void append_reusesCallerBuilder_and_otherTargets() throws Exception {
+		Person person = personRepository.getPersonTest();
+		StringBuilder builder = new StringBuilder("log: ");
+		assertSame(builder, ModelRenderer.append(builder, person, Format.BRACKETED));
+		assertEquals("log: " + person, builder.toString());
+		
+		StringWriter writer = new StringWriter();
+		ModelRenderer.append(writer, person, Format.JSON);
+		assertEquals(ModelRenderer.toString(person, Format.JSON), writer.toString());
+		
+		Person unicode = new Person("Ñandú 😀", null, null);
+		ByteBuffer buffer = ByteBuffer.allocate(128);
+		ModelRenderer.append(buffer, unicode, Format.JSON);
+		assertEquals(ModelRenderer.toString(unicode, Format.JSON),
+				new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+		assertThrows(BufferOverflowException.class, () -> ModelRenderer.append(ByteBuffer.allocate(8), person, Format.JSON));
+	}
+}
@@ -0,0 +1,161 @@
+package net.atopecode.optionals.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.ImmutablePerson;
+import net.atopecode.optionals.model.Person;
+
+public class CachingPersonSourceUnitTest {
+	
+	private PersonRepository personRepository;
+	
+	private CountingSource source;
+	
+	private AtomicLong nanos;
+	
+	private CachingPersonSource cachingSource;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+		personRepository.save(personRepository.getPersonTest());
+		personRepository.save(personRepository.getPersonWithStateNull());
+		source = new CountingSource(personRepository);
+		nanos = new AtomicLong();
+		cachingSource = new CachingPersonSource(source, 100, Duration.ofMinutes(10), Duration.ofSeconds(30), nanos::get, Runnable::run);
+	}
+	
+	@Test
+	public void findById_hit_miss_and_negativeCaching() {
+		ImmutablePerson person = cachingSource.findSnapshotById(0).get();
+		assertSame(person, cachingSource.findSnapshotById(0).get());
+		assertEquals(1, source.loads.get());
+		
+		assertTrue(cachingSource.findById(7).isEmpty());
+		assertTrue(cachingSource.findById(7).isEmpty());
+		assertEquals(2, source.loads.get());
+		
+		assertEquals(2, cachingSource.stats().hitCount());
+		assertEquals(2, cachingSource.stats().missCount());
+		assertEquals(2, cachingSource.count());
+	}
+	
+	@Test
+	public void findById_returnsCopies_soCallersDoNotSeeEachOthersChanges() {
+		Person first = cachingSource.findById(0).get();
+		first.setName("Otro");
+		first.getAddress().getState().setCode(null);
+		
+		Person second = cachingSource.findById(0).get();
+		assertNotSame(first, second);
+		assertEquals(personRepository.getPersonTest().getName(), second.getName());
+		assertEquals(12345, second.getAddress().getState().getCode());
+		assertEquals(12345, cachingSource.findSnapshotById(0).get().getAddress().getState().getCode());
+		assertEquals(1, source.loads.get());
+	}
+	
+	@Test
+	public void findById_expiresPresentAndEmptyWithDifferentTtl() {
+		cachingSource.findById(0);
+		cachingSource.findById(7);
+		
+		//Pasado el TTL negativo solo se vuelve a cargar el fallo.
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+		cachingSource.findById(0);
+		cachingSource.findById(7);
+		assertEquals(3, source.loads.get());
+		
+		nanos.addAndGet(TimeUnit.MINUTES.toNanos(10));
+		cachingSource.findById(0);
+		assertEquals(4, source.loads.get());
+		
+		cachingSource.invalidate(0);
+		cachingSource.findById(0);
+		assertEquals(5, source.loads.get());
+	}
+	
+	@Test
+	public void findById_evictsBeyondMaximumSize() {
+		CachingPersonSource small = new CachingPersonSource(source, 10, Duration.ofMinutes(10), Duration.ofMinutes(10), nanos::get, Runnable::run);
+		for (int id = 0; id < 100; id++) {
+			small.findById(id);
+		}
+		small.findById(0);
+		assertTrue(small.estimatedSize() <= 10);
+		assertTrue(small.stats().evictionCount() >= 90);
+	}
+	
+	@Test
+	public void findById_concurrentMissesAreCoalesced() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountingSource blocking = new CountingSource(personRepository) {
+			@Override
+			public Optional<Person> findById(int id) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return super.findById(id);
+			}
+		};
+		CachingPersonSource caching = new CachingPersonSource(blocking, 100, Duration.ofMinutes(10), Duration.ofMinutes(10));
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Optional<Person>>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(() -> caching.findById(0)));
+			}
+			Thread.sleep(100);
+			release.countDown();
+			for (Future<Optional<Person>> result : results) {
+				assertTrue(result.get().isPresent());
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, blocking.loads.get());
+	}
+	
+	private static class CountingSource implements PersonSource {
+		
+		private final PersonSource delegate;
+		
+		private final AtomicInteger loads = new AtomicInteger();
+		
+		private CountingSource(PersonSource delegate) {
+			this.delegate = delegate;
+		}
+		
+		@Override
+		public Optional<Person> findById(int id) {
+			loads.incrementAndGet();
+			return delegate.findById(id);
+		}
+		
+		@Override
+		public int count() {
+			return delegate.count();
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package net.atopecode.optionals.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+
+public class PersonRepositoryUnitTest {
+	
+	private PersonRepository personRepository;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+	}
+	
+	@Test
+	public void save_and_findByIndexes() {
+		int full = personRepository.save(personRepository.getPersonTest());
+		int addressNull = personRepository.save(personRepository.getPersonWithAddressNull());
+		int stateNull = personRepository.save(personRepository.getPersonWithStateNull());
+		Person other = new Person("Mengano", "mengano@email.es", new Address("Street2", 1, new State("State2", 7)));
+		personRepository.save(other);
+		
+		assertEquals(4, personRepository.count());
+		assertEquals(0, full);
+		assertSame(other, personRepository.findByEmail("mengano@email.es").get());
+		assertTrue(personRepository.findByEmail("none@email.es").isEmpty());
+		//Varias 'Person' con el mismo email: 'findByEmail()' devuelve la primera.
+		assertSame(personRepository.findById(full).get(), personRepository.findByEmail("fulano@email.es").get());
+		assertEquals(3, personRepository.findAllByEmail("fulano@email.es").count());
+		
+		assertEquals(List.of(personRepository.findById(full).get()), personRepository.findByStateCode(12345).collect(Collectors.toList()));
+		assertEquals(0, personRepository.findByStateCode(1).count());
+		assertEquals(List.of(personRepository.findById(addressNull).get(), personRepository.findById(stateNull).get()),
+				personRepository.findWithoutStateCode().collect(Collectors.toList()));
+		
+		assertEquals(3, personRepository.findByStreetPrefix("Street").count());
+		assertEquals(List.of(other), personRepository.findByStreetPrefix("Street2").collect(Collectors.toList()));
+		assertEquals(0, personRepository.findByStreetPrefix("Avenue").count());
+	}
+	
+	@Test
+	public void findByStreetPrefix_maxValueCharacters_and_nullPrefix() {
+		String max = String.valueOf(Character.MAX_VALUE);
+		Person last = new Person("Fulano", "fulano@email.es", new Address("Street" + max, 1, null));
+		Person lastTwice = new Person("Fulano", "fulano@email.es", new Address("Street" + max + max + "x", 1, null));
+		Person next = new Person("Fulano", "fulano@email.es", new Address("Streeu", 1, null));
+		personRepository.save(personRepository.getPersonTest());
+		personRepository.save(last);
+		personRepository.save(lastTwice);
+		personRepository.save(next);
+		
+		assertEquals(3, personRepository.findByStreetPrefix("Street").count());
+		assertEquals(List.of(last, lastTwice), personRepository.findByStreetPrefix("Street" + max).collect(Collectors.toList()));
+		assertEquals(List.of(lastTwice), personRepository.findByStreetPrefix("Street" + max + max).collect(Collectors.toList()));
+		assertEquals(4, personRepository.findByStreetPrefix("").count());
+		assertEquals("Streeu", PersonRepository.successor("Street" + max + max));
+		assertNull(PersonRepository.successor(max));
+		assertThrows(IllegalArgumentException.class, () -> personRepository.findByStreetPrefix(null));
+	}
+	
+	@Test
+	public void update_keepsIndexesConsistent() {
+		int id = personRepository.save(personRepository.getPersonTest());
+		Person updated = new Person("Fulano", "new@email.es", new Address("Avenue1", 2, new State("State3", 3)));
+		personRepository.update(id, updated);
+		
+		assertTrue(personRepository.findByEmail("fulano@email.es").isEmpty());
+		assertSame(updated, personRepository.findByEmail("new@email.es").get());
+		assertEquals(0, personRepository.findByStateCode(12345).count());
+		assertEquals(1, personRepository.findByStateCode(3).count());
+		assertEquals(0, personRepository.findByStreetPrefix("Street").count());
+		
+		personRepository.update(id, personRepository.getPersonWithAddressNull());
+		assertEquals(1, personRepository.findWithoutStateCode().count());
+		assertEquals(0, personRepository.findByStateCode(3).count());
+		
+		assertThrows(IllegalArgumentException.class, () -> personRepository.update(5, updated));
+	}
+	
+	@Test
+	public void concurrentWriters_then_indexesMatchData() throws Exception {
+		int threads = 4;
+		int perThread = 2000;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				results.add(executor.submit(() -> {
+					for (int i = 0; i < perThread; i++) {
+						int code = i % 10;
+						int id = personRepository.save(new Person("Name", thread + "-" + i + "@email.es",
+								new Address("Street" + code, i, new State("State" + code, code))));
+						if (i % 2 == 0) {
+							personRepository.update(id, new Person("Name", thread + "-" + i + "@email.es", null));
+						}
+						personRepository.findByStateCode(code).count();
+					}
+				}));
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		
+		int total = threads * perThread;
+		assertEquals(total, personRepository.count());
+		assertEquals(total / 2, personRepository.findWithoutStateCode().count());
+		long withCode = 0;
+		for (int code = 0; code < 10; code++) {
+			withCode += personRepository.findByStateCode(code).count();
+		}
+		assertEquals(total / 2, withCode);
+		assertEquals(total / 2, personRepository.findByStreetPrefix("Street").count());
+		assertTrue(personRepository.findByEmail("3-1999@email.es").isPresent());
+	}
+}
@@ -0,0 +1,159 @@
+package net.atopecode.optionals.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.ImmutableAddress;
+import net.atopecode.optionals.model.ImmutablePerson;
+import net.atopecode.optionals.model.ImmutableState;
+import net.atopecode.optionals.model.Person;
+
+public class VersionedPersonRepositoryUnitTest {
+	
+	private PersonRepository personRepository;
+	
+	private VersionedPersonRepository versionedRepository;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+		versionedRepository = new VersionedPersonRepository();
+	}
+	
+	//Todos los campos dependen de 'k': una 'Person' a medio modificar tendría valores de dos 'k' distintos.
+	private static ImmutablePerson consistent(int k) {
+		return ImmutablePerson.of("Name" + k, "name" + k + "@email.es", ImmutableAddress.of("Street" + k, k, ImmutableState.of("State" + k, k)));
+	}
+	
+	private static int k(ImmutablePerson person) {
+		return Integer.parseInt(person.getName().substring("Name".length()));
+	}
+	
+	private static String inconsistency(ImmutablePerson person) {
+		int k = k(person);
+		ImmutableAddress address = person.getAddress();
+		boolean ok = person.getEmail().equals("name" + k + "@email.es")
+				&& address.getStreet().equals("Street" + k)
+				&& address.getNumberAsInt() == k
+				&& address.getState().getName().equals("State" + k)
+				&& address.getState().getCodeAsInt() == k;
+		return ok ? null : person.toString();
+	}
+	
+	@Test
+	public void save_update_and_versions() {
+		int id = versionedRepository.save(personRepository.getPersonTest());
+		PersonVersion first = versionedRepository.findVersion(id).get();
+		assertEquals(1, first.getVersion());
+		
+		PersonVersion second = versionedRepository.update(id, person -> person.withAddress(person.getAddress().withState(null)));
+		assertEquals(2, second.getVersion());
+		assertEquals(12345, first.getPerson().getAddress().getState().getCodeAsInt());
+		assertNull(versionedRepository.findSnapshot(id).get().getAddress().getState());
+		
+		assertTrue(versionedRepository.compareAndSet(id, 1, consistent(1)).isEmpty());
+		assertEquals(3, versionedRepository.compareAndSet(id, 2, consistent(1)).get().getVersion());
+		
+		//'findById()' devuelve una copia: modificarla no cambia el repositorio.
+		Person copy = versionedRepository.findById(id).get();
+		copy.setName("Modified");
+		assertNotSame(copy, versionedRepository.findById(id).get());
+		assertEquals("Name1", versionedRepository.findSnapshot(id).get().getName());
+		
+		assertThrows(IllegalArgumentException.class, () -> versionedRepository.update(99, person -> person));
+		assertTrue(versionedRepository.delete(id));
+		assertFalse(versionedRepository.findVersion(id).isPresent());
+		assertEquals(0, versionedRepository.count());
+	}
+	
+	//Prueba de estrés: escritores que publican versiones nuevas y lectores que comprueban que nunca ven una 'Person'
+	//incoherente ni una versión anterior a otra que ya habían visto, y que no se pierde ninguna actualización.
+	@Test
+	public void stress_readersSeeConsistentSnapshots_andNoUpdateIsLost() throws Exception {
+		int ids = 8;
+		int writers = 2;
+		int updatesPerWriter = 20000;
+		int readers = 4;
+		for (int i = 0; i < ids; i++) {
+			versionedRepository.save(consistent(0));
+		}
+		AtomicBoolean running = new AtomicBoolean(true);
+		ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+		AtomicLong reads = new AtomicLong();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int w = 0; w < writers; w++) {
+			int writer = w;
+			threads.add(new Thread(() -> {
+				await(start);
+				for (int i = 0; i < updatesPerWriter; i++) {
+					versionedRepository.update((writer + i) % ids, person -> consistent(k(person) + 1));
+				}
+			}));
+		}
+		List<Thread> readerThreads = new ArrayList<>();
+		for (int r = 0; r < readers; r++) {
+			readerThreads.add(new Thread(() -> {
+				long[] lastVersion = new long[ids];
+				await(start);
+				while (running.get()) {
+					for (int id = 0; id < ids; id++) {
+						PersonVersion version = versionedRepository.findVersion(id).get();
+						String inconsistency = inconsistency(version.getPerson());
+						if (inconsistency != null) {
+							errors.add("Incoherente: " + inconsistency);
+						}
+						if (version.getVersion() < lastVersion[id] || version.getVersion() != k(version.getPerson()) + 1) {
+							errors.add("Versión inesperada: " + version);
+						}
+						lastVersion[id] = version.getVersion();
+						reads.incrementAndGet();
+					}
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		readerThreads.forEach(Thread::start);
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		running.set(false);
+		for (Thread thread : readerThreads) {
+			thread.join();
+		}
+		
+		assertTrue(errors.isEmpty(), () -> errors.size() + " errores, p.ej.: " + errors.peek());
+		assertTrue(reads.get() > 0);
+		long total = 0;
+		for (int id = 0; id < ids; id++) {
+			PersonVersion version = versionedRepository.findVersion(id).get();
+			assertNull(inconsistency(version.getPerson()));
+			total += k(version.getPerson());
+		}
+		assertEquals(writers * updatesPerWriter, total);
+	}
+	
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
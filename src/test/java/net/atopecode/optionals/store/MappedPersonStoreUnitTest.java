@@ -0,0 +1,121 @@
+package net.atopecode.optionals.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class MappedPersonStoreUnitTest {
+	
+	@TempDir
+	Path tempDir;
+	
+	private PersonRepository personRepository;
+	
+	private List<Person> persons;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+		persons = Arrays.asList(
+				personRepository.getPersonTest(),
+				personRepository.getPersonWithAddressNull(),
+				personRepository.getPersonWithStateNull(),
+				new Person(null, "ñandú@email.es", new Address(null, null, new State("Coruña", null))));
+	}
+	
+	@Test
+	public void writeAndOpen_then_sameValues() throws IOException {
+		Path file = tempDir.resolve("persons.bin");
+		MappedPersonStore.write(file, persons);
+		
+		try (MappedPersonStore store = MappedPersonStore.open(file)) {
+			assertEquals(persons.size(), store.count());
+			for (int i = 0; i < persons.size(); i++) {
+				assertEquals(persons.get(i).toString(), store.get(i).toString());
+			}
+			assertTrue(store.findById(4).isEmpty());
+			assertTrue(store.findById(-1).isEmpty());
+		}
+	}
+	
+	@Test
+	public void readOnlyEmail_then_addressNotDecoded() throws IOException {
+		Path file = tempDir.resolve("persons.bin");
+		MappedPersonStore.write(file, persons);
+		
+		try (MappedPersonStore store = MappedPersonStore.open(file)) {
+			MappedPersonView person = store.get(0);
+			assertEquals("fulano@email.es", person.getOptionalEmail().orElse(null));
+			assertFalse(person.isAddressDecoded());
+			
+			assertEquals(12345, person.getAddress().getState().getCodeAsInt());
+			assertTrue(person.isAddressDecoded());
+			assertNull(store.get(2).getAddress().getState());
+			assertThrows(UnsupportedOperationException.class, () -> person.setName("Other"));
+		}
+	}
+	
+	@Test
+	public void decodedAddressAndState_areReadOnly() throws IOException {
+		Path file = tempDir.resolve("persons.bin");
+		MappedPersonStore.write(file, persons);
+		
+		try (MappedPersonStore store = MappedPersonStore.open(file)) {
+			Address address = store.get(0).getAddress();
+			assertThrows(UnsupportedOperationException.class, () -> address.setStreet("Other"));
+			assertThrows(UnsupportedOperationException.class, () -> address.setNumber(1));
+			assertThrows(UnsupportedOperationException.class, () -> address.setState(null));
+			assertThrows(UnsupportedOperationException.class, () -> address.getState().setCode(1));
+			assertEquals(12345, store.get(0).getAddress().getState().getCodeAsInt());
+			
+			//La copia sí se puede modificar y no cambia el registro.
+			Address copy = ((MappedPersonView.MappedAddress) address).toAddress();
+			copy.setStreet("Other");
+			copy.getState().setCode(1);
+			assertEquals(1, copy.getState().getCodeAsInt());
+			assertEquals(persons.get(0).getAddress().getStreet(), store.get(0).getAddress().getStreet());
+			assertEquals("ñandú@email.es", store.get(3).getEmail());
+		}
+	}
+	
+	@Test
+	public void reopen_largeStore() throws IOException {
+		List<Person> many = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			many.add(new Person("Name" + i, "name" + i + "@email.es", new Address("Street" + i, i, new State("State", i % 50))));
+		}
+		Path file = tempDir.resolve("many.bin");
+		MappedPersonStore.write(file, many);
+		
+		try (MappedPersonStore store = MappedPersonStore.open(file)) {
+			assertEquals(10_000, store.count());
+			assertEquals("Street9999", store.get(9999).getAddress().getStreet());
+			assertEquals(49, store.get(9999).getAddress().getState().getCodeAsInt());
+		}
+	}
+	
+	@Test
+	public void open_invalidFile_then_IllegalArgumentException() throws IOException {
+		Path file = tempDir.resolve("invalid.bin");
+		Files.write(file, new byte[32]);
+		assertThrows(IllegalArgumentException.class, () -> MappedPersonStore.open(file));
+	}
+}
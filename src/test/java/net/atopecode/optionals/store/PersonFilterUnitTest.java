@@ -0,0 +1,120 @@
+package net.atopecode.optionals.store;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+
+public class PersonFilterUnitTest {
+	
+	//No es múltiplo de 64 para que el último bloque esté incompleto.
+	private static final int SIZE = 1000;
+	
+	private List<Person> persons;
+	
+	private PersonStore store;
+	
+	@BeforeEach
+	public void init() {
+		SplittableRandom random = new SplittableRandom(7);
+		persons = new ArrayList<>();
+		store = new PersonStore(16);
+		for (int i = 0; i < SIZE; i++) {
+			Address address = null;
+			int shape = random.nextInt(6);
+			if (shape > 0) {
+				State state = (shape > 1) ? new State("State", (shape > 2) ? 100 + random.nextInt(20) : null) : null;
+				address = new Address("Street", (shape != 3) ? random.nextInt(50) - 10 : null, state);
+			}
+			Person person = new Person("Fulano", "fulano@email.es", address);
+			persons.add(person);
+			store.add(person);
+		}
+	}
+	
+	@Test
+	public void select_sameRowsAsOptionalChains() {
+		Set<Integer> codes = Set.of(101, 105, 119, 5000);
+		Selection selection = store.filter().stateCodeIn(101, 105, 119, 5000).numberBetween(-3, 20).select();
+		
+		int[] expected = expectedRows(person -> stateCode(person).filter(codes::contains).isPresent()
+				&& number(person).filter(number -> number >= -3 && number <= 20).isPresent());
+		assertTrue(expected.length > 0);
+		assertEquals(SIZE, selection.size());
+		assertEquals(expected.length, selection.cardinality());
+		assertArrayEquals(expected, selection.rows());
+	}
+	
+	@Test
+	public void select_singlePredicates() {
+		assertArrayEquals(expectedRows(person -> stateCode(person).filter(code -> code == 110).isPresent()),
+				store.filter().stateCodeIn(110).select().rows());
+		assertArrayEquals(expectedRows(person -> number(person).filter(number -> number < 0).isPresent()),
+				store.filter().numberBetween(Integer.MIN_VALUE, -1).select().rows());
+		
+		//Sin predicados se seleccionan todas las filas.
+		assertEquals(SIZE, store.filter().select().cardinality());
+	}
+	
+	@Test
+	public void select_sparseCodes_useBinarySearch() {
+		Selection selection = store.filter().stateCodeIn(Integer.MIN_VALUE, 102, Integer.MAX_VALUE).select();
+		
+		assertArrayEquals(expectedRows(person -> stateCode(person).filter(code -> code == 102).isPresent()), selection.rows());
+	}
+	
+	@Test
+	public void select_emptyPredicates_selectNothing() {
+		assertTrue(store.filter().stateCodeIn().select().isEmpty());
+		assertTrue(store.filter().numberBetween(10, 5).select().isEmpty());
+		assertTrue(new PersonStore().filter().select().isEmpty());
+	}
+	
+	@Test
+	public void selection_andOr() {
+		Selection byCode = store.filter().stateCodeIn(100, 101, 102).select();
+		Selection byNumber = store.filter().numberBetween(0, 9).select();
+		
+		assertArrayEquals(store.filter().stateCodeIn(100, 101, 102).numberBetween(0, 9).select().rows(),
+				byCode.and(byNumber).rows());
+		int[] union = IntStream.range(0, SIZE).filter(row -> byCode.get(row) || byNumber.get(row)).toArray();
+		assertArrayEquals(union, byCode.or(byNumber).rows());
+		assertFalse(byCode.or(byNumber).isEmpty());
+		
+		assertThrows(IllegalArgumentException.class, () -> byCode.and(new PersonStore().filter().select()));
+		assertThrows(IndexOutOfBoundsException.class, () -> byCode.get(SIZE));
+	}
+	
+	private int[] expectedRows(Predicate<Person> predicate) {
+		return IntStream.range(0, SIZE).filter(row -> predicate.test(persons.get(row))).toArray();
+	}
+	
+	private static Optional<Integer> stateCode(Person person) {
+		return Optional.ofNullable(person)
+				.flatMap(Person::getOptionalAddress)
+				.flatMap(Address::getOptionalState)
+				.flatMap(State::getOptionalCode);
+	}
+	
+	private static Optional<Integer> number(Person person) {
+		return Optional.ofNullable(person)
+				.flatMap(Person::getOptionalAddress)
+				.flatMap(Address::getOptionalNumber);
+	}
+}
@@ -0,0 +1,96 @@
+package net.atopecode.optionals.store;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class PersonStoreUnitTest {
+	
+	private PersonRepository personRepository;
+	
+	private PersonStore store;
+	
+	@BeforeEach
+	public void init() {
+		personRepository = new PersonRepository();
+		store = new PersonStore(2);
+		store.add(personRepository.getPersonTest());
+		store.add(personRepository.getPersonWithAddressNull());
+		store.add(personRepository.getPersonWithStateNull());
+	}
+	
+	@Test
+	public void views_sameValuesAsObjectGraph() {
+		assertEquals(3, store.size());
+		assertEquals(personRepository.getPersonTest().toString(), store.get(0).toString());
+		assertEquals(personRepository.getPersonWithAddressNull().toString(), store.get(1).toString());
+		assertEquals(personRepository.getPersonWithStateNull().toString(), store.get(2).toString());
+	}
+	
+	@Test
+	public void views_workWithOptionalChains() {
+		Integer stateCode = Optional.ofNullable((Person) store.get(0))
+				.flatMap(Person::getOptionalAddress)
+				.flatMap(Address::getOptionalState)
+				.flatMap(State::getOptionalCode)
+				.orElseGet(() -> null);
+		assertEquals(12345, stateCode);
+		
+		String stateName = Optional.ofNullable((Person) store.get(2))
+				.map(Person::getAddress)
+				.map(Address::getState)
+				.map(State::getName)
+				.orElseGet(() -> null);
+		assertNull(stateName);
+		assertTrue(store.get(1).getOptionalAddress().isEmpty());
+	}
+	
+	@Test
+	public void view_moveTo_reusesSameObjects() {
+		PersonView view = store.view().moveTo(0);
+		Address address = view.getAddress();
+		
+		view.moveTo(2);
+		assertSame(address, view.getAddress());
+		assertNull(address.getState());
+		
+		assertThrows(IndexOutOfBoundsException.class, () -> view.moveTo(3));
+	}
+	
+	@Test
+	public void views_areReadOnly_and_toPersonCopies() {
+		PersonView view = store.get(0);
+		assertThrows(UnsupportedOperationException.class, () -> view.setName("Other"));
+		assertThrows(UnsupportedOperationException.class, () -> view.getAddress().getState().setCode(1));
+		
+		Person copy = view.toPerson();
+		copy.setName("Other");
+		assertEquals("Fulano", view.getName());
+		assertEquals(view.getAddress().getState().getCode(), copy.getAddress().getState().getCode());
+	}
+	
+	@Test
+	public void findByStateCode_scansColumns() {
+		for (int i = 0; i < 100; i++) {
+			store.add(new Person("Name" + i, null, new Address("Street", i, new State("State", i % 4))));
+		}
+		
+		assertArrayEquals(new int[] {0}, store.findByStateCode(12345));
+		assertEquals(25, store.countByStateCode(3));
+		assertEquals(3 + 3, store.findByStateCode(3)[0]);
+		assertEquals(0, store.countByStateCode(-1));
+	}
+}
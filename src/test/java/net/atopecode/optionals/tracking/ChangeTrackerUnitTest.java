@@ -0,0 +1,256 @@
+package net.atopecode.optionals.tracking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.codec.ChangeCodec;
+import net.atopecode.optionals.codec.PersonCodec;
+import net.atopecode.optionals.ingest.IngestFormat;
+import net.atopecode.optionals.ingest.PersonIngester;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.ModelField;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+import net.atopecode.optionals.model.StateRegistry;
+import net.atopecode.optionals.repository.PersonRepository;
+
+public class ChangeTrackerUnitTest {
+	
+	private ChangeLog changeLog;
+	
+	private ChangeTracker tracker;
+	
+	private List<FieldChange> changes;
+	
+	@BeforeEach
+	public void init() {
+		changeLog = new ChangeLog();
+		tracker = new ChangeTracker(changeLog);
+		changes = new ArrayList<>();
+		changeLog.addListener(changes::add);
+	}
+	
+	private static Person newPerson() {
+		return new Person("Fulano", "fulano@email.es", new Address("Street1", 55, new State("State1", 12345)));
+	}
+	
+	@Test
+	public void setters_publishChangesWithRootPaths() {
+		Person person = newPerson();
+		tracker.track(person);
+		
+		person.setName("Mengano");
+		person.getAddress().setNumber(56);
+		person.getAddress().getState().setCode(null);
+		//Sin cambio de valor no se publica nada.
+		person.setEmail("fulano@email.es");
+		
+		assertEquals(List.of("name", "address.number", "address.state.code"), paths());
+		assertEquals("Fulano", changes.get(0).getOldValue());
+		assertEquals(56, changes.get(1).getNewValue());
+		assertEquals(12345, changes.get(2).getOldValue());
+		assertNull(changes.get(2).getNewValue());
+		assertTrue(changes.stream().allMatch(change -> change.getRoot() == person));
+		assertEquals(List.of(1L, 2L, 3L), changes.stream().map(FieldChange::getSequence).collect(Collectors.toList()));
+		
+		assertEquals(ModelField.PERSON_NAME.bit() | ModelField.ADDRESS_NUMBER.bit() | ModelField.STATE_CODE.bit(),
+				ChangeTracker.changedFields(person));
+		assertTrue(person.getAddress().isChanged(ModelField.ADDRESS_NUMBER));
+		ChangeTracker.clearChanges(person);
+		assertEquals(0, ChangeTracker.changedFields(person));
+	}
+	
+	@Test
+	public void replacedChildren_moveTracking() {
+		Person person = newPerson();
+		tracker.track(person);
+		Address oldAddress = person.getAddress();
+		State oldState = oldAddress.getState();
+		
+		person.setAddress(new Address("Street2", 1, null));
+		oldAddress.setStreet("Ignored");
+		oldState.setName("Ignored");
+		person.getAddress().setState(new State("State2", 2));
+		person.getAddress().getState().setName("State3");
+		
+		assertEquals(List.of("address", "address.state", "address.state.name"), paths());
+		assertNull(oldAddress.changeListener());
+		assertNull(oldState.changeListener());
+	}
+	
+	@Test
+	public void sharedState_publishesForEveryRoot() {
+		State shared = new State("State1", 12345);
+		Person first = new Person("First", null, new Address("Street1", 1, shared));
+		Person second = new Person("Second", null, new Address("Street2", 2, shared));
+		tracker.track(first);
+		tracker.track(second);
+		
+		shared.setName("Renamed");
+		assertEquals(2, changes.size());
+		assertTrue(changes.stream().anyMatch(change -> change.getRoot() == first));
+		assertTrue(changes.stream().anyMatch(change -> change.getRoot() == second));
+		
+		tracker.untrack(first);
+		shared.setName("Again");
+		assertEquals(3, changes.size());
+		assertEquals(second, changes.get(2).getRoot());
+		assertFalse(tracker.isTracked(first));
+		
+		tracker.untrack(second);
+		assertNull(shared.changeListener());
+		assertNull(second.changeListener());
+	}
+	
+	@Test
+	public void statesFromRepositoryIngestAndCodec_areTracked() throws IOException {
+		Person first = new PersonRepository().getPersonTest();
+		Person second = new PersonRepository().getPersonTest();
+		List<Person> ingested = new ArrayList<>();
+		new PersonIngester(IngestFormat.CSV).ingest(Channels.newChannel(new ByteArrayInputStream(
+				"Fulano,fulano@email.es,Street1,55,State1,12345\n".getBytes(StandardCharsets.UTF_8))), ingested::add);
+		Person decoded = PersonCodec.decode(encode(newPerson()));
+		
+		//Cada 'Person' tiene su propio 'State': otro 'ChangeTracker' puede seguir otra con el mismo código.
+		ChangeTracker other = new ChangeTracker(new ChangeLog());
+		tracker.track(first);
+		tracker.track(ingested.get(0));
+		tracker.track(decoded);
+		other.track(second);
+		
+		first.getAddress().getState().setName("Renamed");
+		ingested.get(0).getAddress().getState().setCode(1);
+		decoded.getAddress().getState().setName("Renamed");
+		second.getAddress().getState().setName("Other");
+		
+		assertEquals(List.of("address.state.name", "address.state.code", "address.state.name"), paths());
+		assertEquals(List.of(first, ingested.get(0), decoded), changes.stream().map(FieldChange::getRoot).collect(Collectors.toList()));
+		assertEquals(1, other.getChangeLog().published());
+		assertTrue(first.getAddress().getState().isChanged(ModelField.STATE_NAME));
+		assertTrue(ingested.get(0).getAddress().getState().isChanged(ModelField.STATE_CODE));
+		
+		tracker.untrack(first);
+		other.untrack(second);
+		assertNull(first.getAddress().getState().changeListener());
+		assertNull(second.getAddress().getState().changeListener());
+	}
+	
+	@Test
+	public void sharedStates_fromExplicitRegistry_areNotTracked() {
+		StateRegistry registry = new StateRegistry();
+		Person first = new Person("First", null, new Address("Street1", 1, registry.intern("State1", 12345)));
+		Person second = new Person("Second", null, new Address("Street2", 2, registry.intern("State1", 12345)));
+		State shared = first.getAddress().getState();
+		
+		//Dos 'ChangeTracker' pueden seguir 'Person' con el mismo 'State' compartido, y éste no retiene a ninguno.
+		ChangeTracker other = new ChangeTracker(new ChangeLog());
+		tracker.track(first);
+		other.track(second);
+		assertNull(shared.changeListener());
+		
+		//Se publica su sustitución, sólo para la raíz que lo cambia.
+		first.getAddress().setState(new State("State1", 12345));
+		first.getAddress().getState().setName("Renamed");
+		assertEquals(List.of("address.state", "address.state.name"), paths());
+		assertEquals(0, other.getChangeLog().published());
+		assertSame(shared, second.getAddress().getState());
+		
+		tracker.untrack(first);
+		other.untrack(second);
+		assertNull(first.getAddress().getState().changeListener());
+		assertNull(second.getAddress().changeListener());
+	}
+	
+	@Test
+	public void untrackedObjects_publishNothing_and_foreignListenerIsRejected() {
+		Person person = newPerson();
+		person.setName("Mengano");
+		assertEquals(0, person.getChangedFields());
+		assertEquals(0, changeLog.published());
+		
+		person.getAddress().setChangeListener((source, field, oldValue, newValue) -> { });
+		assertThrows(IllegalStateException.class, () -> tracker.track(person));
+	}
+	
+	@Test
+	public void deltas_rebuildReplica_and_areSmallerThanFullRecords() {
+		Person person = newPerson();
+		Person replica = PersonCodec.decode(encode(person));
+		ByteBuffer deltas = ByteBuffer.allocate(1024);
+		changeLog.addListener(change -> ChangeCodec.encode(change.getField(), change.getNewValue(), deltas));
+		tracker.track(person);
+		
+		person.setName("Mengano");
+		person.getAddress().setNumber(-7);
+		person.getAddress().getState().setName("Çàdiz");
+		person.getAddress().setState(null);
+		person.setAddress(new Address("Street9", 9, new State("State9", 9)));
+		person.getAddress().getState().setCode(10);
+		person.setEmail(null);
+		
+		int deltaBytes = 0;
+		for (FieldChange change : changes) {
+			deltaBytes += ChangeCodec.encodedSize(change.getField(), change.getNewValue());
+		}
+		assertEquals(deltaBytes, deltas.position());
+		deltas.flip();
+		while (deltas.hasRemaining()) {
+			ChangeCodec.apply(deltas, replica);
+		}
+		assertEquals(person.toString(), replica.toString());
+		
+		//Un cambio de 'number' ocupa 2 bytes; volver a publicar la 'Person' entera, decenas.
+		assertEquals(2, ChangeCodec.encodedSize(ModelField.ADDRESS_NUMBER, 56));
+		assertTrue(PersonCodec.encodedSize(person) > 10 * 2);
+	}
+	
+	@Test
+	public void apply_missingParent_throws() {
+		ByteBuffer delta = ByteBuffer.allocate(16);
+		ChangeCodec.encode(ModelField.STATE_CODE, 1, delta);
+		delta.flip();
+		assertThrows(IllegalStateException.class, () -> ChangeCodec.apply(delta, new Person("Fulano", null, null)));
+	}
+	
+	@Test
+	public void apply_toSharedState_replacesItWithACopy() {
+		StateRegistry registry = new StateRegistry();
+		Person replica = new Person("Fulano", null, new Address("Street1", 55, registry.intern("State1", 12345)));
+		Person other = new Person("Mengano", null, new Address("Street2", 1, registry.intern("State1", 12345)));
+		ByteBuffer delta = ByteBuffer.allocate(16);
+		ChangeCodec.encode(ModelField.STATE_CODE, 1, delta);
+		delta.flip();
+		
+		ChangeCodec.apply(delta, replica);
+		assertEquals(1, replica.getAddress().getState().getCodeAsInt());
+		assertFalse(replica.getAddress().getState().isShared());
+		assertSame(registry.get(12345), other.getAddress().getState());
+		assertEquals(12345, registry.get(12345).getCodeAsInt());
+	}
+	
+	private List<String> paths() {
+		return changes.stream().map(FieldChange::getPath).collect(Collectors.toList());
+	}
+	
+	private static ByteBuffer encode(Person person) {
+		ByteBuffer buffer = ByteBuffer.allocate(PersonCodec.encodedSize(person));
+		PersonCodec.encode(person, buffer);
+		return buffer.flip();
+	}
+}
@@ -0,0 +1,162 @@
+package net.atopecode.optionals.validation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import net.atopecode.optionals.generator.PersonGenerator;
+import net.atopecode.optionals.model.Address;
+import net.atopecode.optionals.model.ModelField;
+import net.atopecode.optionals.model.Person;
+import net.atopecode.optionals.model.State;
+
+public class PersonValidatorUnitTest {
+	
+	//Reglas de la carga de datos: email obligatorio y válido, número de calle positivo y código de 'State' en rango.
+	private final PersonValidator validator = new PersonRules()
+			.required(ModelField.PERSON_EMAIL)
+			.wellFormedEmail()
+			.between(ModelField.ADDRESS_NUMBER, 1, Integer.MAX_VALUE)
+			.between(ModelField.STATE_CODE, 10_000, 10_299)
+			.compile();
+	
+	@Test
+	public void validate_validPersons_nullableAddressAndState() {
+		assertTrue(validator.validate(person("fulano@email.es", 55, 10_000)).isEmpty());
+		assertTrue(validator.test(new Person("Fulano", "fulano@email.es", null)));
+		assertTrue(validator.test(new Person("Fulano", "fulano@email.es", new Address("Street1", null, null))));
+		assertTrue(validator.test(new Person(null, "fulano@email.es", new Address(null, 1, new State(null, null)))));
+	}
+	
+	@Test
+	public void validate_reportsAllViolationsWithPaths() {
+		List<Violation> violations = validator.validate(person("fulano@", -1, 99_999));
+		
+		assertEquals(List.of(
+				new Violation(ModelField.PERSON_EMAIL, ViolationType.MALFORMED, "fulano@"),
+				new Violation(ModelField.ADDRESS_NUMBER, ViolationType.OUT_OF_RANGE, -1),
+				new Violation(ModelField.STATE_CODE, ViolationType.OUT_OF_RANGE, 99_999)), violations);
+		assertEquals("address.state.code", violations.get(2).path());
+		assertEquals("address.number está fuera de rango (-1)", violations.get(1).toString());
+		
+		assertEquals(List.of(new Violation(ModelField.PERSON_EMAIL, ViolationType.REQUIRED, null)),
+				validator.validate(person(null, 1, 10_299)));
+	}
+	
+	@Test
+	public void validate_sameResultAsOptionalChains() {
+		PersonValidator strict = new PersonRules()
+				.required(ModelField.values())
+				.maxLength(ModelField.PERSON_NAME, 6)
+				.maxLength(ModelField.ADDRESS_STREET, 7)
+				.between(ModelField.ADDRESS_NUMBER, 0, 50)
+				.compile();
+		
+		for (Person person : shapes()) {
+			//Misma comprobación escrita con cadenas 'Optional' como en 'OptionalUnitTest'.
+			Optional<Address> address = Optional.ofNullable(person.getAddress());
+			Optional<State> state = address.map(Address::getState);
+			boolean expected = Optional.ofNullable(person.getName()).filter(name -> name.length() <= 6).isPresent()
+					&& Optional.ofNullable(person.getEmail()).isPresent()
+					&& address.map(Address::getStreet).filter(street -> street.length() <= 7).isPresent()
+					&& address.map(Address::getNumber).filter(number -> number >= 0 && number <= 50).isPresent()
+					&& state.map(State::getName).isPresent()
+					&& state.map(State::getCode).isPresent();
+			assertEquals(expected, strict.test(person), person.toString());
+		}
+		
+		Person empty = new Person(null, null, new Address(null, null, new State(null, null)));
+		assertEquals(6, strict.validate(empty).size());
+		assertEquals(List.of(new Violation(ModelField.PERSON_ADDRESS, ViolationType.REQUIRED, null)),
+				strict.validate(new Person("Fulano", "fulano@email.es", null)));
+	}
+	
+	@Test
+	public void validateAll_parallel_sameAsSequential() {
+		Person[] persons = new PersonGenerator(11).sharedStates(false).generate(3 * PersonValidator.BLOCK_SIZE + 100);
+		for (int i = 0; i < persons.length; i += 7) {
+			persons[i].setEmail("no-es-un-email");
+		}
+		List<Person> list = Arrays.asList(persons);
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			ValidationReport report = validator.validateAll(list, pool);
+			
+			int[] expected = IntStream.range(0, persons.length).filter(i -> !validator.test(persons[i])).toArray();
+			assertEquals(persons.length, report.size());
+			assertEquals(expected.length, report.invalidCount());
+			assertArrayEquals(expected, report.invalidIndexes());
+			assertEquals((persons.length + 6) / 7, report.count(ModelField.PERSON_EMAIL, ViolationType.MALFORMED));
+			assertFalse(report.isValid(7));
+			assertEquals(validator.validate(persons[7]), report.violations(7));
+			assertTrue(report.violations(1).isEmpty());
+		}
+		finally {
+			pool.shutdown();
+		}
+		assertEquals(0, validator.validateAll(List.of()).size());
+	}
+	
+	@Test
+	public void emailScanner() {
+		for (String email : List.of("fulano@email.es", "a.b-c+tag@sub.example-mail.com", "o'neil@x.io", "A1!#$%&*/=?^_`{|}~@ab.cd")) {
+			assertTrue(EmailScanner.isWellFormed(email), email);
+		}
+		List<String> malformed = new ArrayList<>(List.of("", "@email.es", "fulano", "fulano@", "fulano@email", "fulano@email.",
+				".fulano@email.es", "fulano.@email.es", "ful..ano@email.es", "fulano@@email.es", "fulano@.email.es",
+				"fulano@email..es", "fulano@-email.es", "fulano@email-.es", "fulano@email.e", "fulano@email.123",
+				"ful ano@email.es", "fulaño@email.es", "\"fulano\"@email.es", "fulano@[127.0.0.1]"));
+		malformed.add("a".repeat(65) + "@email.es");
+		malformed.add("fulano@" + "a".repeat(64) + ".es");
+		malformed.add("fulano@" + "a.".repeat(125) + "es");
+		for (String email : malformed) {
+			assertFalse(EmailScanner.isWellFormed(email), email);
+		}
+	}
+	
+	@Test
+	public void invalidRules_throw() {
+		PersonRules rules = new PersonRules();
+		
+		assertThrows(IllegalArgumentException.class, () -> rules.maxLength(ModelField.ADDRESS_NUMBER, 3));
+		assertThrows(IllegalArgumentException.class, () -> rules.between(ModelField.PERSON_NAME, 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> rules.between(ModelField.STATE_CODE, 2, 1));
+	}
+	
+	private static Person person(String email, Integer number, Integer code) {
+		return new Person("Fulano", email, new Address("Street1", number, new State("State1", code)));
+	}
+	
+	//Todas las combinaciones de campos 'null', cortos, largos y fuera de rango.
+	private static List<Person> shapes() {
+		List<Person> persons = new ArrayList<>();
+		String[] names = { null, "Fulano", "Fulanito" };
+		String[] streets = { null, "Street1", "Street12" };
+		Integer[] numbers = { null, -1, 0, 50, 51 };
+		for (String name : names) {
+			for (String email : new String[] { null, "fulano@email.es" }) {
+				persons.add(new Person(name, email, null));
+				for (String street : streets) {
+					for (Integer number : numbers) {
+						persons.add(new Person(name, email, new Address(street, number, null)));
+						persons.add(new Person(name, email, new Address(street, number, new State(null, 1))));
+						persons.add(new Person(name, email, new Address(street, number, new State("State1", null))));
+						persons.add(new Person(name, email, new Address(street, number, new State("State1", 1))));
+					}
+				}
+			}
+		}
+		return persons;
+	}
+}